@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_BLOCK;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_FAIL;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_GROW;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
+import org.apache.commons.pool.impl.GenericObjectPool;
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class ConcurrentBagObjectPoolTestCase extends AbstractMuleTestCase {
+
+  private final CountingFactory factory = new CountingFactory();
+  private ConcurrentBagObjectPool<Object> pool;
+
+  @After
+  public void after() throws Exception {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void reuseReturnedObject() throws Exception {
+    pool = createPool(config(2, WHEN_EXHAUSTED_FAIL));
+
+    Object borrowed = pool.borrowObject();
+    pool.returnObject(borrowed);
+
+    assertThat(pool.borrowObject(), is(sameInstance(borrowed)));
+    assertThat(factory.created.get(), is(1));
+    assertThat(pool.getNumActive(), is(1));
+    assertThat(pool.getNumIdle(), is(0));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void exhaustedFail() throws Exception {
+    pool = createPool(config(1, WHEN_EXHAUSTED_FAIL));
+
+    pool.borrowObject();
+    pool.borrowObject();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void exhaustedBlockTimesOut() throws Exception {
+    GenericObjectPool.Config config = config(1, WHEN_EXHAUSTED_BLOCK);
+    config.maxWait = 100;
+    pool = createPool(config);
+
+    pool.borrowObject();
+    pool.borrowObject();
+  }
+
+  @Test
+  public void exhaustedGrow() throws Exception {
+    pool = createPool(config(1, WHEN_EXHAUSTED_GROW));
+
+    assertThat(pool.borrowObject(), is(not(sameInstance(pool.borrowObject()))));
+    assertThat(pool.getNumActive(), is(2));
+  }
+
+  @Test
+  public void exhaustedBlockGetsReturnedObject() throws Exception {
+    pool = createPool(config(1, WHEN_EXHAUSTED_BLOCK));
+    Object borrowed = pool.borrowObject();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<Object> waiting = executor.submit(() -> pool.borrowObject());
+      pool.returnObject(borrowed);
+      assertThat(waiting.get(5, SECONDS), is(sameInstance(borrowed)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void returnDoesNotWaitForWaiterCreatingObject() throws Exception {
+    pool = createPool(config(2, WHEN_EXHAUSTED_BLOCK));
+    Object first = pool.borrowObject();
+    Object second = pool.borrowObject();
+
+    factory.creationStarted = new Latch();
+    factory.creationReleased = new Latch();
+
+    ExecutorService executor = newFixedThreadPool(2);
+    try {
+      Future<Object> waiting = executor.submit(() -> pool.borrowObject());
+      // Frees room for the waiting borrower, which then blocks creating a new object
+      pool.invalidateObject(second);
+      assertThat(factory.creationStarted.await(5, SECONDS), is(true));
+
+      executor.submit(() -> {
+        pool.returnObject(first);
+        return null;
+      }).get(5, SECONDS);
+      assertThat(pool.getNumIdle(), is(1));
+
+      factory.creationReleased.release();
+      assertThat(waiting.get(5, SECONDS), is(not(sameInstance(first))));
+    } finally {
+      factory.creationReleased.release();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentDoubleReturnMakesObjectIdleOnce() throws Exception {
+    pool = createPool(config(2, WHEN_EXHAUSTED_FAIL));
+
+    ExecutorService executor = newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < 500; ++i) {
+        Object borrowed = pool.borrowObject();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AtomicInteger returned = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int j = 0; j < 2; ++j) {
+          futures.add(executor.submit(() -> {
+            barrier.await();
+            try {
+              pool.returnObject(borrowed);
+              returned.incrementAndGet();
+            } catch (IllegalStateException e) {
+              // The other thread returned it first
+            }
+            return null;
+          }));
+        }
+        for (Future<?> future : futures) {
+          future.get(5, SECONDS);
+        }
+
+        assertThat(returned.get(), is(1));
+        assertThat(pool.getNumIdle(), is(1));
+        Object first = pool.borrowObject();
+        Object second = pool.borrowObject();
+        assertThat(first, is(not(sameInstance(second))));
+        pool.returnObject(first);
+        pool.returnObject(second);
+        pool.clear();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void invalidatedObjectIsDestroyed() throws Exception {
+    pool = createPool(config(1, WHEN_EXHAUSTED_FAIL));
+
+    Object borrowed = pool.borrowObject();
+    pool.invalidateObject(borrowed);
+
+    assertThat(factory.destroyed.get(), is(1));
+    assertThat(pool.borrowObject(), is(not(sameInstance(borrowed))));
+  }
+
+  @Test
+  public void maxIdle() throws Exception {
+    GenericObjectPool.Config config = config(3, WHEN_EXHAUSTED_FAIL);
+    config.maxIdle = 1;
+    pool = createPool(config);
+
+    List<Object> borrowed = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      borrowed.add(pool.borrowObject());
+    }
+    for (Object object : borrowed) {
+      pool.returnObject(object);
+    }
+
+    assertThat(pool.getNumIdle(), is(1));
+    assertThat(factory.destroyed.get(), is(2));
+  }
+
+  @Test
+  public void objectBeingActivatedIsNotIdle() throws Exception {
+    GenericObjectPool.Config config = config(2, WHEN_EXHAUSTED_FAIL);
+    config.maxIdle = 1;
+    pool = createPool(config);
+    Object first = pool.borrowObject();
+    Object second = pool.borrowObject();
+    pool.returnObject(first);
+
+    factory.activationStarted = new Latch();
+    factory.activationReleased = new Latch();
+
+    ExecutorService executor = newFixedThreadPool(1);
+    try {
+      Future<Object> borrowing = executor.submit(() -> pool.borrowObject());
+      assertThat(factory.activationStarted.await(5, SECONDS), is(true));
+      assertThat(pool.getNumIdle(), is(0));
+
+      // The object being activated doesn't take the only idle place
+      pool.returnObject(second);
+      assertThat(pool.getNumIdle(), is(1));
+      assertThat(factory.destroyed.get(), is(0));
+
+      factory.activationReleased.release();
+      assertThat(borrowing.get(5, SECONDS), is(sameInstance(first)));
+      assertThat(pool.getNumActive(), is(1));
+      assertThat(pool.getNumIdle(), is(1));
+    } finally {
+      factory.activationReleased.release();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void validateOnBorrow() throws Exception {
+    GenericObjectPool.Config config = config(1, WHEN_EXHAUSTED_FAIL);
+    config.testOnBorrow = true;
+    pool = createPool(config);
+
+    Object borrowed = pool.borrowObject();
+    pool.returnObject(borrowed);
+    factory.valid = false;
+
+    try {
+      pool.borrowObject();
+    } catch (NoSuchElementException e) {
+      // the new object is not valid either
+    }
+    assertThat(factory.destroyed.get(), is(2));
+  }
+
+  @Test
+  public void evictIdle() throws Exception {
+    GenericObjectPool.Config config = config(2, WHEN_EXHAUSTED_FAIL);
+    config.minEvictableIdleTimeMillis = 1;
+    config.timeBetweenEvictionRunsMillis = 10;
+    pool = createPool(config);
+
+    pool.returnObject(pool.borrowObject());
+
+    probe(() -> factory.destroyed.get() == 1 && pool.getNumIdle() == 0);
+  }
+
+  @Test
+  public void closeDestroysIdleAndReturnedObjects() throws Exception {
+    pool = createPool(config(2, WHEN_EXHAUSTED_FAIL));
+    Object idle = pool.borrowObject();
+    Object active = pool.borrowObject();
+    pool.returnObject(idle);
+
+    pool.close();
+    assertThat(factory.destroyed.get(), is(1));
+
+    pool.returnObject(active);
+    assertThat(factory.destroyed.get(), is(2));
+  }
+
+  @Test
+  public void concurrentBorrowAndReturn() throws Exception {
+    final int maxActive = 4;
+    final int threads = 16;
+    pool = createPool(config(maxActive, WHEN_EXHAUSTED_BLOCK));
+    AtomicInteger concurrentlyBorrowed = new AtomicInteger();
+    AtomicInteger maxConcurrentlyBorrowed = new AtomicInteger();
+
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 1000; ++j) {
+            Object borrowed = pool.borrowObject();
+            maxConcurrentlyBorrowed.accumulateAndGet(concurrentlyBorrowed.incrementAndGet(), Math::max);
+            concurrentlyBorrowed.decrementAndGet();
+            pool.returnObject(borrowed);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(maxConcurrentlyBorrowed.get(), lessThanOrEqualTo(maxActive));
+    assertThat(factory.created.get(), lessThanOrEqualTo(maxActive));
+    assertThat(pool.getNumActive(), is(0));
+  }
+
+  private ConcurrentBagObjectPool<Object> createPool(GenericObjectPool.Config config) {
+    return new ConcurrentBagObjectPool<>(factory, config);
+  }
+
+  private GenericObjectPool.Config config(int maxActive, byte whenExhaustedAction) {
+    GenericObjectPool.Config config = new GenericObjectPool.Config();
+    config.maxActive = maxActive;
+    config.maxIdle = maxActive;
+    config.whenExhaustedAction = whenExhaustedAction;
+    return config;
+  }
+
+  private static class CountingFactory extends BasePoolableObjectFactory<Object> {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private volatile boolean valid = true;
+    private volatile Latch creationStarted;
+    private volatile Latch creationReleased;
+    private volatile Latch activationStarted;
+    private volatile Latch activationReleased;
+
+    @Override
+    public Object makeObject() throws InterruptedException {
+      created.incrementAndGet();
+      if (creationStarted != null) {
+        creationStarted.release();
+        creationReleased.await();
+      }
+      return new Object();
+    }
+
+    @Override
+    public void activateObject(Object obj) throws InterruptedException {
+      if (activationStarted != null) {
+        activationStarted.release();
+        activationReleased.await();
+      }
+    }
+
+    @Override
+    public void destroyObject(Object obj) {
+      destroyed.incrementAndGet();
+    }
+
+    @Override
+    public boolean validateObject(Object obj) {
+      return valid;
+    }
+  }
+}
@@ -122,6 +122,35 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
     assertThat(strategy.getConnectionHandler(), is(notNullValue()));
   }
 
+  @Test
+  public void concurrentPoolExhaustion() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext, true);
+
+    ConnectionHandler<Object> connectionHandler = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    connectionHandler.release();
+    assertThat(strategy.getConnectionHandler(), is(notNullValue()));
+  }
+
+  @Test
+  public void statistics() throws Exception {
+    ConnectionPoolStatistics statistics = strategy.getStatistics();
+    assertThat(statistics.getBorrowCount(), is(2L));
+    assertThat(statistics.getCreatedCount(), is(2L));
+    assertThat(statistics.getNumActive(), is(2));
+
+    connection1.release();
+    assertThat(statistics.getNumActive(), is(1));
+    assertThat(statistics.getNumIdle(), is(1));
+  }
+
   @Test
   public void release() throws Exception {
     connection1.release();
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.DW_PREFIX;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.MEL_PREFIX;
+import static org.mule.test.allure.AllureConstants.ExpressionLanguageFeature.EXPRESSION_LANGUAGE;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@SmallTest
+@Feature(EXPRESSION_LANGUAGE)
+public class CompiledExpressionCacheTestCase extends AbstractMuleTestCase {
+
+  private final AtomicInteger compilations = new AtomicInteger();
+  private final Function<String, Object> compiler = expression -> {
+    compilations.incrementAndGet();
+    return new Object();
+  };
+
+  @Test
+  public void hit() {
+    CompiledExpressionCache cache = new CompiledExpressionCache(10);
+
+    Object compiled = cache.get(DW_PREFIX, "payload", shape("payload", "vars"), compiler);
+
+    assertThat(cache.get(DW_PREFIX, "payload", shape("vars", "payload"), compiler), is(sameInstance(compiled)));
+    assertThat(compilations.get(), is(1));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+  }
+
+  @Test
+  public void keyedByBindingsAndLanguage() {
+    CompiledExpressionCache cache = new CompiledExpressionCache(10);
+
+    cache.get(DW_PREFIX, "payload", shape("payload"), compiler);
+    cache.get(DW_PREFIX, "payload", shape("payload", "vars"), compiler);
+    cache.get(MEL_PREFIX, "payload", shape("payload"), compiler);
+
+    assertThat(compilations.get(), is(3));
+    assertThat(cache.getMissCount(), is(3L));
+    assertThat(cache.getSize(), is(3L));
+  }
+
+  @Test
+  public void eviction() {
+    CompiledExpressionCache cache = new CompiledExpressionCache(2);
+
+    for (int i = 0; i < 10; ++i) {
+      cache.get(DW_PREFIX, "expression" + i, compiler);
+    }
+    cache.cleanUp();
+
+    assertThat(cache.getSize(), is(2L));
+    assertThat(cache.getEvictionCount(), is(8L));
+  }
+
+  @Test
+  public void failedCompilationNotCached() {
+    CompiledExpressionCache cache = new CompiledExpressionCache(10);
+
+    assertThat(cache.get(DW_PREFIX, "+*", expression -> null), is(nullValue()));
+
+    assertThat(cache.getSize(), is(0L));
+  }
+
+  @Test
+  public void disabled() {
+    CompiledExpressionCache cache = new CompiledExpressionCache(0);
+
+    cache.get(DW_PREFIX, "payload", compiler);
+    cache.get(DW_PREFIX, "payload", compiler);
+
+    assertThat(cache.isEnabled(), is(false));
+    assertThat(compilations.get(), is(2));
+    assertThat(cache.getHitCount(), is(0L));
+  }
+
+  private static Object shape(String... identifiers) {
+    return new HashSet<>(asList(identifiers));
+  }
+}
@@ -11,10 +11,12 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mule.runtime.api.metadata.DataType.OBJECT;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.internal.el.DefaultBindingContextBuilder.shapeOf;
 
 import org.mule.runtime.api.el.Binding;
 import org.mule.runtime.api.el.BindingContext;
@@ -28,6 +30,7 @@ import org.junit.Test;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultBindingContextBuilderTestCase extends AbstractMuleTestCase {
 
@@ -176,6 +179,44 @@ public class DefaultBindingContextBuilderTestCase extends AbstractMuleTestCase {
     assertLookup(BindingContext.builder(globalBinding()).addAll(localBinding).build(), "misc");
   }
 
+  @Test
+  public void sameShapeForSameBindings() {
+    BindingContext context = BindingContext.builder(globalBinding()).addBinding(ID, typedValue).build();
+    BindingContext other = BindingContext.builder(globalBinding()).addBinding(ID, new TypedValue<>("other", STRING)).build();
+
+    assertThat(shapeOf(context), is(shapeOf(other)));
+    assertThat(shapeOf(context).hashCode(), is(shapeOf(other).hashCode()));
+  }
+
+  @Test
+  public void differentShapeForDifferentBindings() {
+    BindingContext context = BindingContext.builder(globalBinding()).addBinding(ID, typedValue).build();
+    BindingContext other = BindingContext.builder(globalBinding()).addBinding(OTHER_ID, typedValue).build();
+    BindingContext withPayload = BindingContext.builder(globalBinding())
+        .addBinding(ID, typedValue)
+        .addBinding("payload", typedValue)
+        .build();
+
+    assertThat(shapeOf(context), is(not(shapeOf(other))));
+    assertThat(shapeOf(context), is(not(shapeOf(withPayload))));
+  }
+
+  @Test
+  public void shapeDoesNotEvaluateVars() {
+    AtomicInteger varsEvaluations = new AtomicInteger();
+    BindingContext context = BindingContext.builder()
+        .addBinding("vars", () -> {
+          varsEvaluations.incrementAndGet();
+          return mapValue();
+        })
+        .build();
+
+    Object shape = shapeOf(context);
+
+    assertThat(varsEvaluations.get(), is(0));
+    assertThat(shape, is(shapeOf(BindingContext.builder().addBinding("vars", new LazyValue<>(() -> mapValue())).build())));
+  }
+
   private TypedValue<Map<String, TypedValue<String>>> mapValue() {
     return new TypedValue<>(singletonMap("key", new TypedValue<>("value", STRING)), OBJECT);
   }
@@ -19,6 +19,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -62,6 +63,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.el.mvel.MVELExpressionLanguage;
@@ -236,6 +238,58 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
     assertThat(result.getDataType(), is(STRING));
   }
 
+  @Test
+  @Description("Verifies that the compiled form of an expression is reused for events with the same bindings.")
+  public void compiledExpressionIsCached() throws MuleException {
+    CompiledExpressionCache cache = ((DefaultExpressionManager) expressionManager).getCompiledExpressionCache();
+    String expression = "vars.myVar ++ '!'";
+
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable(MY_VAR, "Leda").build();
+    assertThat(expressionManager.evaluate(expression, event).getValue(), is("Leda!"));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(0L));
+
+    event = CoreEvent.builder(testEvent()).addVariable(MY_VAR, "Zeus").build();
+    assertThat(expressionManager.evaluate(expression, event).getValue(), is("Zeus!"));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(1L));
+  }
+
+  @Test
+  @Description("Verifies that the compiled form of an expression is not reused for a context with different bindings.")
+  public void compiledExpressionIsCachedPerBindings() {
+    CompiledExpressionCache cache = ((DefaultExpressionManager) expressionManager).getCompiledExpressionCache();
+    String expression = "myVar";
+
+    assertThat(expressionManager.evaluate(expression, builder().addBinding(MY_VAR, new TypedValue<>("Leda", STRING)).build())
+        .getValue(), is("Leda"));
+    assertThat(expressionManager.evaluate(expression, builder()
+        .addBinding(MY_VAR, new TypedValue<>("Zeus", STRING))
+        .addBinding("otherVar", new TypedValue<>("Hera", STRING))
+        .build()).getValue(), is("Zeus"));
+
+    assertThat(cache.getMissCount(), is(2L));
+    assertThat(cache.getSize(), is(2L));
+  }
+
+  @Test
+  @Description("Verifies that invalid expressions are compiled only once and fail on every evaluation.")
+  public void invalidExpressionIsCompiledOnce() throws MuleException {
+    CompiledExpressionCache cache = ((DefaultExpressionManager) expressionManager).getCompiledExpressionCache();
+
+    for (int i = 0; i < 2; ++i) {
+      try {
+        expressionManager.evaluate("payload +* 1", testEvent());
+        fail("Expected the evaluation to fail");
+      } catch (ExpressionRuntimeException e) {
+        assertThat(e.getMessage(), containsString("payload +* 1"));
+      }
+    }
+
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(1L));
+  }
+
   @Test
   public void mvelWithNullBinding() throws MuleException {
     String expression = "#[mel: 2+2 ==4]";
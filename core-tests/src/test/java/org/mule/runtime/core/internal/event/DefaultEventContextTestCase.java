@@ -9,7 +9,9 @@ package org.mule.runtime.core.internal.event;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.contains;
@@ -51,6 +53,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -650,6 +656,61 @@ public class DefaultEventContextTestCase extends AbstractMuleContextTestCase {
     assertThat(context.getOriginatingLocation().getComponentIdentifier().getIdentifier().getName(), is("test"));
   }
 
+  @Test
+  @Description("Parent EventContext completes and terminates exactly once when children are created and completed concurrently with the parent response.")
+  public void concurrentChildrenCompletion() throws Exception {
+    final int threads = 8;
+    final int childrenPerThread = 500;
+    final AtomicInteger parentCompletions = new AtomicInteger();
+    final AtomicInteger parentTerminations = new AtomicInteger();
+    final AtomicInteger childTerminations = new AtomicInteger();
+
+    parent.onComplete((response, throwable) -> parentCompletions.incrementAndGet());
+    parent.onTerminated((response, throwable) -> parentTerminations.incrementAndGet());
+
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      CountDownLatch childrenCreated = new CountDownLatch(threads);
+      CountDownLatch done = new CountDownLatch(threads);
+      for (int i = 0; i < threads; ++i) {
+        executor.submit(() -> {
+          List<BaseEventContext> children = new ArrayList<>(childrenPerThread);
+          try {
+            start.await();
+            for (int j = 0; j < childrenPerThread; ++j) {
+              BaseEventContext child = child(parent, empty());
+              child.onTerminated((response, throwable) -> childTerminations.incrementAndGet());
+              children.add(child);
+            }
+            childrenCreated.countDown();
+            for (BaseEventContext child : children) {
+              child.success();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            done.countDown();
+          }
+          return null;
+        });
+      }
+
+      start.countDown();
+      assertThat(childrenCreated.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+      parent.success(testEvent());
+      assertThat(done.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(RECEIVE_TIMEOUT, MILLISECONDS);
+    }
+
+    assertThat(childTerminations.get(), is(threads * childrenPerThread));
+    assertThat(parent.isTerminated(), is(true));
+    assertThat(parentCompletions.get(), is(1));
+    assertThat(parentTerminations.get(), is(1));
+  }
+
   @Test
   public void callbacksOrderSuccess() throws MuleException {
     List<String> callbacks = new ArrayList<>();
@@ -695,6 +756,103 @@ public class DefaultEventContextTestCase extends AbstractMuleContextTestCase {
     assertThat(callbacks, contains("onResponse", "onComplete", "onTerminated"));
   }
 
+  @Test
+  @Description("A response callback registered while the response callbacks are being signaled is signaled after the ones registered before it.")
+  public void callbackRegisteredWhileSignalingKeepsOrder() throws Exception {
+    List<String> callbacks = new CopyOnWriteArrayList<>();
+    CountDownLatch firstSignaled = new CountDownLatch(1);
+    Latch releaseFirst = new Latch();
+
+    final DefaultEventContext eventContext = context.get();
+    eventContext.onResponse((e, t) -> {
+      firstSignaled.countDown();
+      try {
+        releaseFirst.await();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+      callbacks.add("first");
+    });
+
+    ExecutorService executor = newSingleThreadExecutor();
+    try {
+      Future<?> response = executor.submit(() -> eventContext.success());
+      firstSignaled.await();
+
+      eventContext.onResponse((e, t) -> callbacks.add("second"));
+      assertThat(callbacks.isEmpty(), is(true));
+
+      releaseFirst.release();
+      response.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(callbacks, contains("first", "second"));
+  }
+
+  @Test
+  public void callbackRegisteredFromCallbackKeepsOrder() {
+    List<String> callbacks = new ArrayList<>();
+
+    final DefaultEventContext eventContext = context.get();
+
+    eventContext.onResponse((e, t) -> {
+      eventContext.onResponse((e2, t2) -> callbacks.add("nested"));
+      callbacks.add("first");
+    });
+    eventContext.onResponse((e, t) -> callbacks.add("second"));
+
+    eventContext.success();
+
+    assertThat(callbacks, contains("first", "second", "nested"));
+  }
+
+  @Test
+  @Description("A child completing and the external completion while the response callbacks of the parent are being signaled don't complete nor terminate the parent until they all were.")
+  public void childCompletedWhileSignalingResponse() throws Exception {
+    List<String> callbacks = new CopyOnWriteArrayList<>();
+    CountDownLatch firstSignaled = new CountDownLatch(1);
+    Latch releaseFirst = new Latch();
+
+    CompletableFuture<Void> externalCompletion = new CompletableFuture<>();
+    parent = contextWithCompletion.apply(externalCompletion);
+    addChild(parent);
+    parent.onResponse((e, t) -> {
+      firstSignaled.countDown();
+      try {
+        releaseFirst.await();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+      callbacks.add("response1");
+    });
+    parent.onResponse((e, t) -> callbacks.add("response2"));
+    parent.onComplete((e, t) -> callbacks.add("complete"));
+    parent.onTerminated((e, t) -> callbacks.add("terminated"));
+
+    CoreEvent event = testEvent();
+    ExecutorService executor = newSingleThreadExecutor();
+    try {
+      Future<?> response = executor.submit(() -> parent.success(event));
+      firstSignaled.await();
+
+      child.success();
+      externalCompletion.complete(null);
+      assertThat(child.isTerminated(), is(true));
+      assertThat(parent.isComplete(), is(false));
+      assertThat(callbacks.isEmpty(), is(true));
+
+      releaseFirst.release();
+      response.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(callbacks, contains("response1", "response2", "complete", "terminated"));
+    assertThat(parent.isTerminated(), is(true));
+  }
+
   private void assertParent(Matcher<Object> eventMatcher, Matcher<Object> errorMatcher, boolean complete, boolean terminated) {
     assertThat(parentResultValue.get(), eventMatcher);
     assertThat(parentErrorValue.get(), errorMatcher);
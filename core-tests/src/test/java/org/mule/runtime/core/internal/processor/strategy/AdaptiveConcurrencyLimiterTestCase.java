@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import reactor.core.Disposable;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final long FAST = MILLISECONDS.toNanos(1);
+  private static final long SLOW = MILLISECONDS.toNanos(50);
+
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 16, 2.0, 0.5);
+
+  @Test
+  public void grantsUpToLimit() {
+    for (int i = 0; i < 4; ++i) {
+      assertThat(limiter.acquire().block(), is(notNullValue()));
+    }
+
+    AtomicReference<Long> granted = new AtomicReference<>();
+    limiter.acquire().subscribe(granted::set);
+
+    assertThat(granted.get(), is(nullValue()));
+    assertThat(limiter.getQueued(), is(1));
+    assertThat(limiter.getInFlight(), is(4));
+  }
+
+  @Test
+  public void queuedCallerResumedOnRelease() {
+    for (int i = 0; i < 4; ++i) {
+      limiter.acquire().block();
+    }
+
+    AtomicReference<Long> granted = new AtomicReference<>();
+    limiter.acquire().subscribe(granted::set);
+    limiter.release(FAST, false);
+
+    assertThat(granted.get(), is(notNullValue()));
+    assertThat(limiter.getQueued(), is(0));
+    assertThat(limiter.getInFlight(), is(4));
+  }
+
+  @Test
+  public void cancelledWaiterDoesNotTakePermit() {
+    for (int i = 0; i < 4; ++i) {
+      limiter.acquire().block();
+    }
+
+    Disposable waiting = limiter.acquire().subscribe();
+    waiting.dispose();
+    limiter.release(FAST, false);
+
+    assertThat(limiter.getInFlight(), is(3));
+  }
+
+  @Test
+  public void limitIncreasesWhileLatencyIsStable() {
+    for (int i = 0; i < 20; ++i) {
+      final int permits = limiter.getLimit();
+      for (int j = 0; j < permits; ++j) {
+        limiter.acquire().block();
+      }
+      for (int j = 0; j < permits; ++j) {
+        limiter.release(FAST, false);
+      }
+    }
+
+    assertThat(limiter.getLimit(), is(16));
+  }
+
+  @Test
+  public void limitDecreasesWhenLatencyGrows() {
+    limiter.acquire().block();
+    limiter.release(FAST, false);
+
+    for (int i = 0; i < 20; ++i) {
+      limiter.acquire().block();
+      limiter.release(SLOW, false);
+    }
+
+    assertThat(limiter.getLimit(), is(1));
+  }
+
+  @Test
+  public void limitDecreasesOnDrop() {
+    limiter.acquire().block();
+    limiter.release(FAST, true);
+
+    assertThat(limiter.getLimit(), is(lessThan(4)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBackoffRatio() {
+    new AdaptiveConcurrencyLimiter(4, 1, 16, 2.0, 1.5);
+  }
+}
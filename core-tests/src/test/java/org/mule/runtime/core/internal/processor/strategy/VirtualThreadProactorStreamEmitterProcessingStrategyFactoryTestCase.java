@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.rx.VirtualThreadScheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class VirtualThreadProactorStreamEmitterProcessingStrategyFactoryTestCase extends AbstractMuleTestCase {
+
+  private final MuleContext muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
+  private final Scheduler ioScheduler = mock(Scheduler.class);
+
+  @Before
+  public void before() {
+    when(muleContext.getSchedulerBaseConfig()).thenReturn(config());
+    when(muleContext.getSchedulerService().ioScheduler(any(SchedulerConfig.class))).thenReturn(ioScheduler);
+    when(muleContext.getConfiguration().getShutdownTimeout()).thenReturn(5000L);
+  }
+
+  @Test
+  public void ioSchedulerWithoutVirtualThreads() {
+    assumeThat(VirtualThreadScheduler.isSupported(), is(false));
+
+    Scheduler blockingScheduler = new VirtualThreadProactorStreamEmitterProcessingStrategyFactory()
+        .getBlockingSchedulerSupplier(muleContext, "test").get();
+
+    assertThat(blockingScheduler, sameInstance(ioScheduler));
+  }
+
+  @Test
+  public void virtualThreadsWhenSupported() {
+    assumeThat(VirtualThreadScheduler.isSupported(), is(true));
+
+    Scheduler blockingScheduler = new VirtualThreadProactorStreamEmitterProcessingStrategyFactory()
+        .getBlockingSchedulerSupplier(muleContext, "test").get();
+
+    assertThat(blockingScheduler, instanceOf(VirtualThreadScheduler.class));
+    blockingScheduler.stop();
+  }
+}
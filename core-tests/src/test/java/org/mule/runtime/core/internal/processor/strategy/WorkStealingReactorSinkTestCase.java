@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import io.qameta.allure.Feature;
+import reactor.core.publisher.BaseSubscriber;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+public class WorkStealingReactorSinkTestCase extends AbstractMuleTestCase {
+
+  private WorkStealingReactorSink sink;
+  private RecordingSubscriber slowSubscriber;
+  private RecordingSubscriber fastSubscriber;
+
+  @Before
+  public void before() {
+    sink = new WorkStealingReactorSink(e -> {
+    }, 4);
+    slowSubscriber = new RecordingSubscriber(1);
+    fastSubscriber = new RecordingSubscriber(Long.MAX_VALUE);
+    sink.addWorker(t -> {
+    }).getFlux().subscribe(slowSubscriber);
+    sink.addWorker(t -> {
+    }).getFlux().subscribe(fastSubscriber);
+  }
+
+  @Test
+  public void idleWorkerStealsFromBusyWorker() {
+    final CoreEvent[] events = new CoreEvent[4];
+    for (int i = 0; i < events.length; ++i) {
+      events[i] = mock(CoreEvent.class);
+      sink.accept(events[i]);
+    }
+
+    assertThat(slowSubscriber.received, contains(events[0]));
+    assertThat(fastSubscriber.received, contains(events[1], events[2], events[3]));
+    assertThat(sink.getStolenCounts()[0], is(0L));
+    assertThat(sink.getStolenCounts()[1], is(1L));
+    assertThat(sink.getQueueDepths()[0], is(0));
+  }
+
+  @Test
+  public void emitRejectedWhenBufferFull() {
+    fastSubscriber.cancel();
+
+    for (int i = 0; i < 5; ++i) {
+      assertThat(sink.emit(mock(CoreEvent.class)), is(nullValue()));
+    }
+
+    assertThat(sink.emit(mock(CoreEvent.class)), is(EVENTS_ACCUMULATED));
+    assertThat(slowSubscriber.received, hasSize(1));
+  }
+
+  @Test
+  public void queuedEventsDeliveredBeforeCompletion() {
+    fastSubscriber.cancel();
+    sink.accept(mock(CoreEvent.class));
+    sink.accept(mock(CoreEvent.class));
+    sink.accept(mock(CoreEvent.class));
+
+    sink.prepareDispose();
+    assertThat(slowSubscriber.completed, is(false));
+
+    // The remaining events of the cancelled worker are taken by the slow one before completing
+    slowSubscriber.request(2);
+    assertThat(slowSubscriber.received, hasSize(3));
+    assertThat(slowSubscriber.completed, is(true));
+  }
+
+  @Test
+  public void concurrentEmittersDoNotOverflowBuffer() throws InterruptedException {
+    slowSubscriber.cancel();
+    fastSubscriber.cancel();
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final AtomicInteger accepted = new AtomicInteger();
+    final List<Thread> emitters = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      Thread emitter = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int j = 0; j < 100; ++j) {
+          if (sink.emit(mock(CoreEvent.class)) == null) {
+            accepted.incrementAndGet();
+          }
+        }
+      });
+      emitter.start();
+      emitters.add(emitter);
+    }
+
+    start.countDown();
+    for (Thread emitter : emitters) {
+      emitter.join();
+    }
+
+    assertThat(accepted.get(), is(4));
+    assertThat(sink.getQueueDepths()[0] + sink.getQueueDepths()[1], is(4));
+  }
+
+  @Test
+  public void emitRejectedOnceDisposing() {
+    sink.prepareDispose();
+
+    assertThat(sink.emit(mock(CoreEvent.class)), is(EVENTS_ACCUMULATED));
+    assertThat(slowSubscriber.received, hasSize(0));
+    assertThat(fastSubscriber.received, hasSize(0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void acceptRejectedOnceDisposing() {
+    sink.prepareDispose();
+    sink.accept(mock(CoreEvent.class));
+  }
+
+  @Test
+  public void completedWorkerDoesNotTakeEvents() {
+    fastSubscriber.cancel();
+    sink.prepareDispose();
+    assertThat(slowSubscriber.completed, is(true));
+
+    slowSubscriber.request(1);
+    assertThat(slowSubscriber.received, hasSize(0));
+  }
+
+  private static class RecordingSubscriber extends BaseSubscriber<CoreEvent> {
+
+    private final long initialRequest;
+    private final List<CoreEvent> received = new ArrayList<>();
+    private boolean completed = false;
+
+    private RecordingSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+      request(initialRequest);
+    }
+
+    @Override
+    protected void hookOnNext(CoreEvent value) {
+      received.add(value);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+  }
+}
@@ -7,7 +7,10 @@
 
 package org.mule.runtime.core.internal.registry;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -19,8 +22,10 @@ import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.internal.transformer.builder.MockConverterBuilder;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
+import org.mule.tck.testmodels.fruit.Apple;
 import org.mule.tck.testmodels.fruit.Orange;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Before;
@@ -68,4 +73,24 @@ public class MuleRegistryHelperTransformerLookupTestCase extends AbstractMuleTes
     assertEquals(1, transformers.size());
     assertEquals(stringToOrange, transformers.get(0));
   }
+
+  @Test
+  public void converterRegisteredAfterCachedMissIsFoundByResolvers() throws Exception {
+    DataType appleDataType = DataType.fromType(Apple.class);
+    Converter orangeToApple = new MockConverterBuilder().from(ORANGE_DATA_TYPE).to(appleDataType).build();
+    assertEquals(0, muleRegistryHelper.lookupTransformers(ORANGE_DATA_TYPE, appleDataType).size());
+
+    // A resolver that looks up the transformers again when notified, as the type based resolver does when resolving
+    List<List<Transformer>> seenByResolver = new ArrayList<>();
+    TransformerResolver lookingUpResolver = mock(TransformerResolver.class);
+    doAnswer(invocation -> seenByResolver.add(muleRegistryHelper.lookupTransformers(ORANGE_DATA_TYPE, appleDataType)))
+        .when(lookingUpResolver).transformerChange(any(), any());
+    muleRegistryHelper.registerObject("lookingUpResolver", lookingUpResolver);
+
+    muleRegistryHelper.registerTransformer(orangeToApple);
+
+    assertEquals(1, seenByResolver.size());
+    assertEquals(singletonList(orangeToApple), seenByResolver.get(0));
+    assertEquals(singletonList(orangeToApple), muleRegistryHelper.lookupTransformers(ORANGE_DATA_TYPE, appleDataType));
+  }
 }
@@ -8,9 +8,11 @@ package org.mule.runtime.core.internal.registry;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,6 +21,7 @@ import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.registry.TransformerResolver.RegistryAction;
 import org.mule.runtime.core.internal.transformer.ResolverException;
 import org.mule.runtime.core.internal.transformer.builder.MockConverterBuilder;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -100,6 +103,48 @@ public class TypeBasedTransformerResolverTestCase extends AbstractMuleTestCase {
     assertEquals(betterAToBConverter, resolvedTransformer);
   }
 
+  @Test
+  public void cachesResolvedType() throws ResolverException, TransformerException {
+    MuleRegistry muleRegistry = mock(MuleRegistry.class);
+    when(muleContext.getRegistry()).thenReturn(muleRegistry);
+    Transformer aToBConverter = new MockConverterBuilder().from(dataTypeA).to(dataTypeB).build();
+
+    ArrayList<Transformer> transformers = new ArrayList<>();
+    transformers.add(aToBConverter);
+    when(muleRegistry.lookupTransformers(dataTypeA, dataTypeB)).thenReturn(transformers);
+
+    TypeBasedTransformerResolver resolver = new TypeBasedTransformerResolver();
+    resolver.setMuleContext(muleContext);
+
+    assertSame(aToBConverter, resolver.resolve(dataTypeA, dataTypeB));
+    assertSame(aToBConverter, resolver.resolve(DataType.fromType(A.class), DataType.fromType(B.class)));
+    verify(muleRegistry, times(1)).lookupTransformers(dataTypeA, dataTypeB);
+  }
+
+  @Test
+  public void cachesNotResolvedTypeUntilConverterChanges() throws ResolverException, TransformerException {
+    MuleRegistry muleRegistry = mock(MuleRegistry.class);
+    when(muleContext.getRegistry()).thenReturn(muleRegistry);
+    when(muleRegistry.lookupTransformers(dataTypeA, dataTypeB)).thenReturn(new ArrayList<>());
+
+    TypeBasedTransformerResolver resolver = new TypeBasedTransformerResolver();
+    resolver.setMuleContext(muleContext);
+
+    assertNull(resolver.resolve(dataTypeA, dataTypeB));
+    assertNull(resolver.resolve(dataTypeA, dataTypeB));
+    verify(muleRegistry, times(1)).lookupTransformers(dataTypeA, dataTypeB);
+
+    Transformer aToBConverter = new MockConverterBuilder().from(dataTypeA).to(dataTypeB).build();
+    ArrayList<Transformer> transformers = new ArrayList<>();
+    transformers.add(aToBConverter);
+    when(muleRegistry.lookupTransformers(dataTypeA, dataTypeB)).thenReturn(transformers);
+    // Any converter change invalidates the cache
+    resolver.transformerChange(new MockConverterBuilder().from(dataTypeB).to(dataTypeA).build(), RegistryAction.ADDED);
+
+    assertSame(aToBConverter, resolver.resolve(dataTypeA, dataTypeB));
+    verify(muleRegistry, times(2)).lookupTransformers(dataTypeA, dataTypeB);
+  }
+
   @Test
   public void fallbacksNotRegistered() throws Exception {
     TypeBasedTransformerResolver resolver = new TypeBasedTransformerResolver();
@@ -13,7 +13,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.rules.ExpectedException.none;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.message.Message.of;
@@ -28,6 +32,7 @@ import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.internal.el.ExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.weave.v2.el.ByteArrayBasedCursorStreamProvider;
@@ -214,6 +219,44 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertNotNull(processedEvent);
   }
 
+  @Test
+  public void storeIfAbsentObjectStore() throws Exception {
+    PartitionedInMemoryObjectStore<String> store = spy(new PartitionedInMemoryObjectStore<>());
+    idempotent.setObjectStore(store);
+    idempotent.initialise();
+
+    CoreEvent event = eventWithCorrelationId("1");
+    assertThat(idempotent.process(event), sameInstance(event));
+    verify(store, never()).contains(anyString());
+
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithCorrelationId("1"));
+  }
+
+  @Test
+  public void idFilterSkipsObjectStoreForNewIds() throws Exception {
+    InMemoryObjectStore<String> store = spy(new InMemoryObjectStore<>());
+    store.store("1", "1");
+    idempotent.setObjectStore(store);
+    idempotent.setIdFilterExpectedIds(1000);
+    idempotent.initialise();
+    idempotent.start();
+
+    CoreEvent event = eventWithCorrelationId("2");
+    assertThat(idempotent.process(event), sameInstance(event));
+    verify(store, never()).contains("2");
+
+    // ids already in the store when started are still detected
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithCorrelationId("1"));
+  }
+
+  private CoreEvent eventWithCorrelationId(String correlationId) {
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn(correlationId);
+    return CoreEvent.builder(context).message(of("OK")).build();
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
@@ -112,6 +112,33 @@ public class ParallelForEachTestCase extends AbstractMuleContextTestCase {
                equalTo(((List<Message>) event.getMessage().getPayload().getValue()).get(1)));
   }
 
+  @Test
+  @Description("When a batch size is set, each RoutingPair has a sub-collection of that size as payload.")
+  public void batchedRoutingPairs() throws Exception {
+    CoreEvent event = getEventBuilder().message(Message.of(asList("1", "2", "3", "4", "5"))).build();
+
+    MessageProcessorChain nested = mock(MessageProcessorChain.class);
+    muleContext.getInjector().inject(router);
+    router.setMessageProcessors(singletonList(nested));
+    router.setBatchSize(2);
+    router.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    router.initialise();
+
+    List<RoutingPair> routingPairs = from(router.getRoutingPairs(event)).collectList().block();
+    assertThat(routingPairs, hasSize(3));
+    assertBatch(routingPairs.get(0), "1", "2");
+    assertBatch(routingPairs.get(1), "3", "4");
+    assertBatch(routingPairs.get(2), "5");
+  }
+
+  private void assertBatch(RoutingPair routingPair, String... expectedValues) {
+    List<TypedValue<?>> batch = (List<TypedValue<?>>) routingPair.getEvent().getMessage().getPayload().getValue();
+    assertThat(batch, hasSize(expectedValues.length));
+    for (int i = 0; i < expectedValues.length; ++i) {
+      assertThat(batch.get(i).getValue(), equalTo(expectedValues[i]));
+    }
+  }
+
   @Test
   @Description("By default the router result populates the outgoing message payload.")
   public void defaultTarget() throws Exception {
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.ROUTERS;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@SmallTest
+@Feature(ROUTERS)
+@Story(UNTIL_SUCCESSFUL)
+public class RetryBackoffTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void fixed() {
+    assertThat(RetryBackoff.FIXED.delayFor(100, 1), is(100L));
+    assertThat(RetryBackoff.FIXED.delayFor(100, 10), is(100L));
+  }
+
+  @Test
+  public void exponential() {
+    RetryBackoff backoff = new RetryBackoff(2, 0, 0);
+
+    assertThat(backoff.delayFor(100, 1), is(100L));
+    assertThat(backoff.delayFor(100, 2), is(200L));
+    assertThat(backoff.delayFor(100, 5), is(1600L));
+  }
+
+  @Test
+  public void exponentialCapped() {
+    RetryBackoff backoff = new RetryBackoff(2, 1000, 0);
+
+    assertThat(backoff.delayFor(100, 4), is(800L));
+    assertThat(backoff.delayFor(100, 5), is(1000L));
+    assertThat(backoff.delayFor(100, 5000), is(1000L));
+  }
+
+  @Test
+  public void exponentialOverflow() {
+    assertThat(new RetryBackoff(10, 0, 0).delayFor(100, 5000), is(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void jitter() {
+    RetryBackoff backoff = new RetryBackoff(1, 0, 0.5);
+
+    for (int i = 0; i < 1000; ++i) {
+      assertThat(backoff.delayFor(100, 1), allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(150L)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMultiplier() {
+    new RetryBackoff(0.5, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidJitterFactor() {
+    new RetryBackoff(1, 0, 1.5);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.ROUTERS;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@SmallTest
+@Feature(ROUTERS)
+@Story(UNTIL_SUCCESSFUL)
+public class RetryBudgetTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void exhaustedUntilReleased() {
+    RetryBudget budget = new RetryBudget(2);
+
+    assertThat(budget.tryAcquire(), is(true));
+    assertThat(budget.tryAcquire(), is(true));
+    assertThat(budget.tryAcquire(), is(false));
+    assertThat(budget.getPendingRetries(), is(2));
+
+    budget.release();
+    assertThat(budget.tryAcquire(), is(true));
+    assertThat(budget.tryAcquire(), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMaxPendingRetries() {
+    new RetryBudget(0);
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.System.currentTimeMillis;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -14,6 +15,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.collection.IsMapContaining.hasKey;
 import static org.junit.Assert.assertEquals;
@@ -34,6 +36,7 @@ import static org.mule.tck.processor.ContextPropagationChecker.assertContextProp
 import static org.mule.tck.util.MuleContextUtils.eventBuilder;
 
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
@@ -258,6 +261,29 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     assertEquals(targetMessageProcessor.getEventCount(), 5);
   }
 
+  @Test
+  public void testBackoff() throws Exception {
+    targetMessageProcessor.setNumberOfFailuresToSimulate(2);
+    untilSuccessful.setBackoffMultiplier(2);
+    untilSuccessful.initialise();
+    untilSuccessful.start();
+
+    final CoreEvent testEvent = eventBuilder(muleContext).message(of("ERROR")).build();
+    final long start = currentTimeMillis();
+    assertSame(testEvent.getMessage(), untilSuccessful.process(testEvent).getMessage());
+    // 100ms before the first retry and 200ms before the second one
+    assertThat(currentTimeMillis() - start, greaterThanOrEqualTo(300L));
+    assertEquals(3, targetMessageProcessor.getEventCount());
+  }
+
+  @Test
+  public void testInvalidJitterFactor() throws Exception {
+    untilSuccessful.setJitterFactor(2);
+
+    expected.expect(InitialisationException.class);
+    untilSuccessful.initialise();
+  }
+
   @Test
   public void testWithExpressionRetriesMultipleExecutions() throws Exception {
     targetMessageProcessor.setNumberOfFailuresToSimulate(2);
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_MAP;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.Map;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Story(COLLECT_MAP)
+public class StreamingCollectMapForkJoinStrategyTestCase extends CollectMapForkJoinStrategyTestCase {
+
+  @Override
+  protected ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
+                                            long timeout) {
+    return new StreamingCollectMapForkJoinStrategyFactory().createForkJoinStrategy(processingStrategy, concurrency, delayErrors,
+                                                                                   timeout, scheduler, timeoutErrorType);
+  }
+
+  @Test
+  @Description("The results merged as the routes complete are keyed and iterated in the order of the routes.")
+  public void resultsInRouteOrder() throws Throwable {
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), asList(createRoutingPair(of(1)),
+                                                                            createRoutingPair(of(2)),
+                                                                            createRoutingPair(of(3))));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.keySet(), contains("0", "1", "2"));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PartitionedInMemoryObjectStoreConcurrencyTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_PARTITION = "testPartition";
+  private static final String TEST_VALUE = "testValue";
+  private static final int ENTRIES = 64;
+  private static final int ROUNDS = 500;
+
+  private volatile long currentNanoTime = MILLISECONDS.toNanos(1);
+
+  private PartitionedInMemoryObjectStore<String> store;
+  private ExecutorService executor;
+
+  @Before
+  public void setup() {
+    store = new PartitionedInMemoryObjectStore<String>() {
+
+      @Override
+      protected long getCurrentNanoTime() {
+        return currentNanoTime;
+      }
+    };
+    executor = newFixedThreadPool(2);
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void removeConcurrentlyWithExpiration() throws Exception {
+    for (int round = 0; round < ROUNDS; ++round) {
+      for (int i = 0; i < ENTRIES; ++i) {
+        store.store(key(round, i), TEST_VALUE, TEST_PARTITION);
+      }
+      currentNanoTime += MILLISECONDS.toNanos(2);
+
+      final int currentRound = round;
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      Future<?> expiration = executor.submit(() -> {
+        barrier.await();
+        store.expire(1, ENTRIES, TEST_PARTITION);
+        return null;
+      });
+      Future<?> removal = executor.submit(() -> {
+        barrier.await();
+        for (int i = 0; i < ENTRIES; ++i) {
+          try {
+            store.remove(key(currentRound, i), TEST_PARTITION);
+          } catch (ObjectDoesNotExistException e) {
+            // Already expired
+          }
+        }
+        return null;
+      });
+      expiration.get(5, SECONDS);
+      removal.get(5, SECONDS);
+
+      // Discards the removed entries that the concurrent expiration didn't get to
+      store.expire(1, ENTRIES, TEST_PARTITION);
+
+      assertThat(store.allKeys(TEST_PARTITION), is(empty()));
+      assertThat(store.getRemovedEntriesInQueue(TEST_PARTITION), is(0));
+    }
+  }
+
+  @Test
+  public void clearKeepsRemovedEntriesCount() throws ObjectStoreException {
+    store.store("key1", TEST_VALUE, TEST_PARTITION);
+    store.store("key2", TEST_VALUE, TEST_PARTITION);
+    store.remove("key1", TEST_PARTITION);
+    assertThat(store.getRemovedEntriesInQueue(TEST_PARTITION), is(1));
+
+    store.clear(TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION), is(empty()));
+    assertThat(store.getRemovedEntriesInQueue(TEST_PARTITION), is(0));
+  }
+
+  private static String key(int round, int i) {
+    return round + "-" + i;
+  }
+}
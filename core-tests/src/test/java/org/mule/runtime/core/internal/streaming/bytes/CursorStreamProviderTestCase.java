@@ -53,14 +53,17 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
   @Parameterized.Parameters(name = "{0}")
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
-        {"Doesn't require expansion", KB_256, MB_1, MB_2},
-        {"Requires expansion", MB_1, KB_256, MB_2},
+        {"Doesn't require expansion", KB_256, MB_1, MB_2, false},
+        {"Requires expansion", MB_1, KB_256, MB_2, false},
+        {"Doesn't require expansion - segmented", KB_256, MB_1, MB_2, true},
+        {"Requires expansion - segmented", MB_1, KB_256, MB_2, true},
     });
   }
 
   private int halfDataLength;
   private final int bufferSize;
   private final int maxBufferSize;
+  private final boolean segmented;
   protected final ScheduledExecutorService executorService;
 
   private CursorStreamProvider streamProvider;
@@ -68,11 +71,12 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
   private CountDownLatch mainThreadLatch;
   protected PoolingByteBufferManager bufferManager;
 
-  public CursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+  public CursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize, boolean segmented) {
     super(dataSize);
     executorService = newScheduledThreadPool(2);
     this.bufferSize = bufferSize;
     this.maxBufferSize = maxBufferSize;
+    this.segmented = segmented;
     halfDataLength = data.length() / 2;
 
     resetLatches();
@@ -93,7 +97,8 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     InMemoryCursorStreamConfig config =
         new InMemoryCursorStreamConfig(new DataSize(bufferSize, BYTE),
                                        new DataSize(bufferSize / 2, BYTE),
-                                       new DataSize(maxBufferSize, BYTE));
+                                       new DataSize(maxBufferSize, BYTE),
+                                       segmented);
 
     return new InMemoryCursorStreamProvider(dataStream, config, bufferManager, from("log"), false);
   }
@@ -299,7 +304,8 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     InMemoryCursorStreamConfig config =
         new InMemoryCursorStreamConfig(new DataSize(maxBufferSize, BYTE),
                                        new DataSize(0, BYTE),
-                                       new DataSize(maxBufferSize, BYTE));
+                                       new DataSize(maxBufferSize, BYTE),
+                                       segmented);
 
     streamProvider = new InMemoryCursorStreamProvider(dataStream, config, bufferManager);
     withCursor(cursor -> assertEquals(IOUtils.toString(cursor), data));
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.toIntExact;
+import static java.lang.System.getProperty;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import io.qameta.allure.Feature;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends AbstractByteStreamingTestCase {
+
+  private PoolingByteBufferManager bufferManager;
+  private FileStoreCursorStreamProvider streamProvider;
+  private ExecutorService executorService;
+
+  public FileStoreCursorStreamProviderTestCase() {
+    super(MB_2);
+  }
+
+  @Before
+  public void before() {
+    bufferManager = new PoolingByteBufferManager();
+    executorService = newFixedThreadPool(4);
+    streamProvider = new FileStoreCursorStreamProvider(new ByteArrayInputStream(data.getBytes()),
+                                                       new FileStoreCursorStreamConfig(new DataSize(KB_256, BYTE)),
+                                                       bufferManager, from("log"), false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    executorService.shutdownNow();
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void readFully() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(IOUtils.toString(cursor), data);
+    }
+  }
+
+  @Test
+  public void seekBackIntoMemoryAndFile() throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(IOUtils.toString(cursor), data);
+
+      seekAndAssert(cursor, 10, 100);
+      seekAndAssert(cursor, KB_256 - 50, 100);
+      seekAndAssert(cursor, MB_1, KB_256);
+    }
+  }
+
+  @Test
+  public void concurrentCursors() throws Exception {
+    final List<Callable<String>> readers = asList(() -> read(0), () -> read(KB_256 / 2), () -> read(MB_1), () -> read(MB_2 - 10));
+    for (Future<String> result : executorService.invokeAll(readers)) {
+      result.get();
+    }
+  }
+
+  @Test
+  public void bufferFileDeletedOnClose() throws Exception {
+    final Set<String> filesBefore = bufferFiles();
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      IOUtils.toString(cursor);
+    }
+
+    final Set<String> created = bufferFiles();
+    created.removeAll(filesBefore);
+    assertThat(created.size(), is(1));
+
+    streamProvider.close();
+    final Set<String> filesAfter = bufferFiles();
+    filesAfter.retainAll(created);
+    assertThat(filesAfter.isEmpty(), is(true));
+  }
+
+  private String read(int position) throws Exception {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      cursor.seek(position);
+      final String read = IOUtils.toString(cursor);
+      assertEquals(read, data.substring(position));
+      return read;
+    }
+  }
+
+  private void seekAndAssert(CursorStream cursor, long position, int length) throws Exception {
+    byte[] randomBytes = new byte[length];
+    cursor.seek(position);
+    assertThat(cursor.read(randomBytes, 0, length), is(length));
+    assertEquals(toString(randomBytes), data.substring(toIntExact(position), toIntExact(position + length)));
+  }
+
+  private Set<String> bufferFiles() {
+    final Set<String> names = new HashSet<>();
+    final String[] files = new File(getProperty("java.io.tmpdir")).list((dir, name) -> name.startsWith("mule-buffer-stream-"));
+    if (files != null) {
+      names.addAll(asList(files));
+    }
+    return names;
+  }
+}
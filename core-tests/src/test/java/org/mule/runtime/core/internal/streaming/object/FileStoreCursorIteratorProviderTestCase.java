@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.System.getProperty;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int BUCKET_SIZE = 50;
+
+  private FileStoreCursorIteratorProvider streamProvider;
+  private ExecutorService executorService;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    executorService = newFixedThreadPool(4);
+    streamProvider = new FileStoreCursorIteratorProvider(toStreamingIterator(data),
+                                                         new FileStoreCursorIteratorConfig(BUCKET_SIZE, 3),
+                                                         muleContext.getObjectSerializer(), from("log"), false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    executorService.shutdownNow();
+  }
+
+  @Test
+  @Description("Fully consume the stream twice, so evicted buckets are reloaded")
+  public void readFullyTwice() throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      checkEquals(data, cursor);
+      cursor.seek(0);
+      checkEquals(data, cursor);
+    }
+  }
+
+  @Test
+  @Description("Seek back into an evicted bucket")
+  public void seekIntoEvictedBucket() throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      read(cursor, DATA_SIZE);
+
+      cursor.seek(BUCKET_SIZE + 10);
+      checkEquals(read(cursor, 100), data.subList(BUCKET_SIZE + 10, BUCKET_SIZE + 110));
+    }
+  }
+
+  @Test
+  @Description("Many cursors reading from different positions at the same time")
+  public void concurrentCursors() throws Exception {
+    final List<Callable<Object>> readers = asList(() -> readFrom(0), () -> readFrom(DATA_SIZE / 2), () -> readFrom(10),
+                                                  () -> readFrom(DATA_SIZE - 1));
+    for (Future<Object> result : executorService.invokeAll(readers)) {
+      result.get();
+    }
+  }
+
+  @Test
+  @Description("The buffer file is deleted when the provider is closed")
+  public void bufferFileDeletedOnClose() throws Exception {
+    final Set<String> filesBefore = bufferFiles();
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      read(cursor, DATA_SIZE);
+    }
+
+    final Set<String> created = bufferFiles();
+    created.removeAll(filesBefore);
+    assertThat(created.size(), is(1));
+
+    streamProvider.close();
+    final Set<String> filesAfter = bufferFiles();
+    filesAfter.retainAll(created);
+    assertThat(filesAfter.isEmpty(), is(true));
+  }
+
+  private Object readFrom(int position) throws Exception {
+    try (CursorIterator<Object> cursor = streamProvider.openCursor()) {
+      cursor.seek(position);
+      checkEquals(read(cursor, DATA_SIZE), data.subList(position, DATA_SIZE));
+      return null;
+    }
+  }
+
+  private Set<String> bufferFiles() {
+    final Set<String> names = new HashSet<>();
+    final String[] files = new File(getProperty("java.io.tmpdir")).list((dir, name) -> name.startsWith("mule-buffer-iterator-"));
+    if (files != null) {
+      names.addAll(asList(files));
+    }
+    return names;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.DataType.builder;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+@SmallTest
+public class TransformerResolutionCacheTestCase extends AbstractMuleTestCase {
+
+  private final TransformerResolutionCache<String> cache = new TransformerResolutionCache<>();
+  private final AtomicInteger resolutions = new AtomicInteger();
+
+  private String resolve(DataType source, DataType result) {
+    resolutions.incrementAndGet();
+    return source.getType().getSimpleName() + "To" + result.getType().getSimpleName();
+  }
+
+  @Test
+  public void resolvedOnce() {
+    assertThat(cache.get(STRING, BYTE_ARRAY, this::resolve), is("StringTobyte[]"));
+    assertThat(cache.get(builder(STRING).build(), builder(BYTE_ARRAY).build(), this::resolve), is("StringTobyte[]"));
+
+    assertThat(resolutions.get(), is(1));
+  }
+
+  @Test
+  public void keyedByFullDataType() {
+    cache.get(STRING, BYTE_ARRAY, this::resolve);
+    cache.get(builder(STRING).mediaType(APPLICATION_JSON).build(), BYTE_ARRAY, this::resolve);
+    cache.get(BYTE_ARRAY, STRING, this::resolve);
+
+    assertThat(resolutions.get(), is(3));
+  }
+
+  @Test
+  public void unresolvedCached() {
+    assertThat(cache.get(STRING, BYTE_ARRAY, (source, result) -> {
+      resolutions.incrementAndGet();
+      return null;
+    }), is(nullValue()));
+    assertThat(cache.get(STRING, BYTE_ARRAY, this::resolve), is(nullValue()));
+
+    assertThat(resolutions.get(), is(1));
+  }
+
+  @Test
+  public void failedResolutionNotCached() {
+    try {
+      cache.get(STRING, BYTE_ARRAY, (source, result) -> {
+        throw new IllegalStateException();
+      });
+    } catch (IllegalStateException e) {
+      // expected
+    }
+
+    assertThat(cache.get(STRING, BYTE_ARRAY, this::resolve), is("StringTobyte[]"));
+  }
+
+  @Test
+  public void invalidate() {
+    cache.get(STRING, BYTE_ARRAY, this::resolve);
+    cache.invalidate();
+    cache.get(STRING, BYTE_ARRAY, this::resolve);
+
+    assertThat(resolutions.get(), is(2));
+  }
+
+  @Test
+  public void resolutionStartedBeforeInvalidationNotKept() {
+    assertThat(cache.get(STRING, BYTE_ARRAY, (source, result) -> {
+      // The state the resolution depends on changes while resolving
+      cache.invalidate();
+      return "stale";
+    }), is("stale"));
+
+    assertThat(cache.size(), is(0L));
+    assertThat(cache.get(STRING, BYTE_ARRAY, this::resolve), is("StringTobyte[]"));
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.rules.ExpectedException.none;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import org.mule.runtime.core.internal.util.HashedWheelTimer.Timeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SmallTest
+public class HashedWheelTimerTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK_MILLIS = 5;
+
+  @Rule
+  public final ExpectedException expected = none();
+
+  private ScheduledExecutorService scheduler;
+  private HashedWheelTimer timer;
+
+  @Before
+  public void before() {
+    scheduler = newScheduledThreadPool(1);
+    // A small wheel, so the timeouts have to go around it several times
+    timer = new HashedWheelTimer(scheduler, scheduler, TICK_MILLIS, MILLISECONDS, 8);
+    timer.start();
+  }
+
+  @After
+  public void after() {
+    timer.stop();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void taskRunAfterDelay() {
+    final long delayMillis = 100;
+    final AtomicLong executedAt = new AtomicLong();
+
+    final long scheduledAt = nanoTime();
+    timer.newTimeout(() -> executedAt.set(nanoTime()), delayMillis, MILLISECONDS);
+
+    probe(() -> executedAt.get() != 0);
+    assertThat(NANOSECONDS.toMillis(executedAt.get() - scheduledAt), greaterThanOrEqualTo(delayMillis));
+    assertThat(timer.pendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void manyTasks() {
+    final AtomicInteger executed = new AtomicInteger();
+
+    for (int i = 0; i < 1000; ++i) {
+      timer.newTimeout(executed::incrementAndGet, i % 200, MILLISECONDS);
+    }
+
+    probe(() -> executed.get() == 1000);
+    assertThat(timer.pendingTimeouts(), is(0));
+  }
+
+  @Test
+  public void cancelledTaskNotRun() throws InterruptedException {
+    final AtomicInteger executed = new AtomicInteger();
+
+    Timeout cancelled = timer.newTimeout(executed::incrementAndGet, 20, MILLISECONDS);
+    timer.newTimeout(executed::incrementAndGet, 50, MILLISECONDS);
+
+    assertThat(cancelled.cancel(), is(true));
+    assertThat(timer.pendingTimeouts(), is(1));
+
+    probe(() -> executed.get() == 1);
+    Thread.sleep(50);
+    assertThat(executed.get(), is(1));
+    assertThat(cancelled.isCancelled(), is(true));
+    assertThat(cancelled.cancel(), is(false));
+  }
+
+  @Test
+  public void expiredTaskNotCancelled() {
+    final AtomicInteger executed = new AtomicInteger();
+
+    Timeout timeout = timer.newTimeout(executed::incrementAndGet, 0, MILLISECONDS);
+
+    probe(() -> executed.get() == 1);
+    assertThat(timeout.isExpired(), is(true));
+    assertThat(timeout.cancel(), is(false));
+  }
+
+  @Test
+  public void notTickingUntilFirstTimeout() {
+    assertThat(timer.isTicking(), is(false));
+
+    final AtomicInteger executed = new AtomicInteger();
+    timer.newTimeout(executed::incrementAndGet, 20, MILLISECONDS);
+    assertThat(timer.isTicking(), is(true));
+
+    probe(() -> executed.get() == 1);
+  }
+
+  @Test
+  public void tickingStoppedWhenNoPendingTimeouts() {
+    final AtomicInteger executed = new AtomicInteger();
+    timer.newTimeout(executed::incrementAndGet, 20, MILLISECONDS);
+
+    probe(() -> executed.get() == 1 && !timer.isTicking());
+  }
+
+  @Test
+  public void tickingStoppedWhenAllTimeoutsCancelled() {
+    Timeout timeout = timer.newTimeout(() -> {
+    }, 1, SECONDS);
+    timeout.cancel();
+
+    probe(() -> !timer.isTicking());
+  }
+
+  @Test
+  public void tickingRestartedForLaterTimeout() {
+    final AtomicInteger executed = new AtomicInteger();
+    timer.newTimeout(executed::incrementAndGet, 0, MILLISECONDS);
+    probe(() -> executed.get() == 1 && !timer.isTicking());
+
+    final long delayMillis = 50;
+    final AtomicLong executedAt = new AtomicLong();
+    final long scheduledAt = nanoTime();
+    timer.newTimeout(() -> executedAt.set(nanoTime()), delayMillis, MILLISECONDS);
+
+    probe(() -> executedAt.get() != 0);
+    assertThat(NANOSECONDS.toMillis(executedAt.get() - scheduledAt), greaterThanOrEqualTo(delayMillis));
+    probe(() -> !timer.isTicking());
+  }
+
+  @Test
+  public void notStarted() {
+    HashedWheelTimer notStarted = new HashedWheelTimer(scheduler, scheduler, TICK_MILLIS, MILLISECONDS, 8);
+
+    expected.expect(IllegalStateException.class);
+    notStarted.newTimeout(() -> {
+    }, 0, MILLISECONDS);
+  }
+
+  @Test
+  public void stopped() {
+    timer.stop();
+
+    expected.expect(IllegalStateException.class);
+    timer.newTimeout(() -> {
+    }, 0, MILLISECONDS);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap.emptyPersistentMap;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveMapTestCase extends AbstractMuleTestCase {
+
+  private static final int ENTRIES = 500;
+
+  @Test
+  public void caseInsensitive() {
+    PersistentCaseInsensitiveMap<String> map = emptyPersistentMap();
+    map = map.plus("FOO", "bar").plus("doo", "daa");
+
+    assertThat(map.get("foo"), is("bar"));
+    assertThat(map.get("DOO"), is("daa"));
+    assertThat(map.containsKey("fOo"), is(true));
+    assertThat(map.keySet(), contains("FOO", "doo"));
+  }
+
+  @Test
+  public void replaceKeepsOriginalKey() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("FOO", "bar");
+    PersistentCaseInsensitiveMap<String> replaced = map.plus("foo", "baz");
+
+    assertThat(replaced.size(), is(1));
+    assertThat(replaced.get("FOO"), is("baz"));
+    assertThat(replaced.keySet(), contains("FOO"));
+    assertThat(map.get("FOO"), is("bar"));
+  }
+
+  @Test
+  public void derivedVersionsDontAffectEachOther() {
+    PersistentCaseInsensitiveMap<Integer> map = emptyPersistentMap();
+    for (int i = 0; i < ENTRIES; i++) {
+      map = map.plus("key" + i, i);
+    }
+
+    PersistentCaseInsensitiveMap<Integer> removed = map;
+    for (int i = 0; i < ENTRIES; i += 2) {
+      removed = removed.minus("KEY" + i);
+    }
+
+    assertThat(map.size(), is(ENTRIES));
+    assertThat(removed.size(), is(ENTRIES / 2));
+    for (int i = 0; i < ENTRIES; i++) {
+      assertThat(map.get("Key" + i), is(i));
+      assertThat(removed.get("Key" + i), is(i % 2 == 0 ? null : i));
+    }
+
+    Map<String, Integer> iterated = new HashMap<>();
+    removed.forEach(iterated::put);
+    assertThat(iterated.size(), is(ENTRIES / 2));
+  }
+
+  @Test
+  public void iteratedInInsertionOrder() {
+    PersistentCaseInsensitiveMap<Integer> map = emptyPersistentMap();
+    List<String> expectedKeys = new ArrayList<>();
+    for (int i = 0; i < ENTRIES; i++) {
+      map = map.plus("key" + i, i);
+      expectedKeys.add("key" + i);
+    }
+
+    // Replaced entries keep their position, removed ones that are added again go to the end
+    map = map.plus("KEY10", -10).minus("key20").plus("Key20", 20);
+    expectedKeys.remove("key20");
+    expectedKeys.add("Key20");
+
+    assertThat(new ArrayList<>(map.keySet()), is(expectedKeys));
+    assertThat(map.values().iterator().next(), is(0));
+    assertThat(new ArrayList<>(map.values()).get(10), is(-10));
+    assertThat(new ArrayList<>(SerializationUtils.clone(map).keySet()), is(expectedKeys));
+  }
+
+  @Test
+  public void unchangedVersionsAreSameInstance() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("foo", "bar");
+
+    assertThat(map.plus("FOO", "bar"), is(sameInstance(map)));
+    assertThat(map.minus("other"), is(sameInstance(map)));
+    assertThat(map.minus("Foo"), is(sameInstance(emptyPersistentMap())));
+  }
+
+  @Test
+  public void collidingKeys() {
+    // Both keys have the same case insensitive hash
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap()
+        .plus("ab", "first").plus("c$", "second");
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("AB"), is("first"));
+    assertThat(map.get("C$"), is("second"));
+
+    map = map.minus("AB");
+    assertThat(map.size(), is(1));
+    assertThat(map.get("ab"), is(nullValue()));
+    assertThat(map.get("c$"), is("second"));
+  }
+
+  @Test
+  public void copy() {
+    PersistentCaseInsensitiveMap<String> map = PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("FOO", "bar");
+    CaseInsensitiveHashMap<String, String> copy = map.copy();
+    copy.put("foo", "baz");
+
+    assertThat(copy.get("FOO"), is("baz"));
+    assertThat(map.get("FOO"), is("bar"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    PersistentCaseInsensitiveMap.<String>emptyPersistentMap().plus("FOO", "bar").put("doo", "daa");
+  }
+
+  @Test
+  public void serialize() {
+    PersistentCaseInsensitiveMap<String> map = emptyPersistentMap();
+    for (int i = 0; i < ENTRIES; i++) {
+      map = map.plus("key" + i, "value" + i);
+    }
+
+    PersistentCaseInsensitiveMap<String> deserialized = SerializationUtils.clone(map);
+    assertThat(deserialized.size(), is(ENTRIES));
+    for (int i = 0; i < ENTRIES; i++) {
+      assertThat(deserialized.get("KEY" + i), is("value" + i));
+    }
+  }
+}
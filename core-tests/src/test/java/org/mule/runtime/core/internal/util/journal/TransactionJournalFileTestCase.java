@@ -6,17 +6,25 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.Batch;
 import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Rule;
@@ -51,11 +59,62 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void groupCommitWritesEntriesOnceDurable() throws Exception {
+    final Serializable payload = "Hello World!";
+    final int txId = 1;
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(MILLISECONDS.toNanos(1));
+    journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 5, "queue", payload));
+    Batch batch = journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 3, null, null));
+    assertThat(journal.fileLength(), is(0L));
+
+    batch.awaitDurable();
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal();
+    assertThat(reopened.getLogEntries(txId).size(), equalTo(2));
+    reopened.close();
+    journal.close();
+  }
+
+  @Test
+  public void groupCommitConcurrentTransactions() throws Exception {
+    final int transactions = 64;
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(MILLISECONDS.toNanos(2));
+
+    ExecutorService executor = newFixedThreadPool(8);
+    try {
+      List<Future<?>> commits = new ArrayList<>();
+      for (int i = 0; i < transactions; ++i) {
+        final int txId = i;
+        commits.add(executor.submit(() -> {
+          journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 5, "queue", "value" + txId));
+          journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 3, null, null)).awaitDurable();
+        }));
+      }
+      for (Future<?> commit : commits) {
+        commit.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal();
+    for (int i = 0; i < transactions; ++i) {
+      assertThat(reopened.getLogEntries(i).size(), equalTo(2));
+    }
+    reopened.close();
+    journal.close();
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
+    return openJournal(-1);
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(long groupCommitWindowNanos) {
     File journalFile = new File(temporaryFolder.getRoot(), "journal");
     JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
 
-    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500);
+    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500, groupCommitWindowNanos, 16);
   }
 
 }
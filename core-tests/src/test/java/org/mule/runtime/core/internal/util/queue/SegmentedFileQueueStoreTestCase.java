@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.queue.DefaultQueueStore.SEGMENTED_QUEUE_STORE_PROPERTY;
+import static org.mule.runtime.core.internal.util.queue.SegmentedFileQueueStoreDelegate.SEGMENT_SIZE_PROPERTY;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.tck.core.util.queue.QueueStoreTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.File;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Answers;
+
+public class SegmentedFileQueueStoreTestCase extends QueueStoreTestCase {
+
+  private static final String QUEUE_NAME = "testQueue";
+
+  @Rule
+  public SystemProperty segmentedStore = new SystemProperty(SEGMENTED_QUEUE_STORE_PROPERTY, "true");
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY, "256");
+
+  @Override
+  protected QueueStore createQueueInfoDelegate(int capacity, MuleContext muleContext) {
+    return new DefaultQueueStore(QUEUE_NAME, muleContext, new DefaultQueueConfiguration(capacity, true));
+  }
+
+  @Test
+  public void consumedSegmentsAreDeleted() throws Exception {
+    SegmentedFileQueueStoreDelegate delegate = createDelegate();
+    for (int i = 0; i < NUMBER_OF_ITEMS * 10; i++) {
+      delegate.putNow(VALUE + i);
+    }
+
+    Map<Long, File> segments = delegate.getSegmentFiles();
+    assertThat(segments.size(), greaterThan(1));
+
+    for (int i = 0; i < NUMBER_OF_ITEMS * 10; i++) {
+      assertThat((String) delegate.poll(SHORT_POLL_TIMEOUT), is(VALUE + i));
+    }
+    assertThat(delegate.getSegmentFiles().size(), is(1));
+    segments.values().stream().limit(segments.size() - 1).forEach(file -> assertThat(file.exists(), is(false)));
+    delegate.dispose();
+  }
+
+  @Test
+  public void reopenKeepsPendingItems() throws Exception {
+    SegmentedFileQueueStoreDelegate delegate = createDelegate();
+    for (int i = 0; i < NUMBER_OF_ITEMS * 10; i++) {
+      delegate.putNow(VALUE + i);
+    }
+    for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+      delegate.poll(SHORT_POLL_TIMEOUT);
+    }
+    delegate.close();
+
+    delegate = createDelegate();
+    assertThat(delegate.getSize(), is(NUMBER_OF_ITEMS * 9));
+    for (int i = NUMBER_OF_ITEMS; i < NUMBER_OF_ITEMS * 10; i++) {
+      assertThat((String) delegate.poll(SHORT_POLL_TIMEOUT), is(VALUE + i));
+    }
+    delegate.dispose();
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    SegmentedFileQueueStoreDelegate delegate = createDelegate();
+    delegate.putNow(VALUE);
+    delegate.putNow(ANOTHER_VALUE);
+    delegate.untake(VALUE + 1);
+
+    assertThat(delegate.contains(ANOTHER_VALUE), is(true));
+    delegate.remove(VALUE + 1);
+    delegate.remove(VALUE);
+    assertThat(delegate.contains(VALUE), is(false));
+    assertThat(delegate.getSize(), is(1));
+    assertThat((String) delegate.poll(SHORT_POLL_TIMEOUT), is(ANOTHER_VALUE));
+    delegate.dispose();
+  }
+
+  @Test
+  public void itemsStoredInLegacyFilesAreMoved() throws Exception {
+    MuleContext context = mockMuleContext();
+    DualRandomAccessFileQueueStoreDelegate legacyDelegate =
+        new DualRandomAccessFileQueueStoreDelegate(QUEUE_NAME, temporaryFolder.getRoot().getAbsolutePath(), context, 0);
+    legacyDelegate.putNow(VALUE);
+    legacyDelegate.putNow(ANOTHER_VALUE);
+    legacyDelegate.close();
+
+    QueueStore queue = createQueue();
+    assertThat(queue.getSize(), is(2));
+    assertThat((String) queue.poll(SHORT_POLL_TIMEOUT), is(VALUE));
+    assertThat((String) queue.poll(SHORT_POLL_TIMEOUT), is(ANOTHER_VALUE));
+    assertThat(DualRandomAccessFileQueueStoreDelegate.hasQueueFiles(QUEUE_NAME, temporaryFolder.getRoot().getAbsolutePath()),
+               is(false));
+  }
+
+  private SegmentedFileQueueStoreDelegate createDelegate() {
+    return new SegmentedFileQueueStoreDelegate(QUEUE_NAME, temporaryFolder.getRoot().getAbsolutePath(), mockMuleContext(), 0);
+  }
+
+  private MuleContext mockMuleContext() {
+    MuleContext mockMuleContext = mock(MuleContext.class, Answers.RETURNS_DEEP_STUBS.get());
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(muleContext.getExecutionClassLoader());
+    when(mockMuleContext.getObjectSerializer()).thenReturn(muleContext.getObjectSerializer());
+    return mockMuleContext;
+  }
+}
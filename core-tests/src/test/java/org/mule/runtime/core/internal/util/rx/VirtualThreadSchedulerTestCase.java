@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class VirtualThreadSchedulerTestCase extends AbstractMuleTestCase {
+
+  private final ScheduledExecutorService timerExecutor = newSingleThreadScheduledExecutor();
+  private final Scheduler timer = mock(Scheduler.class);
+  private VirtualThreadScheduler scheduler;
+
+  @Before
+  public void before() {
+    doAnswer(invocation -> {
+      Runnable task = invocation.getArgument(0);
+      long delay = invocation.getArgument(1);
+      TimeUnit unit = invocation.getArgument(2);
+      return timerExecutor.schedule(task, delay, unit);
+    }).when(timer).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+    // Platform threads stand for the virtual threads, which are not available in every JVM the tests are run on
+    scheduler = new VirtualThreadScheduler("test", timer, newCachedThreadPool(), 5000);
+  }
+
+  @After
+  public void after() {
+    scheduler.shutdownNow();
+    timerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void notSupportedWithoutVirtualThreads() {
+    assumeThat(VirtualThreadScheduler.isSupported(), is(false));
+
+    try {
+      new VirtualThreadScheduler("test", timer, 5000);
+    } catch (Exception e) {
+      assertThat(e, instanceOf(UnsupportedOperationException.class));
+      return;
+    }
+    throw new AssertionError("Expected an UnsupportedOperationException");
+  }
+
+  @Test
+  public void delayedCallable() throws Exception {
+    ScheduledFuture<String> future = scheduler.schedule(() -> "done", 10, MILLISECONDS);
+
+    assertThat(future.get(5, SECONDS), is("done"));
+    assertThat(future.isDone(), is(true));
+  }
+
+  @Test
+  public void slowDelayedCallableDoesNotHoldTimer() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    ScheduledFuture<String> slow = scheduler.schedule(() -> {
+      release.await();
+      return "slow";
+    }, 0, MILLISECONDS);
+    ScheduledFuture<String> fast = scheduler.schedule(() -> "fast", 10, MILLISECONDS);
+
+    assertThat(fast.get(5, SECONDS), is("fast"));
+    assertThat(slow.isDone(), is(false));
+
+    release.countDown();
+    assertThat(slow.get(5, SECONDS), is("slow"));
+  }
+
+  @Test
+  public void delayedCallableFailure() throws Exception {
+    final IllegalStateException failure = new IllegalStateException();
+    ScheduledFuture<String> future = scheduler.schedule(() -> {
+      throw failure;
+    }, 0, MILLISECONDS);
+
+    try {
+      future.get(5, SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(e.getCause() == failure, is(true));
+      return;
+    }
+    throw new AssertionError("Expected an ExecutionException");
+  }
+
+  @Test
+  public void cancelledDelayedCallableNotRun() throws Exception {
+    final AtomicBoolean run = new AtomicBoolean();
+    ScheduledFuture<Boolean> future = scheduler.schedule(() -> run.getAndSet(true), 100, MILLISECONDS);
+
+    assertThat(future.cancel(false), is(true));
+    assertThat(future.isCancelled(), is(true));
+    Thread.sleep(200);
+    assertThat(run.get(), is(false));
+  }
+
+  @Test
+  public void stopWaitsForRunningTasks() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicBoolean finished = new AtomicBoolean();
+    final AtomicBoolean interrupted = new AtomicBoolean();
+    scheduler.execute(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(200);
+        finished.set(true);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+    });
+    started.await();
+
+    scheduler.stop();
+
+    assertThat(finished.get(), is(true));
+    assertThat(interrupted.get(), is(false));
+    assertThat(scheduler.isTerminated(), is(true));
+    verify(timer).stop();
+  }
+
+  @Test
+  public void stopInterruptsTasksAfterTimeout() throws Exception {
+    scheduler = new VirtualThreadScheduler("test", timer, newCachedThreadPool(), 50);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    scheduler.execute(() -> {
+      started.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    });
+    started.await();
+
+    scheduler.stop();
+
+    assertThat(interrupted.await(5, SECONDS), is(true));
+    verify(timer).stop();
+  }
+
+  @Test
+  public void tasksRejectedAfterStop() throws Exception {
+    scheduler.stop();
+
+    ScheduledFuture<String> future = scheduler.schedule(() -> "done", 0, MILLISECONDS);
+    try {
+      future.get(5, SECONDS);
+    } catch (ExecutionException e) {
+      assertThat(scheduler.isShutdown(), is(true));
+      return;
+    }
+    throw new AssertionError("Expected an ExecutionException");
+  }
+}
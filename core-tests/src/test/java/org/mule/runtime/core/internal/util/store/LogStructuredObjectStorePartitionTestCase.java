@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final long SEGMENT_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private MuleContext muleContext = mockMuleContext();
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParentFile().getPath());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = createPartition();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    partition.store("key", "value");
+    assertThat(partition.contains("key"), is(true));
+    assertThat(partition.retrieve("key"), is("value"));
+
+    assertThat(partition.remove("key"), is("value"));
+    assertThat(partition.contains("key"), is(false));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    partition.store("key", "value");
+    partition.store("key", "other");
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    try {
+      partition.retrieve("nonExistentKey");
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertThat(e.getMessage().contains("nonExistentKey"), is(true));
+    }
+  }
+
+  @Test
+  public void indexRebuiltOnRestart() throws ObjectStoreException {
+    storeEntries(100);
+    partition.remove("key10");
+    partition.remove("key20");
+    partition.store("key20", "newValue");
+
+    final LogStructuredObjectStorePartition<String> restarted = createPartition();
+    assertThat(restarted.allKeys(), hasSize(99));
+    assertThat(restarted.contains("key10"), is(false));
+    assertThat(restarted.retrieve("key20"), is("newValue"));
+    assertThat(restarted.retrieve("key99"), is("value99"));
+  }
+
+  @Test
+  public void incompleteRecordDiscardedOnRestart() throws Exception {
+    storeEntries(3);
+
+    final File lastSegment = segmentFiles()[segmentFiles().length - 1];
+    try (RandomAccessFile segment = new RandomAccessFile(lastSegment, "rw")) {
+      segment.setLength(segment.length() - 2);
+    }
+
+    final LogStructuredObjectStorePartition<String> restarted = createPartition();
+    assertThat(restarted.allKeys(), containsInAnyOrder("key0", "key1"));
+
+    restarted.store("key2", "value2");
+    assertThat(createPartition().retrieve("key2"), is("value2"));
+  }
+
+  @Test
+  public void migrateFromDefaultLayout() throws Exception {
+    final PersistentObjectStorePartition<String> legacy =
+        new PersistentObjectStorePartition<>(muleContext, "test", objectStoreFolder.newFolder("legacy"));
+    legacy.open();
+    legacy.store("key1", "value1");
+    legacy.store("key2", "value2");
+
+    final LogStructuredObjectStorePartition<String> migrated =
+        new LogStructuredObjectStorePartition<>(muleContext, legacy.getPartitionDirectory());
+    migrated.open();
+
+    assertThat(migrated.getPartitionName(), is("test"));
+    assertThat(migrated.retrieve("key1"), is("value1"));
+    assertThat(migrated.retrieve("key2"), is("value2"));
+    assertThat(legacy.getPartitionDirectory().list((dir, name) -> name.endsWith(".obj")).length, is(0));
+    assertThat(LogStructuredObjectStorePartition.isLogStructured(legacy.getPartitionDirectory()), is(true));
+  }
+
+  @Test
+  public void expireByMaxEntries() throws ObjectStoreException {
+    storeEntries(10);
+    partition.expire(UNBOUNDED, 4);
+
+    assertThat(partition.allKeys(), containsInAnyOrder("key6", "key7", "key8", "key9"));
+  }
+
+  @Test
+  public void expireByTtl() throws Exception {
+    storeEntries(10);
+    Thread.sleep(20);
+    partition.store("fresh", "value");
+    partition.expire(10, UNBOUNDED);
+
+    assertThat(partition.allKeys(), containsInAnyOrder("fresh"));
+  }
+
+  @Test
+  public void compactionReclaimsRemovedEntries() throws ObjectStoreException {
+    storeEntries(200);
+    final int segmentsBefore = segmentFiles().length;
+    for (int i = 0; i < 190; ++i) {
+      partition.remove("key" + i);
+    }
+
+    partition.compact();
+
+    assertThat(segmentFiles().length < segmentsBefore, is(true));
+    for (int i = 190; i < 200; ++i) {
+      assertThat(partition.retrieve("key" + i), is("value" + i));
+    }
+
+    final LogStructuredObjectStorePartition<String> restarted = createPartition();
+    assertThat(restarted.allKeys(), hasSize(10));
+    assertThat(restarted.retrieve("key195"), is("value195"));
+  }
+
+  @Test
+  public void clear() throws ObjectStoreException {
+    storeEntries(10);
+    partition.clear();
+
+    assertThat(partition.allKeys(), hasSize(0));
+    assertThat(new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(), is(true));
+    assertThat(createPartition().allKeys(), hasSize(0));
+  }
+
+  private LogStructuredObjectStorePartition<String> createPartition() throws ObjectStoreException {
+    final LogStructuredObjectStorePartition<String> partition =
+        new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), SEGMENT_SIZE);
+    partition.open();
+    return partition;
+  }
+
+  private void storeEntries(int count) throws ObjectStoreException {
+    for (int i = 0; i < count; ++i) {
+      partition.store("key" + i, "value" + i);
+    }
+  }
+
+  private File[] segmentFiles() {
+    return objectStoreFolder.getRoot().listFiles((dir, name) -> name.startsWith("segment-"));
+  }
+}
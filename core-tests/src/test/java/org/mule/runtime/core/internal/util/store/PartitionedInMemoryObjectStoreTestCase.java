@@ -46,6 +46,15 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     };
   }
 
+  @Test
+  public void storeIfAbsent() throws ObjectStoreException {
+    assertThat(store.storeIfAbsent(TEST_KEY1, TEST_VALUE, TEST_PARTITION), is(true));
+    assertThat(store.storeIfAbsent(TEST_KEY1, TEST_VALUE + "2", TEST_PARTITION), is(false));
+    assertThat(store.storeIfAbsent(TEST_KEY1, TEST_VALUE), is(true));
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
   @Test
   public void expireByTtlWithNegativeMaxEntriesAndEmptyStore() throws ObjectStoreException {
     store.expire(1, -1, TEST_PARTITION);
@@ -97,6 +106,49 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
   }
 
+  @Test
+  public void expireByTtlDoesNotRemoveKeyStoredAgain() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void expireByNumberOfEntriesKeepsAccessedKeys() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+
+    store.retrieve(TEST_KEY1, TEST_PARTITION);
+    store.expire(10, 2, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void expireByTtlAfterSecondChanceKeepsOrder() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.contains(TEST_KEY1, TEST_PARTITION);
+    store.expire(1, 2, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
   @Test
   public void removesDataOnClear() throws ObjectStoreException {
     PartitionedInMemoryObjectStore os = spy(store);
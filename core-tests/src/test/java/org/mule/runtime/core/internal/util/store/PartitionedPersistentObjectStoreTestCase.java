@@ -83,6 +83,16 @@ public class PartitionedPersistentObjectStoreTestCase extends AbstractMuleTestCa
     storeInPartitions(OBJECT_KEY, OBJECT_BASE_VALUE);
   }
 
+  @Test
+  public void storeIfAbsent() throws Exception {
+    openPartitions();
+    String partitionName = getPartitionName(0);
+
+    assertThat(os.storeIfAbsent(OBJECT_KEY, OBJECT_BASE_VALUE, partitionName), is(true));
+    assertThat(os.storeIfAbsent(OBJECT_KEY, OBJECT_BASE_VALUE + "2", partitionName), is(false));
+    assertThat(os.retrieve(OBJECT_KEY, partitionName), equalTo(OBJECT_BASE_VALUE));
+  }
+
   @Test
   public void objectStorePersistDataBetweenOpenAndClose() throws ObjectStoreException {
     openPartitions();
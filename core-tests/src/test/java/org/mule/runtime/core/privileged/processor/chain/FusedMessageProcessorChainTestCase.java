@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.privileged.processor.chain;
+
+import static org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder.FUSE_CPU_LITE_PROCESSORS_PROPERTY;
+
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Rule;
+
+/**
+ * Runs all the chain tests with consecutive {@code CPU_LITE} processors fused, to verify the behavior is the same as when they
+ * are not.
+ */
+@SmallTest
+public class FusedMessageProcessorChainTestCase extends DefaultMessageProcessorChainTestCase {
+
+  @Rule
+  public SystemProperty fuseCpuLiteProcessors = new SystemProperty(FUSE_CPU_LITE_PROCESSORS_PROPERTY, "true");
+
+  public FusedMessageProcessorChainTestCase(String psName, ProcessingStrategyFactory processingStrategyFactory, Mode mode) {
+    super(psName, processingStrategyFactory, mode);
+  }
+}
@@ -274,6 +274,13 @@ public class MuleProperties {
   @Deprecated
   public static final String MULE_STREAMING_BUCKET_SIZE = SYSTEM_PROPERTY_PREFIX + "streaming.bucketSize";
 
+  /**
+   * System property to make in memory repeatable streams use a segmented buffer by default.
+   *
+   * @since 4.4
+   */
+  public static final String MULE_STREAMING_SEGMENTED_BUFFER = SYSTEM_PROPERTY_PREFIX + "streaming.segmentedBuffer";
+
   /**
    * @deprecated since 4.2.0. Use {@link MuleSystemProperties#MULE_STREAMING_MAX_MEMORY} instead
    */
@@ -6,11 +6,14 @@
  */
 package org.mule.runtime.core.api.streaming.bytes;
 
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_SEGMENTED_BUFFER;
 import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_BYTES_STREAMING_MAX_BUFFER_SIZE;
 import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_BYTE_STREAMING_BUFFER_DATA_UNIT;
 import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_BYTE_STREAMING_BUFFER_INCREMENT_SIZE;
 import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_BYTE_STREAMING_BUFFER_SIZE;
+
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.util.DataSize;
 
@@ -24,6 +27,7 @@ public final class InMemoryCursorStreamConfig {
   private final DataSize initialBufferSize;
   private final DataSize bufferSizeIncrement;
   private final DataSize maxBufferSize;
+  private final boolean segmentedBuffer;
 
   /**
    * @return A new instance configured with default settings
@@ -46,6 +50,23 @@ public final class InMemoryCursorStreamConfig {
    * @param maxBufferSize     the maximum amount of space that the buffer can grow to. Use {@code null} for unbounded buffers
    */
   public InMemoryCursorStreamConfig(DataSize initialBufferSize, DataSize bufferSizeIncrement, DataSize maxBufferSize) {
+    this(initialBufferSize, bufferSizeIncrement, maxBufferSize, getBoolean(MULE_STREAMING_SEGMENTED_BUFFER));
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param initialBufferSize   the buffer's initial size. Must be greater than zero bytes.
+   * @param bufferSizeIncrement the size that the buffer should gain each time it is expanded. A value of zero bytes means no expansion.
+   *                            Cannot be negative byte size.
+   * @param maxBufferSize       the maximum amount of space that the buffer can grow to. Use {@code null} for unbounded buffers
+   * @param segmentedBuffer     whether the buffer grows by adding segments of {@code bufferSizeIncrement} instead of copying its
+   *                            contents into a bigger buffer.
+   *
+   * @since 4.4
+   */
+  public InMemoryCursorStreamConfig(DataSize initialBufferSize, DataSize bufferSizeIncrement, DataSize maxBufferSize,
+                                    boolean segmentedBuffer) {
     final int initial = initialBufferSize.toBytes();
     checkArgument(initial > 0, "initialBufferSize must be greater than zero bytes");
     final int increment = bufferSizeIncrement.toBytes();
@@ -62,6 +83,7 @@ public final class InMemoryCursorStreamConfig {
     this.initialBufferSize = initialBufferSize;
     this.bufferSizeIncrement = bufferSizeIncrement;
     this.maxBufferSize = maxBufferSize;
+    this.segmentedBuffer = segmentedBuffer;
   }
 
   public DataSize getInitialBufferSize() {
@@ -75,4 +97,12 @@ public final class InMemoryCursorStreamConfig {
   public DataSize getMaxBufferSize() {
     return maxBufferSize;
   }
+
+  /**
+   * @return whether the buffer grows by adding segments instead of copying its contents into a bigger buffer.
+   * @since 4.4
+   */
+  public boolean isSegmentedBuffer() {
+    return segmentedBuffer;
+  }
 }
@@ -8,8 +8,10 @@ package org.mule.runtime.core.api.streaming.bytes;
 
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.core.internal.streaming.bytes.AbstractInputStreamBuffer;
 import org.mule.runtime.core.internal.streaming.bytes.BufferedCursorStream;
 import org.mule.runtime.core.internal.streaming.bytes.InMemoryStreamBuffer;
+import org.mule.runtime.core.internal.streaming.bytes.SegmentedInMemoryStreamBuffer;
 
 import java.io.InputStream;
 
@@ -21,7 +23,7 @@ import java.io.InputStream;
  */
 public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProvider {
 
-  private final InMemoryStreamBuffer buffer;
+  private final AbstractInputStreamBuffer buffer;
 
   /**
    * Creates a new instance
@@ -40,7 +42,9 @@ public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProv
                                       ComponentLocation originatingLocation,
                                       boolean trackCursorProviderClose) {
     super(wrappedStream, originatingLocation, trackCursorProviderClose);
-    buffer = new InMemoryStreamBuffer(wrappedStream, config, bufferManager);
+    buffer = config.isSegmentedBuffer()
+        ? new SegmentedInMemoryStreamBuffer(wrappedStream, config, bufferManager)
+        : new InMemoryStreamBuffer(wrappedStream, config, bufferManager);
   }
 
   /**
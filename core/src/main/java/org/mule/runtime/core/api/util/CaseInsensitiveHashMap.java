@@ -100,7 +100,16 @@ public class CaseInsensitiveHashMap<K, V> implements Map<K, V>, Serializable {
     delegate.putAll(map);
   }
 
-  private CaseInsensitiveHashMap(CaseInsensitiveMapWrapper delegate) {
+  /**
+   * Constructs a map backed by the given {@code delegate}.
+   * <p/>
+   * Subclasses that set their own delegate, or that override all the methods using it, may pass {@code null} so that no
+   * delegate is allocated just to be discarded.
+   *
+   * @param delegate the map to delegate to, or {@code null}
+   * @since 4.4
+   */
+  protected CaseInsensitiveHashMap(CaseInsensitiveMapWrapper delegate) {
     this.delegate = delegate;
   }
 
@@ -208,6 +217,7 @@ public class CaseInsensitiveHashMap<K, V> implements Map<K, V>, Serializable {
     private transient final CaseInsensitiveHashMap<K, V> originalMap;
 
     private ImmutableCaseInsensitiveHashMap(CaseInsensitiveHashMap<K, V> caseInsensitiveHashMap) {
+      super((CaseInsensitiveMapWrapper) null);
       this.delegate = unmodifiableMap(caseInsensitiveHashMap);
       originalMap = caseInsensitiveHashMap;
     }
@@ -0,0 +1,549 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.interrupted;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.identityHashCode;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_BLOCK;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_FAIL;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_GROW;
+
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.apache.commons.pool.BaseObjectPool;
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.apache.commons.pool.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link ObjectPool} which doesn't take any lock when borrowing or returning objects.
+ * <p>
+ * All the pooled objects are kept in a shared copy-on-write list, each one with a state that is changed with compare-and-set
+ * operations. Borrowing first looks for an idle object among the ones previously returned by the same thread, then scans the
+ * shared list, then creates a new object if the pool is not full. When the pool is exhausted, the borrowing thread parks until
+ * a returning thread, or one that frees room in the pool, wakes it up to scan the shared list again.
+ * <p>
+ * The idle objects are counted when they change from and to the idle state, so objects that are being activated, validated or
+ * passivated are neither idle nor active.
+ * <p>
+ * It honors the same settings as {@link GenericObjectPool} for the pool limits, exhausted action, validation and eviction of
+ * idle objects.
+ *
+ * @param <T> the generic type of the pooled objects
+ * @since 4.4
+ */
+final class ConcurrentBagObjectPool<T> extends BaseObjectPool<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentBagObjectPool.class);
+
+  private static final int STATE_IDLE = 0;
+  private static final int STATE_IN_USE = 1;
+  private static final int STATE_RESERVED = 2;
+  private static final int STATE_REMOVED = 3;
+
+  private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+  private static final long MAX_WAIT_SLICE_NANOS = MILLISECONDS.toNanos(10);
+
+  private static final Object EVICTOR_LOCK = new Object();
+  private static ScheduledThreadPoolExecutor evictor;
+  private static int evictorUsages;
+
+  private final PoolableObjectFactory<T> factory;
+  private final int maxActive;
+  private final int maxIdle;
+  private final long maxWait;
+  private final byte whenExhaustedAction;
+  private final boolean testOnBorrow;
+  private final boolean testOnReturn;
+  private final boolean testWhileIdle;
+  private final long minEvictableIdleTimeMillis;
+
+  private final List<PooledEntry<T>> entries = new CopyOnWriteArrayList<>();
+  private final ConcurrentMap<IdentityKey, PooledEntry<T>> entriesByObject = new ConcurrentHashMap<>();
+  private final ThreadLocal<List<WeakReference<PooledEntry<T>>>> threadEntries = ThreadLocal.withInitial(ArrayList::new);
+  private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger totalCount = new AtomicInteger();
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  private final ScheduledFuture<?> evictionTask;
+
+  /**
+   * Creates a new instance
+   *
+   * @param factory the {@link PoolableObjectFactory} used to create, validate and destroy the pooled objects
+   * @param config  the settings of the pool, interpreted the same way {@link GenericObjectPool} does
+   */
+  ConcurrentBagObjectPool(PoolableObjectFactory<T> factory, GenericObjectPool.Config config) {
+    this.factory = factory;
+    this.maxActive = config.maxActive;
+    this.maxIdle = config.maxIdle;
+    this.maxWait = config.maxWait;
+    this.whenExhaustedAction = config.whenExhaustedAction;
+    this.testOnBorrow = config.testOnBorrow;
+    this.testOnReturn = config.testOnReturn;
+    this.testWhileIdle = config.testWhileIdle;
+    this.minEvictableIdleTimeMillis = config.minEvictableIdleTimeMillis;
+
+    if (whenExhaustedAction != WHEN_EXHAUSTED_FAIL && whenExhaustedAction != WHEN_EXHAUSTED_BLOCK
+        && whenExhaustedAction != WHEN_EXHAUSTED_GROW) {
+      throw new IllegalArgumentException("Unknown exhausted action: " + whenExhaustedAction);
+    }
+
+    evictionTask = config.timeBetweenEvictionRunsMillis > 0
+        ? scheduleEviction(this::evict, config.timeBetweenEvictionRunsMillis)
+        : null;
+  }
+
+  @Override
+  public T borrowObject() throws Exception {
+    final long startNanos = nanoTime();
+
+    while (true) {
+      assertOpen();
+
+      PooledEntry<T> entry = takeIdle();
+      boolean newlyCreated = false;
+      if (entry == null) {
+        entry = tryCreate();
+        newlyCreated = entry != null;
+      }
+      if (entry == null) {
+        entry = awaitIdle(startNanos);
+      }
+
+      if (prepareBorrowed(entry, newlyCreated)) {
+        activeCount.incrementAndGet();
+        return entry.object;
+      }
+    }
+  }
+
+  /**
+   * Looks for an idle entry, first in the ones last used by the current thread and then in the shared list.
+   *
+   * @return the reserved entry, or {@code null} if there are no idle entries
+   */
+  private PooledEntry<T> takeIdle() {
+    final List<WeakReference<PooledEntry<T>>> localEntries = threadEntries.get();
+    for (int i = localEntries.size() - 1; i >= 0; --i) {
+      final PooledEntry<T> entry = localEntries.remove(i).get();
+      if (entry != null && takeIdle(entry, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+
+    for (PooledEntry<T> entry : entries) {
+      if (takeIdle(entry, STATE_IN_USE)) {
+        return entry;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Changes the state of the given entry from idle to {@code state}, so no other thread may take it.
+   *
+   * @return whether the entry was idle
+   */
+  private boolean takeIdle(PooledEntry<T> entry, int state) {
+    if (entry.compareAndSetState(STATE_IDLE, state)) {
+      idleCount.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Makes the given entry idle again and wakes up a waiting borrower, if any.
+   */
+  private void makeIdle(PooledEntry<T> entry) {
+    // Counted before the entry can be taken, so the count never goes below the actual idle entries
+    idleCount.incrementAndGet();
+    entry.setState(STATE_IDLE);
+    signalWaiter();
+  }
+
+  /**
+   * Claims a place among the idle objects for one that is about to be returned to the pool.
+   *
+   * @return whether the object may be kept idle without exceeding {@link #maxIdle}
+   */
+  private boolean claimIdle() {
+    int count;
+    do {
+      count = idleCount.get();
+      if (maxIdle >= 0 && count >= maxIdle) {
+        return false;
+      }
+    } while (!idleCount.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Creates a new entry if the pool limits allow it.
+   *
+   * @return the new entry, already in use, or {@code null} if the pool is full
+   */
+  private PooledEntry<T> tryCreate() throws Exception {
+    int count;
+    do {
+      count = totalCount.get();
+      if (maxActive >= 0 && count >= maxActive && whenExhaustedAction != WHEN_EXHAUSTED_GROW) {
+        return null;
+      }
+    } while (!totalCount.compareAndSet(count, count + 1));
+
+    final T object;
+    try {
+      object = factory.makeObject();
+    } catch (Exception | Error e) {
+      totalCount.decrementAndGet();
+      throw e;
+    }
+
+    final PooledEntry<T> entry = new PooledEntry<>(object, STATE_IN_USE);
+    entriesByObject.put(new IdentityKey(object), entry);
+    entries.add(entry);
+    return entry;
+  }
+
+  /**
+   * Handles an exhausted pool according to the {@link #whenExhaustedAction}.
+   *
+   * @param startNanos the moment the borrow started, used to honor the {@link #maxWait}
+   * @return the reserved entry
+   */
+  private PooledEntry<T> awaitIdle(long startNanos) throws Exception {
+    if (whenExhaustedAction == WHEN_EXHAUSTED_FAIL) {
+      throw new NoSuchElementException("Pool exhausted");
+    }
+
+    final long deadlineNanos = maxWait > 0 ? startNanos + MILLISECONDS.toNanos(maxWait) : Long.MAX_VALUE;
+    final Thread current = currentThread();
+    try {
+      while (true) {
+        assertOpen();
+
+        // Registering before scanning guarantees that an entry made idle after the scan wakes this thread up
+        waiters.add(current);
+        PooledEntry<T> entry = takeIdle();
+        if (entry == null) {
+          entry = tryCreate();
+        }
+        if (entry != null) {
+          if (!waiters.remove(current)) {
+            // This thread was signaled while it was not parked, pass the signal on to another waiter
+            signalWaiter();
+          }
+          return entry;
+        }
+
+        final long remainingNanos = deadlineNanos - nanoTime();
+        if (remainingNanos <= 0) {
+          throw new NoSuchElementException("Timeout waiting for idle object");
+        }
+
+        parkNanos(this, min(remainingNanos, MAX_WAIT_SLICE_NANOS));
+        if (interrupted()) {
+          throw new InterruptedException();
+        }
+        waiters.remove(current);
+      }
+    } finally {
+      waiters.remove(current);
+    }
+  }
+
+  /**
+   * Activates and validates an entry that was just reserved for borrowing, destroying it if it is not usable.
+   *
+   * @return whether the entry may be handed to the borrower
+   */
+  private boolean prepareBorrowed(PooledEntry<T> entry, boolean newlyCreated) throws Exception {
+    try {
+      factory.activateObject(entry.object);
+      if (testOnBorrow && !factory.validateObject(entry.object)) {
+        throw new Exception("ValidateObject failed");
+      }
+      return true;
+    } catch (Exception | Error e) {
+      destroy(entry);
+      if (newlyCreated) {
+        NoSuchElementException nsee = new NoSuchElementException("Could not create a validated object, cause: "
+            + e.getMessage());
+        nsee.initCause(e);
+        throw nsee;
+      }
+      return false;
+    }
+  }
+
+  @Override
+  public void returnObject(T object) throws Exception {
+    final PooledEntry<T> entry = entriesByObject.get(new IdentityKey(object));
+    // Reserving the entry makes a concurrent or repeated return of the same object fail instead of making it idle twice
+    if (entry == null || !entry.compareAndSetState(STATE_IN_USE, STATE_RESERVED)) {
+      throw new IllegalStateException("Object is not borrowed from this pool");
+    }
+
+    boolean keep = !isClosed() && (maxIdle < 0 || idleCount.get() < maxIdle);
+    activeCount.decrementAndGet();
+    if (keep && testOnReturn) {
+      keep = factory.validateObject(object);
+    }
+    if (keep) {
+      try {
+        factory.passivateObject(object);
+      } catch (Exception e) {
+        keep = false;
+      }
+    }
+    // Other objects may have become idle while this one was validated and passivated
+    if (!keep || !claimIdle()) {
+      destroy(entry);
+      return;
+    }
+
+    entry.lastReturnTime = currentTimeMillis();
+    entry.setState(STATE_IDLE);
+    signalWaiter();
+
+    final List<WeakReference<PooledEntry<T>>> localEntries = threadEntries.get();
+    if (localEntries.size() < MAX_THREAD_LOCAL_ENTRIES) {
+      localEntries.add(new WeakReference<>(entry));
+    }
+  }
+
+  /**
+   * Wakes up the longest waiting borrower, if any, so it scans the pool again. The idle entry is left in the shared list, so the
+   * returning thread never waits for the borrower to take it.
+   */
+  private void signalWaiter() {
+    final Thread waiter = waiters.poll();
+    if (waiter != null) {
+      unpark(waiter);
+    }
+  }
+
+  @Override
+  public void invalidateObject(T object) throws Exception {
+    final PooledEntry<T> entry = entriesByObject.get(new IdentityKey(object));
+    if (entry == null || !entry.compareAndSetState(STATE_IN_USE, STATE_RESERVED)) {
+      throw new IllegalStateException("Object is not borrowed from this pool");
+    }
+    activeCount.decrementAndGet();
+    destroy(entry);
+  }
+
+  @Override
+  public void addObject() throws Exception {
+    assertOpen();
+    final PooledEntry<T> entry = tryCreate();
+    if (entry == null) {
+      throw new IllegalStateException("Pool is full");
+    }
+    try {
+      factory.passivateObject(entry.object);
+    } catch (Exception e) {
+      destroy(entry);
+      throw e;
+    }
+    entry.lastReturnTime = currentTimeMillis();
+    makeIdle(entry);
+  }
+
+  @Override
+  public int getNumIdle() {
+    return idleCount.get();
+  }
+
+  @Override
+  public int getNumActive() {
+    return activeCount.get();
+  }
+
+  /**
+   * Destroys all the idle objects in the pool.
+   */
+  @Override
+  public void clear() {
+    for (PooledEntry<T> entry : entries) {
+      if (takeIdle(entry, STATE_RESERVED)) {
+        destroy(entry);
+      }
+    }
+  }
+
+  /**
+   * Closes the pool, destroying the idle objects. The borrowed objects are destroyed when they are returned.
+   */
+  @Override
+  public void close() throws Exception {
+    super.close();
+    if (evictionTask != null) {
+      cancelEviction(evictionTask);
+    }
+    clear();
+  }
+
+  /**
+   * Destroys idle entries that have been unused for longer than {@link #minEvictableIdleTimeMillis} and, if configured, those
+   * that are no longer valid.
+   */
+  void evict() {
+    final long now = currentTimeMillis();
+    for (PooledEntry<T> entry : entries) {
+      if (!takeIdle(entry, STATE_RESERVED)) {
+        continue;
+      }
+
+      boolean keep = minEvictableIdleTimeMillis <= 0 || now - entry.lastReturnTime < minEvictableIdleTimeMillis;
+      if (keep && testWhileIdle) {
+        try {
+          factory.activateObject(entry.object);
+          keep = factory.validateObject(entry.object);
+          factory.passivateObject(entry.object);
+        } catch (Exception e) {
+          keep = false;
+        }
+      }
+
+      if (keep) {
+        makeIdle(entry);
+      } else {
+        destroy(entry);
+      }
+    }
+  }
+
+  private void destroy(PooledEntry<T> entry) {
+    entry.setState(STATE_REMOVED);
+    if (entries.remove(entry)) {
+      entriesByObject.remove(new IdentityKey(entry.object));
+      totalCount.decrementAndGet();
+      // There's room for a new object now
+      signalWaiter();
+    }
+
+    try {
+      factory.destroyObject(entry.object);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was found trying to destroy pooled object of type " + entry.object.getClass().getName(), e);
+    }
+  }
+
+  private static ScheduledFuture<?> scheduleEviction(Runnable task, long periodMillis) {
+    synchronized (EVICTOR_LOCK) {
+      if (evictor == null) {
+        evictor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("connection-pool-evictor") {
+
+          @Override
+          protected void doConfigureThread(Thread t) {
+            super.doConfigureThread(t);
+            t.setDaemon(true);
+          }
+        });
+        evictor.setRemoveOnCancelPolicy(true);
+      }
+      ++evictorUsages;
+      return evictor.scheduleWithFixedDelay(() -> {
+        try {
+          task.run();
+        } catch (Exception e) {
+          LOGGER.warn("Exception was found evicting idle pooled objects", e);
+        }
+      }, periodMillis, periodMillis, MILLISECONDS);
+    }
+  }
+
+  private static void cancelEviction(ScheduledFuture<?> evictionTask) {
+    synchronized (EVICTOR_LOCK) {
+      if (!evictionTask.cancel(false)) {
+        return;
+      }
+      if (--evictorUsages == 0) {
+        evictor.shutdown();
+        evictor = null;
+      }
+    }
+  }
+
+  private static final class PooledEntry<T> {
+
+    private static final AtomicIntegerFieldUpdater<PooledEntry> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(PooledEntry.class, "state");
+
+    private final T object;
+    private volatile int state;
+    private volatile long lastReturnTime;
+
+    private PooledEntry(T object, int state) {
+      this.object = object;
+      this.state = state;
+      this.lastReturnTime = currentTimeMillis();
+    }
+
+    private int getState() {
+      return state;
+    }
+
+    private void setState(int state) {
+      this.state = state;
+    }
+
+    private boolean compareAndSetState(int expect, int update) {
+      return STATE.compareAndSet(this, expect, update);
+    }
+  }
+
+  /**
+   * Looks up pooled objects by identity, regardless of how they implement {@code equals} and {@code hashCode}.
+   */
+  private static final class IdentityKey {
+
+    private final Object object;
+
+    private IdentityKey(Object object) {
+      this.object = object;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof IdentityKey && ((IdentityKey) obj).object == object;
+    }
+
+    @Override
+    public int hashCode() {
+      return identityHashCode(object);
+    }
+  }
+}
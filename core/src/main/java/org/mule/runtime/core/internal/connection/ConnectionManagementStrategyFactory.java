@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.CACHED;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.NONE;
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.connection.util.ConnectionProviderUtils.unwrapProviderWrapper;
 
 import org.mule.runtime.api.config.PoolingProfile;
@@ -26,8 +28,15 @@ import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
  */
 final class ConnectionManagementStrategyFactory {
 
+  /**
+   * When set to {@code true}, pooled connections are managed by a {@link ConcurrentBagObjectPool}, which doesn't lock on borrow
+   * and return, instead of a {@link org.apache.commons.pool.impl.GenericObjectPool}.
+   */
+  public static final String CONCURRENT_CONNECTION_POOL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "connection.pool.concurrent";
+
   private final PoolingProfile defaultPoolingProfile;
   private final MuleContext muleContext;
+  private final boolean concurrentPool = getBoolean(CONCURRENT_CONNECTION_POOL_PROPERTY);
 
   /**
    * Creates a new instance
@@ -79,7 +88,7 @@ final class ConnectionManagementStrategyFactory {
         : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
                                                     (PoolingListener<C>) unwrapProviderWrapper(connectionProvider,
                                                                                                PoolingConnectionProvider.class),
-                                                    muleContext);
+                                                    muleContext, concurrentPool);
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.pool.ObjectPool;
+
+/**
+ * Collects metrics about the usage of a pool of connections: how long borrowers wait for a connection, how long it takes to
+ * create new connections and how many connections are active and idle.
+ * <p>
+ * Recording is done through {@link LongAdder}s so it doesn't add contention between the threads using the pool.
+ * <p>
+ * These metrics are not published anywhere. They are only logged at debug level when the pool is closed.
+ *
+ * @since 4.4
+ */
+final class ConnectionPoolStatistics {
+
+  private final ObjectPool<?> pool;
+
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder borrowWaitNanos = new LongAdder();
+  private final LongAccumulator maxBorrowWaitNanos = new LongAccumulator(Long::max, 0);
+
+  private final LongAdder createdCount = new LongAdder();
+  private final LongAdder creationNanos = new LongAdder();
+  private final LongAccumulator maxCreationNanos = new LongAccumulator(Long::max, 0);
+
+  ConnectionPoolStatistics(ObjectPool<?> pool) {
+    this.pool = pool;
+  }
+
+  void recordBorrow(long waitNanos) {
+    borrowCount.increment();
+    borrowWaitNanos.add(waitNanos);
+    maxBorrowWaitNanos.accumulate(waitNanos);
+  }
+
+  void recordCreation(long elapsedNanos) {
+    createdCount.increment();
+    creationNanos.add(elapsedNanos);
+    maxCreationNanos.accumulate(elapsedNanos);
+  }
+
+  /**
+   * @return how many connections were successfully borrowed from the pool
+   */
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that borrowers waited to obtain a connection
+   */
+  public long getAverageBorrowWaitNanos() {
+    return average(borrowWaitNanos, borrowCount);
+  }
+
+  /**
+   * @return the maximum time, in nanoseconds, that a borrower waited to obtain a connection
+   */
+  public long getMaxBorrowWaitNanos() {
+    return maxBorrowWaitNanos.get();
+  }
+
+  /**
+   * @return how many connections were created by the pool
+   */
+  public long getCreatedCount() {
+    return createdCount.sum();
+  }
+
+  /**
+   * @return the average time, in nanoseconds, that it took to create a connection
+   */
+  public long getAverageCreationNanos() {
+    return average(creationNanos, createdCount);
+  }
+
+  /**
+   * @return the maximum time, in nanoseconds, that it took to create a connection
+   */
+  public long getMaxCreationNanos() {
+    return maxCreationNanos.get();
+  }
+
+  /**
+   * @return the number of connections currently borrowed from the pool
+   */
+  public int getNumActive() {
+    return pool.getNumActive();
+  }
+
+  /**
+   * @return the number of connections currently idle in the pool
+   */
+  public int getNumIdle() {
+    return pool.getNumIdle();
+  }
+
+  private static long average(LongAdder total, LongAdder count) {
+    final long samples = count.sum();
+    return samples == 0 ? 0 : total.sum() / samples;
+  }
+
+  @Override
+  public String toString() {
+    return format("active: %d, idle: %d, borrowed: %d (avg wait %dus, max wait %dus), created: %d (avg %dus, max %dus)",
+                  getNumActive(), getNumIdle(), getBorrowCount(),
+                  NANOSECONDS.toMicros(getAverageBorrowWaitNanos()), NANOSECONDS.toMicros(getMaxBorrowWaitNanos()),
+                  getCreatedCount(),
+                  NANOSECONDS.toMicros(getAverageCreationNanos()), NANOSECONDS.toMicros(getMaxCreationNanos()));
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
@@ -21,6 +22,8 @@ import java.util.NoSuchElementException;
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
 import org.apache.commons.pool.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link #pool}
@@ -30,9 +33,13 @@ import org.apache.commons.pool.impl.GenericObjectPool;
  */
 final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementStrategy<C> {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(PoolingConnectionManagementStrategy.class);
+
   private final PoolingProfile poolingProfile;
+  private final boolean concurrentPool;
   private final ObjectPool<C> pool;
   private final PoolingListener<C> poolingListener;
+  private final ConnectionPoolStatistics statistics;
 
   /**
    * Creates a new instance
@@ -44,10 +51,26 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
    */
   PoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
                                       PoolingListener<C> poolingListener, MuleContext muleContext) {
+    this(connectionProvider, poolingProfile, poolingListener, muleContext, false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
+   * @param poolingProfile the {@link PoolingProfile} which configures the {@link #pool}
+   * @param poolingListener a {@link PoolingListener}
+   * @param muleContext the application's {@link MuleContext}
+   * @param concurrentPool whether to use a {@link ConcurrentBagObjectPool} instead of a {@link GenericObjectPool}
+   */
+  PoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
+                                      PoolingListener<C> poolingListener, MuleContext muleContext, boolean concurrentPool) {
     super(connectionProvider, muleContext);
     this.poolingProfile = poolingProfile;
     this.poolingListener = poolingListener;
+    this.concurrentPool = concurrentPool;
     pool = createPool();
+    statistics = new ConnectionPoolStatistics(pool);
   }
 
   /**
@@ -70,7 +93,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   private C borrowConnection() throws Exception {
+    final long startNanos = nanoTime();
     C connection = pool.borrowObject();
+    statistics.recordBorrow(nanoTime() - startNanos);
     try {
       poolingListener.onBorrow(connection);
     } catch (Exception e) {
@@ -89,6 +114,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   // TODO: MULE-9082 - pool.close() doesn't destroy unreturned connections
   @Override
   public void close() throws MuleException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Closing connection pool. Statistics: {}", statistics);
+    }
     try {
       pool.close();
     } catch (Exception e) {
@@ -104,6 +132,9 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     config.whenExhaustedAction = (byte) poolingProfile.getExhaustedAction();
     config.minEvictableIdleTimeMillis = poolingProfile.getMinEvictionMillis();
     config.timeBetweenEvictionRunsMillis = poolingProfile.getEvictionCheckIntervalMillis();
+    if (concurrentPool) {
+      return new ConcurrentBagObjectPool<>(new ObjectFactoryAdapter(), config);
+    }
     GenericObjectPool genericPool = new GenericObjectPool(new ObjectFactoryAdapter(), config);
 
     return genericPool;
@@ -113,11 +144,21 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     return poolingProfile;
   }
 
+  /**
+   * @return the {@link ConnectionPoolStatistics} of the {@link #pool}
+   */
+  ConnectionPoolStatistics getStatistics() {
+    return statistics;
+  }
+
   private class ObjectFactoryAdapter implements PoolableObjectFactory<C> {
 
     @Override
     public C makeObject() throws Exception {
-      return connectionProvider.connect();
+      final long startNanos = nanoTime();
+      C connection = connectionProvider.connect();
+      statistics.recordCreation(nanoTime() - startNanos);
+      return connection;
     }
 
     @Override
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.lang.Integer.getInteger;
+import static java.util.Collections.emptySet;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded cache of compiled expressions shared by the expression languages of a {@link DefaultExpressionManager}.
+ * <p>
+ * Entries are keyed by the language, the expression and the shape of the binding context it is evaluated with (which bindings it
+ * has, not their values), so the same expression evaluated for different events reuses the compiled form as long as the same
+ * bindings are available.
+ * <p>
+ * Its size may be configured through the {@link #COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY} system property. A size of {@code 0}
+ * disables the cache.
+ *
+ * @since 4.4
+ */
+public final class CompiledExpressionCache {
+
+  public static final String COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "expressions.compiledCacheSize";
+  public static final int DEFAULT_COMPILED_EXPRESSION_CACHE_SIZE = 1000;
+
+  private final Cache<Key, Object> cache;
+
+  public CompiledExpressionCache() {
+    this(getInteger(COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY, DEFAULT_COMPILED_EXPRESSION_CACHE_SIZE));
+  }
+
+  public CompiledExpressionCache(int maxSize) {
+    this.cache = maxSize > 0
+        ? Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            // Do the maintenance in the calling thread so the counters are consistent with the operations already done
+            .executor(Runnable::run)
+            .recordStats()
+            .build()
+        : null;
+  }
+
+  /**
+   * @return whether this cache keeps compiled expressions.
+   */
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Obtains the compiled form of an expression, compiling it if it is not in the cache.
+   * <p>
+   * If {@code compiler} returns {@code null} (for instance, because the expression is not valid) nothing is cached, so the
+   * caller may fallback to its non-compiled evaluation.
+   *
+   * @param language the language of the expression, so expressions with the same text in different languages do not clash
+   * @param expression the expression to compile
+   * @param bindingShape a value identifying the bindings the expression is evaluated with, such as the one given by
+   *        {@link DefaultBindingContextBuilder#shapeOf(org.mule.runtime.api.el.BindingContext)}. Must implement {@code equals} and
+   *        {@code hashCode}.
+   * @param compiler the function to compile the expression with
+   * @param <T> the type of the compiled expression
+   * @return the compiled expression, or {@code null} if it could not be compiled
+   */
+  public <T> T get(String language, String expression, Object bindingShape, Function<String, T> compiler) {
+    if (cache == null) {
+      return compiler.apply(expression);
+    }
+
+    return (T) cache.get(new Key(language, expression, bindingShape), key -> compiler.apply(expression));
+  }
+
+  /**
+   * Obtains the compiled form of an expression whose compilation does not depend on its bindings.
+   *
+   * @see #get(String, String, Object, Function)
+   */
+  public <T> T get(String language, String expression, Function<String, T> compiler) {
+    return get(language, expression, emptySet(), compiler);
+  }
+
+  /**
+   * Discards all the compiled expressions.
+   */
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  /**
+   * Performs any pending maintenance of the cache, such as evicting the entries over its maximum size.
+   */
+  void cleanUp() {
+    if (cache != null) {
+      cache.cleanUp();
+    }
+  }
+
+  /**
+   * @return how many times a compiled expression was found in the cache.
+   */
+  public long getHitCount() {
+    return cache != null ? cache.stats().hitCount() : 0;
+  }
+
+  /**
+   * @return how many times an expression had to be compiled.
+   */
+  public long getMissCount() {
+    return cache != null ? cache.stats().missCount() : 0;
+  }
+
+  /**
+   * @return how many compiled expressions were discarded to keep the cache within its maximum size.
+   */
+  public long getEvictionCount() {
+    return cache != null ? cache.stats().evictionCount() : 0;
+  }
+
+  /**
+   * @return the approximate number of compiled expressions in the cache.
+   */
+  public long getSize() {
+    return cache != null ? cache.estimatedSize() : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledExpressionCache[size: " + getSize() + ", hits: " + getHitCount() + ", misses: " + getMissCount()
+        + ", evictions: " + getEvictionCount() + "]";
+  }
+
+  private static final class Key {
+
+    private final String language;
+    private final String expression;
+    private final Object bindingShape;
+    private final int hashCode;
+
+    private Key(String language, String expression, Object bindingShape) {
+      this.language = language;
+      this.expression = expression;
+      this.bindingShape = bindingShape;
+      this.hashCode = Objects.hash(language, expression, bindingShape);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+
+      Key other = (Key) obj;
+      return hashCode == other.hashCode
+          && expression.equals(other.expression)
+          && language.equals(other.language)
+          && bindingShape.equals(other.bindingShape);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
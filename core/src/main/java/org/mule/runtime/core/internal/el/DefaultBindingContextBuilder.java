@@ -28,6 +28,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.util.collection.SmallMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -230,6 +231,74 @@ public class DefaultBindingContextBuilder implements BindingContext.Builder {
   }
 
 
+  /**
+   * Provides a value that identifies which bindings the given context has, without evaluating any of them. Contexts with equal
+   * shapes have the same {@link BindingContext#identifiers() identifiers}, taking a lazy {@code vars} binding as present
+   * regardless of its value.
+   *
+   * @param context the context to get the shape of
+   * @return the shape of the context, suitable as a key to cache things that depend on the available bindings.
+   * @since 4.4
+   */
+  public static Object shapeOf(BindingContext context) {
+    return context instanceof BindingContextImplementation
+        ? new Shape((BindingContextImplementation) context)
+        : new HashSet<>(context.identifiers());
+  }
+
+  private static final class Shape {
+
+    private static final int PAYLOAD_BOUND = 1;
+    private static final int ATTRIBUTES_BOUND = 1 << 1;
+    private static final int VARS_BOUND = 1 << 2;
+    private static final int ERROR_BOUND = 1 << 3;
+    private static final int CORRELATION_ID_BOUND = 1 << 4;
+    private static final int AUTHENTICATION_BOUND = 1 << 5;
+    private static final int ITEM_SEQUENCE_INFO_BOUND = 1 << 6;
+
+    private final int boundVariables;
+    private final Set<String> bindings;
+    private final Object[] delegates;
+    private final int hashCode;
+
+    private Shape(BindingContextImplementation context) {
+      boundVariables = (context.payloadBinding.isPresent() ? PAYLOAD_BOUND : 0)
+          | (context.attributesBinding.isPresent() ? ATTRIBUTES_BOUND : 0)
+          | (context.varsDeclared ? VARS_BOUND : 0)
+          | (context.errorBinding.isPresent() ? ERROR_BOUND : 0)
+          | (context.correlationIdBinding.isPresent() ? CORRELATION_ID_BOUND : 0)
+          | (context.authenticationBinding.isPresent() ? AUTHENTICATION_BOUND : 0)
+          | (context.itemSequenceInfoBinding.isPresent() ? ITEM_SEQUENCE_INFO_BOUND : 0);
+      bindings = context.bindings.keySet();
+      delegates = new Object[context.delegates.size()];
+      for (int i = 0; i < delegates.length; ++i) {
+        delegates[i] = shapeOf(context.delegates.get(i));
+      }
+      hashCode = 31 * (31 * boundVariables + bindings.hashCode()) + Arrays.hashCode(delegates);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Shape)) {
+        return false;
+      }
+
+      Shape other = (Shape) obj;
+      return hashCode == other.hashCode
+          && boundVariables == other.boundVariables
+          && bindings.equals(other.bindings)
+          && Arrays.equals(delegates, other.delegates);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
   public static class BindingContextImplementation implements BindingContext {
 
     private final List<BindingContext> delegates;
@@ -237,6 +306,7 @@ public class DefaultBindingContextBuilder implements BindingContext.Builder {
     private final Optional<TypedValue> payloadBinding;
     private final Optional<TypedValue> attributesBinding;
     private final Supplier<TypedValue> varsBinding;
+    private final boolean varsDeclared;
     private final Optional<TypedValue> errorBinding;
     private final Optional<TypedValue> correlationIdBinding;
     private final Optional<TypedValue> authenticationBinding;
@@ -257,6 +327,7 @@ public class DefaultBindingContextBuilder implements BindingContext.Builder {
       this.payloadBinding = ofNullable(payloadBinding);
       this.attributesBinding = ofNullable(attributesBinding);
       this.varsBinding = varsBinding.orElse(() -> null);
+      this.varsDeclared = varsBinding.isPresent();
       this.errorBinding = ofNullable(errorBinding);
       this.correlationIdBinding = ofNullable(correlationIdBinding);
       this.authenticationBinding = ofNullable(authenticationBinding);
@@ -80,6 +80,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   private Registry registry;
 
   private ExtendedExpressionLanguageAdaptor expressionLanguage;
+  private final CompiledExpressionCache compiledExpressionCache = new CompiledExpressionCache();
   // Default style parser
   private final TemplateParser parser = TemplateParser.createMuleStyleParser();
   private boolean melDefault;
@@ -98,6 +99,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
     if (isMelDefault() || registry.lookupByName(COMPATIBILITY_PLUGIN_INSTALLED).isPresent()) {
       MVELExpressionLanguage mvelExpressionLanguage =
           registry.<MVELExpressionLanguage>lookupByName(OBJECT_EXPRESSION_LANGUAGE).get();
+      mvelExpressionLanguage.setCompiledExpressionCache(compiledExpressionCache);
 
       ExtendedExpressionLanguageAdaptor exprLangAdaptorHandler = dwExpressionLanguage != null
           ? new ExpressionLanguageAdaptorHandler(dwExpressionLanguage, mvelExpressionLanguage)
@@ -137,7 +139,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   private DataWeaveExpressionLanguageAdaptor createWeaveExpressionLanguageAdaptor(
                                                                                   DefaultExpressionLanguageFactoryService service) {
-    return new DataWeaveExpressionLanguageAdaptor(muleContext, registry, service);
+    return new DataWeaveExpressionLanguageAdaptor(muleContext, registry, service, compiledExpressionCache);
   }
 
   @Override
@@ -439,6 +441,13 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
                                                currentThread().getContextClassLoader());
   }
 
+  /**
+   * @return the cache with the compiled form of the expressions evaluated through this manager.
+   */
+  public CompiledExpressionCache getCompiledExpressionCache() {
+    return compiledExpressionCache;
+  }
+
   @Inject
   public void setMuleContext(MuleContext muleContext) {
     this.muleContext = muleContext;
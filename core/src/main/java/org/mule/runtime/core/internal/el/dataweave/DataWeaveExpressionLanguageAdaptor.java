@@ -14,6 +14,8 @@ import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_EXPRESSIONS_COMPILATION_FAIL_DEPLOYMENT;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.expressionEvaluationFailed;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
+import static org.mule.runtime.core.internal.el.DefaultBindingContextBuilder.shapeOf;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.DW_PREFIX;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.isSanitizedPayload;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
 
@@ -34,6 +36,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+import org.mule.runtime.core.internal.el.CompiledExpressionCache;
 import org.mule.runtime.core.internal.el.DefaultBindingContextBuilder;
 import org.mule.runtime.core.internal.el.ExpressionLanguageSessionAdaptor;
 import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
@@ -54,14 +57,28 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
   private final ExpressionLanguage expressionExecutor;
   private final MuleContext muleContext;
+  private final CompiledExpressionCache compiledExpressionCache;
 
   @Inject
   public DataWeaveExpressionLanguageAdaptor(MuleContext muleContext, Registry registry,
                                             DefaultExpressionLanguageFactoryService service) {
+    this(muleContext, registry, service, null);
+  }
+
+  /**
+   * Creates an adaptor that keeps the compiled form of the expressions it evaluates in the given cache.
+   *
+   * @param compiledExpressionCache the cache for the compiled expressions. May be {@code null}, in which case every evaluation
+   *                                is done from the expression text.
+   */
+  public DataWeaveExpressionLanguageAdaptor(MuleContext muleContext, Registry registry,
+                                            DefaultExpressionLanguageFactoryService service,
+                                            CompiledExpressionCache compiledExpressionCache) {
     this.expressionExecutor = service.create(ExpressionLanguageConfiguration.builder()
         .defaultEncoding(getDefaultEncoding(muleContext))
         .build());
     this.muleContext = muleContext;
+    this.compiledExpressionCache = compiledExpressionCache;
     registerGlobalBindings(registry);
   }
 
@@ -95,18 +112,15 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     if (isSanitizedPayload(sanitized)) {
       return event.getMessage().getPayload();
     } else {
-      BindingContext newContext = bindingContextFor(null, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, newContext));
+      return evaluateCompiled(sanitized, null, bindingContextFor(null, event, context));
     }
   }
 
 
-
   @Override
   public TypedValue evaluate(String expression, DataType expectedOutputType, CoreEvent event, BindingContext context)
       throws ExpressionRuntimeException {
-    BindingContext newContext = bindingContextFor(null, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, newContext));
+    return evaluateCompiled(sanitize(expression), expectedOutputType, bindingContextFor(null, event, context));
   }
 
   @Override
@@ -114,8 +128,7 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
                              ComponentLocation componentLocation,
                              BindingContext context, boolean failOnNull)
       throws ExpressionRuntimeException {
-    BindingContext newContext = bindingContextFor(componentLocation, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, newContext));
+    return evaluateCompiled(sanitize(expression), expectedOutputType, bindingContextFor(componentLocation, event, context));
   }
 
   @Override
@@ -132,8 +145,7 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     if (isSanitizedPayload(sanitized)) {
       return resolvePayload(event, context);
     } else {
-      BindingContext newContext = bindingContextFor(componentLocation, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, newContext));
+      return evaluateCompiled(sanitized, null, bindingContextFor(componentLocation, event, context));
     }
   }
 
@@ -214,6 +226,49 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     }
   }
 
+  /**
+   * Evaluates the expression from its compiled form, if there is a {@link CompiledExpressionCache}. Otherwise, it is evaluated
+   * from its text.
+   *
+   * @param sanitized the expression, already sanitized
+   * @param expectedOutputType the type to coerce the result to, or {@code null} to keep the type of the result
+   * @param context the context to evaluate the expression with
+   * @return the result of the evaluation
+   */
+  private TypedValue evaluateCompiled(String sanitized, DataType expectedOutputType, BindingContext context) {
+    final CompiledExpression compiled = compiledExpressionCache != null && compiledExpressionCache.isEnabled() && context != null
+        ? compiledExpressionCache.get(DW_PREFIX, sanitized, shapeOf(context), exp -> compileForCache(exp, context))
+        : null;
+
+    if (compiled == null) {
+      return evaluate(sanitized, exp -> expectedOutputType == null
+          ? expressionExecutor.evaluate(exp, context)
+          : expressionExecutor.evaluate(exp, expectedOutputType, context));
+    } else if (compiled instanceof IllegalCompiledExpression) {
+      ExpressionCompilationException original = ((IllegalCompiledExpression) compiled).getCompilationException();
+      throw new ExpressionRuntimeException(expressionEvaluationFailed(original.getMessage(), sanitized), original);
+    }
+
+    try (ExpressionLanguageSession session = expressionExecutor.openSession(context)) {
+      return expectedOutputType == null
+          ? session.evaluate(compiled)
+          : session.evaluate(compiled, expectedOutputType);
+    } catch (ExpressionExecutionException e) {
+      throw new ExpressionRuntimeException(expressionEvaluationFailed(e.getMessage(), sanitized), e);
+    }
+  }
+
+  /**
+   * Invalid expressions are cached as an {@link IllegalCompiledExpression}, so they are not compiled again on each evaluation.
+   */
+  private CompiledExpression compileForCache(String sanitized, BindingContext context) {
+    try {
+      return expressionExecutor.compile(sanitized, context);
+    } catch (ExpressionCompilationException e) {
+      return new IllegalCompiledExpression(sanitized, e);
+    }
+  }
+
   private BindingContext bindingContextFor(ComponentLocation componentLocation, CoreEvent event, BindingContext context) {
     if (event == null && componentLocation == null) {
       return context;
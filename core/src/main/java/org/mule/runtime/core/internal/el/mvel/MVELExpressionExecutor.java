@@ -7,8 +7,11 @@
 
 package org.mule.runtime.core.internal.el.mvel;
 
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.MEL_PREFIX;
+
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.internal.el.CompiledExpressionCache;
 import org.mule.runtime.core.internal.el.ExpressionExecutor;
 import org.mule.runtime.core.api.expression.InvalidExpressionException;
 import org.mule.mvel2.MVEL;
@@ -44,9 +47,26 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
   protected ParserConfiguration parserConfiguration;
 
   private LoadingCache<String, Serializable> compiledExpressionsCache;
+  private CompiledExpressionCache sharedCompiledExpressionsCache;
 
   public MVELExpressionExecutor(final ParserConfiguration parserConfiguration) {
+    this(parserConfiguration, null);
+  }
+
+  /**
+   * Creates an executor that keeps its compiled expressions in the given cache, shared with other expression languages, instead
+   * of its own.
+   *
+   * @param parserConfiguration the configuration to compile the expressions with
+   * @param sharedCompiledExpressionsCache the cache for the compiled expressions. May be {@code null}, in which case this
+   *                                       executor uses a cache of its own.
+   */
+  public MVELExpressionExecutor(final ParserConfiguration parserConfiguration,
+                                CompiledExpressionCache sharedCompiledExpressionsCache) {
     this.parserConfiguration = parserConfiguration;
+    if (getCompiledExpressionMaxCacheSize() > 0) {
+      this.sharedCompiledExpressionsCache = sharedCompiledExpressionsCache;
+    }
 
     MVEL.COMPILER_OPT_PROPERTY_ACCESS_DOESNT_FAIL = true;
     OptimizerFactory.setDefaultOptimizer(OptimizerFactory.SAFE_REFLECTIVE);
@@ -90,6 +110,12 @@ public class MVELExpressionExecutor implements ExpressionExecutor<MVELExpression
    * @return A {@link Serializable} object representing the compiled expression
    */
   public Serializable getCompiledExpression(final String expression) {
+    if (sharedCompiledExpressionsCache != null && sharedCompiledExpressionsCache.isEnabled()) {
+      // The compilation of MEL expressions does not depend on the bindings
+      return sharedCompiledExpressionsCache.get(MEL_PREFIX, expression,
+                                                exp -> MVEL.compileExpression(exp, new ParserContext(parserConfiguration)));
+    }
+
     try {
       return compiledExpressionsCache.getUnchecked(expression);
     } catch (UncheckedExecutionException e) {
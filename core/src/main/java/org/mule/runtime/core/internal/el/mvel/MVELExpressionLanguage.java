@@ -45,6 +45,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.core.internal.el.CompiledExpressionCache;
 import org.mule.runtime.core.internal.el.ExpressionLanguageSessionAdaptor;
 import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.mvel.datatype.MvelDataTypeResolver;
@@ -76,6 +77,7 @@ public class MVELExpressionLanguage extends AbstractComponent implements Extende
   protected ParserConfiguration parserConfiguration;
   protected MuleContext muleContext;
   private MVELExpressionExecutor expressionExecutor;
+  private CompiledExpressionCache compiledExpressionCache;
 
   private VariableResolverFactory staticContext;
   private VariableResolverFactory globalContext;
@@ -99,7 +101,7 @@ public class MVELExpressionLanguage extends AbstractComponent implements Extende
   @Override
   public void initialise() throws InitialisationException {
     parserConfiguration = createParserConfiguration(imports);
-    expressionExecutor = new MVELExpressionExecutor(parserConfiguration);
+    expressionExecutor = new MVELExpressionExecutor(parserConfiguration, compiledExpressionCache);
     loadGlobalFunctions();
     createStaticContext();
   }
@@ -325,6 +327,16 @@ public class MVELExpressionLanguage extends AbstractComponent implements Extende
 
   }
 
+  /**
+   * Makes this language keep its compiled expressions in a cache shared with the other expression languages.
+   *
+   * @param compiledExpressionCache the cache for the compiled expressions
+   */
+  public void setCompiledExpressionCache(CompiledExpressionCache compiledExpressionCache) {
+    this.compiledExpressionCache = compiledExpressionCache;
+    expressionExecutor = new MVELExpressionExecutor(parserConfiguration, compiledExpressionCache);
+  }
+
   public void setGlobalFunctionsString(String globalFunctionsString) {
     this.globalFunctionsString = globalFunctionsString;
   }
@@ -18,7 +18,6 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static reactor.core.publisher.Mono.empty;
 
 import org.mule.runtime.api.functional.Either;
-import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
@@ -26,13 +25,12 @@ import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -45,36 +43,79 @@ import reactor.core.publisher.MonoSink;
 
 /**
  * Base class for implementations of {@link BaseEventContext}
+ * <p>
+ * The lifecycle of the context is a state machine whose transitions are done with compare-and-set operations, so no locks are
+ * taken when completing contexts or registering consumers and child contexts. The consumers for each transition are kept in a
+ * lock-free stack that is drained by the thread that does the transition, which signals the consumers in the order they were
+ * registered. Consumers registered while the stack is being drained are signaled by the draining thread after the ones
+ * registered before them, and the stack is only closed once it is empty. Consumers registered once the stack is closed are
+ * signaled right away by the registering thread, after all the previous ones were signaled.
+ * <p>
+ * Each transition goes through an intermediate state while its consumers are signaled, and the next transition can only start
+ * from the state that is set once they all were. This way the completion consumers are never signaled before the response ones
+ * finished, nor the termination ones before the completion ones, even when a child context or the external completion
+ * concurrently try to complete or terminate this context.
  *
  * @since 4.0
  */
 abstract class AbstractEventContext implements BaseEventContext {
 
-  private static final byte STATE_READY = 0;
-  private static final byte STATE_RESPONSE = 1;
-  private static final byte STATE_COMPLETE = 2;
-  private static final byte STATE_TERMINATED = 3;
+  // Each transition goes through an intermediate state while its consumers are being signaled
+  private static final int STATE_READY = 0;
+  private static final int STATE_RESPONDING = 1;
+  private static final int STATE_RESPONSE = 2;
+  private static final int STATE_COMPLETING = 3;
+  private static final int STATE_COMPLETE = 4;
+  private static final int STATE_TERMINATING = 5;
+  private static final int STATE_TERMINATED = 6;
 
   private static final int TO_STRING_TAB_SIZE = 4;
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> STATE =
+      AtomicIntegerFieldUpdater.newUpdater(AbstractEventContext.class, "state");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, Either> RESULT =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, Either.class, "result");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, Queue> CHILD_CONTEXTS =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, Queue.class, "childContexts");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ResponsePublisher> RESPONSE_PUBLISHER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ResponsePublisher.class, "responsePublisher");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_RESPONSE_CONSUMERS =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onResponseConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_COMPLETION_CONSUMERS =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onCompletionConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_TERMINATED_CONSUMERS =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onTerminatedConsumers");
+
+  /**
+   * Marks the bottom of a consumer stack whose consumers are being signaled.
+   */
+  private static final ConsumerNode SIGNALING = new ConsumerNode(null, null);
+
+  /**
+   * Marks a consumer stack as closed, after its consumers were signaled.
+   */
+  private static final ConsumerNode CLOSED = new ConsumerNode(null, null);
+
   private final boolean debugLogEnabled = LOGGER.isDebugEnabled();
-  private transient final List<BaseEventContext> childContexts = new ArrayList<>();
   private transient final FlowExceptionHandler exceptionHandler;
   private transient final CompletableFuture<Void> externalCompletion;
-  private transient List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList = new ArrayList<>();
-  private transient List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList = new ArrayList<>(2);
-  private transient List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList = new ArrayList<>();
 
-  private final ReadWriteLock childContextsReadWriteLock = new ReentrantReadWriteLock();
+  // Created when the first child is added, most contexts don't have any.
+  private transient volatile Queue<BaseEventContext> childContexts;
+
+  // null for an empty stack, SIGNALING at the bottom while being drained, CLOSED once signaled.
+  private transient volatile ConsumerNode onResponseConsumers;
+  private transient volatile ConsumerNode onCompletionConsumers;
+  private transient volatile ConsumerNode onTerminatedConsumers;
 
   private final int depthLevel;
 
-  private volatile byte state = STATE_READY;
+  private volatile int state = STATE_READY;
   private volatile Either<Throwable, CoreEvent> result;
 
-  private LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
+  private transient volatile ResponsePublisher responsePublisher;
 
   protected FlowCallStack flowCallStack;
 
@@ -96,27 +137,13 @@ abstract class AbstractEventContext implements BaseEventContext {
     this.exceptionHandler = exceptionHandler;
   }
 
-  protected void initCompletionLists() {
-    if (onCompletionConsumerList == null) {
-      onResponseConsumerList = new ArrayList<>();
-    }
-
-    if (onCompletionConsumerList == null) {
-      onCompletionConsumerList = new ArrayList<>(2);
-    }
-
-    if (onTerminatedConsumerList == null) {
-      onTerminatedConsumerList = new ArrayList<>();
-    }
-  }
-
   void addChildContext(BaseEventContext childContext) {
-    childContextsReadWriteLock.writeLock().lock();
-    try {
-      childContexts.add(childContext);
-    } finally {
-      childContextsReadWriteLock.writeLock().unlock();
+    Queue<BaseEventContext> children = childContexts;
+    if (children == null) {
+      CHILD_CONTEXTS.compareAndSet(this, null, new ConcurrentLinkedQueue<>());
+      children = childContexts;
     }
+    children.add(childContext);
   }
 
   /**
@@ -190,83 +217,126 @@ abstract class AbstractEventContext implements BaseEventContext {
     return empty();
   }
 
-  private synchronized void responseDone(Either<Throwable, CoreEvent> result) {
-    this.result = result;
-    responsePublisher.ifComputed(rp -> rp.result = result);
+  private void responseDone(Either<Throwable, CoreEvent> result) {
+    // Only the first result is kept, concurrent or later ones are ignored
+    if (!RESULT.compareAndSet(this, null, result)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} response was already completed, ignoring.", this);
+      }
+      return;
+    }
+
+    final ResponsePublisher publisher = responsePublisher;
+    if (publisher != null) {
+      publisher.result = result;
+    }
 
+    state = STATE_RESPONDING;
+    signalConsumers(ON_RESPONSE_CONSUMERS);
+    // Only now a concurrent tryComplete() may complete this context
     state = STATE_RESPONSE;
-    for (BiConsumer<CoreEvent, Throwable> onResponseConsumer : onResponseConsumerList) {
-      signalConsumerSilently(onResponseConsumer);
-    }
-    onResponseConsumerList.clear();
     tryComplete();
   }
 
   protected void tryComplete() {
-    boolean allChildrenComplete;
-
-    getChildContextsReadLock().lock();
-    try {
-      allChildrenComplete = childContexts.stream().allMatch(BaseEventContext::isComplete);
-    } finally {
-      getChildContextsReadLock().unlock();
-    }
+    if (state == STATE_RESPONSE && allChildrenComplete() && STATE.compareAndSet(this, STATE_RESPONSE, STATE_COMPLETING)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} completed.", this);
+      }
 
-    synchronized (this) {
-      if (state == STATE_RESPONSE && allChildrenComplete) {
-        if (debugLogEnabled) {
-          LOGGER.debug("{} completed.", this);
+      signalConsumers(ON_COMPLETION_CONSUMERS);
+      // Only now the parent sees this context as complete, and a concurrent tryTerminate() may terminate it
+      state = STATE_COMPLETE;
+      getParentContext().ifPresent(context -> {
+        if (context instanceof AbstractEventContext) {
+          ((AbstractEventContext) context).tryComplete();
         }
-        this.state = STATE_COMPLETE;
+      });
+      tryTerminate();
+    }
+  }
 
-        for (BiConsumer<CoreEvent, Throwable> consumer : onCompletionConsumerList) {
-          signalConsumerSilently(consumer);
+  private boolean allChildrenComplete() {
+    final Queue<BaseEventContext> children = childContexts;
+    if (children != null) {
+      for (BaseEventContext child : children) {
+        if (!child.isComplete()) {
+          return false;
         }
-        onCompletionConsumerList.clear();
-        getParentContext().ifPresent(context -> {
-          if (context instanceof AbstractEventContext) {
-            ((AbstractEventContext) context).tryComplete();
-          }
-        });
-        tryTerminate();
       }
     }
+    return true;
   }
 
-  protected synchronized void tryTerminate() {
-    if (this.state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())) {
+  protected void tryTerminate() {
+    if (state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())
+        && STATE.compareAndSet(this, STATE_COMPLETE, STATE_TERMINATING)) {
       if (debugLogEnabled) {
         LOGGER.debug("{} terminated.", this);
       }
-      this.state = STATE_TERMINATED;
 
-      for (BiConsumer<CoreEvent, Throwable> consumer : onTerminatedConsumerList) {
-        signalConsumerSilently(consumer);
-      }
-      onTerminatedConsumerList.clear();
+      signalConsumers(ON_TERMINATED_CONSUMERS);
 
-      getChildContextsWriteLock().lock();
-      try {
-        this.childContexts.clear();
-      } finally {
-        getChildContextsWriteLock().unlock();
+      final Queue<BaseEventContext> children = childContexts;
+      if (children != null) {
+        children.clear();
       }
 
       getParentContext().ifPresent(context -> {
-        AbstractEventContext parent = (AbstractEventContext) context;
-        parent.getChildContextsWriteLock().lock();
-        try {
-          parent.childContexts.remove(this);
-        } finally {
-          parent.getChildContextsWriteLock().unlock();
+        final Queue<BaseEventContext> siblings = ((AbstractEventContext) context).childContexts;
+        if (siblings != null) {
+          siblings.remove(this);
         }
       });
 
+      state = STATE_TERMINATED;
+      // Every consumer stack is closed by now, so no consumer needs them anymore
       result = null;
       responsePublisher = null;
     }
   }
 
+  /**
+   * Adds the given consumer to the stack held by {@code consumers}.
+   *
+   * @return {@code false} if the stack was already closed, so the consumer has to be signaled by the caller.
+   */
+  private boolean addConsumer(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers,
+                              BiConsumer<CoreEvent, Throwable> consumer) {
+    ConsumerNode head;
+    do {
+      head = consumers.get(this);
+      if (head == CLOSED) {
+        return false;
+      }
+    } while (!consumers.compareAndSet(this, head, new ConsumerNode(consumer, head)));
+    return true;
+  }
+
+  /**
+   * Signals the consumers in the stack held by {@code consumers}, in the order they were added, until it is empty and then
+   * closes it.
+   */
+  private void signalConsumers(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers) {
+    ConsumerNode head = consumers.getAndSet(this, SIGNALING);
+    while (true) {
+      ConsumerNode inAdditionOrder = null;
+      for (ConsumerNode node = head; node != null && node != SIGNALING; node = node.next) {
+        inAdditionOrder = new ConsumerNode(node.consumer, inAdditionOrder);
+      }
+
+      for (ConsumerNode node = inAdditionOrder; node != null; node = node.next) {
+        signalConsumerSilently(node.consumer);
+      }
+
+      if (consumers.compareAndSet(this, SIGNALING, CLOSED)) {
+        return;
+      }
+      // Consumers added while signaling are stacked on top of the marker, signal those too before closing
+      head = consumers.getAndSet(this, SIGNALING);
+    }
+  }
+
   private void signalConsumerSilently(BiConsumer<CoreEvent, Throwable> consumer) {
     try {
       consumer.accept(result.getRight(), result.getLeft());
@@ -289,7 +359,7 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   private boolean isResponseDone() {
-    return state >= STATE_RESPONSE;
+    return state >= STATE_RESPONDING;
   }
 
   @Override
@@ -303,53 +373,63 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   @Override
-  public synchronized void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_TERMINATED) {
+  public void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    if (!addConsumer(ON_TERMINATED_CONSUMERS, consumer)) {
       signalConsumerSilently(consumer);
-    } else {
-      onTerminatedConsumerList.add(requireNonNull(consumer));
     }
   }
 
   @Override
-  public synchronized void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_COMPLETE) {
+  public void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    if (!addConsumer(ON_COMPLETION_CONSUMERS, consumer)) {
       signalConsumerSilently(consumer);
-    } else {
-      onCompletionConsumerList.add(requireNonNull(consumer));
     }
   }
 
   @Override
-  public synchronized void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_RESPONSE) {
+  public void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    if (!addConsumer(ON_RESPONSE_CONSUMERS, consumer)) {
       signalConsumerSilently(consumer);
-    } else {
-      onResponseConsumerList.add(requireNonNull(consumer));
     }
   }
 
   @Override
-  public synchronized Publisher<CoreEvent> getResponsePublisher() {
+  public Publisher<CoreEvent> getResponsePublisher() {
     if (isTerminated()) {
       throw new IllegalStateException("getResponsePublisher() cannot be called after eventContext termination.");
     }
 
-    return Mono.create(responsePublisher.get());
+    ResponsePublisher publisher = responsePublisher;
+    if (publisher == null) {
+      RESPONSE_PUBLISHER.compareAndSet(this, null, new ResponsePublisher());
+      publisher = responsePublisher;
+      if (publisher == null) {
+        throw new IllegalStateException("getResponsePublisher() cannot be called after eventContext termination.");
+      }
+      // The response may have been set while the publisher was being created
+      if (publisher.result == null) {
+        publisher.result = result;
+      }
+    }
+
+    return Mono.create(publisher);
   }
 
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
-    getChildContextsReadLock().lock();
-    try {
-      childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
-        childConsumer.accept(context);
-        if (context instanceof AbstractEventContext) {
-          ((AbstractEventContext) context).forEachChild(childConsumer);
-        }
-      });
-    } finally {
-      getChildContextsReadLock().unlock();
+    final Queue<BaseEventContext> children = childContexts;
+    if (children == null) {
+      return;
     }
+
+    children.stream().filter(context -> !context.isTerminated()).forEach(context -> {
+      childConsumer.accept(context);
+      if (context instanceof AbstractEventContext) {
+        ((AbstractEventContext) context).forEachChild(childConsumer);
+      }
+    });
   }
 
   /**
@@ -362,60 +442,64 @@ abstract class AbstractEventContext implements BaseEventContext {
 
     @Override
     public void accept(MonoSink<CoreEvent> sink) {
-      if (isResponseDone()) {
-        signalPublisherSink(sink);
-      } else {
-        synchronized (AbstractEventContext.this) {
-          if (isResponseDone()) {
-            signalPublisherSink(sink);
-          } else {
-            onResponse((event, throwable) -> {
-              if (throwable != null) {
-                sink.error(throwable);
-              } else {
-                sink.success(event);
-              }
-            });
-          }
+      if (!addConsumer(ON_RESPONSE_CONSUMERS, (event, throwable) -> {
+        if (throwable != null) {
+          sink.error(throwable);
+        } else {
+          sink.success(event);
         }
+      })) {
+        signalPublisherSink(sink);
       }
     }
 
     private void signalPublisherSink(MonoSink<CoreEvent> sink) {
-      if (result.isLeft()) {
-        sink.error(result.getLeft());
+      final Either<Throwable, CoreEvent> response = result != null ? result : AbstractEventContext.this.result;
+      if (response.isLeft()) {
+        sink.error(response.getLeft());
       } else {
-        sink.success(result.getRight());
+        sink.success(response.getRight());
       }
     }
   }
 
-  @Override
-  public int getDepthLevel() {
-    return depthLevel;
-  }
+  /**
+   * An element of an immutable stack of consumers.
+   */
+  private static final class ConsumerNode {
 
-  public Lock getChildContextsReadLock() {
-    return childContextsReadWriteLock.readLock();
+    private final BiConsumer<CoreEvent, Throwable> consumer;
+    private final ConsumerNode next;
+
+    private ConsumerNode(BiConsumer<CoreEvent, Throwable> consumer, ConsumerNode next) {
+      this.consumer = consumer;
+      this.next = next;
+    }
   }
 
-  public Lock getChildContextsWriteLock() {
-    return childContextsReadWriteLock.writeLock();
+  @Override
+  public int getDepthLevel() {
+    return depthLevel;
   }
 
   protected abstract String basicToString();
 
   protected final String detailedToString(int level, BaseEventContext highlight) {
+    final Queue<BaseEventContext> children = childContexts;
     return (this == highlight ? "=> " : "") + basicToString()
         + lineSeparator()
-        + childContexts.stream()
+        + (children == null ? "" : children.stream()
             .map(ctx -> leftPad("", (1 + level) * TO_STRING_TAB_SIZE)
                 + ((AbstractEventContext) ctx).detailedToString(1 + level, highlight))
-            .collect(joining(lineSeparator()));
+            .collect(joining(lineSeparator())));
   }
 
+  /**
+   * @return the state of this context, where {@code 0} is ready, {@code 1} is response done, {@code 2} is complete and {@code 3}
+   *         is terminated. A context whose consumers are being signaled is in the state they are being signaled for.
+   */
   protected byte getState() {
-    return state;
+    return (byte) ((state + 1) / 2);
   }
 
 }
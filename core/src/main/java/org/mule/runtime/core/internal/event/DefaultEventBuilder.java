@@ -17,10 +17,9 @@ import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsString;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
+import static org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap.emptyPersistentMap;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
 
@@ -47,6 +46,7 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveMap;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
@@ -58,7 +58,6 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.nio.charset.Charset;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -66,9 +65,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   private BaseEventContext context;
   private Function<EventContext, Message> messageFactory;
-  private boolean varsModified = false;
-  private CaseInsensitiveHashMap<String, TypedValue<?>> flowVariables;
-  private CaseInsensitiveHashMap<String, TypedValue<?>> originalVars;
+  private PersistentCaseInsensitiveMap<TypedValue<?>> flowVariables;
   private Map<String, Object> internalParameters;
   private Error error;
   private Optional<ItemSequenceInfo> itemSequenceInfo = empty();
@@ -87,7 +84,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder(BaseEventContext messageContext) {
     this.context = messageContext;
     this.session = new DefaultMuleSession();
-    this.originalVars = emptyCaseInsensitiveMap();
+    this.flowVariables = emptyPersistentMap();
     this.internalParameters = new SmallMap<>();
     internalParametersInitialized = true;
   }
@@ -103,7 +100,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    this.originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) event.getVariables();
+    this.flowVariables = PersistentCaseInsensitiveMap.copyOf(event.getVariables());
     this.internalParameters = (Map<String, Object>) event.getInternalParameters();
     flowProcessMediatorContext = copyOf(event.getFlowProcessMediatorContext());
     sdkInternalContext = copyOf(event.getSdkInternalContext());
@@ -135,26 +132,15 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    initVariables();
-
-    copyFromTo(flowVariables, this.flowVariables);
-    this.varsModified = true;
+    this.flowVariables = PersistentCaseInsensitiveMap.copyOf(flowVariables, DefaultEventBuilder::toTypedValue);
+    this.modified = true;
 
     return this;
   }
 
   @Override
   public DefaultEventBuilder variablesTyped(Map<String, TypedValue<?>> variables) {
-    if (!(variables instanceof CaseInsensitiveHashMap)) {
-      return variables(variables);
-    }
-
-    if (varsModified) {
-      this.flowVariables.clear();
-    }
-
-    originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) variables;
-    this.varsModified = false;
+    this.flowVariables = PersistentCaseInsensitiveMap.copyOf(variables);
     this.modified = true;
 
     return this;
@@ -166,10 +152,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       return (DefaultEventBuilder) addVariable(key, (TypedValue) value);
     }
 
-    initVariables();
-
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
-    this.varsModified = true;
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.modified = true;
     return this;
 
@@ -177,39 +160,31 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
-    initVariables();
-
-    flowVariables.put(key, new TypedValue<>(value, dataType));
-    this.varsModified = true;
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.modified = true;
     return this;
   }
 
   @Override
   public CoreEvent.Builder addVariable(String key, TypedValue<?> value) {
-    initVariables();
-
-    flowVariables.put(key, value);
-    this.varsModified = true;
+    flowVariables = flowVariables.plus(key, value);
     this.modified = true;
     return this;
   }
 
   @Override
   public DefaultEventBuilder removeVariable(String key) {
-    initVariables();
-
-    this.modified = flowVariables.remove(key) != null || modified;
-    this.varsModified = this.varsModified || modified;
+    final PersistentCaseInsensitiveMap<TypedValue<?>> updatedVariables = flowVariables.minus(key);
+    this.modified = updatedVariables != flowVariables || modified;
+    this.flowVariables = updatedVariables;
     return this;
   }
 
   @Override
   public Builder clearVariables() {
-    if ((flowVariables != null && !this.flowVariables.isEmpty()) || !this.originalVars.isEmpty()) {
-      this.varsModified = true;
+    if (!this.flowVariables.isEmpty()) {
       this.modified = true;
-      flowVariables = basedOn(new SmallMap<>());
+      flowVariables = emptyPersistentMap();
     }
     return this;
   }
@@ -307,7 +282,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     } else {
       return new InternalEventImplementation(context,
                                              requireNonNull(messageFactory.apply(context)),
-                                             varsModified ? flowVariables : originalVars,
+                                             flowVariables,
                                              internalParameters,
                                              session,
                                              securityContext,
@@ -322,12 +297,6 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
-  protected void initVariables() {
-    if (!varsModified && flowVariables == null) {
-      flowVariables = originalVars.copy();
-    }
-  }
-
   protected void initInternalParameters() {
     if (!internalParametersInitialized) {
       internalParameters = copy(internalParameters);
@@ -335,17 +304,12 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     }
   }
 
-  private void copyFromTo(Map<String, ?> source, Map<String, TypedValue<?>> target) {
-    target.clear();
-
-    for (Entry<String, ?> entry : source.entrySet()) {
-      if (entry.getValue() instanceof TypedValue) {
-        target.put(entry.getKey(), (TypedValue<?>) entry.getValue());
-      } else {
-        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataType.fromObject(entry.getValue())));
-      }
+  private static TypedValue<?> toTypedValue(Object value) {
+    if (value instanceof TypedValue) {
+      return (TypedValue<?>) value;
+    } else {
+      return new TypedValue<>(value, DataType.fromObject(value));
     }
-    this.modified = true;
   }
 
   /**
@@ -407,7 +371,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     // Use this constructor from the builder
     private InternalEventImplementation(BaseEventContext context,
                                         Message message,
-                                        CaseInsensitiveHashMap<String, TypedValue<?>> variables,
+                                        PersistentCaseInsensitiveMap<TypedValue<?>> variables,
                                         Map<String, ?> internalParameters,
                                         MuleSession session,
                                         SecurityContext securityContext,
@@ -423,7 +387,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       this.session = session;
       this.securityContext = securityContext;
       this.message = message;
-      this.variables = variables.toImmutableCaseInsensitiveMap();
+      this.variables = variables;
       this.internalParameters = internalParameters;
 
       this.itemSequenceInfo = itemSequenceInfo.orElse(null);
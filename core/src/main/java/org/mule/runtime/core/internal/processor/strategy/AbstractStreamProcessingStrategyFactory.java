@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.Integer.getInteger;
 import static java.lang.Integer.max;
@@ -49,6 +50,7 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
   protected static final int CORES = getInteger(SYSTEM_PROPERTY_PREFIX + "AVAILABLE_CORES", getRuntime().availableProcessors());
   protected static final int DEFAULT_BUFFER_SIZE = getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_BUFFER_SIZE", 1024);
   protected static final int FLOW_DISPATCH_WORKERS = getInteger(SYSTEM_PROPERTY_PREFIX + "FLOW_DISPATCH_WORKERS", 0);
+  protected static final boolean DEFAULT_WORK_STEALING_SINKS = getBoolean(SYSTEM_PROPERTY_PREFIX + "WORK_STEALING_SINKS");
 
   // Use one subscriber for every two cores available, or 1 subscriber for 1 core. This value is high for most scenarios but
   // required to achieve absolute minimum latency for the scenarios where this is important.
@@ -56,6 +58,7 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", max(1, (CORES / 2)));
   private int bufferSize = DEFAULT_BUFFER_SIZE;
   private int subscriberCount = DEFAULT_SUBSCRIBER_COUNT;
+  private boolean workStealingSinks = DEFAULT_WORK_STEALING_SINKS;
 
   /**
    * Configure the size of the ring-buffer size used to buffer and de-multiplexes events from multiple source threads. This value
@@ -82,6 +85,16 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
     this.subscriberCount = subscriberCount;
   }
 
+  /**
+   * Configure whether the events accepted by the sinks of the created processing strategies may be taken by any idle subscriber,
+   * instead of only by the subscriber they were assigned to.
+   *
+   * @param workStealingSinks whether to use work-stealing sinks.
+   */
+  public void setWorkStealingSinks(boolean workStealingSinks) {
+    this.workStealingSinks = workStealingSinks;
+  }
+
   protected int getBufferSize() {
     return bufferSize;
   }
@@ -90,6 +103,10 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
     return subscriberCount;
   }
 
+  protected boolean isWorkStealingSinks() {
+    return workStealingSinks;
+  }
+
   @Override
   public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
     return AbstractStreamProcessingStrategy.class;
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Concurrency limiter whose limit is adjusted at runtime from the observed latency of the operations it guards, following an
+ * additive-increase/multiplicative-decrease (AIMD) scheme.
+ * <p>
+ * The lowest latency seen is taken as the no-load baseline. While the smoothed latency stays within {@code latencyTolerance}
+ * times that baseline and the limit is being used, the limit grows by one for each completed operation. When the smoothed
+ * latency exceeds that tolerance or an operation is dropped, the limit is multiplied by {@code backoffRatio}.
+ * <p>
+ * Callers that cannot get a permit right away are queued and resumed when a permit is released, so no thread is blocked waiting
+ * for one.
+ *
+ * @since 4.4
+ */
+final class AdaptiveConcurrencyLimiter {
+
+  private static final double RTT_SMOOTHING = 0.1;
+  private static final double BASELINE_DRIFT = 0.001;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double latencyTolerance;
+  private final double backoffRatio;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+  private volatile double limit;
+  private double smoothedRtt;
+  private double noLoadRtt;
+
+  /**
+   * @param initialLimit     the limit to use before any latency has been observed.
+   * @param minLimit         the lowest value the limit may be decreased to. Must be at least 1.
+   * @param maxLimit         the highest value the limit may be increased to.
+   * @param latencyTolerance how many times the no-load latency is tolerated before decreasing the limit.
+   * @param backoffRatio     the factor to apply to the limit when decreasing it. Must be in the {@code (0, 1)} range.
+   */
+  AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Invalid limit range: [" + minLimit + ", " + maxLimit + "]");
+    }
+    if (latencyTolerance < 1) {
+      throw new IllegalArgumentException("latencyTolerance must be greater or equal than 1: " + latencyTolerance);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be in the (0, 1) range: " + backoffRatio);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTolerance = latencyTolerance;
+    this.backoffRatio = backoffRatio;
+    this.limit = min(max(initialLimit, minLimit), maxLimit);
+  }
+
+  /**
+   * Provides a {@link Mono} that emits the {@link System#nanoTime()} at which a permit was granted. The permit must be given
+   * back with {@link #release(long, boolean)} once the guarded operation finishes.
+   * <p>
+   * If the returned {@link Mono} is cancelled before a permit is granted, no permit is taken.
+   *
+   * @return a {@link Mono} that completes when a permit is available.
+   */
+  Mono<Long> acquire() {
+    return Mono.create(sink -> {
+      final Waiter waiter = new Waiter(sink);
+      sink.onCancel(waiter::cancel);
+
+      if (waiters.isEmpty() && tryAcquire()) {
+        if (!waiter.grant()) {
+          inFlight.decrementAndGet();
+        }
+      } else {
+        waiters.offer(waiter);
+        // A permit may have been released between the failed attempt and the enqueueing
+        drain();
+      }
+    });
+  }
+
+  /**
+   * Gives back a permit obtained through {@link #acquire()} and feeds the latency of the guarded operation into the limit.
+   *
+   * @param rttNanos the time the guarded operation took, in nanoseconds.
+   * @param dropped  whether the operation was rejected because the resource it uses was overloaded.
+   */
+  void release(long rttNanos, boolean dropped) {
+    final int currentInFlight = inFlight.decrementAndGet();
+    onSample(rttNanos, currentInFlight, dropped);
+    drain();
+  }
+
+  private synchronized void onSample(long rttNanos, int currentInFlight, boolean dropped) {
+    if (smoothedRtt == 0) {
+      smoothedRtt = rttNanos;
+    } else {
+      smoothedRtt += (rttNanos - smoothedRtt) * RTT_SMOOTHING;
+    }
+
+    if (noLoadRtt == 0 || rttNanos < noLoadRtt) {
+      noLoadRtt = rttNanos;
+    } else {
+      // Let the baseline slowly follow the observed latency, so that a permanent change in the guarded resource does not keep the
+      // limit at its minimum forever.
+      noLoadRtt += (smoothedRtt - noLoadRtt) * BASELINE_DRIFT;
+    }
+
+    double newLimit = limit;
+    if (dropped || smoothedRtt > noLoadRtt * latencyTolerance) {
+      newLimit = newLimit * backoffRatio;
+    } else if ((currentInFlight + 1) * 2 >= newLimit || !waiters.isEmpty()) {
+      newLimit = newLimit + 1;
+    }
+
+    limit = min(max(newLimit, minLimit), maxLimit);
+  }
+
+  private boolean tryAcquire() {
+    while (true) {
+      final int current = inFlight.get();
+      if (current >= getLimit()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void drain() {
+    while (!waiters.isEmpty() && tryAcquire()) {
+      final Waiter waiter = waiters.poll();
+      if (waiter == null || !waiter.grant()) {
+        // Either another thread got the waiter first or it was cancelled, so the permit is not used.
+        inFlight.decrementAndGet();
+        if (waiter == null) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the current concurrency limit.
+   */
+  int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * @return how many permits are currently granted.
+   */
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return how many callers are waiting for a permit.
+   */
+  int getQueued() {
+    return waiters.size();
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveConcurrencyLimiter{limit=" + getLimit() + ", inFlight=" + getInFlight() + "}";
+  }
+
+  private static final class Waiter {
+
+    private final MonoSink<Long> sink;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private Waiter(MonoSink<Long> sink) {
+      this.sink = sink;
+    }
+
+    boolean grant() {
+      if (done.compareAndSet(false, true)) {
+        sink.success(nanoTime());
+        return true;
+      }
+      return false;
+    }
+
+    void cancel() {
+      done.set(true);
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Double.parseDouble;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableMap;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates a processing strategy with the same behavior as {@link ProactorStreamEmitterProcessingStrategyFactory}, but instead
+ * of using a fixed concurrency for each {@link ReactiveProcessor.ProcessingType#BLOCKING},
+ * {@link ReactiveProcessor.ProcessingType#IO_RW} or {@link ReactiveProcessor.ProcessingType#CPU_INTENSIVE} processor, the
+ * concurrency of each one is adjusted at runtime from its observed latency.
+ * <p>
+ * When a processor slows down (i.e.: the database it talks to is overloaded), its concurrency limit is decreased, so events wait
+ * in the flow instead of piling up in the IO or CPU intensive schedulers. As the processor recovers, the limit is increased back
+ * up to the one derived from {@code maxConcurrency}.
+ * <p>
+ * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
+ *
+ * @since 4.4
+ */
+public class AdaptiveProactorStreamEmitterProcessingStrategyFactory extends ProactorStreamEmitterProcessingStrategyFactory {
+
+  protected static final int DEFAULT_MIN_CONCURRENCY = getInteger(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_MIN_CONCURRENCY", 1);
+  protected static final int DEFAULT_INITIAL_UNBOUNDED_CONCURRENCY =
+      getInteger(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_INITIAL_UNBOUNDED_CONCURRENCY", CORES * 8);
+  protected static final double DEFAULT_LATENCY_TOLERANCE =
+      parseDouble(getProperty(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_LATENCY_TOLERANCE", "2.0"));
+  protected static final double DEFAULT_BACKOFF_RATIO =
+      parseDouble(getProperty(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_BACKOFF_RATIO", "0.9"));
+
+  private int minConcurrency = DEFAULT_MIN_CONCURRENCY;
+  private double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+  private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+  /**
+   * Configures the lowest concurrency a processor may be throttled down to.
+   *
+   * @param minConcurrency the minimum concurrency. Must be at least 1.
+   */
+  public void setMinConcurrency(int minConcurrency) {
+    if (minConcurrency < 1) {
+      throw new IllegalArgumentException("minConcurrency must be greater than 0: " + minConcurrency);
+    }
+    this.minConcurrency = minConcurrency;
+  }
+
+  /**
+   * Configures how many times the latency of a processor under no load is tolerated before its concurrency is decreased.
+   *
+   * @param latencyTolerance the tolerance. Must be at least 1.
+   */
+  public void setLatencyTolerance(double latencyTolerance) {
+    if (latencyTolerance < 1) {
+      throw new IllegalArgumentException("latencyTolerance must be greater or equal than 1: " + latencyTolerance);
+    }
+    this.latencyTolerance = latencyTolerance;
+  }
+
+  /**
+   * Configures the factor applied to the concurrency of a processor when it has to be decreased.
+   *
+   * @param backoffRatio the ratio. Must be in the {@code (0, 1)} range.
+   */
+  public void setBackoffRatio(double backoffRatio) {
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be in the (0, 1) range: " + backoffRatio);
+    }
+    this.backoffRatio = backoffRatio;
+  }
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
+    final AdaptiveProactorStreamEmitterProcessingStrategy processingStrategy =
+        new AdaptiveProactorStreamEmitterProcessingStrategy(getBufferSize(),
+                                                            getSubscriberCount(),
+                                                            cpuLightSchedulerSupplier,
+                                                            cpuLightSchedulerSupplier,
+                                                            () -> muleContext.getSchedulerService()
+                                                                .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                                    .withName(schedulersNamePrefix + "."
+                                                                        + BLOCKING.name())),
+                                                            () -> muleContext.getSchedulerService()
+                                                                .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                                    .withName(schedulersNamePrefix + "."
+                                                                        + CPU_INTENSIVE.name())),
+                                                            resolveParallelism(),
+                                                            getMaxConcurrency(),
+                                                            isMaxConcurrencyEagerCheck(),
+                                                            () -> muleContext.getConfiguration().getShutdownTimeout(),
+                                                            minConcurrency,
+                                                            latencyTolerance,
+                                                            backoffRatio);
+    processingStrategy.setWorkStealingSinks(isWorkStealingSinks());
+    return processingStrategy;
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return AdaptiveProactorStreamEmitterProcessingStrategy.class;
+  }
+
+  static class AdaptiveProactorStreamEmitterProcessingStrategy extends ProactorStreamEmitterProcessingStrategy {
+
+    private static final Logger LOGGER = getLogger(AdaptiveProactorStreamEmitterProcessingStrategy.class);
+
+    private final int minConcurrency;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final Map<ReactiveProcessor, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveProactorStreamEmitterProcessingStrategy(int bufferSize,
+                                                           int subscriberCount,
+                                                           Supplier<Scheduler> flowDispatchSchedulerSupplier,
+                                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                                           Supplier<Scheduler> blockingSchedulerSupplier,
+                                                           Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                                           int parallelism,
+                                                           int maxConcurrency,
+                                                           boolean maxConcurrencyEagerCheck,
+                                                           Supplier<Long> shutdownTimeoutSupplier,
+                                                           int minConcurrency,
+                                                           double latencyTolerance,
+                                                           double backoffRatio) {
+      super(bufferSize, subscriberCount, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, blockingSchedulerSupplier,
+            cpuIntensiveSchedulerSupplier, parallelism, maxConcurrency, maxConcurrencyEagerCheck, shutdownTimeoutSupplier);
+      this.minConcurrency = minConcurrency;
+      this.latencyTolerance = latencyTolerance;
+      this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    protected ReactiveProcessor proactor(ReactiveProcessor processor, ScheduledExecutorService scheduler) {
+      if (maxConcurrency == 1 || processor instanceof OperationInnerProcessor) {
+        // Nothing to adapt when there is no concurrency. For inner operation processors the limit is applied on the operation.
+        return super.proactor(processor, scheduler);
+      }
+
+      final AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(processor, p -> createLimiter());
+      LOGGER.debug("Doing adaptive proactor() for {} on {}. maxConcurrency={}, parallelism={}, subscribers={}, limiter={}",
+                   processor, scheduler, maxConcurrency, getParallelism(), subscribers, limiter);
+
+      final ScheduledExecutorService retryScheduler = getRetryScheduler(scheduler);
+
+      // The flatMap concurrency is the upper bound of the window, the limiter narrows it at runtime across all the subscribers.
+      final int window = maxConcurrency == MAX_VALUE ? MAX_VALUE : max(maxConcurrency / (getParallelism() * subscribers), 1);
+      return publisher -> from(publisher)
+          .flatMap(event -> limiter.acquire()
+              .flatMap(acquiredAt -> scheduleProcessor(processor, retryScheduler, Mono.just(event))
+                  .doOnSuccess(e -> limiter.release(nanoTime() - acquiredAt, false))
+                  .doOnError(t -> limiter.release(nanoTime() - acquiredAt, isSchedulerBusy(t)))
+                  .doOnCancel(() -> limiter.release(nanoTime() - acquiredAt, false)))
+              .subscriberContext(ctx -> ctx.put(PROCESSOR_SCHEDULER_CONTEXT_KEY, scheduler)),
+                   window);
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter() {
+      final int maxLimit = maxConcurrency == MAX_VALUE ? MAX_VALUE : maxConcurrency;
+      final int initialLimit = maxConcurrency == MAX_VALUE ? DEFAULT_INITIAL_UNBOUNDED_CONCURRENCY : maxConcurrency;
+      return new AdaptiveConcurrencyLimiter(initialLimit, min(minConcurrency, maxLimit), maxLimit, latencyTolerance,
+                                            backoffRatio);
+    }
+
+    /**
+     * @param processor a processor this processing strategy was applied to.
+     * @return the current concurrency limit of the given {@code processor}, or {@code -1} if it is not adaptively limited.
+     */
+    public int getConcurrencyLimit(ReactiveProcessor processor) {
+      final AdaptiveConcurrencyLimiter limiter = limiters.get(processor);
+      return limiter == null ? -1 : limiter.getLimit();
+    }
+
+    /**
+     * @return an unmodifiable view of the current concurrency limit of each adaptively limited processor.
+     */
+    public Map<ReactiveProcessor, Integer> getConcurrencyLimits() {
+      final Map<ReactiveProcessor, Integer> currentLimits = new ConcurrentHashMap<>();
+      limiters.forEach((processor, limiter) -> currentLimits.put(processor, limiter.getLimit()));
+      return unmodifiableMap(currentLimits);
+    }
+  }
+}
@@ -50,22 +50,31 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
     Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
-    return new ProactorStreamEmitterProcessingStrategy(getBufferSize(),
-                                                       getSubscriberCount(),
-                                                       cpuLightSchedulerSupplier,
-                                                       cpuLightSchedulerSupplier,
-                                                       () -> muleContext.getSchedulerService()
-                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(
-                                                                         schedulersNamePrefix + "." + BLOCKING.name())),
-                                                       () -> muleContext.getSchedulerService()
-                                                           .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(schedulersNamePrefix + "."
-                                                                   + CPU_INTENSIVE.name())),
-                                                       resolveParallelism(),
-                                                       getMaxConcurrency(),
-                                                       isMaxConcurrencyEagerCheck(),
-                                                       () -> muleContext.getConfiguration().getShutdownTimeout());
+    final ProactorStreamEmitterProcessingStrategy processingStrategy =
+        new ProactorStreamEmitterProcessingStrategy(getBufferSize(),
+                                                    getSubscriberCount(),
+                                                    cpuLightSchedulerSupplier,
+                                                    cpuLightSchedulerSupplier,
+                                                    getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                    () -> muleContext.getSchedulerService()
+                                                        .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                            .withName(schedulersNamePrefix + "."
+                                                                + CPU_INTENSIVE.name())),
+                                                    resolveParallelism(),
+                                                    getMaxConcurrency(),
+                                                    isMaxConcurrencyEagerCheck(),
+                                                    () -> muleContext.getConfiguration().getShutdownTimeout());
+    processingStrategy.setWorkStealingSinks(isWorkStealingSinks());
+    return processingStrategy;
+  }
+
+  /**
+   * @return the supplier of the {@link Scheduler} to run {@link ReactiveProcessor.ProcessingType#BLOCKING} and
+   *         {@link ReactiveProcessor.ProcessingType#IO_RW} processors on.
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    return () -> muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig().withName(schedulersNamePrefix + "." + BLOCKING.name()));
   }
 
   @Override
@@ -180,8 +189,8 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
       }
     }
 
-    private Mono<CoreEvent> scheduleProcessor(ReactiveProcessor processor, ScheduledExecutorService processorScheduler,
-                                              Mono<CoreEvent> eventFlux) {
+    protected Mono<CoreEvent> scheduleProcessor(ReactiveProcessor processor, ScheduledExecutorService processorScheduler,
+                                                Mono<CoreEvent> eventFlux) {
       return scheduleWithLogging(processor, processorScheduler, eventFlux);
     }
 
@@ -66,16 +66,19 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new StreamEmitterProcessingStrategy(getBufferSize(),
-                                               getSubscriberCount(),
-                                               getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                               getCpuLightSchedulerSupplier(
-                                                                            muleContext,
-                                                                            schedulersNamePrefix),
-                                               resolveParallelism(),
-                                               getMaxConcurrency(),
-                                               isMaxConcurrencyEagerCheck(),
-                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+    final StreamEmitterProcessingStrategy processingStrategy =
+        new StreamEmitterProcessingStrategy(getBufferSize(),
+                                            getSubscriberCount(),
+                                            getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                            getCpuLightSchedulerSupplier(
+                                                                         muleContext,
+                                                                         schedulersNamePrefix),
+                                            resolveParallelism(),
+                                            getMaxConcurrency(),
+                                            isMaxConcurrencyEagerCheck(),
+                                            () -> muleContext.getConfiguration().getShutdownTimeout());
+    processingStrategy.setWorkStealingSinks(isWorkStealingSinks());
+    return processingStrategy;
   }
 
   @Override
@@ -121,6 +124,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
 
     private final int sinksCount;
     private final Supplier<Long> shutdownTimeoutSupplier;
+    private boolean workStealingSinks = false;
 
     // This counter keeps track of how many sinks are created for fluxes that use this processing strategy.
     // Using it, an eager stop of the schedulers is implmented in `stopSchedulersIfNeeded`
@@ -220,8 +224,20 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       return activeSinksCount.decrementAndGet() <= 0;
     }
 
+    /**
+     * @param workStealingSinks whether the sinks created by this processing strategy allow idle subscribers to take events
+     *                          assigned to busy ones.
+     */
+    void setWorkStealingSinks(boolean workStealingSinks) {
+      this.workStealingSinks = workStealingSinks;
+    }
+
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      if (workStealingSinks) {
+        return createWorkStealingSink(flowConstruct, function);
+      }
+
       List<ReactorSink<CoreEvent>> sinks = new ArrayList<>();
       final int bufferQueueSize = getBufferQueueSize();
 
@@ -252,6 +268,29 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       return new RoundRobinReactorSink<>(sinks);
     }
 
+    private Sink createWorkStealingSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      final WorkStealingReactorSink sink = new WorkStealingReactorSink(onEventConsumer, bufferSize);
+
+      for (int i = 0; i < sinksCount; i++) {
+        Latch completionLatch = new Latch();
+        AtomicReference<Throwable> failedSubscriptionCause = new AtomicReference<>();
+        WorkStealingReactorSink.Worker worker = sink.addWorker(prepareDisposeTimestamp -> {
+          awaitSubscribersCompletion(flowConstruct, shutdownTimeoutSupplier.get(), completionLatch, prepareDisposeTimestamp);
+          stopSchedulersIfNeeded();
+        });
+        worker.getFlux().transform(function)
+            .subscribe(null, getThrowableConsumer(flowConstruct, completionLatch, failedSubscriptionCause),
+                       () -> completionLatch.release());
+
+        if (!worker.isSubscribed()) {
+          throw resolveSubscriptionErrorCause(failedSubscriptionCause);
+        }
+      }
+
+      activeSinksCount.addAndGet(sinksCount);
+      return sink;
+    }
+
     @Override
     public void registerInternalSink(Publisher<CoreEvent> flux, String sinkRepresentation) {
       from(flux).subscribe(null, e -> {
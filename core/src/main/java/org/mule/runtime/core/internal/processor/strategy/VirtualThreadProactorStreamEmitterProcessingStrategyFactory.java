@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.util.rx.VirtualThreadScheduler;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy with the same behavior as {@link ProactorStreamEmitterProcessingStrategyFactory}, except that
+ * {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW} processors are run on
+ * virtual threads instead of on the {@link SchedulerService#ioScheduler()}, when the JVM supports them.
+ * <p>
+ * A virtual thread is cheap to create and to keep blocked, so thousands of concurrent slow operations don't require the IO pool
+ * to grow nor throttle the flow. The concurrency of each processor is still limited by {@code maxConcurrency}.
+ * <p>
+ * When the JVM doesn't support virtual threads, this behaves just like {@link ProactorStreamEmitterProcessingStrategyFactory}.
+ * <p>
+ * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
+ *
+ * @since 4.4
+ */
+public class VirtualThreadProactorStreamEmitterProcessingStrategyFactory extends ProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadProactorStreamEmitterProcessingStrategyFactory.class);
+
+  @Override
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    final Supplier<Scheduler> ioSchedulerSupplier = super.getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix);
+    if (!VirtualThreadScheduler.isSupported()) {
+      LOGGER.debug("Virtual threads not supported by this JVM. Using IO scheduler for '{}'.", schedulersNamePrefix);
+      return ioSchedulerSupplier;
+    }
+
+    return () -> {
+      // The IO scheduler is still needed for triggering delayed tasks, which are then run in virtual threads
+      final Scheduler ioScheduler = ioSchedulerSupplier.get();
+      return new VirtualThreadScheduler(schedulersNamePrefix + "." + BLOCKING.name(), ioScheduler,
+                                        muleContext.getConfiguration().getShutdownTimeout());
+    };
+  }
+}
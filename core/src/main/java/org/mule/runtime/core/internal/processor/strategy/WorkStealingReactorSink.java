@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static reactor.core.publisher.FluxSink.OverflowStrategy.ERROR;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * {@link ReactorSink} that distributes events across a set of workers, each one with its own buffer and its own subscriber.
+ * <p>
+ * Events are assigned to workers in a round-robin fashion, same as {@link StreamEmitterProcessingStrategyFactory}'s default
+ * sinks. When the subscriber of a worker requests more events and its own buffer is empty, it takes events from the buffers of
+ * the other workers instead of staying idle. This way, a slow event does not leave the events queued behind it waiting while
+ * other subscribers have nothing to do.
+ * <p>
+ * The depth of the buffer of each worker and how many events each one took from other workers are available for monitoring.
+ * <p>
+ * Once disposal starts, no more events are accepted, and each worker completes its subscriber only after all the buffers are
+ * empty, so no queued event is left behind.
+ *
+ * @since 4.4
+ */
+class WorkStealingReactorSink implements ReactorSink<CoreEvent> {
+
+  private final List<Worker> workers = new ArrayList<>();
+  private final Consumer<CoreEvent> onEventConsumer;
+  private final int bufferSize;
+  private final AtomicInteger queuedEvents = new AtomicInteger();
+  private final AtomicInteger index = new AtomicInteger(0);
+  // Saving update function to avoid creating the lambda every time
+  private final IntUnaryOperator update = value -> (value + 1) % workers.size();
+  private volatile boolean completing = false;
+
+  /**
+   * Creates a {@link WorkStealingReactorSink}. Its workers have to be added with {@link #addWorker(Consumer)} before any event is
+   * accepted.
+   *
+   * @param onEventConsumer event consumer called just before {@link CoreEvent}'s emission.
+   * @param bufferSize      how many events may be queued across all the workers before emission is rejected.
+   */
+  WorkStealingReactorSink(Consumer<CoreEvent> onEventConsumer, int bufferSize) {
+    this.onEventConsumer = onEventConsumer;
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Adds a worker to this sink.
+   *
+   * @param disposer the callback to invoke when the worker is disposed, with the timestamp when disposal started.
+   * @return the new worker, whose {@link Worker#getFlux() flux} has to be subscribed to.
+   */
+  Worker addWorker(Consumer<Long> disposer) {
+    final Worker worker = new Worker(workers.size(), disposer);
+    workers.add(worker);
+    return worker;
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    queuedEvents.incrementAndGet();
+    if (!checkNotCompleting()) {
+      throw new IllegalStateException("Events can't be accepted once the sink is being disposed");
+    }
+
+    onEventConsumer.accept(event);
+    dispatch(event);
+  }
+
+  @Override
+  public BackPressureReason emit(CoreEvent event) {
+    if (!reserveCapacity() || !checkNotCompleting()) {
+      return EVENTS_ACCUMULATED;
+    }
+
+    onEventConsumer.accept(event);
+    dispatch(event);
+    return null;
+  }
+
+  /**
+   * Counts the event about to be queued if there is room for it in the buffers, so concurrent emitters don't overflow them.
+   */
+  private boolean reserveCapacity() {
+    int queued;
+    do {
+      queued = queuedEvents.get();
+      if (queued >= bufferSize) {
+        return false;
+      }
+    } while (!queuedEvents.compareAndSet(queued, queued + 1));
+    return true;
+  }
+
+  /**
+   * Must be called after the event is counted in {@link #queuedEvents}, so either the event is rejected here or the workers see
+   * it queued before completing.
+   */
+  private boolean checkNotCompleting() {
+    if (!completing) {
+      return true;
+    }
+
+    // Release the reserved room, and let the workers complete if they were waiting for it
+    queuedEvents.decrementAndGet();
+    workers.forEach(Worker::drain);
+    return false;
+  }
+
+  private void dispatch(CoreEvent event) {
+    final Worker owner = workers.get(index.getAndUpdate(update));
+    owner.enqueue(event);
+    owner.drain();
+
+    if (owner.getQueueDepth() > 0) {
+      // The owner is busy, let any idle worker take the event
+      for (Worker worker : workers) {
+        if (worker != owner && worker.isIdle()) {
+          worker.drain();
+          if (owner.getQueueDepth() == 0) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private CoreEvent steal(Worker thief) {
+    final int workersCount = workers.size();
+    for (int i = 1; i < workersCount; ++i) {
+      final Worker victim = workers.get((thief.index + i) % workersCount);
+      if (victim.getQueueDepth() > 0) {
+        final CoreEvent stolen = victim.poll();
+        if (stolen != null) {
+          return stolen;
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public CoreEvent intoSink(CoreEvent event) {
+    return event;
+  }
+
+  @Override
+  public void prepareDispose() {
+    completing = true;
+    workers.forEach(Worker::prepareDispose);
+  }
+
+  @Override
+  public void dispose() {
+    prepareDispose();
+    workers.forEach(Worker::dispose);
+  }
+
+  /**
+   * @return the number of events currently queued in the buffer of each worker.
+   */
+  int[] getQueueDepths() {
+    final int[] depths = new int[workers.size()];
+    for (int i = 0; i < depths.length; ++i) {
+      depths[i] = workers.get(i).getQueueDepth();
+    }
+    return depths;
+  }
+
+  /**
+   * @return the number of events each worker took from the buffers of other workers.
+   */
+  long[] getStolenCounts() {
+    final long[] stolen = new long[workers.size()];
+    for (int i = 0; i < stolen.length; ++i) {
+      stolen[i] = workers.get(i).stolenCount.get();
+    }
+    return stolen;
+  }
+
+  /**
+   * A buffer of events along with the {@link Flux} that emits them to its subscriber.
+   */
+  final class Worker {
+
+    private final int index;
+    private final Consumer<Long> disposer;
+    private final Queue<CoreEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong stolenCount = new AtomicLong();
+    private final Flux<CoreEvent> flux;
+
+    private volatile FluxSink<CoreEvent> fluxSink;
+    private volatile boolean completed = false;
+    private long prepareDisposeTimestamp = -1;
+
+    private Worker(int index, Consumer<Long> disposer) {
+      this.index = index;
+      this.disposer = disposer;
+      // Events are only pushed to the sink when requested, so it never has to buffer.
+      this.flux = Flux.create(sink -> {
+        this.fluxSink = sink;
+        sink.onRequest(n -> drain());
+      }, ERROR);
+    }
+
+    /**
+     * @return the {@link Flux} of the events for this worker, to be subscribed to.
+     */
+    Flux<CoreEvent> getFlux() {
+      return flux;
+    }
+
+    /**
+     * @return whether the {@link Flux} of this worker was subscribed to.
+     */
+    boolean isSubscribed() {
+      return fluxSink != null;
+    }
+
+    /**
+     * The event must already be counted in {@link #queuedEvents}.
+     */
+    private void enqueue(CoreEvent event) {
+      queueDepth.incrementAndGet();
+      queue.offer(event);
+    }
+
+    private CoreEvent poll() {
+      final CoreEvent event = queue.poll();
+      if (event != null) {
+        queueDepth.decrementAndGet();
+        queuedEvents.decrementAndGet();
+      }
+      return event;
+    }
+
+    private int getQueueDepth() {
+      return queueDepth.get();
+    }
+
+    private boolean isIdle() {
+      final FluxSink<CoreEvent> sink = fluxSink;
+      return sink != null && queueDepth.get() == 0 && sink.requestedFromDownstream() > 0;
+    }
+
+    private void drain() {
+      final FluxSink<CoreEvent> sink = fluxSink;
+      if (sink == null || completed || wip.getAndIncrement() != 0) {
+        return;
+      }
+
+      boolean completedNow = false;
+      int missed = 1;
+      do {
+        while (!completed && sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+          CoreEvent event = poll();
+          if (event == null) {
+            event = steal(this);
+            if (event == null) {
+              break;
+            }
+            stolenCount.incrementAndGet();
+          }
+          sink.next(event);
+        }
+
+        // Other workers may still have events this one has to take before completing
+        if (completing && !completed && queuedEvents.get() == 0) {
+          completed = true;
+          completedNow = true;
+          sink.complete();
+        }
+
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+
+      if (completedNow) {
+        // The workers waiting for the events taken by this one to complete have to be notified
+        workers.forEach(Worker::drain);
+      }
+    }
+
+    private void prepareDispose() {
+      if (prepareDisposeTimestamp == -1) {
+        prepareDisposeTimestamp = currentTimeMillis();
+      }
+      drain();
+    }
+
+    private void dispose() {
+      disposer.accept(prepareDisposeTimestamp);
+    }
+  }
+}
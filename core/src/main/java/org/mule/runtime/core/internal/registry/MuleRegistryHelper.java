@@ -24,6 +24,7 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.transformer.ResolverException;
+import org.mule.runtime.core.internal.transformer.TransformerResolutionCache;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
 import java.nio.charset.Charset;
@@ -34,7 +35,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -58,8 +58,8 @@ public class MuleRegistryHelper implements MuleRegistry {
   /**
    * We cache transformer searches so that we only search once
    */
-  protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
-  protected Map<String, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
+  protected TransformerResolutionCache<Transformer> exactTransformerCache = new TransformerResolutionCache<>();
+  protected TransformerResolutionCache<List<Transformer>> transformerListCache = new TransformerResolutionCache<>();
 
   private final MuleContext muleContext;
 
@@ -100,8 +100,8 @@ public class MuleRegistryHelper implements MuleRegistry {
    */
   @Override
   public void dispose() {
-    transformerListCache.clear();
-    exactTransformerCache.clear();
+    transformerListCache.invalidate();
+    exactTransformerCache.invalidate();
     registry.dispose();
   }
 
@@ -140,21 +140,11 @@ public class MuleRegistryHelper implements MuleRegistry {
     //the provided, it will be found.
     result = builder(result).mediaType(ANY).charset((Charset) null).build();
 
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = exactTransformerCache.get(dataTypePairHash);
-    if (cachedTransformer != null) {
-      return cachedTransformer;
-    }
-
-    Transformer trans = resolveTransformer(source, result);
+    // Pairs without a transformer are cached too, so the resolvers are not queried again until a converter changes
+    Transformer trans = exactTransformerCache.get(source, result, this::resolveTransformer);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
-      if (concurrentlyAddedTransformer != null) {
-        return concurrentlyAddedTransformer;
-      } else {
-        return trans;
-      }
+      return trans;
     } else {
       throw new TransformerException(noTransformerFoundForMessage(source, result));
     }
@@ -193,14 +183,11 @@ public class MuleRegistryHelper implements MuleRegistry {
     //the provided, it will be found.
     result = builder(result).mediaType(ANY).charset((Charset) null).build();
 
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-
-    List<Transformer> results = transformerListCache.get(dataTypePairHash);
-    if (results != null) {
-      return results;
-    }
+    return transformerListCache.get(source, result, this::findTransformers);
+  }
 
-    results = new ArrayList<>(2);
+  private List<Transformer> findTransformers(DataType source, DataType result) {
+    List<Transformer> results = new ArrayList<>(2);
 
     Lock readLock = transformersLock.readLock();
     readLock.lock();
@@ -219,11 +206,6 @@ public class MuleRegistryHelper implements MuleRegistry {
       readLock.unlock();
     }
 
-    List<Transformer> concurrentlyAddedTransformers = transformerListCache.putIfAbsent(dataTypePairHash, results);
-    if (concurrentlyAddedTransformers != null) {
-      return concurrentlyAddedTransformers;
-    }
-
     return results;
   }
 
@@ -258,20 +240,6 @@ public class MuleRegistryHelper implements MuleRegistry {
 
   public void notifyTransformerResolvers(Transformer t, TransformerResolver.RegistryAction action) {
     if (t instanceof Converter) {
-      Lock transformerResolversReadLock = transformerResolversLock.readLock();
-      transformerResolversReadLock.lock();
-      try {
-
-        for (TransformerResolver resolver : transformerResolvers) {
-          resolver.transformerChange(t, action);
-        }
-      } finally {
-        transformerResolversReadLock.unlock();
-      }
-
-      transformerListCache.clear();
-      exactTransformerCache.clear();
-
       Lock transformersWriteLock = transformersLock.writeLock();
       transformersWriteLock.lock();
       try {
@@ -280,9 +248,27 @@ public class MuleRegistryHelper implements MuleRegistry {
         } else {
           transformers.remove(t);
         }
+        // Invalidated before the resolvers are notified, so they don't get the lookups done with the previous transformers
+        // when repopulating their own caches
+        transformerListCache.invalidate();
+        exactTransformerCache.invalidate();
       } finally {
         transformersWriteLock.unlock();
       }
+
+      Lock transformerResolversReadLock = transformerResolversLock.readLock();
+      transformerResolversReadLock.lock();
+      try {
+
+        for (TransformerResolver resolver : transformerResolvers) {
+          resolver.transformerChange(t, action);
+        }
+      } finally {
+        transformerResolversReadLock.unlock();
+      }
+
+      // Invalidated again once the resolvers changed, so no resolution done with their previous state is kept
+      exactTransformerCache.invalidate();
     }
   }
 
@@ -444,6 +430,7 @@ public class MuleRegistryHelper implements MuleRegistry {
     } finally {
       lock.unlock();
     }
+    exactTransformerCache.invalidate();
   }
 
   /**
@@ -502,10 +489,6 @@ public class MuleRegistryHelper implements MuleRegistry {
     return false;
   }
 
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    return source.getClass().getName() + source.hashCode() + ":" + result.getClass().getName() + result.hashCode();
-  }
-
   private class TransformerResolverComparator implements Comparator<TransformerResolver> {
 
     @Override
@@ -6,12 +6,15 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
@@ -41,9 +44,12 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.store.StoreIfAbsentObjectStore;
 
 import java.util.UUID;
 
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
 import org.slf4j.Logger;
 
 /**
@@ -54,12 +60,26 @@ import org.slf4j.Logger;
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
+ * <p>
+ * When the object store is a {@link StoreIfAbsentObjectStore}, checking and storing the id is done in a single atomic operation.
+ * Otherwise, an in memory {@link BloomFilter} of the stored ids may be enabled through {@link #setIdFilterExpectedIds(int)} so
+ * that ids which are definitely new are stored without checking the object store first.
  */
 public class IdempotentMessageValidator extends AbstractComponent
     implements Processor, MuleContextAware, Lifecycle {
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
 
+  /**
+   * System property with the default amount of ids the in memory filter of stored ids is sized for. {@code 0}, the default,
+   * disables the filter.
+   *
+   * @since 4.4
+   */
+  public static final String ID_FILTER_EXPECTED_IDS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "idempotentValidator.idFilter.expectedIds";
+
+  private static final double ID_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
+
   protected MuleContext muleContext;
 
   protected volatile ObjectStore<String> store;
@@ -72,6 +92,9 @@ public class IdempotentMessageValidator extends AbstractComponent
   private CompiledExpression compiledIdExpression;
   private CompiledExpression compiledValueExpression;
 
+  private int idFilterExpectedIds = getInteger(ID_FILTER_EXPECTED_IDS_PROPERTY, 0);
+  private volatile BloomFilter<CharSequence> idFilter;
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -109,11 +132,31 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+    if (idFilterExpectedIds > 0 && !(store instanceof StoreIfAbsentObjectStore)) {
+      rebuildIdFilter();
+    }
+  }
+
+  /**
+   * Creates the filter of stored ids with the keys already present in the {@link #store}.
+   */
+  private void rebuildIdFilter() throws ObjectStoreException {
+    BloomFilter<CharSequence> filter =
+        BloomFilter.create(Funnels.stringFunnel(UTF_8), idFilterExpectedIds, ID_FILTER_FALSE_POSITIVE_PROBABILITY);
+    for (String key : store.allKeys()) {
+      filter.put(key);
+    }
+    idFilter = filter;
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Built filter of stored ids for '{}' with approximately {} ids", storePrefix, filter.approximateElementCount());
+    }
   }
 
   @Override
   public void stop() throws MuleException {
     stopIfNeeded(store);
+    idFilter = null;
   }
 
   @Override
@@ -164,10 +207,9 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
-      if (event != null && isNewMessage(event, id)) {
+      if (event != null && (store instanceof StoreIfAbsentObjectStore || isDefinitelyNew(id) || isNewMessage(event, id))) {
         try {
-          store.store(id, value);
-          return true;
+          return storeId(id, value);
         } catch (ObjectAlreadyExistsException ex) {
           return false;
         } catch (ObjectStoreNotAvailableException e) {
@@ -188,6 +230,24 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
+  private boolean isDefinitelyNew(String id) {
+    final BloomFilter<CharSequence> filter = idFilter;
+    return filter != null && !filter.mightContain(id);
+  }
+
+  private boolean storeId(String id, String value) throws ObjectStoreException {
+    if (store instanceof StoreIfAbsentObjectStore) {
+      return ((StoreIfAbsentObjectStore<String>) store).storeIfAbsent(id, value);
+    }
+
+    store.store(id, value);
+    final BloomFilter<CharSequence> filter = idFilter;
+    if (filter != null) {
+      filter.put(id);
+    }
+    return true;
+  }
+
   @Override
   public final CoreEvent process(CoreEvent event) throws MuleException {
     if (accept(event)) {
@@ -228,4 +288,19 @@ public class IdempotentMessageValidator extends AbstractComponent
   public void setPrivateObjectStore(ObjectStore<String> privateStore) {
     this.privateStore = privateStore;
   }
+
+  /**
+   * Enables an in memory filter of the stored ids, sized for the given amount of ids, used to avoid checking the object store
+   * for ids that were never stored. It is built from the object store on start and only used for object stores that are not
+   * {@link StoreIfAbsentObjectStore}s.
+   * <p>
+   * Ids that expire from the object store are still reported by the filter as possibly stored, in which case the object store is
+   * checked as usual.
+   *
+   * @param idFilterExpectedIds the amount of ids the filter is sized for, or {@code 0} to disable it
+   * @since 4.4
+   */
+  public void setIdFilterExpectedIds(int idFilterExpectedIds) {
+    this.idFilterExpectedIds = idFilterExpectedIds;
+  }
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.routing;
 
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
+import static org.mule.runtime.api.metadata.DataType.fromObject;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
@@ -29,6 +30,8 @@ import java.util.List;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
+
 import javax.inject.Inject;
 
 /**
@@ -40,6 +43,10 @@ import javax.inject.Inject;
  * For advanced use cases, a custom {@link ForkJoinStrategyFactory} can be applied to customize the logic used to aggregate the
  * route responses back into one single Event.
  * <p>
+ * When a {@link #setBatchSize(int) batch size} greater than 1 is set, each route execution processes a sub-collection of that
+ * many parts instead of a single one. The parts are taken from the split collection as the routes need them, so no more than
+ * {@code maxConcurrency} batches are in flight at any given time.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  *
@@ -51,6 +58,7 @@ public class ParallelForEach extends AbstractForkJoinRouter {
   protected StreamingManager streamingManager;
 
   private String collectionExpression = DEFAULT_SPLIT_EXPRESSION;
+  private int batchSize = 1;
   private SplittingStrategy<CoreEvent, Iterator<TypedValue<?>>> splittingStrategy;
 
   private List<Processor> messageProcessors;
@@ -66,11 +74,16 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   @Override
   protected Publisher<ForkJoinStrategy.RoutingPair> getRoutingPairs(CoreEvent event) {
-    return fromIterable(() -> splittingStrategy.split(event))
-        .map(partTypedValue -> {
-          TypedValue managedValue = updateTypedValueForStreaming(partTypedValue, event, streamingManager);
-          return CoreEvent.builder(event).message(Message.builder().payload(managedValue).build()).build();
-        })
+    Flux<TypedValue> parts = fromIterable(() -> splittingStrategy.split(event))
+        .map(partTypedValue -> updateTypedValueForStreaming(partTypedValue, event, streamingManager));
+
+    if (batchSize > 1) {
+      // buffer only requests from the iterator as many parts as needed to fill the batches requested by the fork-join strategy
+      parts = parts.buffer(batchSize).map(batch -> (TypedValue) new TypedValue<>(batch, fromObject(batch)));
+    }
+
+    return parts
+        .map(part -> CoreEvent.builder(event).message(Message.builder().payload(part).build()).build())
         .map(partEvent -> of(partEvent, nestedChain));
   }
 
@@ -98,6 +111,17 @@ public class ParallelForEach extends AbstractForkJoinRouter {
     return new CollectListForkJoinStrategyFactory(false);
   }
 
+  /**
+   * Sets the number of parts of the collection to process in each route execution. The payload of each route execution is a
+   * {@link List} with up to that many parts.
+   *
+   * @param batchSize the size of the batches. Defaults to 1, meaning each part is processed on its own.
+   * @since 4.4
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
   /**
    * Set the expression used to split the incoming message.
    *
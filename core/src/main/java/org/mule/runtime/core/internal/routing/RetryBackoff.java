@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.Math.round;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Calculates the delay before each retry of an {@link UntilSuccessful} scope.
+ * <p>
+ * The delay grows exponentially with the number of the attempt, up to a maximum, and is then randomized by a jitter factor so
+ * the retries of events that failed at the same time do not all hit the failing resource at the same time again.
+ *
+ * @since 4.4
+ */
+final class RetryBackoff {
+
+  /**
+   * A backoff that always returns the base delay, with no jitter.
+   */
+  static final RetryBackoff FIXED = new RetryBackoff(1.0, 0, 0.0);
+
+  private final double multiplier;
+  private final long maxDelayInMillis;
+  private final double jitterFactor;
+
+  /**
+   * @param multiplier the factor the delay is multiplied by on each attempt. {@code 1} keeps the delay fixed.
+   * @param maxDelayInMillis the maximum delay between retries. {@code 0} or less for no maximum.
+   * @param jitterFactor the maximum fraction of the delay to randomly add or subtract from it, between {@code 0} and {@code 1}.
+   */
+  RetryBackoff(double multiplier, long maxDelayInMillis, double jitterFactor) {
+    if (multiplier < 1.0) {
+      throw new IllegalArgumentException("multiplier must be greater than or equal to 1: " + multiplier);
+    }
+    if (jitterFactor < 0.0 || jitterFactor > 1.0) {
+      throw new IllegalArgumentException("jitterFactor must be between 0 and 1: " + jitterFactor);
+    }
+
+    this.multiplier = multiplier;
+    this.maxDelayInMillis = maxDelayInMillis > 0 ? maxDelayInMillis : Long.MAX_VALUE;
+    this.jitterFactor = jitterFactor;
+  }
+
+  /**
+   * @param baseDelayInMillis the delay before the first retry
+   * @param attempt the number of the retry about to be scheduled, starting at {@code 1}
+   * @return the delay before the given attempt.
+   */
+  long delayFor(long baseDelayInMillis, int attempt) {
+    double delay = baseDelayInMillis;
+    if (multiplier != 1.0 && attempt > 1) {
+      delay *= pow(multiplier, attempt - 1);
+    }
+
+    if (jitterFactor > 0.0) {
+      delay *= 1.0 + jitterFactor * ThreadLocalRandom.current().nextDouble(-1.0, 1.0);
+    }
+
+    // Math.round saturates at Long.MAX_VALUE for overflowed or infinite delays
+    return max(0, min(round(delay), maxDelayInMillis));
+  }
+}
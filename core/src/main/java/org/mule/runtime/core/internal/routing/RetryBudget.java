@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many events may be waiting for a retry in an {@link UntilSuccessful} scope at the same time.
+ * <p>
+ * When the budget is exhausted, for instance because a resource the scope depends on is down, the events that fail are not
+ * retried but fail right away, instead of piling up waiting for a retry that will most likely fail too. Once enough pending
+ * retries are executed, events are retried again.
+ *
+ * @since 4.4
+ */
+final class RetryBudget {
+
+  private final int maxPendingRetries;
+  private final AtomicInteger pendingRetries = new AtomicInteger();
+
+  /**
+   * @param maxPendingRetries the maximum number of events waiting for a retry at the same time
+   */
+  RetryBudget(int maxPendingRetries) {
+    if (maxPendingRetries < 1) {
+      throw new IllegalArgumentException("maxPendingRetries must be greater than 0: " + maxPendingRetries);
+    }
+    this.maxPendingRetries = maxPendingRetries;
+  }
+
+  /**
+   * Takes a retry from the budget.
+   *
+   * @return {@code true} if the event may be retried, {@code false} if the budget is exhausted
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = pendingRetries.get();
+      if (current >= maxPendingRetries) {
+        return false;
+      }
+    } while (!pendingRetries.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Returns a retry taken with {@link #tryAcquire()} to the budget, once it is executed.
+   */
+  void release() {
+    pendingRetries.decrementAndGet();
+  }
+
+  /**
+   * @return the number of events currently waiting for a retry.
+   */
+  int getPendingRetries() {
+    return pendingRetries.get();
+  }
+
+  int getMaxPendingRetries() {
+    return maxPendingRetries;
+  }
+}
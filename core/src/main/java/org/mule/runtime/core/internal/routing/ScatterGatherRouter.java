@@ -7,7 +7,9 @@
 
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.emptyList;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotCopyStreamPayload;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.noEndpointsForRouter;
@@ -22,6 +24,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectMapForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.StreamingCollectMapForkJoinStrategyFactory;
 import org.mule.runtime.core.privileged.processor.Router;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
@@ -47,6 +50,14 @@ import org.reactivestreams.Publisher;
  */
 public class ScatterGatherRouter extends AbstractForkJoinRouter implements Router {
 
+  /**
+   * When set, the results of the routes are aggregated as they complete by a {@link StreamingCollectMapForkJoinStrategyFactory}
+   * unless a custom {@link ForkJoinStrategyFactory} is configured.
+   *
+   * @since 4.4
+   */
+  public static final String STREAMING_AGGREGATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scatterGather.streamingAggregation";
+
   private List<MessageProcessorChain> routes = emptyList();
 
   @Inject
@@ -93,7 +104,9 @@ public class ScatterGatherRouter extends AbstractForkJoinRouter implements Route
 
   @Override
   protected ForkJoinStrategyFactory getDefaultForkJoinStrategyFactory() {
-    return new CollectMapForkJoinStrategyFactory();
+    return getBoolean(STREAMING_AGGREGATION_PROPERTY)
+        ? new StreamingCollectMapForkJoinStrategyFactory()
+        : new CollectMapForkJoinStrategyFactory();
   }
 
   /**
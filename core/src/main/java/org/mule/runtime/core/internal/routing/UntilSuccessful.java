@@ -6,8 +6,11 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.createDefaultProcessingStrategyFactory;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
@@ -25,6 +28,7 @@ import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.UntilSuccessfulRouter.RetryContextInitializationException;
+import org.mule.runtime.core.internal.util.HashedWheelTimer;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
@@ -39,11 +43,22 @@ import org.reactivestreams.Publisher;
 /**
  * UntilSuccessful attempts to route a message to the message processor it contains. Routing is considered successful if no
  * exception has been raised and, optionally, if the response matches an expression.
+ * <p>
+ * The delay between retries may grow exponentially and be randomized, see {@link #setBackoffMultiplier(double)} and
+ * {@link #setJitterFactor(double)}. The number of events waiting for a retry at the same time may be limited with
+ * {@link #setMaxPendingRetries(int)}, so that events fail right away instead of piling up while a resource is down.
+ * <p>
+ * The retries of all the events of a scope are kept in a {@link HashedWheelTimer}, whose tick may be configured through the
+ * {@link #TIMER_WHEEL_TICK_PROPERTY} system property. A tick of {@code 0} schedules each retry in the scheduler instead.
  */
 public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
+  public static final String TIMER_WHEEL_TICK_PROPERTY = SYSTEM_PROPERTY_PREFIX + "untilSuccessful.timerWheelTickMillis";
+
   private static final String DEFAULT_MILLIS_BETWEEN_RETRIES = "60000";
   private static final String DEFAULT_RETRIES = "5";
+  private static final int DEFAULT_TIMER_WHEEL_TICK_MILLIS = 10;
+  private static final int TIMER_WHEEL_SIZE = 512;
 
   @Inject
   private SchedulerService schedulerService;
@@ -56,9 +71,16 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
   private String maxRetries = DEFAULT_RETRIES;
   private String millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
+  private double backoffMultiplier = 1.0;
+  private long maxMillisBetweenRetries = 0;
+  private double jitterFactor = 0.0;
+  private int maxPendingRetries = Integer.MAX_VALUE;
   private MessageProcessorChain nestedChain;
   private Predicate<CoreEvent> shouldRetry;
   private Scheduler timer;
+  private HashedWheelTimer retryTimer;
+  private RetryBackoff retryBackoff;
+  private RetryBudget retryBudget;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -73,7 +95,20 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
     super.initialise();
 
+    try {
+      retryBackoff = new RetryBackoff(backoffMultiplier, maxMillisBetweenRetries, jitterFactor);
+      retryBudget = maxPendingRetries < Integer.MAX_VALUE ? new RetryBudget(maxPendingRetries) : null;
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(createStaticMessage("Invalid retry configuration for 'until-successful': "
+          + e.getMessage()), e, this);
+    }
+
     timer = schedulerService.cpuLightScheduler();
+    final int timerWheelTick = getInteger(TIMER_WHEEL_TICK_PROPERTY, DEFAULT_TIMER_WHEEL_TICK_MILLIS);
+    if (timerWheelTick > 0) {
+      retryTimer = new HashedWheelTimer(timer, timer, timerWheelTick, MILLISECONDS, TIMER_WHEEL_SIZE);
+      retryTimer.start();
+    }
     shouldRetry = event -> event.getError().isPresent();
 
     final Optional<ProcessingStrategy> processingStrategyFromRootContainer =
@@ -86,7 +121,12 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
-    timer.stop();
+    if (retryTimer != null) {
+      retryTimer.stop();
+    }
+    if (timer != null) {
+      timer.stop();
+    }
   }
 
   @Override
@@ -109,7 +149,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries)
+                                     retryTimer, retryBackoff, retryBudget, maxRetries, millisBetweenRetries)
                                          .getDownstreamPublisher();
   }
 
@@ -143,6 +183,42 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @param backoffMultiplier the factor the delay between retries is multiplied by after each retry. Default value is 1, that is,
+   *        a fixed delay of {@code millisBetweenRetries}.
+   * @since 4.4
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the maximum number of milliseconds between retries when using a
+   *        {@link #setBackoffMultiplier(double) backoff multiplier}. Default value is 0, that is, no maximum.
+   * @since 4.4
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitterFactor the maximum fraction of the delay between retries, between 0 and 1, that is randomly added to or
+   *        subtracted from it. Default value is 0.
+   * @since 4.4
+   */
+  public void setJitterFactor(double jitterFactor) {
+    this.jitterFactor = jitterFactor;
+  }
+
+  /**
+   * @param maxPendingRetries the maximum number of events waiting for a retry at the same time. Events that fail when this
+   *        number is reached fail right away without being retried. By default there is no limit.
+   * @since 4.4
+   */
+  public void setMaxPendingRetries(int maxPendingRetries) {
+    this.maxPendingRetries = maxPendingRetries;
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
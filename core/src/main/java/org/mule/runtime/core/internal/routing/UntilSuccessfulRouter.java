@@ -35,11 +35,13 @@ import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.internal.event.EventInternalContextResolver;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
+import org.mule.runtime.core.internal.util.HashedWheelTimer;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -58,6 +60,10 @@ import reactor.util.context.Context;
  * <p>
  * The retrial chain isolation is implemented using two {@link reactor.core.publisher.FluxSink}s, one for the entry inside the
  * retrial chain, and another for publishing successful events, or exhaustion errors.
+ * <p>
+ * Retries are delayed according to a {@link RetryBackoff}. When a {@link HashedWheelTimer} is provided, the delayed retries are
+ * kept in it instead of in the delay queue of the scheduler, unless a transaction is active. When a {@link RetryBudget} is
+ * provided and it is exhausted, the events that fail are not retried.
  *
  * @since 4.2.3, 4.3.0
  */
@@ -68,11 +74,16 @@ class UntilSuccessfulRouter {
   static final String RETRY_CTX_INTERNAL_PARAM_KEY = "untilSuccessful.router.retryContext";
   private static final String UNTIL_SUCCESSFUL_MSG =
       "'until-successful' retries exhausted";
+  private static final String UNTIL_SUCCESSFUL_BUDGET_MSG =
+      "'until-successful' retry budget exhausted";
   private final EventInternalContextResolver<Map<String, RetryContext>> retryContextResolver;
 
   private final Component owner;
   private final Predicate<CoreEvent> shouldRetry;
   private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final HashedWheelTimer retryTimer;
+  private final RetryBackoff retryBackoff;
+  private final RetryBudget retryBudget;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -98,9 +109,21 @@ class UntilSuccessfulRouter {
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
                         Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
                         String maxRetries, String millisBetweenRetries) {
+    this(owner, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, delayScheduler, null,
+         RetryBackoff.FIXED, null, maxRetries, millisBetweenRetries);
+  }
+
+  UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
+                        ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
+                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler, HashedWheelTimer retryTimer,
+                        RetryBackoff retryBackoff, RetryBudget retryBudget,
+                        String maxRetries, String millisBetweenRetries) {
     this.owner = owner;
     this.shouldRetry = shouldRetry;
     this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.retryTimer = retryTimer;
+    this.retryBackoff = retryBackoff;
+    this.retryBudget = retryBudget;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
 
@@ -180,22 +203,58 @@ class UntilSuccessfulRouter {
       int retriesLeft =
           ctx.retryCount.getAndDecrement();
       if (retriesLeft > 0) {
+        if (retryBudget != null && !retryBudget.tryAcquire()) {
+          // Fail fast instead of piling up more events waiting for a retry
+          LOGGER.warn("Retry budget of {} pending retries exhausted. Failing without retrying...",
+                      retryBudget.getMaxPendingRetries());
+          failRetries(messagingError, ctx, UNTIL_SUCCESSFUL_BUDGET_MSG);
+          return;
+        }
+
         LOGGER.error("Retrying execution of event, attempt {} of {}.", ctx.getAttemptNumber(),
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        scheduleRetry(ctx);
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
-        Throwable resolvedError = getThrowableFunction(ctx.event).apply(error);
-        // Delete current context from event
-        eventWithCurrentContextDeleted(messagingError.getEvent());
-        downstreamRecorder.next(left(resolvedError, CoreEvent.class));
-        completeRouterIfNecessary();
+        failRetries(messagingError, ctx, UNTIL_SUCCESSFUL_MSG);
+      }
+    };
+  }
+
+  private void scheduleRetry(RetryContext ctx) {
+    final long delay = retryBackoff.delayFor(ctx.delayInMillis, ctx.getAttemptNumber());
+    final Runnable retry = () -> {
+      if (retryBudget != null) {
+        retryBudget.release();
       }
+      innerRecorder.next(eventWithCurrentContext(ctx.event, ctx));
     };
+
+    try {
+      // When a transaction is active, the retry has to be executed in the current thread
+      if (retryTimer != null && !isTransactionActive()) {
+        retryTimer.newTimeout(retry, delay, MILLISECONDS);
+      } else {
+        delayScheduler.schedule(retry, delay, MILLISECONDS);
+      }
+    } catch (RejectedExecutionException | IllegalStateException e) {
+      // The retry will never be run, so it must not hold its place in the budget
+      if (retryBudget != null) {
+        retryBudget.release();
+      }
+      throw e;
+    }
+  }
+
+  private void failRetries(MessagingException error, RetryContext ctx, String message) {
+    Throwable resolvedError = getThrowableFunction(ctx.event, message).apply(error);
+    // Delete current context from event
+    eventWithCurrentContextDeleted(error.getEvent());
+    downstreamRecorder.next(left(resolvedError, CoreEvent.class));
+    completeRouterIfNecessary();
   }
 
   /**
@@ -271,7 +330,7 @@ class UntilSuccessfulRouter {
     return e -> (e instanceof MessagingException && shouldRetry.test(((MessagingException) e).getEvent()));
   }
 
-  private Function<Throwable, Throwable> getThrowableFunction(CoreEvent event) {
+  private Function<Throwable, Throwable> getThrowableFunction(CoreEvent event, String message) {
     return throwable -> {
       CoreEvent exceptionEvent = event;
       // Prevent any MuleException from replacing the retry exhausted error message or error type
@@ -279,7 +338,7 @@ class UntilSuccessfulRouter {
       Throwable retryPolicyExhaustionCause =
           suppressIfPresent(throwable, MuleException.class);
       RetryPolicyExhaustedException retryPolicyExhaustedException =
-          new RetryPolicyExhaustedException(createStaticMessage(UNTIL_SUCCESSFUL_MSG),
+          new RetryPolicyExhaustedException(createStaticMessage(message),
                                             retryPolicyExhaustionCause,
                                             owner);
       if (throwable instanceof MessagingException) {
@@ -112,7 +112,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     };
   }
 
-  private boolean isOriginalError(Error newError, Optional<Error> originalError) {
+  boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
 
@@ -132,16 +132,16 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
   protected abstract Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original,
                                                                             CoreEvent.Builder resultBuilder);
 
-  private Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
+  Function<RoutingPair, RoutingPair> addSequence(AtomicInteger count) {
     return pair -> of(builder(pair.getEvent()).groupCorrelation(Optional.of(GroupCorrelation.of(count.getAndIncrement())))
         .build(), pair.getRoute());
   }
 
-  private Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(ProcessingStrategy processingStrategy,
-                                                                                 int maxConcurrency,
-                                                                                 boolean delayErrors, long timeout,
-                                                                                 reactor.core.scheduler.Scheduler timeoutScheduler,
-                                                                                 ErrorType timeoutErrorType) {
+  Function<RoutingPair, Publisher<? extends CoreEvent>> processRoutePair(ProcessingStrategy processingStrategy,
+                                                                         int maxConcurrency,
+                                                                         boolean delayErrors, long timeout,
+                                                                         reactor.core.scheduler.Scheduler timeoutScheduler,
+                                                                         ErrorType timeoutErrorType) {
 
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
@@ -208,6 +208,10 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         successMap.put(key, event.getMessage());
       }
     }
+    return createCompositeRoutingException(successMap, errorMap);
+  }
+
+  CompositeRoutingException createCompositeRoutingException(Map<String, Message> successMap, Map<String, Error> errorMap) {
     return new CompositeRoutingException(new RoutingResult(successMap, errorMap));
   }
 
@@ -217,34 +221,52 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         return;
       }
       Map<String, TypedValue> routeVars = new HashMap<>();
-      list.forEach(event -> event.getVariables().forEach((key, value) -> {
-        // Only merge variables that have been added or mutated in routes
-        if (!value.equals(original.getVariables().get(key))) {
-          if (!routeVars.containsKey(key)) {
-            // A new variable that hasn't already been set by another route is added as a simple entry.
-            routeVars.put(key, value);
+      list.forEach(event -> mergeVariables(original, routeVars, event.getVariables()));
+      routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue));
+    };
+  }
+
+  /**
+   * @return whether the variables set or mutated in the routes are merged into the result event.
+   */
+  boolean isMergeVariables() {
+    return mergeVariables;
+  }
+
+  /**
+   * Merges the variables added or mutated by a route into {@code routeVars}.
+   *
+   * @param original the original event
+   * @param routeVars the variables merged so far from other routes
+   * @param variables the variables of the result of the route to merge
+   */
+  void mergeVariables(CoreEvent original, Map<String, TypedValue> routeVars, Map<String, TypedValue<?>> variables) {
+    variables.forEach((key, value) -> {
+      // Only merge variables that have been added or mutated in routes
+      if (!value.equals(original.getVariables().get(key))) {
+        if (!routeVars.containsKey(key)) {
+          // A new variable that hasn't already been set by another route is added as a simple entry.
+          routeVars.put(key, value);
+        } else {
+          // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
+          if (!(routeVars.get(key).getValue() instanceof List)) {
+            List newList = new ArrayList();
+            newList.add(routeVars.get(key).getValue());
+            routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
+                .itemType(routeVars.get(key).getDataType().getType()).build()));
+          }
+          List valueList = (List) routeVars.get(key).getValue();
+          valueList.add(value.getValue());
+          if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
+            // If item types are compatible then data type is conserved
+            routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
           } else {
-            // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
-            if (!(routeVars.get(key).getValue() instanceof List)) {
-              List newList = new ArrayList();
-              newList.add(routeVars.get(key).getValue());
-              routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
-                  .itemType(routeVars.get(key).getDataType().getType()).build()));
-            }
-            List valueList = (List) routeVars.get(key).getValue();
-            valueList.add(value.getValue());
-            if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
-              // If item types are compatible then data type is conserved
-              routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
-            } else {
-              // Else Object item type is used.
-              routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
-            }
+            // Else Object item type is used.
+            routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
           }
         }
-      }));
-      routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue));
-    };
+      }
+    });
   }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ForkJoinStrategy} that produces the same result as {@link CollectMapForkJoinStrategyFactory}, but:
+ * <ul>
+ * <li>Merges the result of each route as soon as it completes, instead of waiting for all the routes to complete in order.
+ * <li>Only keeps the {@link Message} (or {@link Error}) and the variables of each route, releasing the rest of the route result
+ * {@link CoreEvent} right after it is merged.
+ * <li>When errors are not delayed, cancels the routes that are still running as soon as one of them fails.
+ * </ul>
+ *
+ * @since 4.4
+ */
+public class StreamingCollectMapForkJoinStrategyFactory extends CollectMapForkJoinStrategyFactory {
+
+  @Override
+  public ForkJoinStrategy createForkJoinStrategy(ProcessingStrategy processingStrategy, int maxConcurrency, boolean delayErrors,
+                                                 long timeout, Scheduler timeoutScheduler, ErrorType timeoutErrorType) {
+    reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
+    return (original, routingPairs) -> {
+      final AtomicInteger count = new AtomicInteger();
+      // flatMap (as opposed to flatMapSequential) emits the results as the routes complete, without buffering the ones that
+      // complete out of order, and cancels the other routes when one of them errors.
+      return from(routingPairs)
+          .map(addSequence(count))
+          .flatMap(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
+                                    timeoutErrorType),
+                   maxConcurrency)
+          .reduceWith(() -> new StreamingAggregate(original), StreamingAggregate::merge)
+          .map(StreamingAggregate::toResultEvent);
+    };
+  }
+
+  /**
+   * Accumulates the results of the routes as they complete. Instances are not thread-safe, but the results are merged serially.
+   */
+  private final class StreamingAggregate {
+
+    private final CoreEvent original;
+    private final Map<Integer, Message> results = new TreeMap<>();
+    private final Map<Integer, Error> errors = new TreeMap<>();
+    private final Map<Integer, Map<String, TypedValue<?>>> variables = new TreeMap<>();
+
+    private StreamingAggregate(CoreEvent original) {
+      this.original = original;
+    }
+
+    private StreamingAggregate merge(CoreEvent routeResult) {
+      final int sequence = routeResult.getGroupCorrelation().get().getSequence();
+      final Optional<Error> error = routeResult.getError();
+
+      if (error.isPresent() && !isOriginalError(error.get(), original.getError())) {
+        errors.put(sequence, error.get());
+      } else {
+        results.put(sequence, routeResult.getMessage());
+      }
+
+      if (isMergeVariables()) {
+        variables.put(sequence, routeResult.getVariables());
+      }
+      return this;
+    }
+
+    private CoreEvent toResultEvent() {
+      if (!errors.isEmpty()) {
+        throw propagate(createCompositeRoutingException(byKey(results), byKey(errors)));
+      }
+
+      final CoreEvent.Builder resultBuilder = builder(original);
+      if (isMergeVariables()) {
+        // Merged in the order of the routes, so the result is the same regardless of the order the routes completed in
+        Map<String, TypedValue> routeVars = new HashMap<>();
+        variables.values().forEach(routeVariables -> mergeVariables(original, routeVars, routeVariables));
+        routeVars.forEach(resultBuilder::addVariable);
+      }
+
+      return resultBuilder.message(of(byKey(results))).build();
+    }
+
+    private <T> Map<String, T> byKey(Map<Integer, T> bySequence) {
+      Map<String, T> byKey = new LinkedHashMap<>();
+      bySequence.forEach((sequence, value) -> byKey.put(Integer.toString(sequence), value));
+      return byKey;
+    }
+  }
+}
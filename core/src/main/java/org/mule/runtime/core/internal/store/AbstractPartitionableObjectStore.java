@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.store;
 import static java.lang.String.format;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import org.mule.runtime.api.store.AbstractObjectStoreSupport;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.PartitionableObjectStore;
@@ -18,7 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractPartitionableObjectStore<T extends Serializable> extends AbstractObjectStoreSupport<T>
-    implements PartitionableObjectStore<T> {
+    implements PartitionableObjectStore<T>, PartitionableStoreIfAbsentObjectStore<T> {
 
   @Override
   public void open() throws ObjectStoreException {
@@ -50,6 +51,11 @@ public abstract class AbstractPartitionableObjectStore<T extends Serializable> e
     store(key, value, DEFAULT_PARTITION_NAME);
   }
 
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    return storeIfAbsent(key, value, DEFAULT_PARTITION_NAME);
+  }
+
   @Override
   public T retrieve(String key) throws ObjectStoreException {
     return retrieve(key, DEFAULT_PARTITION_NAME);
@@ -81,6 +87,26 @@ public abstract class AbstractPartitionableObjectStore<T extends Serializable> e
 
   protected abstract void doStore(String key, T value, String partitionName) throws ObjectStoreException;
 
+  @Override
+  public boolean storeIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return doStoreIfAbsent(key, value, partitionName);
+  }
+
+  /**
+   * Stores the value unless the key is already present in the partition. This default implementation relies on
+   * {@link #doStore(String, Serializable, String)} failing with an {@link ObjectAlreadyExistsException} for existing keys.
+   * Implementations are encouraged to override it to avoid that exception.
+   */
+  protected boolean doStoreIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    try {
+      doStore(key, value, partitionName);
+      return true;
+    } catch (ObjectAlreadyExistsException e) {
+      return false;
+    }
+  }
+
   @Override
   public T retrieve(String key, String partitionName) throws ObjectStoreException {
     validatePresentKeyInPartition(key, partitionName);
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableObjectStore;
+
+import java.io.Serializable;
+
+/**
+ * A {@link PartitionableObjectStore} which can store a value in a partition only if its key is not already present there, in a
+ * single atomic operation.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.4
+ */
+public interface PartitionableStoreIfAbsentObjectStore<T extends Serializable>
+    extends PartitionableObjectStore<T>, StoreIfAbsentObjectStore<T> {
+
+  /**
+   * Stores the given {@code value} under the given {@code key} in the given partition, unless the partition already has a value
+   * for it.
+   *
+   * @param key           the identifier for {@code value}
+   * @param value         the value to store
+   * @param partitionName the name of the partition
+   * @return {@code true} if the value was stored, {@code false} if the key was already present
+   * @throws ObjectStoreException if the store is not available or any other problem occurs
+   */
+  boolean storeIfAbsent(String key, T value, String partitionName) throws ObjectStoreException;
+
+}
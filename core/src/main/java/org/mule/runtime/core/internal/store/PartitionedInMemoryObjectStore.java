@@ -16,24 +16,43 @@ import org.mule.runtime.core.api.component.InternalComponent;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * In memory {@link PartitionableExpirableObjectStore}.
+ * <p>
+ * Each partition keeps its values in a {@link ConcurrentHashMap} and, in a lock-free queue, the order in which they were stored.
+ * Since entries are always stored at the tail of the queue, expiring them by TTL only needs to look at its head, and removing an
+ * entry just flags it in the queue so it's discarded once it reaches the head.
+ * <p>
+ * When a partition has more than the max allowed entries, the oldest ones are evicted, but entries that were accessed since the
+ * last expiration are given a second chance, so frequently used entries are kept over unused ones that are newer (an
+ * approximation of LRU).
+ * <p>
+ * None of the operations block. Concurrent expirations of the same partition are skipped.
+ */
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
     implements PartitionableExpirableObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
-  private ConcurrentMap<String, ConcurrentMap<String, T>> partitions = new ConcurrentHashMap<>();
-  private ConcurrentMap<String, ConcurrentLinkedQueue<ExpiryEntry>> expiryInfoPartition = new ConcurrentHashMap<>();
+  /**
+   * How many times the amount of entries to evict may be given a second chance on a single expiration.
+   */
+  private static final int MAX_SECOND_CHANCES_FACTOR = 4;
+
+  private ConcurrentMap<String, Partition<T>> partitions = new ConcurrentHashMap<>();
 
   @Override
   public boolean isPersistent() {
@@ -42,64 +61,85 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
-    if (partitions.containsKey(partitionName)) {
-      return partitions.get(partitionName).containsKey(key);
-    } else {
+    Partition<T> partition = partitions.get(partitionName);
+    if (partition == null) {
+      return false;
+    }
+
+    StoredValue<T> stored = partition.values.get(key);
+    if (stored == null) {
       return false;
     }
+    stored.markAccessed();
+    return true;
   }
 
   @Override
   protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
-    T oldValue = getPartition(partitionName).putIfAbsent(key, value);
-    if (oldValue != null) {
+    if (!doStoreIfAbsent(key, value, partitionName)) {
       throw new ObjectAlreadyExistsException();
     }
-    getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
+  }
+
+  @Override
+  protected boolean doStoreIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    Partition<T> partition = getPartition(partitionName);
+    StoredValue<T> stored = new StoredValue<>(key, value, getCurrentNanoTime());
+    if (partition.values.putIfAbsent(key, stored) != null) {
+      return false;
+    }
+    partition.expiryQueue.offerLast(stored);
+    return true;
   }
 
   @Override
   protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
-    T value = getPartition(partitionName).get(key);
-    if (value == null) {
+    StoredValue<T> stored = getPartition(partitionName).values.get(key);
+    if (stored == null) {
       throw new ObjectDoesNotExistException();
     }
-    return value;
+    stored.markAccessed();
+    return stored.value;
   }
 
   @Override
   protected T doRemove(String key, String partitionName) throws ObjectStoreException {
-    T removedValue = getPartition(partitionName).remove(key);
-    if (removedValue == null) {
+    Partition<T> partition = getPartition(partitionName);
+    StoredValue<T> removed = partition.values.remove(key);
+    if (removed == null) {
       throw new ObjectDoesNotExistException();
     }
 
-    Iterator<ExpiryEntry> iterator = getExpiryInfoPartition(partitionName).iterator();
-    while (iterator.hasNext()) {
-      ExpiryEntry entry = iterator.next();
-      if (key.equals(entry.getKey())) {
-        iterator.remove();
-        break;
-      }
+    // The entry is discarded from the expiry queue once it gets to its head. If the expiration already took it out of the queue,
+    // there's nothing left to discard.
+    if (removed.compareAndSetState(QUEUED, REMOVED)) {
+      partition.removedInQueue.incrementAndGet();
     }
 
-    return removedValue;
+    return removed.value;
   }
 
   @Override
   public List<String> allKeys(String partitionName) throws ObjectStoreException {
-    return new ArrayList<>(getPartition(partitionName).keySet());
+    return new ArrayList<>(getPartition(partitionName).values.keySet());
   }
 
   @Override
   public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
-    return new LinkedHashMap<>(getPartition(partitionName));
+    Map<String, StoredValue<T>> values = getPartition(partitionName).values;
+    Map<String, T> all = new LinkedHashMap<>(values.size());
+    values.forEach((key, stored) -> all.put(key, stored.value));
+    return all;
   }
 
   @Override
   public void clear(String partitionName) throws ObjectStoreException {
-    getPartition(partitionName).clear();
-    getExpiryInfoPartition(partitionName).clear();
+    Partition<T> partition = getPartition(partitionName);
+    partition.values.clear();
+    // Entries are dequeued one by one so the count of removed entries stays consistent with concurrent removals
+    while (partition.expiryQueue.peekFirst() != null) {
+      evictHead(partition);
+    }
   }
 
   @Override
@@ -107,26 +147,10 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return new ArrayList<>(partitions.keySet());
   }
 
-  private ConcurrentMap<String, T> getPartition(String partitionName) {
-    ConcurrentMap<String, T> partition = partitions.get(partitionName);
+  private Partition<T> getPartition(String partitionName) {
+    Partition<T> partition = partitions.get(partitionName);
     if (partition == null) {
-      partition = new ConcurrentHashMap<>();
-      ConcurrentMap<String, T> previous = partitions.putIfAbsent(partitionName, partition);
-      if (previous != null) {
-        partition = previous;
-      }
-    }
-    return partition;
-  }
-
-  private ConcurrentLinkedQueue<ExpiryEntry> getExpiryInfoPartition(String partitionName) {
-    ConcurrentLinkedQueue<ExpiryEntry> partition = expiryInfoPartition.get(partitionName);
-    if (partition == null) {
-      partition = new ConcurrentLinkedQueue<>();
-      ConcurrentLinkedQueue<ExpiryEntry> previous = expiryInfoPartition.putIfAbsent(partitionName, partition);
-      if (previous != null) {
-        partition = previous;
-      }
+      partition = partitions.computeIfAbsent(partitionName, name -> new Partition<>());
     }
     return partition;
   }
@@ -148,64 +172,123 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
 
   @Override
   public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
-    final long now = getCurrentNanoTime();
-    int expiredEntries = 0;
-    ExpiryEntry oldestEntry;
-    ConcurrentLinkedQueue<ExpiryEntry> store = getExpiryInfoPartition(partitionName);
-    ConcurrentMap<String, T> partition = getPartition(partitionName);
+    Partition<T> partition = getPartition(partitionName);
+    if (!partition.expiring.compareAndSet(false, true)) {
+      LOGGER.debug("Partition {} is already being expired", partitionName);
+      return;
+    }
 
-    trimToMaxSize(store, maxEntries, partition);
+    try {
+      purgeRemovedEntries(partition);
+      trimToMaxSize(partition, maxEntries);
+
+      if (entryTTL == UNBOUNDED) {
+        return;
+      }
 
-    if (entryTTL == UNBOUNDED) {
+      final long now = getCurrentNanoTime();
+      int expiredEntries = 0;
+      StoredValue<T> oldestEntry;
+      while ((oldestEntry = partition.expiryQueue.peekFirst()) != null) {
+        if (oldestEntry.isRemoved()) {
+          evictHead(partition);
+        } else if (NANOSECONDS.toMillis(now - oldestEntry.time) >= entryTTL) {
+          evictHead(partition);
+          expiredEntries++;
+        } else {
+          break;
+        }
+      }
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Expired " + expiredEntries + " old entries");
+      }
+    } finally {
+      partition.expiring.set(false);
+    }
+  }
+
+  private void trimToMaxSize(Partition<T> partition, int maxEntries) {
+    if (maxEntries <= UNBOUNDED) {
+      return;
+    }
+
+    int excess = partition.values.size() - maxEntries;
+    if (excess <= 0) {
       return;
     }
 
-    while ((oldestEntry = store.peek()) != null) {
-      if (NANOSECONDS.toMillis(now - oldestEntry.getTime()) >= entryTTL) {
-        oldestEntry = store.remove();
-        partition.remove(oldestEntry.getKey());
-        expiredEntries++;
+    final List<StoredValue<T>> secondChances = new ArrayList<>();
+    final int maxSecondChances = excess * MAX_SECOND_CHANCES_FACTOR;
+    int evicted = 0;
+    StoredValue<T> oldestEntry;
+    while (evicted < excess && (oldestEntry = partition.expiryQueue.peekFirst()) != null) {
+      if (oldestEntry.isRemoved()) {
+        evictHead(partition);
+      } else if (oldestEntry.accessed && secondChances.size() < maxSecondChances) {
+        oldestEntry.accessed = false;
+        if (partition.expiryQueue.removeFirstOccurrence(oldestEntry)) {
+          secondChances.add(oldestEntry);
+        }
       } else {
-        break;
+        evictHead(partition);
+        evicted++;
       }
     }
 
+    // Put back the entries that were given a second chance, keeping the queue sorted by the time they were stored
+    for (int i = secondChances.size() - 1; i >= 0; --i) {
+      partition.expiryQueue.offerFirst(secondChances.get(i));
+    }
+
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Expired " + expiredEntries + " old entries");
+      LOGGER.debug("Expired " + evicted + " excess entries");
     }
   }
 
-  private void trimToMaxSize(ConcurrentLinkedQueue<ExpiryEntry> store, int maxEntries, ConcurrentMap<String, T> partition) {
-    if (maxEntries <= UNBOUNDED) {
+  private void evictHead(Partition<T> partition) {
+    StoredValue<T> oldestEntry = partition.expiryQueue.pollFirst();
+    if (oldestEntry == null) {
       return;
     }
 
-    int currentSize = store.size();
-    int excess = (currentSize - maxEntries);
-    if (excess > 0) {
-      while (currentSize > maxEntries) {
-        ExpiryEntry toRemove = store.remove();
-        partition.remove(toRemove.getKey());
-        currentSize--;
-      }
+    // Whichever of this and a concurrent remove changes the state first owns the bookkeeping of the entry
+    if (oldestEntry.compareAndSetState(QUEUED, DEQUEUED)) {
+      // Only remove the value this entry is for, the key may have been removed and stored again
+      partition.values.remove(oldestEntry.key, oldestEntry);
+    } else if (oldestEntry.compareAndSetState(REMOVED, DEQUEUED)) {
+      partition.removedInQueue.decrementAndGet();
+    }
+  }
 
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Expired " + excess + " excess entries");
-      }
+  private void purgeRemovedEntries(Partition<T> partition) {
+    // Removed entries are discarded when they reach the head of the queue. If too many accumulate in the middle, purge them.
+    if (partition.removedInQueue.get() > partition.values.size()) {
+      partition.expiryQueue.removeIf(stored -> {
+        if (stored.compareAndSetState(REMOVED, DEQUEUED)) {
+          partition.removedInQueue.decrementAndGet();
+          return true;
+        }
+        return false;
+      });
     }
   }
 
   @Override
   public void disposePartition(String partitionName) throws ObjectStoreException {
-    Map partition = partitions.remove(partitionName);
+    Partition<T> partition = partitions.remove(partitionName);
     if (partition != null) {
-      partition.clear();
+      partition.values.clear();
+      partition.expiryQueue.clear();
     }
+  }
 
-    ConcurrentLinkedQueue<ExpiryEntry> entries = expiryInfoPartition.remove(partitionName);
-    if (entries != null) {
-      entries.clear();
-    }
+  /**
+   * @param partitionName the name of the partition
+   * @return how many entries of the partition were removed but are still in its expiry queue
+   */
+  int getRemovedEntriesInQueue(String partitionName) {
+    return getPartition(partitionName).removedInQueue.get();
   }
 
   protected long getCurrentNanoTime() {
@@ -217,22 +300,48 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
     return true;
   }
 
-  private static class ExpiryEntry {
+  private static class Partition<T> {
+
+    private final ConcurrentMap<String, StoredValue<T>> values = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<StoredValue<T>> expiryQueue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger removedInQueue = new AtomicInteger();
+    private final AtomicBoolean expiring = new AtomicBoolean();
+  }
+
+  private static final int QUEUED = 0;
+  private static final int REMOVED = 1;
+  private static final int DEQUEUED = 2;
 
+  private static class StoredValue<T> {
+
+    private static final AtomicIntegerFieldUpdater<StoredValue> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(StoredValue.class, "state");
+
+    private final String key;
+    private final T value;
     private final long time;
-    private final Serializable key;
+    private volatile boolean accessed = false;
+    private volatile int state = QUEUED;
 
-    public ExpiryEntry(long time, Serializable key) {
-      this.time = time;
+    public StoredValue(String key, T value, long time) {
       this.key = key;
+      this.value = value;
+      this.time = time;
     }
 
-    public long getTime() {
-      return time;
+    private boolean isRemoved() {
+      return state == REMOVED;
     }
 
-    public Serializable getKey() {
-      return key;
+    private boolean compareAndSetState(int expect, int update) {
+      return STATE.compareAndSet(this, expect, update);
+    }
+
+    private void markAccessed() {
+      // Avoid writing to the shared field when not needed
+      if (!accessed) {
+        accessed = true;
+      }
     }
   }
 }
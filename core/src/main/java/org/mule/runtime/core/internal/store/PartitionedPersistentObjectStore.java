@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructured;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -18,6 +21,7 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 
 import java.io.File;
@@ -36,10 +40,18 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
 
+  /**
+   * System property to make new partitions use {@link LogStructuredObjectStorePartition} by default.
+   *
+   * @since 4.4
+   */
+  public static final String LOG_STRUCTURED_PARTITIONS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructuredPartitions";
+
   protected MuleContext muleContext;
   private File storeDirectory;
   private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
   private boolean initialized = false;
+  private boolean logStructuredPartitions = getBoolean(LOG_STRUCTURED_PARTITIONS_PROPERTY);
 
   public PartitionedPersistentObjectStore() {
     super();
@@ -83,11 +95,50 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   private void createPartition(String partitionName) throws ObjectStoreException {
     PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+        createPartitionStore(partitionName, getNewPartitionDirectory(partitionName));
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
 
+  /**
+   * Creates the store for a new partition.
+   *
+   * @param partitionName      the name of the partition
+   * @param partitionDirectory the directory for the partition's data
+   * @return a new, not yet opened, partition store
+   */
+  protected PersistentObjectStorePartition createPartitionStore(String partitionName, File partitionDirectory) {
+    return logStructuredPartitions
+        ? new LogStructuredObjectStorePartition(muleContext, partitionName, partitionDirectory)
+        : new PersistentObjectStorePartition(muleContext, partitionName, partitionDirectory);
+  }
+
+  /**
+   * Creates the store for a partition previously stored in the given directory.
+   * <p>
+   * Partitions which already use segment files are always restored as {@link LogStructuredObjectStorePartition}. Partitions in
+   * the default layout are migrated to segment files when log structured partitions are enabled.
+   *
+   * @param partitionDirectory the directory with the partition's data
+   * @return a new, not yet opened, partition store
+   */
+  protected PersistentObjectStorePartition restorePartitionStore(File partitionDirectory) throws ObjectStoreException {
+    return logStructuredPartitions || isLogStructured(partitionDirectory)
+        ? new LogStructuredObjectStorePartition(muleContext, partitionDirectory)
+        : new PersistentObjectStorePartition(muleContext, partitionDirectory);
+  }
+
+  /**
+   * Configures whether new partitions use {@link LogStructuredObjectStorePartition}, which keeps entries in a few segment files
+   * instead of one file per entry. Must be set before this store is opened.
+   *
+   * @param logStructuredPartitions whether to use log structured partitions
+   * @since 4.4
+   */
+  public void setLogStructuredPartitions(boolean logStructuredPartitions) {
+    this.logStructuredPartitions = logStructuredPartitions;
+  }
+
   private File getNewPartitionDirectory(String partitionName) {
     return new File(storeDirectory, getPartitionDirectoryName(partitionName));
   }
@@ -112,6 +163,11 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     getPartitionObjectStore(partitionName).store(key.toString(), value);
   }
 
+  @Override
+  protected boolean doStoreIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).storeIfAbsent(key, value);
+  }
+
   @Override
   protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
     return getPartitionObjectStore(partitionName).retrieve(key.toString());
@@ -191,8 +247,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentObjectStorePartition persistentObjectStorePartition = restorePartitionStore(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+
+/**
+ * An {@link ObjectStore} which can store a value only if its key is not already present in a single atomic operation, instead of
+ * checking with {@link #contains(String)} and then calling {@link #store(String, Serializable)}.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.4
+ */
+public interface StoreIfAbsentObjectStore<T extends Serializable> extends ObjectStore<T> {
+
+  /**
+   * Stores the given {@code value} under the given {@code key}, unless the store already has a value for it.
+   * <p>
+   * Unlike {@link #store(String, Serializable)}, an existing key is not reported with an {@link ObjectAlreadyExistsException}.
+   *
+   * @param key   the identifier for {@code value}
+   * @param value the value to store
+   * @return {@code true} if the value was stored, {@code false} if the key was already present
+   * @throws ObjectStoreException if the store is not available or any other problem occurs
+   */
+  boolean storeIfAbsent(String key, T value) throws ObjectStoreException;
+
+}
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteStreamingManager;
@@ -37,6 +38,21 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
     return new InMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorStreamProviderFactory} which buffers in memory up to a certain size and then in a temporal file
+   * <p>
+   * This is not part of {@link ByteStreamingManager} because {@link FileStoreCursorStreamConfig} is not API. Runtime components
+   * which need it select it explicitly by obtaining this manager through {@code DefaultStreamingManager#forBytes()}, which
+   * returns an instance of this class unless {@code createByteStreamingManager()} is overridden.
+   *
+   * @param config the configuration for the produced {@link CursorStreamProviderFactory} instances
+   * @return a new {@link CursorStreamProviderFactory}
+   * @since 4.4
+   */
+  public CursorStreamProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorStreamConfig config) {
+    return new FileStoreCursorStreamProviderFactory(bufferManager, config, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the first bytes of the stream in memory and writes the rest
+ * of it to a temporal file.
+ * <p>
+ * The amount of memory used is bound by {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}. Once that is full, the data
+ * consumed from the stream is appended to a temporal file, so streams of any size can be buffered without holding them in the
+ * heap.
+ * <p>
+ * Data is read back from the file using positional reads on a {@link FileChannel}, which don't alter the channel's position. This
+ * allows many cursors to read from the file at the same time. The file is deleted when this buffer is closed.
+ *
+ * @since 4.4
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  private final ManagedByteBufferWrapper memoryBuffer;
+  private final int maxInMemorySize;
+  private final int bucketSize;
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all buffers
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    this.maxInMemorySize = config.getMaxInMemorySize().toBytes();
+    this.bucketSize = config.getBucketSize();
+    this.memoryBuffer = bufferManager.allocateManaged(maxInMemorySize);
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        readLock.unlock();
+        writeLock.lock();
+
+        try {
+          ByteBuffer refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
+            final int read = consumeForwardData();
+            if (read > 0) {
+              refetch = getFromCurrentData(position, min(length, read));
+              if (refetch != null) {
+                return refetch;
+              }
+            }
+          }
+          return doGet(position, length, false);
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+        } finally {
+          // classic lock downgrade
+          readLock.lock();
+          writeLock.unlock();
+        }
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position < bufferTip) {
+      return copy(position, min(length, toIntExact(min(bufferTip - position, Integer.MAX_VALUE))));
+    }
+
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Data is consumed into the in memory buffer until it is full. After that, it is appended to the buffer file.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    final ByteBuffer memory = memoryBuffer.getDelegate();
+    if (memory.hasRemaining()) {
+      final int read = consumeStream(memory);
+      if (read > 0) {
+        bufferTip += read;
+      }
+      return read;
+    }
+
+    final ManagedByteBufferWrapper transfer = bufferManager.allocateManaged(bucketSize);
+    try {
+      final ByteBuffer transferBuffer = transfer.getDelegate();
+      final int read = consumeStream(transferBuffer);
+      if (read > 0) {
+        transferBuffer.flip();
+        writeToFile(transferBuffer, bufferTip - maxInMemorySize);
+        bufferTip += read;
+      }
+      return read;
+    } finally {
+      transfer.release();
+    }
+  }
+
+  private void writeToFile(ByteBuffer data, long filePosition) throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("stream");
+      fileChannel = FileChannel.open(bufferFile.toPath(), CREATE_NEW, READ, WRITE);
+    }
+
+    long position = filePosition;
+    while (data.hasRemaining()) {
+      position += fileChannel.write(data, position);
+    }
+  }
+
+  /**
+   * Returns the data in the given range. Data held in memory is returned without copying, as a slice of the in memory buffer that
+   * never goes past it, so it may hold less than {@code length} bytes. Data in the buffer file is read into a new buffer.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    if (position < maxInMemorySize) {
+      final ByteBuffer memory = memoryBuffer.getDelegate();
+      final int offset = toIntExact(position);
+      return wrap(memory.array(), offset, min(length, memory.position() - offset)).slice();
+    }
+
+    final ByteBuffer data = allocate(length);
+    final long filePosition = position - maxInMemorySize;
+    try {
+      while (data.hasRemaining()) {
+        if (fileChannel.read(data, filePosition + data.position()) == -1) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+
+    data.flip();
+    return data;
+  }
+
+  /**
+   * {@inheritDoc}
+   * Releases the in memory buffer and deletes the buffer file, if one was created.
+   */
+  @Override
+  public void doClose() {
+    memoryBuffer.release();
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      } finally {
+        if (!bufferFile.delete()) {
+          LOGGER.warn("Could not delete buffer file {}", bufferFile.getAbsolutePath());
+        }
+      }
+    }
+  }
+}
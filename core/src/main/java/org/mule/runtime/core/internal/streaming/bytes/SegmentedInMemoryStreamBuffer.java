@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteBuffer.wrap;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.exception.StreamingBufferSizeExceededException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the buffered information in memory, split in segments.
+ * <p>
+ * Unlike {@link InMemoryStreamBuffer}, which copies all the buffered data into a bigger buffer each time it needs to grow, this
+ * buffer keeps a list of segments obtained from the {@link ByteBufferManager}. The first segment has the configured initial
+ * buffer size and each following one has the configured buffer size increment, so the total capacity grows exactly as it would
+ * with {@link InMemoryStreamBuffer} and is bound by the same max buffer size, but already buffered data is never copied.
+ * <p>
+ * Since segments are never moved, reads from cursors are served without copying, by slicing the segment that holds the requested
+ * position.
+ *
+ * @since 4.4
+ */
+public class SegmentedInMemoryStreamBuffer extends AbstractInputStreamBuffer {
+
+  private final List<ManagedByteBufferWrapper> segments = new ArrayList<>();
+  private final int initialSegmentSize;
+  private final int segmentSize;
+  private final int maxBufferSize;
+
+  private ByteBuffer actingSegment;
+  private long capacity;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all segments
+   */
+  public SegmentedInMemoryStreamBuffer(InputStream stream, InMemoryCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    this.initialSegmentSize = config.getInitialBufferSize().toBytes();
+    this.segmentSize = config.getBufferSizeIncrement() != null
+        ? config.getBufferSizeIncrement().toBytes()
+        : 0;
+    this.maxBufferSize = config.getMaxBufferSize().toBytes();
+
+    addSegment(initialSegmentSize);
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        readLock.unlock();
+        writeLock.lock();
+
+        try {
+          ByteBuffer refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
+            final int read = consumeForwardData();
+            if (read > 0) {
+              refetch = getFromCurrentData(position, min(length, read));
+              if (refetch != null) {
+                return refetch;
+              }
+            }
+          }
+          return doGet(position, length, false);
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+        } finally {
+          // classic lock downgrade
+          readLock.lock();
+          writeLock.unlock();
+        }
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position < bufferTip) {
+      return copy(position, min(length, toIntExact(min(bufferTip - position, Integer.MAX_VALUE))));
+    }
+
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    segments.forEach(ManagedByteBufferWrapper::release);
+    segments.clear();
+    actingSegment = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * If the last segment doesn't have any remaining capacity, then a new segment is added before attempting to consume new
+   * information.
+   *
+   * @throws StreamingBufferSizeExceededException if the buffer is full and cannot be expanded
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (!actingSegment.hasRemaining()) {
+      if (!canBeExpanded()) {
+        // Check if there is actually any more data before failing
+        if (isStreamFinished()) {
+          return -1;
+        }
+        throw new StreamingBufferSizeExceededException(maxBufferSize);
+      }
+      addSegment(segmentSize);
+    }
+
+    final int read = consumeStream(actingSegment);
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private boolean isStreamFinished() throws IOException {
+    final ManagedByteBufferWrapper probe = bufferManager.allocateManaged(1);
+    try {
+      return consumeStream(probe.getDelegate()) == -1;
+    } finally {
+      probe.release();
+    }
+  }
+
+  private void addSegment(int size) {
+    final ManagedByteBufferWrapper segment = bufferManager.allocateManaged(size);
+    segments.add(segment);
+    actingSegment = segment.getDelegate();
+    capacity += size;
+  }
+
+  private boolean canBeExpanded() {
+    if (segmentSize <= 0) {
+      return false;
+    } else if (maxBufferSize == 0) {
+      return true;
+    }
+
+    return capacity + segmentSize <= maxBufferSize;
+  }
+
+  /**
+   * Returns a slice of the segment that holds the given {@code position}. The returned buffer never spans more than one segment,
+   * so it may hold less than {@code length} bytes.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    final int segmentIndex;
+    final int offset;
+    if (position < initialSegmentSize) {
+      segmentIndex = 0;
+      offset = toIntExact(position);
+    } else {
+      final long positionAfterInitial = position - initialSegmentSize;
+      segmentIndex = 1 + toIntExact(positionAfterInitial / segmentSize);
+      offset = toIntExact(positionAfterInitial % segmentSize);
+    }
+
+    final ByteBuffer segment = segments.get(segmentIndex).getDelegate();
+    final int segmentLimit = segment == actingSegment ? segment.position() : segment.capacity();
+    return wrap(segment.array(), offset, min(length, segmentLimit - offset)).slice();
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
 import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
@@ -34,6 +36,23 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
     return new InMemoryCursorIteratorProviderFactory(config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorIteratorProviderFactory} which keeps a window of buckets in memory and the rest in a local file
+   * <p>
+   * This is not part of {@link ObjectStreamingManager} because {@link FileStoreCursorIteratorConfig} is not API. Runtime
+   * components which need it select it explicitly by obtaining this manager through {@code DefaultStreamingManager#forObjects()},
+   * which returns an instance of this class unless {@code createObjectStreamingManager()} is overridden.
+   *
+   * @param config     the configuration for the produced {@link CursorIteratorProviderFactory} instances
+   * @param serializer the {@link ObjectSerializer} used to write and read buckets to and from the buffer file
+   * @return a new {@link CursorIteratorProviderFactory}
+   * @since 4.4
+   */
+  public CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config,
+                                                                         ObjectSerializer serializer) {
+    return new FileStoreCursorIteratorProviderFactory(config, serializer, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps a window of buckets in memory and writes the rest to a local
+ * file.
+ * <p>
+ * All buckets have the same size. Once the amount of buckets in memory exceeds
+ * {@link FileStoreCursorIteratorConfig#getMaxInMemoryBuckets()}, the least recently used one is evicted. Evicted buckets are
+ * serialized to the buffer file using the given {@link ObjectSerializer} the first time they're evicted, and then deserialized
+ * back into memory when a cursor needs them again. Since buckets are never modified after they're full, each one is only written
+ * once.
+ * <p>
+ * The bucket being filled is never evicted. Items in the stream must be serializable through the given {@link ObjectSerializer}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.4
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer serializer;
+
+  // Guarded by itself. Holds full buckets only, in access order.
+  private final LinkedHashMap<Integer, Bucket<T>> residentBuckets = new LinkedHashMap<>(16, 0.75f, true);
+  // Guarded by residentBuckets. Offset and length of each bucket written to the buffer file.
+  private final Map<Integer, long[]> spilledBuckets = new HashMap<>();
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long fileTip = 0;
+
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config, ObjectSerializer serializer) {
+    super(stream);
+    this.config = config;
+    this.serializer = serializer;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    final int bucketSize = config.getBucketSize();
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, config.getBucketSize()));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    final Bucket<T> currentBucket = getCurrentBucket();
+    final int bucketIndex = position.getBucketIndex();
+    if (currentBucket == null || bucketIndex > currentBucket.getIndex()) {
+      return null;
+    } else if (bucketIndex == currentBucket.getIndex()) {
+      return currentBucket;
+    }
+
+    synchronized (residentBuckets) {
+      Bucket<T> bucket = residentBuckets.get(bucketIndex);
+      if (bucket == null) {
+        bucket = load(bucketIndex);
+        residentBuckets.put(bucketIndex, bucket);
+        evictIfNecessary();
+      }
+      return bucket;
+    }
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    synchronized (residentBuckets) {
+      residentBuckets.put(overflownBucket.getIndex(), overflownBucket);
+      evictIfNecessary();
+    }
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+  }
+
+  private void evictIfNecessary() {
+    // the bucket being filled also counts against the limit
+    final Iterator<Map.Entry<Integer, Bucket<T>>> eldest = residentBuckets.entrySet().iterator();
+    while (residentBuckets.size() >= config.getMaxInMemoryBuckets() && eldest.hasNext()) {
+      final Map.Entry<Integer, Bucket<T>> entry = eldest.next();
+      if (!spilledBuckets.containsKey(entry.getKey())) {
+        spill(entry.getValue());
+      }
+      eldest.remove();
+    }
+  }
+
+  private void spill(Bucket<T> bucket) {
+    final byte[] serialized = serializer.getInternalProtocol().serialize(bucket);
+    try {
+      if (fileChannel == null) {
+        bufferFile = createBufferFile("iterator");
+        fileChannel = FileChannel.open(bufferFile.toPath(), CREATE_NEW, READ, WRITE);
+      }
+
+      final ByteBuffer data = wrap(serialized);
+      long position = fileTip;
+      while (data.hasRemaining()) {
+        position += fileChannel.write(data, position);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write bucket to buffer file"), e);
+    }
+
+    spilledBuckets.put(bucket.getIndex(), new long[] {fileTip, serialized.length});
+    fileTip += serialized.length;
+  }
+
+  private Bucket<T> load(int bucketIndex) {
+    final long[] location = spilledBuckets.get(bucketIndex);
+    final ByteBuffer data = allocate((int) location[1]);
+    try {
+      while (data.hasRemaining()) {
+        if (fileChannel.read(data, location[0] + data.position()) == -1) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read bucket from buffer file"), e);
+    }
+
+    return serializer.getInternalProtocol().deserialize(data.array());
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // Only a bound amount of buckets is held in memory, the rest go to disk
+  }
+
+  /**
+   * {@inheritDoc}
+   * Deletes the buffer file, if one was created.
+   */
+  @Override
+  protected void doClose() {
+    synchronized (residentBuckets) {
+      residentBuckets.clear();
+      spilledBuckets.clear();
+    }
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      } finally {
+        if (!bufferFile.delete()) {
+          LOGGER.warn("Could not delete buffer file {}", bufferFile.getAbsolutePath());
+        }
+      }
+    }
+  }
+}
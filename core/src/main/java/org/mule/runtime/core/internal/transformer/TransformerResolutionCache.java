@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.transformer.Transformer;
+
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches the resolution of {@link Transformer}s for pairs of source and result {@link DataType}s.
+ * <p>
+ * Lookups do not lock and do not build any key other than the pair itself. Unsuccessful resolutions are cached too, so looking
+ * up a pair of types that can't be transformed doesn't repeat the resolution every time.
+ * <p>
+ * {@link #invalidate()} replaces the whole cache, so a resolution that was started before it is invalidated is not stored in
+ * the new cache. Components using it must invalidate it <b>after</b> the state the resolutions depend on changes.
+ *
+ * @param <V> the type of the resolution result
+ * @since 4.4
+ */
+public final class TransformerResolutionCache<V> {
+
+  /**
+   * Resolves the value for a pair of types when it is not in the cache.
+   *
+   * @param <V> the type of the resolution result
+   * @param <E> the type of the exception thrown when the resolution fails
+   */
+  @FunctionalInterface
+  public interface Resolution<V, E extends Exception> {
+
+    V resolve(DataType source, DataType result) throws E;
+  }
+
+  private final long maxSize;
+  private volatile Cache<DataTypePair, Optional<V>> cache;
+
+  /**
+   * Creates an unbounded cache.
+   */
+  public TransformerResolutionCache() {
+    this(0);
+  }
+
+  /**
+   * @param maxSize the maximum number of pairs to keep, or {@code 0} for no maximum.
+   */
+  public TransformerResolutionCache(long maxSize) {
+    this.maxSize = maxSize;
+    this.cache = newCache();
+  }
+
+  /**
+   * Obtains the resolution for the given types, resolving it if it is not cached.
+   *
+   * @param source the source type of the transformation
+   * @param result the result type of the transformation
+   * @param resolution how to resolve the value if it is not cached
+   * @return the resolved value, which may be {@code null}
+   * @throws E if the resolution fails. Failed resolutions are not cached.
+   */
+  public <E extends Exception> V get(DataType source, DataType result, Resolution<V, E> resolution) throws E {
+    // Keep the instance the resolution is stored in, in case it is invalidated while resolving
+    final Cache<DataTypePair, Optional<V>> current = cache;
+    final DataTypePair key = new DataTypePair(source, result);
+
+    Optional<V> resolved = current.getIfPresent(key);
+    if (resolved == null) {
+      resolved = Optional.ofNullable(resolution.resolve(source, result));
+      final Optional<V> concurrentlyResolved = current.asMap().putIfAbsent(key, resolved);
+      if (concurrentlyResolved != null) {
+        resolved = concurrentlyResolved;
+      }
+    }
+
+    return resolved.orElse(null);
+  }
+
+  /**
+   * Discards all the cached resolutions.
+   */
+  public void invalidate() {
+    cache = newCache();
+  }
+
+  /**
+   * @return the approximate number of cached resolutions.
+   */
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  private Cache<DataTypePair, Optional<V>> newCache() {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder();
+    if (maxSize > 0) {
+      builder.maximumSize(maxSize);
+    }
+    return builder.build();
+  }
+
+  private static final class DataTypePair {
+
+    private final DataType source;
+    private final DataType result;
+    private final int hashCode;
+
+    private DataTypePair(DataType source, DataType result) {
+      this.source = source;
+      this.result = result;
+      this.hashCode = 31 * source.hashCode() + result.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DataTypePair)) {
+        return false;
+      }
+
+      DataTypePair other = (DataTypePair) obj;
+      return hashCode == other.hashCode
+          && (source == other.source || source.equals(other.source))
+          && (result == other.result || result.equals(other.result));
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
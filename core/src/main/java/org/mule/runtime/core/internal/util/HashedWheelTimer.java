@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Timer that keeps its pending tasks in a hashed wheel of buckets, as described by George Varghese and Tony Lauck in "Hashed
+ * and Hierarchical Timing Wheels".
+ * <p>
+ * Instead of having a scheduled task per timeout in the delay queue of a {@link ScheduledExecutorService}, a single periodic
+ * task advances the wheel one bucket per tick and runs the tasks whose deadline has passed. Adding or cancelling a timeout is
+ * O(1) regardless of how many are pending, at the cost of the tasks being run up to a tick later than requested. This makes it
+ * a good fit for a large number of timeouts that do not require precision, such as retries.
+ * <p>
+ * Timeouts added from any thread are queued and moved into the wheel by the tick task, so the buckets are only accessed from
+ * the tick task.
+ * <p>
+ * The tick task is only scheduled while there are pending timeouts. It is cancelled once the wheel has no pending timeouts
+ * left and scheduled again when a new timeout is added, so an idle timer does not wake up its scheduler every tick.
+ *
+ * @since 4.4
+ */
+public final class HashedWheelTimer {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimer.class);
+
+  private static final int ST_INIT = 0;
+  private static final int ST_CANCELLED = 1;
+  private static final int ST_EXPIRED = 2;
+
+  private final ScheduledExecutorService tickScheduler;
+  private final Executor taskExecutor;
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+
+  private final Queue<WheelTimeout> newTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTimeouts = new AtomicInteger();
+
+  private volatile long startTime;
+  private volatile ScheduledFuture<?> tickTask;
+  private volatile boolean started;
+  private volatile boolean stopped;
+  private volatile boolean restarted;
+
+  // Only accessed from the tick task
+  private long tick;
+
+  /**
+   * Creates a new timer. It has to be {@link #start() started} for its timeouts to be run.
+   *
+   * @param tickScheduler the scheduler that periodically advances the wheel
+   * @param taskExecutor the executor that runs the expired tasks
+   * @param tickDuration the duration of each tick, that is, the precision of the timer
+   * @param unit the unit of {@code tickDuration}
+   * @param ticksPerWheel the number of buckets of the wheel. It is rounded up to a power of two.
+   */
+  public HashedWheelTimer(ScheduledExecutorService tickScheduler, Executor taskExecutor, long tickDuration, TimeUnit unit,
+                          int ticksPerWheel) {
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+      throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30: " + ticksPerWheel);
+    }
+
+    this.tickScheduler = tickScheduler;
+    this.taskExecutor = taskExecutor;
+    this.tickNanos = unit.toNanos(tickDuration);
+
+    int wheelSize = highestOneBit(ticksPerWheel) == ticksPerWheel ? ticksPerWheel : highestOneBit(ticksPerWheel) << 1;
+    this.wheel = new Bucket[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = wheelSize - 1;
+  }
+
+  /**
+   * Starts the timer. Timeouts may only be added once the timer is started. The wheel is advanced only while there are pending
+   * timeouts.
+   */
+  public synchronized void start() {
+    if (stopped) {
+      throw new IllegalStateException("A stopped timer cannot be started again");
+    }
+    if (started) {
+      return;
+    }
+
+    startTime = nanoTime();
+    started = true;
+  }
+
+  /**
+   * Stops advancing the wheel. The tasks of the timeouts that did not expire yet are not run.
+   */
+  public synchronized void stop() {
+    stopped = true;
+    if (tickTask != null) {
+      tickTask.cancel(false);
+      tickTask = null;
+    }
+    newTimeouts.clear();
+  }
+
+  /**
+   * Schedules the execution of {@code task} after the given delay.
+   *
+   * @param task the task to run
+   * @param delay the delay from now to run the task
+   * @param unit the unit of {@code delay}
+   * @return a {@link Timeout} to cancel the execution of the task
+   */
+  public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+    if (!started || stopped) {
+      throw new IllegalStateException(stopped ? "Timer is stopped" : "Timer is not started");
+    }
+
+    pendingTimeouts.incrementAndGet();
+
+    long deadline = nanoTime() - startTime + unit.toNanos(max(delay, 0));
+    // Guard against overflow
+    if (delay > 0 && deadline < 0) {
+      deadline = Long.MAX_VALUE;
+    }
+
+    WheelTimeout timeout = new WheelTimeout(task, deadline);
+    newTimeouts.add(timeout);
+    if (tickTask == null) {
+      ensureTicking();
+    }
+    return timeout;
+  }
+
+  /**
+   * @return the number of timeouts that were neither run nor cancelled yet.
+   */
+  public int pendingTimeouts() {
+    return pendingTimeouts.get();
+  }
+
+  /**
+   * @return whether the tick task is currently scheduled.
+   */
+  boolean isTicking() {
+    return tickTask != null;
+  }
+
+  private synchronized void ensureTicking() {
+    if (stopped || tickTask != null) {
+      return;
+    }
+
+    restarted = true;
+    tickTask = tickScheduler.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, NANOSECONDS);
+  }
+
+  private void advance() {
+    try {
+      final long currentTick = (nanoTime() - startTime) / tickNanos;
+      if (restarted) {
+        // No timeouts were pending while the tick task was not scheduled, so there is nothing to catch up with
+        restarted = false;
+        tick = max(tick, currentTick);
+      }
+      // Catch up with the ticks that were missed if the tick scheduler lagged
+      while (tick <= currentTick) {
+        transferNewTimeouts();
+        wheel[(int) (tick & mask)].expire();
+        ++tick;
+      }
+
+      if (pendingTimeouts.get() == 0) {
+        stopTicking();
+      }
+    } catch (Throwable t) {
+      LOGGER.error("Exception advancing the timer wheel", t);
+    }
+  }
+
+  private void stopTicking() {
+    synchronized (this) {
+      if (pendingTimeouts.get() != 0 || tickTask == null) {
+        return;
+      }
+      tickTask.cancel(false);
+      tickTask = null;
+    }
+
+    // A timeout added concurrently may have seen the tick task still scheduled
+    if (pendingTimeouts.get() != 0) {
+      ensureTicking();
+    }
+  }
+
+  private void transferNewTimeouts() {
+    WheelTimeout timeout;
+    while ((timeout = newTimeouts.poll()) != null) {
+      if (timeout.state.get() != ST_INIT) {
+        continue;
+      }
+
+      // Rounded up, so the task is never run before its deadline
+      long expiryTick = timeout.deadline / tickNanos + (timeout.deadline % tickNanos == 0 ? 0 : 1);
+      timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+      // Timeouts already due are run in the current tick
+      wheel[(int) (max(expiryTick, tick) & mask)].add(timeout);
+    }
+  }
+
+  /**
+   * A task scheduled in a {@link HashedWheelTimer}.
+   */
+  public interface Timeout {
+
+    /**
+     * Cancels the execution of the task, if it was not run yet.
+     *
+     * @return {@code true} if the task was cancelled by this call
+     */
+    boolean cancel();
+
+    /**
+     * @return whether the task was cancelled.
+     */
+    boolean isCancelled();
+
+    /**
+     * @return whether the task was submitted for execution.
+     */
+    boolean isExpired();
+  }
+
+  private final class WheelTimeout implements Timeout {
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+    // Only accessed from the tick task
+    private long remainingRounds;
+    private WheelTimeout next;
+
+    private WheelTimeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel() {
+      if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+        pendingTimeouts.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return state.get() == ST_CANCELLED;
+    }
+
+    @Override
+    public boolean isExpired() {
+      return state.get() == ST_EXPIRED;
+    }
+
+    private void expire() {
+      if (stopped || !state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+        return;
+      }
+      pendingTimeouts.decrementAndGet();
+
+      try {
+        taskExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        LOGGER.warn("Task for expired timeout could not be submitted for execution", e);
+      }
+    }
+  }
+
+  /**
+   * Singly linked list of the timeouts that expire in a given tick of any round of the wheel.
+   */
+  private static final class Bucket {
+
+    private WheelTimeout head;
+
+    private void add(WheelTimeout timeout) {
+      timeout.next = head;
+      head = timeout;
+    }
+
+    private void expire() {
+      WheelTimeout timeout = head;
+      head = null;
+
+      while (timeout != null) {
+        WheelTimeout next = timeout.next;
+        timeout.next = null;
+
+        if (timeout.state.get() == ST_INIT) {
+          if (timeout.remainingRounds <= 0) {
+            timeout.expire();
+          } else {
+            --timeout.remainingRounds;
+            add(timeout);
+          }
+        }
+        // Cancelled timeouts are just dropped from the bucket
+
+        timeout = next;
+      }
+    }
+  }
+}
@@ -0,0 +1,774 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.sort;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.api.util.CaseInsensitiveMapWrapper;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An immutable, case-insensitive {@link Map} with {@link String} keys, implemented as a hash array mapped trie.
+ * <p>
+ * Instead of being modified, new versions of the map are derived through {@link #plus(String, Object)} and
+ * {@link #minus(String)}. The derived versions share all the unchanged nodes of the trie with the map they were derived from, so
+ * adding, replacing or removing a single entry costs {@code O(log n)} in time and space instead of the {@code O(n)} a full copy
+ * would cost.
+ * <p>
+ * As with {@link CaseInsensitiveHashMap}, the case of the keys is preserved. When a value is replaced by a key that differs only
+ * in case, the key used when the entry was first added is kept.
+ * <p>
+ * Like the {@link java.util.LinkedHashMap} backing a {@link CaseInsensitiveHashMap}, entries are iterated in the order they were
+ * added. Replacing the value of an entry keeps its position, while removing an entry and adding it again moves it to the end.
+ * Each entry keeps the sequence number it was added with, and the entries of a map are sorted by it the first time the map is
+ * iterated.
+ * <p>
+ * Since it extends {@link CaseInsensitiveHashMap}, it can be used wherever an immutable instance of it is expected. All the
+ * mutating methods of {@link Map} throw {@link UnsupportedOperationException}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <V> the type of the values
+ * @since 4.4
+ */
+public final class PersistentCaseInsensitiveMap<V> extends CaseInsensitiveHashMap<String, V> {
+
+  private static final long serialVersionUID = 4925011764357230641L;
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+  private static final int HASH_BITS = 32;
+
+  @SuppressWarnings("rawtypes")
+  private static final PersistentCaseInsensitiveMap EMPTY = new PersistentCaseInsensitiveMap<>(null, 0, 0);
+
+  /**
+   * @param <V> the type of the values
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> emptyPersistentMap() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns a {@link PersistentCaseInsensitiveMap} with the same entries as the given {@code map}. If the given map already is a
+   * {@link PersistentCaseInsensitiveMap}, it is returned as is.
+   *
+   * @param map the map to copy
+   * @param <V> the type of the values
+   * @return a {@link PersistentCaseInsensitiveMap} with the entries of {@code map}
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveMap<V> copyOf(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveMap) {
+      return (PersistentCaseInsensitiveMap<V>) map;
+    }
+    return copyOf(map, value -> value);
+  }
+
+  /**
+   * Returns a {@link PersistentCaseInsensitiveMap} with the same keys as the given {@code map}, with its values transformed by
+   * the given {@code valueMapper}.
+   *
+   * @param map         the map to copy
+   * @param valueMapper the function to apply to each value of {@code map}
+   * @param <S>         the type of the values of the source map
+   * @param <V>         the type of the values
+   * @return a {@link PersistentCaseInsensitiveMap} with the entries of {@code map}
+   */
+  public static <S, V> PersistentCaseInsensitiveMap<V> copyOf(Map<String, ? extends S> map,
+                                                              Function<? super S, ? extends V> valueMapper) {
+    PersistentCaseInsensitiveMap<V> result = emptyPersistentMap();
+    for (Entry<String, ? extends S> entry : map.entrySet()) {
+      result = result.plus(entry.getKey(), valueMapper.apply(entry.getValue()));
+    }
+    return result;
+  }
+
+  private final Node<V> root;
+  private final int size;
+  private final long nextSequence;
+
+  // The leaves in insertion order, computed on the first iteration. This map is immutable, so it never needs to be recomputed.
+  private transient volatile Leaf<V>[] orderedLeaves;
+
+  private PersistentCaseInsensitiveMap(Node<V> root, int size, long nextSequence) {
+    // All the methods are overridden, so the delegate map of the parent class is not needed
+    super((CaseInsensitiveMapWrapper) null);
+    this.root = root;
+    this.size = size;
+    this.nextSequence = nextSequence;
+  }
+
+  /**
+   * @param key   the key of the entry to add or replace
+   * @param value the value for the entry
+   * @return a map with the same entries as this one plus the given one. If this map already has the given entry, this same
+   *         instance is returned.
+   */
+  public PersistentCaseInsensitiveMap<V> plus(String key, V value) {
+    requireNonNull(key, "key cannot be null");
+    final Leaf<V> leaf = new Leaf<>(key, hash(key), value, nextSequence);
+
+    if (root == null) {
+      return new PersistentCaseInsensitiveMap<>(new BitmapNode<V>(0, new Object[0]).put(leaf, 0, new boolean[1]), 1,
+                                                nextSequence + 1);
+    }
+
+    final boolean[] added = new boolean[1];
+    final Node<V> newRoot = root.put(leaf, 0, added);
+    if (newRoot == root) {
+      return this;
+    } else if (added[0]) {
+      return new PersistentCaseInsensitiveMap<>(newRoot, size + 1, nextSequence + 1);
+    }
+    return new PersistentCaseInsensitiveMap<>(newRoot, size, nextSequence);
+  }
+
+  /**
+   * @param key the key of the entry to remove
+   * @return a map with the same entries as this one except for the one with the given key. If this map doesn't have an entry for
+   *         the given key, this same instance is returned.
+   */
+  public PersistentCaseInsensitiveMap<V> minus(String key) {
+    if (root == null || key == null) {
+      return this;
+    }
+
+    final Node<V> newRoot = root.remove(key, hash(key), 0);
+    if (newRoot == root) {
+      return this;
+    } else if (newRoot == null) {
+      return emptyPersistentMap();
+    }
+    return new PersistentCaseInsensitiveMap<>(newRoot, size - 1, nextSequence);
+  }
+
+  /**
+   * @return an iterator over the leaves of this map, in the order they were added.
+   */
+  private Iterator<Leaf<V>> leaves() {
+    Leaf<V>[] leaves = orderedLeaves;
+    if (leaves == null) {
+      leaves = collectLeaves();
+      orderedLeaves = leaves;
+    }
+    return new ArrayIterator<>(leaves);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Leaf<V>[] collectLeaves() {
+    final Leaf<V>[] leaves = new Leaf[size];
+    final Iterator<Leaf<V>> trieLeaves = new LeafIterator<>(root);
+    for (int i = 0; i < size; ++i) {
+      leaves[i] = trieLeaves.next();
+    }
+    sort(leaves, comparingLong(leaf -> leaf.sequence));
+    return leaves;
+  }
+
+  private Leaf<V> find(Object key) {
+    if (root == null || !(key instanceof String)) {
+      return null;
+    }
+    final String stringKey = (String) key;
+    return root.find(stringKey, hash(stringKey), 0);
+  }
+
+  /**
+   * Computes a hash code consistent with {@link String#equalsIgnoreCase(String)}, without creating a lowercase copy of the key.
+   */
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    // spread the bits so that keys with a common suffix don't end up in the same branches
+    return hash ^ (hash >>> 16);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    for (Entry<String, V> entry : entrySet()) {
+      if (Objects.equals(entry.getValue(), value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+    final Leaf<V> leaf = find(key);
+    return leaf != null ? leaf.value : null;
+  }
+
+  @Override
+  public V put(String key, V value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public V remove(Object key) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> values) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        final Iterator<Leaf<V>> leaves = leaves();
+        return new Iterator<String>() {
+
+          @Override
+          public boolean hasNext() {
+            return leaves.hasNext();
+          }
+
+          @Override
+          public String next() {
+            return leaves.next().key;
+          }
+        };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Collection<V> values() {
+    return new AbstractCollection<V>() {
+
+      @Override
+      public Iterator<V> iterator() {
+        final Iterator<Leaf<V>> leaves = leaves();
+        return new Iterator<V>() {
+
+          @Override
+          public boolean hasNext() {
+            return leaves.hasNext();
+          }
+
+          @Override
+          public V next() {
+            return leaves.next().value;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<Entry<String, V>>() {
+
+      @Override
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      public Iterator<Entry<String, V>> iterator() {
+        return (Iterator) leaves();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("{");
+    final Iterator<Leaf<V>> leaves = leaves();
+    while (leaves.hasNext()) {
+      builder.append(leaves.next());
+      if (leaves.hasNext()) {
+        builder.append(", ");
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  /**
+   * This map is already immutable, so it is returned as is.
+   */
+  @Override
+  public CaseInsensitiveHashMap<String, V> toImmutableCaseInsensitiveMap() {
+    return this;
+  }
+
+  /**
+   * @return a mutable {@link CaseInsensitiveHashMap} with the same entries as this map.
+   */
+  @Override
+  public CaseInsensitiveHashMap<String, V> copy() {
+    return new CaseInsensitiveHashMap<>(this);
+  }
+
+  /**
+   * This map is immutable, so it is returned as is.
+   */
+  @Override
+  public Object clone() {
+    return this;
+  }
+
+  private abstract static class Node<V> implements Serializable {
+
+    private static final long serialVersionUID = -3284658712745330474L;
+
+    abstract Leaf<V> find(String key, int hash, int shift);
+
+    /**
+     * @return the node with the leaf added or replaced, or this same node if it already had that leaf.
+     */
+    abstract Node<V> put(Leaf<V> leaf, int shift, boolean[] added);
+
+    /**
+     * @return the node without the leaf for the given key, this same node if it didn't have it, or {@code null} if the resulting
+     *         node is empty.
+     */
+    abstract Node<V> remove(String key, int hash, int shift);
+
+    /**
+     * @return the amount of leaves and nodes directly referenced by this node.
+     */
+    abstract int arity();
+
+    abstract Object get(int index);
+  }
+
+  /**
+   * A node with up to 32 slots, only the used ones being allocated. Each slot holds either a {@link Leaf} or a child {@link Node}.
+   */
+  private static final class BitmapNode<V> extends Node<V> {
+
+    private static final long serialVersionUID = 2153254392406938071L;
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private static int bit(int hash, int shift) {
+      return 1 << ((hash >>> shift) & LEVEL_MASK);
+    }
+
+    private int index(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Leaf<V> find(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+
+      final Object slot = slots[index(bit)];
+      if (slot instanceof Leaf) {
+        final Leaf<V> leaf = (Leaf<V>) slot;
+        return leaf.matches(key, hash) ? leaf : null;
+      }
+      return ((Node<V>) slot).find(key, hash, shift + BITS_PER_LEVEL);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Node<V> put(Leaf<V> leaf, int shift, boolean[] added) {
+      final int bit = bit(leaf.hash, shift);
+      final int index = index(bit);
+
+      if ((bitmap & bit) == 0) {
+        final Object[] newSlots = new Object[slots.length + 1];
+        arraycopy(slots, 0, newSlots, 0, index);
+        newSlots[index] = leaf;
+        arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+        added[0] = true;
+        return new BitmapNode<>(bitmap | bit, newSlots);
+      }
+
+      final Object slot = slots[index];
+      final Object newSlot;
+      if (slot instanceof Leaf) {
+        final Leaf<V> current = (Leaf<V>) slot;
+        if (current.matches(leaf.key, leaf.hash)) {
+          if (current.value == leaf.value) {
+            return this;
+          }
+          newSlot = new Leaf<>(current.key, current.hash, leaf.value, current.sequence);
+        } else {
+          newSlot = merge(current, leaf, shift + BITS_PER_LEVEL);
+          added[0] = true;
+        }
+      } else {
+        final Node<V> child = (Node<V>) slot;
+        newSlot = child.put(leaf, shift + BITS_PER_LEVEL, added);
+        if (newSlot == child) {
+          return this;
+        }
+      }
+
+      return new BitmapNode<>(bitmap, replace(index, newSlot));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    Node<V> remove(String key, int hash, int shift) {
+      final int bit = bit(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      final int index = index(bit);
+      final Object slot = slots[index];
+      if (slot instanceof Leaf) {
+        if (!((Leaf<V>) slot).matches(key, hash)) {
+          return this;
+        }
+        return without(bit, index);
+      }
+
+      final Node<V> child = (Node<V>) slot;
+      final Node<V> newChild = child.remove(key, hash, shift + BITS_PER_LEVEL);
+      if (newChild == child) {
+        return this;
+      } else if (newChild == null) {
+        return without(bit, index);
+      } else if (newChild.arity() == 1 && newChild.get(0) instanceof Leaf) {
+        // Pull single leaves up, so the trie doesn't keep branches that are no longer needed
+        return new BitmapNode<>(bitmap, replace(index, newChild.get(0)));
+      }
+      return new BitmapNode<>(bitmap, replace(index, newChild));
+    }
+
+    private Object[] replace(int index, Object newSlot) {
+      final Object[] newSlots = slots.clone();
+      newSlots[index] = newSlot;
+      return newSlots;
+    }
+
+    private Node<V> without(int bit, int index) {
+      if (slots.length == 1) {
+        return null;
+      }
+      final Object[] newSlots = new Object[slots.length - 1];
+      arraycopy(slots, 0, newSlots, 0, index);
+      arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+      return new BitmapNode<>(bitmap & ~bit, newSlots);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V> merge(Leaf<V> a, Leaf<V> b, int shift) {
+      if (shift >= HASH_BITS) {
+        return new CollisionNode<>(a.hash, new Leaf[] {a, b});
+      }
+
+      final int bitA = bit(a.hash, shift);
+      final int bitB = bit(b.hash, shift);
+      if (bitA == bitB) {
+        return new BitmapNode<>(bitA, new Object[] {merge(a, b, shift + BITS_PER_LEVEL)});
+      }
+      return new BitmapNode<>(bitA | bitB, bitA < bitB ? new Object[] {a, b} : new Object[] {b, a});
+    }
+
+    @Override
+    int arity() {
+      return slots.length;
+    }
+
+    @Override
+    Object get(int index) {
+      return slots[index];
+    }
+  }
+
+  /**
+   * A node for leaves whose keys have the same hash, once all the bits of the hash have been used.
+   */
+  private static final class CollisionNode<V> extends Node<V> {
+
+    private static final long serialVersionUID = -6414728519867830624L;
+
+    private final int hash;
+    private final Leaf<V>[] leaves;
+
+    CollisionNode(int hash, Leaf<V>[] leaves) {
+      this.hash = hash;
+      this.leaves = leaves;
+    }
+
+    private int indexOf(String key) {
+      for (int i = 0; i < leaves.length; ++i) {
+        if (leaves[i].key.equalsIgnoreCase(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    Leaf<V> find(String key, int hash, int shift) {
+      if (hash != this.hash) {
+        return null;
+      }
+      final int index = indexOf(key);
+      return index >= 0 ? leaves[index] : null;
+    }
+
+    @Override
+    Node<V> put(Leaf<V> leaf, int shift, boolean[] added) {
+      final int index = indexOf(leaf.key);
+      final Leaf<V>[] newLeaves;
+      if (index >= 0) {
+        final Leaf<V> current = leaves[index];
+        if (current.value == leaf.value) {
+          return this;
+        }
+        newLeaves = leaves.clone();
+        newLeaves[index] = new Leaf<>(current.key, current.hash, leaf.value, current.sequence);
+      } else {
+        newLeaves = copyLeaves(leaves, leaves.length + 1);
+        newLeaves[leaves.length] = leaf;
+        added[0] = true;
+      }
+      return new CollisionNode<>(hash, newLeaves);
+    }
+
+    @Override
+    Node<V> remove(String key, int hash, int shift) {
+      if (hash != this.hash) {
+        return this;
+      }
+      final int index = indexOf(key);
+      if (index < 0) {
+        return this;
+      } else if (leaves.length == 1) {
+        return null;
+      }
+
+      final Leaf<V>[] newLeaves = copyLeaves(leaves, leaves.length - 1);
+      arraycopy(leaves, index + 1, newLeaves, index, leaves.length - index - 1);
+      return new CollisionNode<>(hash, newLeaves);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Leaf<V>[] copyLeaves(Leaf<V>[] leaves, int length) {
+      final Leaf<V>[] copy = new Leaf[length];
+      arraycopy(leaves, 0, copy, 0, min(length, leaves.length));
+      return copy;
+    }
+
+    @Override
+    int arity() {
+      return leaves.length;
+    }
+
+    @Override
+    Object get(int index) {
+      return leaves[index];
+    }
+  }
+
+  private static final class Leaf<V> implements Entry<String, V>, Serializable {
+
+    private static final long serialVersionUID = 7516273848036915602L;
+
+    private final String key;
+    private final int hash;
+    private final V value;
+    private final long sequence;
+
+    Leaf(String key, int hash, V value, long sequence) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+      this.sequence = sequence;
+    }
+
+    boolean matches(String key, int hash) {
+      return this.hash == hash && this.key.equalsIgnoreCase(key);
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Entry)) {
+        return false;
+      }
+      final Entry<?, ?> other = (Entry<?, ?>) obj;
+      return Objects.equals(key, other.getKey()) && Objects.equals(value, other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  private static final class ArrayIterator<V> implements Iterator<Leaf<V>> {
+
+    private final Leaf<V>[] leaves;
+    private int position;
+
+    ArrayIterator(Leaf<V>[] leaves) {
+      this.leaves = leaves;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return position < leaves.length;
+    }
+
+    @Override
+    public Leaf<V> next() {
+      if (position >= leaves.length) {
+        throw new NoSuchElementException();
+      }
+      return leaves[position++];
+    }
+  }
+
+  /**
+   * Iterates the leaves of a trie depth-first.
+   */
+  private static final class LeafIterator<V> implements Iterator<Leaf<V>> {
+
+    private final Deque<Node<V>> nodes = new ArrayDeque<>();
+    private final Deque<Integer> positions = new ArrayDeque<>();
+    private Leaf<V> next;
+
+    LeafIterator(Node<V> root) {
+      if (root != null) {
+        nodes.push(root);
+        positions.push(0);
+      }
+      advance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void advance() {
+      next = null;
+      while (next == null && !nodes.isEmpty()) {
+        final Node<V> node = nodes.peek();
+        final int position = positions.pop();
+        if (position >= node.arity()) {
+          nodes.pop();
+          continue;
+        }
+
+        positions.push(position + 1);
+        final Object slot = node.get(position);
+        if (slot instanceof Leaf) {
+          next = (Leaf<V>) slot;
+        } else {
+          nodes.push((Node<V>) slot);
+          positions.push(0);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Leaf<V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final Leaf<V> current = next;
+      advance();
+      return current;
+    }
+  }
+}
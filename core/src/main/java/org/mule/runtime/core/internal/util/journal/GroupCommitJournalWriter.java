@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Writes journal entries to a file, grouping the entries of concurrent transactions so they are written and forced to disk
+ * together.
+ * <p>
+ * Appended entries are kept in memory as part of the current {@link Batch}. The first thread that needs its batch to be durable
+ * becomes the leader for it: it waits up to the configured window, or until the batch reaches the configured amount of entries,
+ * so that entries from other transactions can join. Then it writes the whole batch with a single write and forces it to disk.
+ * Other threads waiting for the same batch are released once it's durable.
+ * <p>
+ * Batches are written in the same order as they are created, so once a batch is durable, all the entries appended before it are
+ * durable too.
+ *
+ * @since 4.4
+ */
+class GroupCommitJournalWriter {
+
+  private final FileChannel channel;
+  private final long windowNanos;
+  private final int maxEntries;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition batchFull = lock.newCondition();
+  private final Condition batchFlushed = lock.newCondition();
+
+  // All guarded by lock
+  private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private final DataOutputStream pendingStream = new DataOutputStream(pending);
+  private int pendingEntries = 0;
+  private Batch currentBatch = new Batch(this);
+  private boolean flushing = false;
+  private boolean closed = false;
+
+  /**
+   * @param journalFile the file to append the entries to. Will be created if it doesn't exist.
+   * @param windowNanos the max time to wait for other entries to join a batch before writing it
+   * @param maxEntries  the amount of entries after which a batch is written without waiting for the window to elapse
+   */
+  GroupCommitJournalWriter(File journalFile, long windowNanos, int maxEntries) {
+    this.windowNanos = windowNanos;
+    this.maxEntries = maxEntries;
+    try {
+      this.channel = FileChannel.open(journalFile.toPath(), CREATE, WRITE, APPEND);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Appends an entry to the current batch. The entry is not written to the file until the batch is flushed.
+   *
+   * @param entryWriter writes the entry to the given stream
+   * @return the {@link Batch} the entry is part of
+   */
+  Batch append(Consumer<DataOutputStream> entryWriter) {
+    lock.lock();
+    try {
+      entryWriter.accept(pendingStream);
+      if (++pendingEntries >= maxEntries) {
+        batchFull.signal();
+      }
+      return currentBatch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void awaitDurable(Batch batch) {
+    lock.lock();
+    try {
+      while (!batch.flushed) {
+        if (flushing || batch != currentBatch) {
+          batchFlushed.awaitUninterruptibly();
+        } else {
+          flush(true);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (batch.failure != null) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write transaction journal file"), batch.failure);
+    }
+  }
+
+  /**
+   * Must be called holding the lock.
+   */
+  private void flush(boolean waitForOtherEntries) {
+    flushing = true;
+    try {
+      if (waitForOtherEntries) {
+        long remaining = windowNanos;
+        while (pendingEntries < maxEntries && remaining > 0) {
+          try {
+            remaining = batchFull.awaitNanos(remaining);
+          } catch (InterruptedException e) {
+            currentThread().interrupt();
+            break;
+          }
+        }
+      }
+
+      final Batch batch = currentBatch;
+      final byte[] data = pending.toByteArray();
+      pending.reset();
+      pendingEntries = 0;
+      currentBatch = new Batch(this);
+
+      // Other transactions can keep appending to the next batch while this one goes to disk
+      IOException failure = null;
+      lock.unlock();
+      try {
+        final ByteBuffer buffer = wrap(data);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        failure = e;
+      } finally {
+        lock.lock();
+      }
+
+      batch.failure = failure;
+      batch.flushed = true;
+    } finally {
+      flushing = false;
+      batchFlushed.signalAll();
+    }
+  }
+
+  /**
+   * Writes and forces any pending entries and closes the file.
+   */
+  void close() throws IOException {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      while (flushing) {
+        batchFlushed.awaitUninterruptibly();
+      }
+
+      final Batch lastBatch = currentBatch;
+      flush(false);
+      closed = true;
+      channel.close();
+
+      if (lastBatch.failure != null) {
+        throw lastBatch.failure;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * A group of entries that are written to the journal file together.
+   */
+  static final class Batch {
+
+    /**
+     * A batch for entries that were written directly to the file.
+     */
+    static final Batch WRITTEN = new Batch(null);
+
+    static {
+      WRITTEN.flushed = true;
+    }
+
+    private final GroupCommitJournalWriter writer;
+
+    // Guarded by the writer's lock
+    private boolean flushed = false;
+    private IOException failure;
+
+    private Batch(GroupCommitJournalWriter writer) {
+      this.writer = writer;
+    }
+
+    /**
+     * Blocks until the entries in this batch, and in all the batches before it, are written and forced to disk.
+     *
+     * @throws MuleRuntimeException if the batch could not be written
+     */
+    void awaitDurable() {
+      if (writer != null) {
+        writer.awaitDurable(this);
+      }
+    }
+  }
+}
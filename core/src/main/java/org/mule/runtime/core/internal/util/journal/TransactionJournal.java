@@ -6,7 +6,14 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.Batch;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -25,12 +32,31 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When group commit is enabled through {@link #GROUP_COMMIT_PROPERTY}, checkpoint operations from concurrent transactions are
+ * written and forced to disk together, and {@link #logCheckpointOperation(JournalEntry)} only returns once its entry is durable.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  /**
+   * Enables grouping the journal writes of concurrent transactions, forcing them to disk together.
+   */
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.txJournal.groupCommit";
+
+  /**
+   * Max time, in microseconds, a transaction waits for others to join its group commit.
+   */
+  public static final String GROUP_COMMIT_WINDOW_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.txJournal.groupCommit.windowMicros";
+
+  /**
+   * Amount of journal entries after which a group commit is done without waiting for the window to elapse.
+   */
+  public static final String GROUP_COMMIT_MAX_ENTRIES_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "queue.txJournal.groupCommit.maxEntries";
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -72,10 +98,20 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
+    final long groupCommitWindowNanos = getBoolean(GROUP_COMMIT_PROPERTY)
+        ? MICROSECONDS.toNanos(getLong(GROUP_COMMIT_WINDOW_PROPERTY, 2000))
+        : -1;
+    final int groupCommitMaxEntries = getInteger(GROUP_COMMIT_MAX_ENTRIES_PROPERTY, 256);
+    if (groupCommitWindowNanos >= 0) {
+      logger.info("Using group commit for tx logs");
+    }
+
     this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   groupCommitWindowNanos, groupCommitMaxEntries);
     this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes,
+                                   groupCommitWindowNanos, groupCommitMaxEntries);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -101,15 +137,22 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    * Logs a checkpoint operation over the transactions.
    *
    * Most likely this is an operation such as COMMIT, ROLLBACK or PREPARE of a TX.
+   * <p>
+   * With group commit, this waits until the entry is forced to disk, without holding the journal lock so other transactions can
+   * log their operations in the meantime.
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final Batch batch;
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      batch = logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    batch.awaitDurable();
   }
 
   /**
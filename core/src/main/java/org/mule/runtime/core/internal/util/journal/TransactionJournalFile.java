@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.util.journal;
 
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.internal.util.journal.GroupCommitJournalWriter.Batch;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
@@ -50,7 +51,11 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private final long groupCommitWindowNanos;
+  private final int groupCommitMaxEntries;
+
   private DataOutputStream logFileOutputStream;
+  private GroupCommitJournalWriter groupCommitWriter;
   private int journalOperations = 0;
 
   /**
@@ -61,7 +66,24 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, -1, 0);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommitWindowNanos max time to wait for entries of other transactions to be written and forced to disk together.
+   *        A negative value disables group commit, so entries are written to the file as they are logged.
+   * @param groupCommitMaxEntries the amount of entries after which they are written without waiting for the window to elapse
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                long groupCommitWindowNanos, int groupCommitMaxEntries) {
     this.journalFile = journalFile;
+    this.groupCommitWindowNanos = groupCommitWindowNanos;
+    this.groupCommitMaxEntries = groupCommitMaxEntries;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
     if (journalFile.exists()) {
@@ -72,13 +94,29 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   /**
    * Adds a journal entry for an operation done over a transactional resource
-   * 
+   * <p>
+   * When group commit is enabled, the entry is not written right away. Use {@link Batch#awaitDurable()} on the returned batch to
+   * wait for it to be forced to disk.
+   *
    * @param journalEntry operation details
+   * @return the {@link Batch} the entry was written in
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized Batch logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    if (groupCommitWriter != null) {
+      return groupCommitWriter.append(stream -> journalEntrySerializer.serialize(journalEntry, stream));
+    }
+
+    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+    return Batch.WRITTEN;
+  }
+
+  /**
+   * @return whether entries from concurrent transactions are grouped to be written and forced to disk together.
+   */
+  public boolean isGroupCommit() {
+    return groupCommitWindowNanos >= 0;
   }
 
   /**
@@ -121,7 +159,11 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void close() {
     try {
-      logFileOutputStream.close();
+      if (groupCommitWriter != null) {
+        groupCommitWriter.close();
+      } else {
+        logFileOutputStream.close();
+      }
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
       if (LOGGER.isDebugEnabled()) {
@@ -170,6 +212,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
         throw new MuleRuntimeException(e);
       }
     }
+    if (isGroupCommit()) {
+      this.groupCommitWriter = new GroupCommitJournalWriter(journalFile, groupCommitWindowNanos, groupCommitMaxEntries);
+      return;
+    }
     try {
       this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
     } catch (FileNotFoundException e) {
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.util.queue;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
@@ -13,12 +16,22 @@ import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 import java.io.Serializable;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Internal queue implementation that will execute operations directly to the queue storage. Stores information about a Queue
  */
 public class DefaultQueueStore implements RecoverableQueueStore {
 
+  /**
+   * Makes persistent queues use {@link SegmentedFileQueueStoreDelegate} instead of {@link DualRandomAccessFileQueueStoreDelegate}.
+   * Queues already stored in segment files keep using them regardless of this property.
+   */
+  public static final String SEGMENTED_QUEUE_STORE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.segmentedStore";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultQueueStore.class);
+
   private QueueConfiguration config;
   private String name;
   private QueueStoreDelegate delegate;
@@ -43,13 +56,45 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       this.config = new DefaultQueueConfiguration();
     }
     if (this.config.isPersistent()) {
-      delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
-                                                            muleContext, this.config.getCapacity());
+      final String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+      if (getBoolean(SEGMENTED_QUEUE_STORE_PROPERTY) || SegmentedFileQueueStoreDelegate.hasSegments(name, workingDirectory)) {
+        delegate = createSegmentedDelegate(workingDirectory);
+      } else {
+        delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+      }
     } else {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
     }
   }
 
+  private QueueStoreDelegate createSegmentedDelegate(String workingDirectory) {
+    final SegmentedFileQueueStoreDelegate segmentedDelegate =
+        new SegmentedFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+
+    if (DualRandomAccessFileQueueStoreDelegate.hasQueueFiles(name, workingDirectory)) {
+      // Move the items of a queue stored with the previous delegate
+      final DualRandomAccessFileQueueStoreDelegate legacyDelegate =
+          new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, 0);
+      try {
+        // An item could be duplicated if the runtime stops halfway, but it won't be lost
+        Serializable item;
+        while ((item = legacyDelegate.peek()) != null) {
+          segmentedDelegate.putNow(item);
+          legacyDelegate.poll(0);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        legacyDelegate.close();
+        LOGGER.warn("Interrupted while moving the items of queue {} to segment files, remaining items will be moved later", name);
+        return segmentedDelegate;
+      }
+      LOGGER.info("Moved items of queue {} to segment files", name);
+      legacyDelegate.dispose();
+    }
+
+    return segmentedDelegate;
+  }
+
   @Override
   public boolean equals(Object obj) {
     return (obj instanceof DefaultQueueStore && name.equals(((DefaultQueueStore) obj).name));
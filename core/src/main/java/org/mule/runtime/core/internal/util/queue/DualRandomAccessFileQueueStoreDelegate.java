@@ -89,6 +89,16 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
   }
 
 
+  /**
+   * @return whether there are files for the given queue in the given working directory
+   */
+  public static boolean hasQueueFiles(String queueName, String workingDirectory) {
+    final File queuesDirectory = getQueuesDirectory(workingDirectory);
+    final String controlFileName = queueName + QUEUE_DATA_CONTROL_SUFFIX;
+    return new File(queuesDirectory, controlFileName).exists()
+        || new File(queuesDirectory, QueueFileProvider.toHex(controlFileName)).exists();
+  }
+
   public static File getFirstQueueFileForTesting(String queueName, String workingDirectory) {
     return new File(getQueuesDirectory(workingDirectory), queueName + QUEUE_STORE_1_SUFFIX);
   }
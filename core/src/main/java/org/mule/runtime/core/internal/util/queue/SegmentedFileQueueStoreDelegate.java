@@ -0,0 +1,622 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DSYNC;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.util.queue.QueueFileProvider.toHex;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} that stores the queue in a sequence of segment files.
+ * <p>
+ * Items are always appended to the last segment, and a new one is started once it exceeds {@link #SEGMENT_SIZE_PROPERTY}. Items
+ * are consumed sequentially from the first segment, flagging each one as removed in the file, and a segment is deleted once all
+ * of its items have been consumed. Each record has the same layout used by {@link RandomAccessFileQueueStore}: a removed flag, the
+ * length of the serialized item and the serialized item itself.
+ * <p>
+ * Producers and consumers use different locks, in the same way as {@link java.util.concurrent.LinkedBlockingQueue}, so adding
+ * items to the queue doesn't contend with taking them from it. Items are serialized before taking the producers lock.
+ * <p>
+ * Items restored to the front of the queue through {@link #untake(Serializable)} are appended to the last segment and consumed
+ * before any other item. If the queue is reopened before they are consumed, they'll be at the end of the queue.
+ *
+ * @since 4.4
+ */
+public class SegmentedFileQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  /**
+   * Size in bytes after which a new segment file is started.
+   */
+  public static final String SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentedFileQueueStoreDelegate.class);
+
+  private static final int ONE_MEGABYTE = 1024 * 1024;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_FILE_SUFFIX = ".seg";
+  private static final Pattern SAFE_FILE_NAME = Pattern.compile("[\\w.\\-]+");
+
+  private static final int HEADER_SIZE = RandomAccessFileQueueStore.CONTROL_DATA_SIZE;
+  private static final byte NOT_REMOVED = 0;
+  private static final byte REMOVED = 1;
+
+  private final File segmentsDirectory;
+  private final ObjectSerializer serializer;
+  private final int capacity;
+  private final int segmentSize;
+
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private final AtomicInteger count = new AtomicInteger();
+
+  private final ReentrantLock putLock = new ReentrantLock();
+  private final Condition notFull = putLock.newCondition();
+  private final ReentrantLock takeLock = new ReentrantLock();
+  private final Condition notEmpty = takeLock.newCondition();
+
+  // Guarded by putLock
+  private Segment writeSegment;
+
+  // Guarded by takeLock
+  private Segment readSegment;
+  private final Deque<RecordPosition> untaken = new ArrayDeque<>();
+
+  public SegmentedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this.segmentsDirectory = getSegmentsDirectory(queueName, workingDirectory);
+    this.serializer = muleContext.getObjectSerializer();
+    this.capacity = capacity;
+    this.segmentSize = getInteger(SEGMENT_SIZE_PROPERTY, ONE_MEGABYTE);
+
+    if (!segmentsDirectory.exists()) {
+      checkState(segmentsDirectory.mkdirs(), "Could not create queue store directory " + segmentsDirectory.getAbsolutePath());
+    }
+    loadSegments();
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages in %s segments", queueName, count.get(), segments.size()));
+    }
+  }
+
+  /**
+   * @return whether the given queue has been stored with this delegate in the given working directory
+   */
+  public static boolean hasSegments(String queueName, String workingDirectory) {
+    return getSegmentsDirectory(queueName, workingDirectory).exists();
+  }
+
+  private static File getSegmentsDirectory(String queueName, String workingDirectory) {
+    String directoryName = queueName + SEGMENTS_DIRECTORY_SUFFIX;
+    if (!SAFE_FILE_NAME.matcher(directoryName).matches()) {
+      directoryName = toHex(queueName) + SEGMENTS_DIRECTORY_SUFFIX;
+    }
+    return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY, directoryName);
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    final ByteBuffer record = toRecord(o);
+    final int c;
+    putLock.lock();
+    try {
+      append(record);
+      c = count.getAndIncrement();
+    } finally {
+      putLock.unlock();
+    }
+    if (c == 0) {
+      signalNotEmpty();
+    }
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    if (capacity > 0 && capacity <= room) {
+      throw new IllegalStateException("Can not add more objects than the capacity in one time");
+    }
+
+    final ByteBuffer record = o != null ? toRecord(o) : null;
+    int c = -1;
+    putLock.lockInterruptibly();
+    try {
+      if (capacity > 0) {
+        long nanos = MILLISECONDS.toNanos(timeout);
+        while (count.get() >= capacity - room) {
+          if (timeout < 0) {
+            notFull.await();
+          } else {
+            if (nanos <= 0L) {
+              return false;
+            }
+            nanos = notFull.awaitNanos(nanos);
+          }
+        }
+      }
+      if (record != null) {
+        append(record);
+        c = count.getAndIncrement();
+      }
+    } finally {
+      putLock.unlock();
+    }
+    if (c == 0) {
+      signalNotEmpty();
+    }
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      putNow(item);
+    }
+    return true;
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    final byte[] data;
+    final int c;
+    takeLock.lockInterruptibly();
+    try {
+      long nanos = MILLISECONDS.toNanos(timeout);
+      while (count.get() == 0) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      data = readFirst(true);
+      c = count.getAndDecrement();
+      if (c > 1) {
+        notEmpty.signal();
+      }
+    } finally {
+      takeLock.unlock();
+    }
+    if (capacity > 0) {
+      signalNotFull();
+    }
+    return deserialize(data);
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    final byte[] data;
+    takeLock.lock();
+    try {
+      if (count.get() == 0) {
+        return null;
+      }
+      data = readFirst(false);
+    } finally {
+      takeLock.unlock();
+    }
+    return deserialize(data);
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    final ByteBuffer record = toRecord(item);
+    fullyLock();
+    try {
+      untaken.addFirst(append(record));
+      count.getAndIncrement();
+      notEmpty.signal();
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return count.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    fullyLock();
+    try {
+      for (Segment segment : segments.values()) {
+        segment.close();
+        segment.delete();
+      }
+      segments.clear();
+      untaken.clear();
+      count.set(0);
+      writeSegment = readSegment = openSegment(0);
+      segments.put(writeSegment.id, writeSegment);
+      notFull.signalAll();
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void remove(Serializable value) {
+    fullyLock();
+    try {
+      for (Segment segment : segments.values()) {
+        long position = segment == readSegment ? segment.readPosition : 0;
+        while (position < segment.writePosition) {
+          final ByteBuffer header = readHeader(segment, position);
+          if (header.get() == NOT_REMOVED && deserialize(read(segment, position + HEADER_SIZE, header.getInt())).equals(value)) {
+            markRemoved(segment, position);
+            removeUntaken(segment, position);
+            count.getAndDecrement();
+            notFull.signalAll();
+            return;
+          }
+          position += HEADER_SIZE + header.getInt(1);
+        }
+      }
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable value) {
+    fullyLock();
+    try {
+      for (Segment segment : segments.values()) {
+        long position = segment == readSegment ? segment.readPosition : 0;
+        while (position < segment.writePosition) {
+          final ByteBuffer header = readHeader(segment, position);
+          if (header.get() == NOT_REMOVED && deserialize(read(segment, position + HEADER_SIZE, header.getInt())).equals(value)) {
+            return true;
+          }
+          position += HEADER_SIZE + header.getInt(1);
+        }
+      }
+      return false;
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    fullyLock();
+    try {
+      segments.values().forEach(Segment::close);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void dispose() {
+    fullyLock();
+    try {
+      for (Segment segment : segments.values()) {
+        segment.close();
+        segment.delete();
+      }
+      segments.clear();
+      deleteQuietly(segmentsDirectory);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * Must be called holding the putLock.
+   */
+  private RecordPosition append(ByteBuffer record) {
+    if (writeSegment.writePosition > 0 && writeSegment.writePosition + record.remaining() > segmentSize) {
+      final Segment next = openSegment(writeSegment.id + 1);
+      // Make the new segment visible to consumers before flagging there will be no more records in the current one
+      segments.put(next.id, next);
+      writeSegment.sealed = true;
+      writeSegment = next;
+    }
+
+    final Segment segment = writeSegment;
+    final long position = segment.writePosition;
+    write(segment, record, position);
+    segment.writePosition = position + record.limit();
+    return new RecordPosition(segment, position);
+  }
+
+  /**
+   * Must be called holding the takeLock, and only if the queue is not empty.
+   */
+  private byte[] readFirst(boolean remove) {
+    final RecordPosition untakenRecord = untaken.peekFirst();
+    if (untakenRecord != null) {
+      final byte[] data = readRecord(untakenRecord.segment, untakenRecord.position);
+      if (remove) {
+        untaken.pollFirst();
+        markRemoved(untakenRecord.segment, untakenRecord.position);
+      }
+      return data;
+    }
+
+    while (true) {
+      final Segment segment = readSegment;
+      if (segment.readPosition >= segment.writePosition) {
+        checkState(segment.sealed && segment.readPosition >= segment.writePosition,
+                   "Queue store segment " + segment.file.getName() + " has no more records");
+        // Every record in this segment has been consumed
+        readSegment = segments.higherEntry(segment.id).getValue();
+        segments.remove(segment.id);
+        segment.close();
+        segment.delete();
+        continue;
+      }
+
+      final long position = segment.readPosition;
+      final ByteBuffer header = readHeader(segment, position);
+      final byte removed = header.get();
+      final int length = header.getInt();
+      if (removed == REMOVED) {
+        segment.readPosition = position + HEADER_SIZE + length;
+        continue;
+      }
+
+      final byte[] data = read(segment, position + HEADER_SIZE, length);
+      if (remove) {
+        markRemoved(segment, position);
+        segment.readPosition = position + HEADER_SIZE + length;
+      }
+      return data;
+    }
+  }
+
+  private void removeUntaken(Segment segment, long position) {
+    final Iterator<RecordPosition> iterator = untaken.iterator();
+    while (iterator.hasNext()) {
+      final RecordPosition record = iterator.next();
+      if (record.segment == segment && record.position == position) {
+        iterator.remove();
+        return;
+      }
+    }
+  }
+
+  private ByteBuffer toRecord(Serializable item) {
+    final byte[] data = serializer.getInternalProtocol().serialize(item);
+    final ByteBuffer record = allocate(HEADER_SIZE + data.length);
+    record.put(NOT_REMOVED);
+    record.putInt(data.length);
+    record.put(data);
+    record.flip();
+    return record;
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.getInternalProtocol().deserialize(data);
+  }
+
+  private byte[] readRecord(Segment segment, long position) {
+    return read(segment, position + HEADER_SIZE, readHeader(segment, position).getInt(1));
+  }
+
+  private ByteBuffer readHeader(Segment segment, long position) {
+    final ByteBuffer header = allocate(HEADER_SIZE);
+    readFully(segment, header, position);
+    header.flip();
+    return header;
+  }
+
+  private byte[] read(Segment segment, long position, int length) {
+    final ByteBuffer data = allocate(length);
+    readFully(segment, data, position);
+    return data.array();
+  }
+
+  private void readFully(Segment segment, ByteBuffer buffer, long position) {
+    try {
+      while (buffer.hasRemaining()) {
+        if (segment.channel.read(buffer, position + buffer.position()) == -1) {
+          throw new EOFException("Unexpected end of queue store segment " + segment.file.getAbsolutePath());
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void markRemoved(Segment segment, long position) {
+    write(segment, ByteBuffer.wrap(new byte[] {REMOVED}), position);
+  }
+
+  private void write(Segment segment, ByteBuffer data, long position) {
+    try {
+      while (data.hasRemaining()) {
+        segment.channel.write(data, position + data.position());
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void loadSegments() {
+    final File[] files = segmentsDirectory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+    if (files != null) {
+      for (File file : files) {
+        final long id = parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_FILE_SUFFIX.length()));
+        segments.put(id, openSegment(id));
+      }
+    }
+
+    if (segments.isEmpty()) {
+      segments.put(0L, openSegment(0));
+    }
+
+    for (Segment segment : segments.values()) {
+      recover(segment);
+      segment.sealed = segment != segments.lastEntry().getValue();
+    }
+
+    readSegment = segments.firstEntry().getValue();
+    writeSegment = segments.lastEntry().getValue();
+  }
+
+  private void recover(Segment segment) {
+    try {
+      final long length = segment.channel.size();
+      long position = 0;
+      while (position + HEADER_SIZE <= length) {
+        final ByteBuffer header = readHeader(segment, position);
+        final byte removed = header.get();
+        final int dataLength = header.getInt();
+        if ((removed != NOT_REMOVED && removed != REMOVED) || dataLength < 0
+            || position + HEADER_SIZE + dataLength > length) {
+          break;
+        }
+        if (removed == NOT_REMOVED) {
+          count.getAndIncrement();
+        }
+        position += HEADER_SIZE + dataLength;
+      }
+
+      if (position < length) {
+        LOGGER.warn("Discarding incomplete record at the end of queue store segment {}", segment.file.getAbsolutePath());
+        segment.channel.truncate(position);
+      }
+      segment.writePosition = position;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private Segment openSegment(long id) {
+    final File file = new File(segmentsDirectory, format("%010d%s", id, SEGMENT_FILE_SUFFIX));
+    try {
+      // Same durability as the rws mode used by RandomAccessFileQueueStore
+      return new Segment(id, file, FileChannel.open(file.toPath(), CREATE, READ, WRITE, DSYNC));
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private void signalNotEmpty() {
+    takeLock.lock();
+    try {
+      notEmpty.signal();
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  private void signalNotFull() {
+    putLock.lock();
+    try {
+      notFull.signalAll();
+    } finally {
+      putLock.unlock();
+    }
+  }
+
+  private void fullyLock() {
+    putLock.lock();
+    takeLock.lock();
+  }
+
+  private void fullyUnlock() {
+    takeLock.unlock();
+    putLock.unlock();
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  /**
+   * @return the segments currently holding the queue, by id.
+   */
+  Map<Long, File> getSegmentFiles() {
+    final Map<Long, File> files = new ConcurrentSkipListMap<>();
+    segments.forEach((id, segment) -> files.put(id, segment.file));
+    return files;
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+
+    // Only modified by producers
+    private volatile long writePosition;
+    private volatile boolean sealed;
+
+    // Only accessed by consumers
+    private long readPosition;
+
+    private Segment(long id, File file, FileChannel channel) {
+      this.id = id;
+      this.file = file;
+      this.channel = channel;
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOGGER.warn("Failure closing queue store segment " + file.getAbsolutePath() + ": " + e.getMessage());
+      }
+    }
+
+    private void delete() {
+      deleteQuietly(file);
+    }
+  }
+
+  private static final class RecordPosition {
+
+    private final Segment segment;
+    private final long position;
+
+    private RecordPosition(Segment segment, long position) {
+      this.segment = segment;
+      this.position = position;
+    }
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link Scheduler} implementation that runs each submitted task in a new virtual thread.
+ * <p>
+ * Virtual threads are only available in recent JVMs, so they are looked up reflectively. Use {@link #isSupported()} to check if
+ * they can be used before creating an instance of this class.
+ * <p>
+ * Delayed and periodic tasks are triggered by the given {@code timer} {@link Scheduler}, and then run in a virtual thread, so a
+ * slow task never holds the thread of the timer.
+ *
+ * @since 4.4
+ */
+public class VirtualThreadScheduler implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadScheduler.class);
+
+  private static final Optional<Method> VIRTUAL_BUILDER_METHOD;
+  private static final Optional<Method> BUILDER_NAME_METHOD;
+  private static final Optional<Method> BUILDER_FACTORY_METHOD;
+  private static final Optional<Method> THREAD_PER_TASK_EXECUTOR_METHOD;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method factory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      name = builderClass.getMethod("name", String.class, long.class);
+      factory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+      // Virtual threads may be present as a preview feature that is not enabled, in which case this fails.
+      ofVirtual.invoke(null);
+    } catch (Throwable t) {
+      LOGGER.debug("Virtual threads not supported by this JVM: {}", t.toString());
+      ofVirtual = null;
+    }
+
+    if (ofVirtual != null) {
+      VIRTUAL_BUILDER_METHOD = of(ofVirtual);
+      BUILDER_NAME_METHOD = of(name);
+      BUILDER_FACTORY_METHOD = of(factory);
+      THREAD_PER_TASK_EXECUTOR_METHOD = of(newThreadPerTaskExecutor);
+    } else {
+      VIRTUAL_BUILDER_METHOD = empty();
+      BUILDER_NAME_METHOD = empty();
+      BUILDER_FACTORY_METHOD = empty();
+      THREAD_PER_TASK_EXECUTOR_METHOD = empty();
+    }
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return VIRTUAL_BUILDER_METHOD.isPresent();
+  }
+
+  private final String name;
+  private final Scheduler timer;
+  private final ExecutorService executor;
+  private final long shutdownTimeoutMillis;
+
+  /**
+   * Creates a new {@link VirtualThreadScheduler}.
+   *
+   * @param name                  the name of the scheduler, also used as the prefix for the names of its threads.
+   * @param timer                 the {@link Scheduler} used to trigger delayed and periodic tasks. It is stopped along with this
+   *                              scheduler.
+   * @param shutdownTimeoutMillis how long {@link #stop()} waits for the running tasks to finish before interrupting them.
+   * @throws UnsupportedOperationException if the running JVM does not support virtual threads.
+   */
+  public VirtualThreadScheduler(String name, Scheduler timer, long shutdownTimeoutMillis) {
+    this(name, timer, createExecutor(name), shutdownTimeoutMillis);
+  }
+
+  VirtualThreadScheduler(String name, Scheduler timer, ExecutorService executor, long shutdownTimeoutMillis) {
+    this.name = name;
+    this.timer = timer;
+    this.executor = executor;
+    this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+  }
+
+  private static ExecutorService createExecutor(String name) {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads not supported by this JVM");
+    }
+
+    try {
+      Object builder = VIRTUAL_BUILDER_METHOD.get().invoke(null);
+      builder = BUILDER_NAME_METHOD.get().invoke(builder, name + ".", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY_METHOD.get().invoke(builder);
+      return (ExecutorService) THREAD_PER_TASK_EXECUTOR_METHOD.get().invoke(null, threadFactory);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Unable to create virtual threads executor", e);
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return timer.schedule(() -> executor.execute(command), delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    final ScheduledCallableFuture<V> future = new ScheduledCallableFuture<>(callable);
+    future.trigger = timer.schedule(future::submit, delay, unit);
+    return future;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return timer.scheduleAtFixedRate(() -> executor.execute(command), initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return timer.scheduleWithFixedDelay(() -> executor.execute(command), initialDelay, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return timer.scheduleWithCronExpression(() -> executor.execute(command), cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return timer.scheduleWithCronExpression(() -> executor.execute(command), cronExpression, timeZone);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    return executor.submit(task);
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    return executor.submit(task, result);
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return executor.submit(task);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    return executor.invokeAll(tasks);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return executor.invokeAll(tasks, timeout, unit);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    return executor.invokeAny(tasks);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return executor.invokeAny(tasks, timeout, unit);
+  }
+
+  @Override
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executor.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return executor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Stops accepting tasks and waits for the running ones to finish for the configured shutdown timeout, interrupting them after
+   * it elapses.
+   */
+  @Override
+  public void stop() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(shutdownTimeoutMillis, MILLISECONDS)) {
+        LOGGER.warn("Scheduler '{}' didn't terminate gracefully in {} ms. Interrupting its running tasks.", name,
+                    shutdownTimeoutMillis);
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      currentThread().interrupt();
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadScheduler{" + name + "}";
+  }
+
+  /**
+   * The result of a delayed {@link Callable}. The {@code timer} just submits it to run in a virtual thread, which completes this
+   * future.
+   */
+  private final class ScheduledCallableFuture<V> implements ScheduledFuture<V> {
+
+    private final Callable<V> callable;
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+    private volatile ScheduledFuture<?> trigger;
+
+    private ScheduledCallableFuture(Callable<V> callable) {
+      this.callable = callable;
+    }
+
+    private void submit() {
+      try {
+        executor.execute(this::call);
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(e);
+      }
+    }
+
+    private void call() {
+      if (result.isDone()) {
+        return;
+      }
+
+      try {
+        result.complete(callable.call());
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      }
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return trigger.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return Long.compare(getDelay(NANOSECONDS), o.getDelay(NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      trigger.cancel(mayInterruptIfRunning);
+      return result.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return result.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+      return result.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return result.get(timeout, unit);
+    }
+  }
+}
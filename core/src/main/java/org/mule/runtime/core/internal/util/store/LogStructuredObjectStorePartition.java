@@ -0,0 +1,632 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentObjectStorePartition} that keeps all of its entries in a few append-only segment files instead of one file
+ * per key.
+ * <p>
+ * Each store or remove operation appends a record to the active segment. Records start with a fixed size header which holds the
+ * record type, the time it was stored and the lengths of its key and value, followed by the key and the serialized value. Once
+ * the active segment reaches its maximum size, a new one is started.
+ * <p>
+ * Keys are kept in an in-memory hash index which points to the location of their values in the segments. At startup, the index is
+ * rebuilt by reading the headers and keys of all the records in segment order, skipping over the values. Partitions created with
+ * the default layout (one {@code .obj} file per key) are migrated into segments the first time they are opened.
+ * <p>
+ * Segments whose amount of removed data exceeds half of their size are rewritten by appending their live records to the active
+ * segment and then deleting them. This compaction runs after each {@link #expire(long, int)}, which the runtime invokes
+ * periodically from a background thread, or on demand through {@link #compact()}.
+ * <p>
+ * Retrieving values does not block other retrievals. Store and remove operations are serialized among themselves since they
+ * append to the same segment.
+ *
+ * @param <T> the generic type of the stored values
+ * @since 4.4
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T> {
+
+  /**
+   * System property to set the maximum size in bytes of each segment file.
+   */
+  public static final String MAX_SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.maxSegmentSize";
+
+  private static final long DEFAULT_MAX_SEGMENT_SIZE = getLong(MAX_SEGMENT_SIZE_PROPERTY, 64 * 1024 * 1024);
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String SEGMENT_FILE_EXTENSION = ".log";
+  private static final String LEGACY_OBJECT_FILE_EXTENSION = ".obj";
+  private static final double COMPACTION_THRESHOLD = 0.5;
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+  // type + timestamp + key length + value length
+  private static final int HEADER_SIZE = 1 + 8 + 4 + 4;
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  /**
+   * @param partitionDirectory the directory of a partition
+   * @return whether the given directory holds a partition in the layout of this class
+   */
+  public static boolean isLogStructured(File partitionDirectory) {
+    final String[] segments = partitionDirectory.list((dir, name) -> isSegmentFile(name));
+    return segments != null && segments.length > 0;
+  }
+
+  private static boolean isSegmentFile(String name) {
+    return name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_EXTENSION);
+  }
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final long maxSegmentSize;
+
+  private final Map<String, Entry> index = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Entry, String> entriesByAge = new ConcurrentSkipListMap<>();
+  private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  // Held for reading by any operation that accesses a segment, held for writing to close and delete segments
+  private final ReentrantReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+  private final Lock segmentsReadLock = segmentsLock.readLock();
+  private final Lock segmentsWriteLock = segmentsLock.writeLock();
+  // Serializes appends to the active segment
+  private final Object appendLock = new Object();
+  private final Object compactionLock = new Object();
+
+  private volatile Segment activeSegment;
+  private boolean loaded = false;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                           long maxSegmentSize) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    super.open();
+    if (loaded) {
+      return;
+    }
+
+    synchronized (appendLock) {
+      loadSegments();
+      migrateLegacyFiles();
+      if (activeSegment == null) {
+        activeSegment = createSegment(0);
+      }
+      loaded = true;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws ObjectStoreException {
+    synchronized (appendLock) {
+      closeSegments();
+      loaded = false;
+    }
+    super.close();
+  }
+
+  @Override
+  public synchronized void clear() throws ObjectStoreException {
+    synchronized (appendLock) {
+      closeSegments();
+      try {
+        cleanDirectory(getPartitionDirectory());
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+      }
+      createOrRetrievePartitionDescriptorFile();
+      activeSegment = createSegment(0);
+      loaded = true;
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected boolean doStoreIfAbsent(String key, T value) throws ObjectStoreException {
+    // Avoid serializing values that won't be stored
+    if (index.containsKey(key)) {
+      return false;
+    }
+
+    final byte[] serializedValue = serializer.getInternalProtocol().serialize(value);
+
+    synchronized (appendLock) {
+      if (index.containsKey(key)) {
+        return false;
+      }
+
+      final Entry entry = append(PUT, currentTimeMillis(), key, serializedValue, sequence.getAndIncrement());
+      index.put(key, entry);
+      entriesByAge.put(entry, key);
+      return true;
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    final byte[] value;
+    segmentsReadLock.lock();
+    try {
+      final Entry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      value = readValue(entry);
+    } finally {
+      segmentsReadLock.unlock();
+    }
+
+    return deserialize(value);
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    final Map<String, T> values = new LinkedHashMap<>(index.size());
+    for (String key : index.keySet()) {
+      try {
+        values.put(key, doRetrieve(key));
+      } catch (ObjectDoesNotExistException e) {
+        // removed concurrently
+      }
+    }
+
+    return values;
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    synchronized (appendLock) {
+      final T value = doRetrieve(key);
+      removeEntry(key);
+      return value;
+    }
+  }
+
+  private void removeEntry(String key) throws ObjectStoreException {
+    final Entry entry = index.remove(key);
+    if (entry == null) {
+      return;
+    }
+
+    entriesByAge.remove(entry);
+    segments.get(entry.segmentId).garbage.addAndGet(entry.recordLength);
+
+    final Entry tombstone = append(DELETE, currentTimeMillis(), key, new byte[0], -1);
+    // Tombstones are only needed until the segments holding the removed entry are compacted
+    segments.get(tombstone.segmentId).garbage.addAndGet(tombstone.recordLength);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    synchronized (appendLock) {
+      if (maxEntries != UNBOUNDED) {
+        int excess = index.size() - maxEntries;
+        final Iterator<String> oldestKeys = entriesByAge.values().iterator();
+        while (excess > 0 && oldestKeys.hasNext()) {
+          removeEntry(oldestKeys.next());
+          --excess;
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = currentTimeMillis();
+        final Iterator<Map.Entry<Entry, String>> oldestEntries = entriesByAge.entrySet().iterator();
+        while (oldestEntries.hasNext()) {
+          final Map.Entry<Entry, String> oldest = oldestEntries.next();
+          if ((now - oldest.getKey().timestamp) >= entryTTL) {
+            removeEntry(oldest.getValue());
+          } else {
+            break;
+          }
+        }
+      }
+    }
+
+    compact();
+  }
+
+  /**
+   * Rewrites the segments that have more than half of their contents removed, so their space is reclaimed.
+   *
+   * @throws ObjectStoreException if a segment could not be compacted
+   */
+  public void compact() throws ObjectStoreException {
+    synchronized (compactionLock) {
+      final List<Segment> candidates = new ArrayList<>();
+      for (Segment segment : segments.values()) {
+        if (segment != activeSegment && segment.garbage.get() > segment.size.get() * COMPACTION_THRESHOLD) {
+          candidates.add(segment);
+        }
+      }
+      candidates.sort((s1, s2) -> Integer.compare(s1.id, s2.id));
+
+      for (Segment segment : candidates) {
+        compact(segment, segment.id == segments.keySet().stream().min(Integer::compare).orElse(segment.id));
+      }
+    }
+  }
+
+  private void compact(Segment segment, boolean oldest) throws ObjectStoreException {
+    LOGGER.debug("Compacting segment {} of partition {}", segment.file.getName(), getPartitionName());
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))) {
+      long offset = 0;
+      final long size = segment.size.get();
+      while (offset < size) {
+        final byte type = input.readByte();
+        final long timestamp = input.readLong();
+        final byte[] key = new byte[input.readInt()];
+        final byte[] value = new byte[input.readInt()];
+        input.readFully(key);
+        input.readFully(value);
+        final long valueOffset = offset + HEADER_SIZE + key.length;
+        offset = valueOffset + value.length;
+
+        final String keyString = new String(key, UTF_8);
+        synchronized (appendLock) {
+          final Entry current = index.get(keyString);
+          if (type == PUT) {
+            if (current != null && current.segmentId == segment.id && current.valueOffset == valueOffset) {
+              final Entry moved = append(PUT, timestamp, keyString, value, current.sequence);
+              index.put(keyString, moved);
+              entriesByAge.remove(current);
+              entriesByAge.put(moved, keyString);
+            }
+          } else if (current == null && !oldest) {
+            // An older segment may still hold the removed entry, so the removal has to be kept
+            final Entry tombstone = append(DELETE, timestamp, keyString, value, -1);
+            segments.get(tombstone.segmentId).garbage.addAndGet(tombstone.recordLength);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not compact segment " + segment.file.getAbsolutePath()), e);
+    }
+
+    segmentsWriteLock.lock();
+    try {
+      segments.remove(segment.id);
+      segment.close();
+      if (!segment.file.delete()) {
+        LOGGER.warn("Could not delete compacted segment {}", segment.file.getAbsolutePath());
+      }
+    } finally {
+      segmentsWriteLock.unlock();
+    }
+  }
+
+  private Entry append(byte type, long timestamp, String key, byte[] value, long sequence) throws ObjectStoreException {
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    final int recordLength = HEADER_SIZE + keyBytes.length + value.length;
+
+    if (activeSegment.size.get() > 0 && activeSegment.size.get() + recordLength > maxSegmentSize) {
+      activeSegment = createSegment(activeSegment.id + 1);
+    }
+
+    final ByteBuffer record = allocate(recordLength);
+    record.put(type).putLong(timestamp).putInt(keyBytes.length).putInt(value.length).put(keyBytes).put(value);
+    record.flip();
+
+    final Segment segment = activeSegment;
+    final long offset = segment.size.get();
+    try {
+      long position = offset;
+      while (record.hasRemaining()) {
+        position += segment.channel.write(record, position);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not write to segment " + segment.file.getAbsolutePath()), e);
+    }
+    segment.size.addAndGet(recordLength);
+
+    return new Entry(segment.id, offset + HEADER_SIZE + keyBytes.length, value.length, recordLength, timestamp, sequence);
+  }
+
+  private byte[] readValue(Entry entry) throws ObjectStoreException {
+    final Segment segment = segments.get(entry.segmentId);
+    final ByteBuffer value = allocate(entry.valueLength);
+    try {
+      while (value.hasRemaining()) {
+        if (segment.channel.read(value, entry.valueOffset + value.position()) == -1) {
+          throw new EOFException();
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not read from segment " + segment.file.getAbsolutePath()), e);
+    }
+    return value.array();
+  }
+
+  private T deserialize(byte[] serializedValue) throws ObjectStoreException {
+    try {
+      T value = serializer.getInternalProtocol().deserialize(serializedValue);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private void loadSegments() throws ObjectStoreException {
+    final File[] segmentFiles = getPartitionDirectory().listFiles((dir, name) -> isSegmentFile(name));
+    if (segmentFiles == null || segmentFiles.length == 0) {
+      return;
+    }
+
+    final List<Segment> loadedSegments = new ArrayList<>();
+    for (File segmentFile : segmentFiles) {
+      final String name = segmentFile.getName();
+      final int id = parseInt(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_EXTENSION.length()));
+      loadedSegments.add(openSegment(id, segmentFile));
+    }
+    loadedSegments.sort((s1, s2) -> Integer.compare(s1.id, s2.id));
+
+    for (Segment segment : loadedSegments) {
+      segments.put(segment.id, segment);
+      replay(segment);
+      activeSegment = segment;
+    }
+  }
+
+  private void replay(Segment segment) throws ObjectStoreException {
+    long offset = 0;
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))) {
+      while (true) {
+        final byte type;
+        try {
+          type = input.readByte();
+        } catch (EOFException e) {
+          break;
+        }
+
+        final long timestamp = input.readLong();
+        final int keyLength = input.readInt();
+        final int valueLength = input.readInt();
+        if ((type != PUT && type != DELETE) || keyLength < 0 || valueLength < 0) {
+          throw new EOFException("Invalid record header");
+        }
+        final byte[] key = new byte[keyLength];
+        input.readFully(key);
+        if (input.skipBytes(valueLength) < valueLength) {
+          throw new EOFException();
+        }
+
+        final String keyString = new String(key, UTF_8);
+        final int recordLength = HEADER_SIZE + key.length + valueLength;
+        final Entry previous = index.remove(keyString);
+        if (previous != null) {
+          entriesByAge.remove(previous);
+          segments.get(previous.segmentId).garbage.addAndGet(previous.recordLength);
+        }
+
+        if (type == PUT) {
+          final Entry entry = new Entry(segment.id, offset + HEADER_SIZE + key.length, valueLength, recordLength, timestamp,
+                                        sequence.getAndIncrement());
+          index.put(keyString, entry);
+          entriesByAge.put(entry, keyString);
+        } else {
+          segment.garbage.addAndGet(recordLength);
+        }
+
+        offset += recordLength;
+      }
+    } catch (EOFException e) {
+      // A record was being written when the runtime stopped, discard it
+      LOGGER.warn(format("Found an incomplete record at offset %d of %s, it will be discarded", offset,
+                         segment.file.getAbsolutePath()));
+      try {
+        segment.channel.truncate(offset);
+      } catch (IOException ioe) {
+        throw new ObjectStoreException(createStaticMessage("Could not truncate " + segment.file.getAbsolutePath()), ioe);
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not read segment " + segment.file.getAbsolutePath()), e);
+    }
+
+    segment.size.set(offset);
+  }
+
+  private void migrateLegacyFiles() throws ObjectStoreException {
+    final File[] legacyFiles = getPartitionDirectory()
+        .listFiles(file -> !file.isDirectory() && file.getName().endsWith(LEGACY_OBJECT_FILE_EXTENSION));
+    if (legacyFiles == null || legacyFiles.length == 0) {
+      return;
+    }
+
+    LOGGER.info("Migrating {} entries of partition {} into segments", legacyFiles.length, getPartitionName());
+    if (activeSegment == null) {
+      activeSegment = createSegment(0);
+    }
+
+    final List<File> migrated = new ArrayList<>(legacyFiles.length);
+    for (File legacyFile : legacyFiles) {
+      final StoreValue<T> storeValue;
+      try {
+        storeValue = deserialize(legacyFile);
+      } catch (ObjectStoreException e) {
+        LOGGER.warn(format("Could not deserialize the ObjectStore file: %s. "
+            + "The file will be skipped and moved to the Garbage folder", legacyFile.getName()));
+        try {
+          moveToCorruptedFilesFolder(legacyFile);
+        } catch (IOException ioe) {
+          throw new ObjectStoreException(ioe);
+        }
+        continue;
+      }
+
+      final String key = storeValue.getKey().toString();
+      if (!index.containsKey(key)) {
+        final Entry entry = append(PUT, legacyFile.lastModified(), key,
+                                   serializer.getInternalProtocol().serialize(storeValue.getValue()),
+                                   sequence.getAndIncrement());
+        index.put(key, entry);
+        entriesByAge.put(entry, key);
+      }
+      migrated.add(legacyFile);
+    }
+
+    // Only delete the old files once all of them are in the segments
+    for (File legacyFile : migrated) {
+      if (!legacyFile.delete()) {
+        LOGGER.warn("Could not delete migrated file {}", legacyFile.getAbsolutePath());
+      }
+    }
+  }
+
+  private Segment createSegment(int id) throws ObjectStoreException {
+    final Segment segment = openSegment(id, new File(getPartitionDirectory(), format("%s%010d%s", SEGMENT_FILE_PREFIX, id,
+                                                                                      SEGMENT_FILE_EXTENSION)));
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private Segment openSegment(int id, File file) throws ObjectStoreException {
+    try {
+      return new Segment(id, file, FileChannel.open(file.toPath(), CREATE, READ, WRITE));
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not open segment " + file.getAbsolutePath()), e);
+    }
+  }
+
+  private void closeSegments() {
+    segmentsWriteLock.lock();
+    try {
+      segments.values().forEach(Segment::close);
+      segments.clear();
+      index.clear();
+      entriesByAge.clear();
+      activeSegment = null;
+    } finally {
+      segmentsWriteLock.unlock();
+    }
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final File file;
+    private final FileChannel channel;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong garbage = new AtomicLong();
+
+    private Segment(int id, File file, FileChannel channel) {
+      this.id = id;
+      this.file = file;
+      this.channel = channel;
+    }
+
+    private void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close segment " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+
+  /**
+   * The location of a value in the segments. Entries are sorted by the time they were stored.
+   */
+  private static final class Entry implements Comparable<Entry> {
+
+    private final int segmentId;
+    private final long valueOffset;
+    private final int valueLength;
+    private final int recordLength;
+    private final long timestamp;
+    private final long sequence;
+
+    private Entry(int segmentId, long valueOffset, int valueLength, int recordLength, long timestamp, long sequence) {
+      this.segmentId = segmentId;
+      this.valueOffset = valueOffset;
+      this.valueLength = valueLength;
+      this.recordLength = recordLength;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(Entry other) {
+      final int result = Long.compare(timestamp, other.timestamp);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -27,6 +27,7 @@ import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.store.StoreIfAbsentObjectStore;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
 import java.io.BufferedInputStream;
@@ -54,7 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
-    implements ExpirableObjectStore<T> {
+    implements ExpirableObjectStore<T>, StoreIfAbsentObjectStore<T> {
 
   private static final String OBJECT_FILE_EXTENSION = ".obj";
   private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
@@ -140,15 +141,33 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
 
   @Override
   protected void doStore(String key, T value) throws ObjectStoreException {
+    if (!doStoreIfAbsent(key, value)) {
+      throw new ObjectAlreadyExistsException();
+    }
+  }
+
+  @Override
+  public boolean storeIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    return doStoreIfAbsent(key, value);
+  }
+
+  /**
+   * Stores the value unless the key is already present, checking and storing while holding the partition's lock.
+   *
+   * @return whether the value was stored
+   */
+  protected boolean doStoreIfAbsent(String key, T value) throws ObjectStoreException {
     assureLoaded();
 
     synchronized (realKeyToUUIDIndex) {
       if (realKeyToUUIDIndex.containsKey(key)) {
-        throw new ObjectAlreadyExistsException();
+        return false;
       }
       File newFile = createFileToStoreObject();
       realKeyToUUIDIndex.put(key, newFile.getName());
       serialize(newFile, new StoreValue<T>(key, value));
+      return true;
     }
   }
 
@@ -261,7 +280,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     parentFile.mkdir();
   }
 
-  private void moveToCorruptedFilesFolder(File file) throws IOException {
+  protected void moveToCorruptedFilesFolder(File file) throws IOException {
     Path workingDirectory = (new File(muleContext.getConfiguration().getWorkingDirectory()))
         .toPath().normalize();
     Path absoluteFilePath = file.toPath();
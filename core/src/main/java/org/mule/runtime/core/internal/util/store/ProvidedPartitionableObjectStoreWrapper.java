@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.util.store;
 
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.store.AbstractPartitionableObjectStore;
+import org.mule.runtime.core.internal.store.PartitionableStoreIfAbsentObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
 
 import java.io.Serializable;
@@ -73,6 +74,14 @@ public class ProvidedPartitionableObjectStoreWrapper<T extends Serializable> ext
     wrapped.store(key, value, partitionName);
   }
 
+  @Override
+  protected boolean doStoreIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    if (wrapped instanceof PartitionableStoreIfAbsentObjectStore) {
+      return ((PartitionableStoreIfAbsentObjectStore<T>) wrapped).storeIfAbsent(key, value, partitionName);
+    }
+    return super.doStoreIfAbsent(key, value, partitionName);
+  }
+
   @Override
   protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
     return wrapped.retrieve(key, partitionName);
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.privileged.processor.chain;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.Thread.currentThread;
 import static java.util.stream.Collectors.toList;
@@ -20,6 +21,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.rx.Exceptions.propagateWrappingFatal;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStreaming;
@@ -32,6 +34,7 @@ import static org.mule.runtime.core.privileged.processor.MessageProcessors.proce
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.getLocalOperatorErrorHook;
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveException;
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveMessagingException;
+import static org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder.FUSE_CPU_LITE_PROCESSORS_PROPERTY;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
@@ -77,6 +80,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -89,6 +93,7 @@ import org.slf4j.MDC;
 
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
 import reactor.util.context.Context;
 
 /**
@@ -129,6 +134,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private final FlowExceptionHandler messagingExceptionHandler;
   private final ProcessingStrategy processingStrategy;
   private final List<ReactiveInterceptorAdapter> additionalInterceptors = new LinkedList<>();
+  private final boolean fuseCpuLiteProcessors = getBoolean(FUSE_CPU_LITE_PROCESSORS_PROPERTY);
 
   private boolean canProcessMessage = true;
 
@@ -221,18 +227,17 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
                                        List<ReactiveInterceptor> interceptors,
                                        BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
     Flux<CoreEvent> stream = from(publisher);
+    final List<Processor> fusableProcessors = new ArrayList<>();
     for (Processor processor : getProcessorsToExecute()) {
-      // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
-      // along with the interceptors that decorate it.
-      stream = stream.transform(applyInterceptors(interceptors, processor))
-          // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
-          .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL,
-                                                    getLocalOperatorErrorHook(processor, errorTypeLocator,
-                                                                              exceptionContextProviders)))
-          // #2 Register continue error strategy to handle errors without stopping the stream.
-          .onErrorContinue(exception -> !(exception instanceof LifecycleException),
-                           getContinueStrategyErrorHandler(processor, errorBubbler));
+      if (fuseCpuLiteProcessors && isFusable(processor)) {
+        fusableProcessors.add(processor);
+        continue;
+      }
+
+      stream = applyFused(stream, fusableProcessors, interceptors, errorBubbler);
+      stream = applyProcessor(stream, processor, interceptors, errorBubbler);
     }
+    stream = applyFused(stream, fusableProcessors, interceptors, errorBubbler);
 
     stream = stream.subscriberContext(ctx -> {
       ClassLoader tccl = currentThread().getContextClassLoader();
@@ -249,6 +254,144 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return stream;
   }
 
+  private Flux<CoreEvent> applyProcessor(Flux<CoreEvent> stream, Processor processor,
+                                         List<ReactiveInterceptor> interceptors,
+                                         BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
+    // along with the interceptors that decorate it.
+    return stream.transform(applyInterceptors(interceptors, processor))
+        // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
+        .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL,
+                                                  getLocalOperatorErrorHook(processor, errorTypeLocator,
+                                                                            exceptionContextProviders)))
+        // #2 Register continue error strategy to handle errors without stopping the stream.
+        .onErrorContinue(exception -> !(exception instanceof LifecycleException),
+                         getContinueStrategyErrorHandler(processor, errorBubbler));
+  }
+
+  /**
+   * Applies the given processors, clearing the list afterwards. If there is more than one, they are fused into a single operator.
+   */
+  private Flux<CoreEvent> applyFused(Flux<CoreEvent> stream, List<Processor> fusableProcessors,
+                                     List<ReactiveInterceptor> interceptors,
+                                     BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    if (fusableProcessors.isEmpty()) {
+      return stream;
+    } else if (fusableProcessors.size() == 1) {
+      stream = applyProcessor(stream, fusableProcessors.get(0), interceptors, errorBubbler);
+    } else {
+      final List<FusedProcessor> fused = fusableProcessors.stream()
+          .map(processor -> new FusedProcessor(processor, errorBubbler))
+          .collect(toList());
+      stream = stream.handle((event, sink) -> {
+        CoreEvent current = event;
+        for (FusedProcessor processor : fused) {
+          current = processor.process(current, sink);
+          if (current == null) {
+            return;
+          }
+        }
+        sink.next(current);
+      });
+    }
+
+    fusableProcessors.clear();
+    return stream;
+  }
+
+  /**
+   * A processor can be fused with its neighbours when invoking it synchronously is exactly what its reactive execution would do:
+   * it doesn't need to be switched to another thread, it doesn't provide its own reactive implementation and there are no
+   * interceptors that may decorate it.
+   */
+  private boolean isFusable(Processor processor) {
+    if (processor.getProcessingType() != CPU_LITE || !additionalInterceptors.isEmpty()) {
+      return false;
+    }
+
+    try {
+      return processor.getClass().getMethod("apply", Publisher.class).getDeclaringClass() == Processor.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Invokes a processor that is part of a fused run, doing the same as the interceptors from {@link #resolveInterceptors()} and
+   * the error handling from {@link #applyProcessor} do for a processor that is not fused.
+   */
+  private final class FusedProcessor {
+
+    private final Processor processor;
+    private final String processorPath;
+    private final BiFunction<Throwable, Object, Throwable> localOperatorErrorHook;
+    private final BiConsumer<Throwable, Object> continueStrategyErrorHandler;
+    private final Function<CoreEvent, CoreEvent> streamingUpdater;
+
+    private FusedProcessor(Processor processor, BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+      this.processor = processor;
+      if (processor instanceof Component && ((Component) processor).getLocation() != null) {
+        processorPath = ((Component) processor).getLocation().getLocation();
+      } else {
+        processorPath = null;
+      }
+      this.localOperatorErrorHook = getLocalOperatorErrorHook(processor, errorTypeLocator, exceptionContextProviders);
+      this.continueStrategyErrorHandler = getContinueStrategyErrorHandler(processor, errorBubbler);
+      this.streamingUpdater = updateEventForStreaming(streamingManager);
+    }
+
+    /**
+     * @return the result of the processor, or {@code null} if the event must not continue through the chain.
+     */
+    private CoreEvent process(CoreEvent event, SynchronousSink<CoreEvent> sink) {
+      final Context ctx = sink.currentContext();
+      CoreEvent currentEvent = event;
+      try {
+        if (!canProcessMessage) {
+          throw new MessagingException(event, new LifecycleException(isStopped(name), event.getMessage()));
+        }
+        if (processorPath != null) {
+          MDC.put("processorPath", processorPath);
+        }
+        try {
+          preNotification(event, processor);
+          currentMuleContext.set(muleContext);
+          setCurrentEvent((PrivilegedEvent) event);
+
+          final CoreEvent result;
+          TCCL_REACTOR_CTX_CONSUMER.accept(ctx);
+          try {
+            result = processor.process(event);
+          } finally {
+            TCCL_ORIGINAL_REACTOR_CTX_CONSUMER.accept(ctx);
+          }
+
+          if (result == null) {
+            ((BaseEventContext) event.getContext()).success();
+            return null;
+          }
+
+          currentEvent = result;
+          postNotification(processor).accept(result);
+          setCurrentEvent((PrivilegedEvent) result);
+          // If the processor returns a CursorProvider, then have the StreamingManager manage it
+          return streamingUpdater.apply(result);
+        } finally {
+          if (processorPath != null) {
+            MDC.remove("processorPath");
+          }
+        }
+      } catch (Exception e) {
+        if (e instanceof LifecycleException) {
+          sink.error(localOperatorErrorHook.apply(e, currentEvent));
+        } else {
+          continueStrategyErrorHandler.accept(e, currentEvent);
+        }
+        return null;
+      }
+    }
+  }
+
   /*
    * Used to process failed events which are dropped from the reactor stream due to error. Errors are processed by invoking the
    * current EventContext error callback.
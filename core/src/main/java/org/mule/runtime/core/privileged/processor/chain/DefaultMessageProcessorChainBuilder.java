@@ -10,6 +10,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
@@ -55,6 +56,15 @@ public class DefaultMessageProcessorChainBuilder extends AbstractMessageProcesso
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMessageProcessorChainBuilder.class);
 
+  /**
+   * When set to {@code true}, the chains fuse each run of consecutive {@code CPU_LITE} processors that don't provide their own
+   * reactive implementation into a single operator that invokes them synchronously, as long as no processor interceptors are
+   * registered. Notifications, error handling and the thread context set for each processor are the same as when not fused.
+   *
+   * @since 4.4
+   */
+  public static final String FUSE_CPU_LITE_PROCESSORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "processorChain.fuseCpuLite";
+
   /**
    * This builder supports the chaining together of message processors that intercept and also those that don't. While one can
    * iterate over message processor intercepting message processors need to be chained together. One solution is make all message
@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 import org.mule.runtime.api.time.TimeSupplier;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Default implementation of {@link MutableConfigurationStats}
@@ -20,6 +21,7 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
   private final AtomicInteger inflightOperations = new AtomicInteger(0);
   private final AtomicInteger runningSources = new AtomicInteger(0);
   private final AtomicInteger activeComponents = new AtomicInteger(0);
+  private final LongAdder cacheHits = new LongAdder();
   private final TimeSupplier timeSupplier;
   private long lastUsedMillis;
 
@@ -127,4 +129,21 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
     updateLastUsed();
     return activeComponents.decrementAndGet();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void addCacheHit() {
+    updateLastUsed();
+    cacheHits.increment();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
 }
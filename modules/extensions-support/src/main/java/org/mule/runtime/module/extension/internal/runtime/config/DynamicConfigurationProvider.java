@@ -6,10 +6,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Integer.getInteger;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -30,7 +31,6 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
-import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExpressionManager;
@@ -50,14 +50,17 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 
@@ -69,6 +72,12 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * Obtaining a cached instance doesn't take any lock, and expiring the idle instances doesn't block the events that obtain other
+ * instances. The number of cached instances may be bounded with the {@link #MAX_INSTANCES_PROPERTY} system property, in which
+ * case idle instances are evicted when it is exceeded, regardless of the {@link ExpirationPolicy}. The instances to evict are
+ * chosen with the CLOCK algorithm, an approximation of least recently used that does not need to sort or scan the instances.
+ * The evicted instances are handed over for disposal along with the expired ones.
  *
  * @since 4.0.0
  */
@@ -77,15 +86,26 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
+  /**
+   * System property to set the maximum number of instances that each dynamic configuration keeps. If not set, or set to
+   * {@code 0}, there is no maximum and instances are only removed when they expire.
+   *
+   * @since 4.4
+   */
+  public static final String MAX_INSTANCES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.maxInstances";
+
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final int maxInstances;
+
+  private final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>();
+  // The cached entries in the order they are considered for eviction, only kept when there is a maximum
+  private final Queue<CacheEntry> evictionQueue = new ConcurrentLinkedQueue<>();
+  private final Queue<ConfigurationInstance> evicted = new ConcurrentLinkedQueue<>();
+  private final LongAdder createdInstances = new LongAdder();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -111,6 +131,35 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
                                       ReflectionCache reflectionCache,
                                       ExpressionManager expressionManager,
                                       MuleContext muleContext) {
+    this(name, extension, config, resolverSet, connectionProviderResolver, expirationPolicy, reflectionCache,
+         expressionManager, getInteger(MAX_INSTANCES_PROPERTY, 0), muleContext);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param name                       this provider's name
+   * @param extension                  the model that owns the {@code configurationModel}
+   * @param config                     the model for the returned configurations
+   * @param resolverSet                the {@link ResolverSet} that provides the configuration's parameter values
+   * @param connectionProviderResolver a {@link ValueResolver} used to obtain a {@link ConnectionProvider}
+   * @param expirationPolicy           the {@link ExpirationPolicy} for the unused instances
+   * @param reflectionCache            the {@link ReflectionCache} used to improve reflection lookups performance
+   * @param expressionManager          the {@link ExpressionManager} used to create a session used to evaluate the attributes.
+   * @param maxInstances               the maximum number of instances to keep, or {@code 0} for no maximum
+   * @param muleContext                the {@link MuleContext} that will own the configuration instances
+   * @since 4.4
+   */
+  public DynamicConfigurationProvider(String name,
+                                      ExtensionModel extension,
+                                      ConfigurationModel config,
+                                      ResolverSet resolverSet,
+                                      ConnectionProviderValueResolver connectionProviderResolver,
+                                      ExpirationPolicy expirationPolicy,
+                                      ReflectionCache reflectionCache,
+                                      ExpressionManager expressionManager,
+                                      int maxInstances,
+                                      MuleContext muleContext) {
     super(name, extension, config, muleContext);
     this.configurationInstanceFactory =
         new ConfigurationInstanceFactory<>(extension, config, resolverSet, expressionManager, muleContext);
@@ -119,6 +168,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     this.resolverSet = resolverSet;
     this.connectionProviderResolver = connectionProviderResolver;
     this.expirationPolicy = expirationPolicy;
+    this.maxInstances = maxInstances;
   }
 
   /**
@@ -138,47 +188,112 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         if (connectionProviderResolver.getResolverSet().isPresent()) {
           providerResult = ((ResolverSet) connectionProviderResolver.getResolverSet().get()).resolve(resolvingContext);
         }
-        return getConfiguration(new Pair<>(result, providerResult), (CoreEvent) event);
+        return getConfiguration(new CacheKey(result, providerResult), (CoreEvent) event);
       }
     });
   }
 
-  private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
-      throws Exception {
+  private ConfigurationInstance getConfiguration(CacheKey key, CoreEvent event) throws Exception {
+    while (true) {
+      CacheEntry entry = cache.get(key);
+      if (entry != null) {
+        // Updated before using it, so it is not seen as expired by a concurrent eviction that does not see this use
+        getStats(entry.configuration).addCacheHit();
+        entry.reference();
+        if (entry.tryUse()) {
+          return entry.configuration;
+        }
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
-    try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
-    } catch (WrappingRuntimeException e) {
-      throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
+        // Evicted while it was being obtained
+        cache.remove(key, entry);
+        continue;
+      }
+
+      final CacheEntry[] created = new CacheEntry[1];
+      try {
+        entry = cache.computeIfAbsent(key, k -> created[0] = new CacheEntry(k, createConfiguration(k, event)));
+      } catch (WrappingRuntimeException e) {
+        throw e.getWrappedException();
+      }
+
+      final boolean isNew = entry == created[0];
+      if (isNew) {
+        createdInstances.increment();
+      } else {
+        getStats(entry.configuration).addCacheHit();
+        entry.reference();
+      }
+
+      if (entry.tryUse()) {
+        if (isNew && maxInstances > 0) {
+          evictionQueue.add(entry);
+          evictIfFull(entry);
+        }
+        return entry.configuration;
+      }
     }
   }
 
-  private void updateUsageStatistic(ConfigurationInstance configuration) {
-    MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
-    stats.updateLastUsed();
+  private MutableConfigurationStats getStats(ConfigurationInstance configuration) {
+    return (MutableConfigurationStats) configuration.getStatistics();
   }
 
-  private ConfigurationInstance createConfiguration(Pair<ResolverSetResult, ResolverSetResult> values, CoreEvent event) {
+  /**
+   * Evicts idle instances until there are no more than {@link #maxInstances}. Instances being used by any component are not
+   * evicted, so the maximum may be exceeded while they are.
+   * <p>
+   * The entries are taken from the head of {@link #evictionQueue}. The ones obtained from the cache since they were last
+   * considered are given a second chance and put back at its tail, so each call only looks at a few entries instead of all of
+   * them.
+   *
+   * @param created the entry just created, which is never evicted by the call that added it
+   */
+  private void evictIfFull(CacheEntry created) {
+    // Enough for every entry to lose its second chance and then be considered again
+    int budget = 2 * cache.size() + 1;
+
+    while (cache.size() > maxInstances && budget-- > 0) {
+      final CacheEntry entry = evictionQueue.poll();
+      if (entry == null) {
+        return;
+      }
+      if (entry.isEvicted()) {
+        // Already removed from the cache
+        continue;
+      }
+
+      final long uses = entry.getUses();
+      if (entry == created || entry.clearReference() || !isIdle(entry.configuration)) {
+        evictionQueue.add(entry);
+        continue;
+      }
+
+      // Not evicted if it was obtained since it was chosen
+      if (entry.tryEvict(uses)) {
+        cache.remove(entry.key, entry);
+        unRegisterConfiguration(entry.configuration);
+        evicted.add(entry.configuration);
+      } else {
+        evictionQueue.add(entry);
+      }
+    }
+  }
+
+  private ConfigurationInstance createConfiguration(CacheKey values, CoreEvent event) {
     assertNotStopping(muleContext, "Mule is shutting down... Cannot create new dynamic configurations");
 
     ConfigurationInstance configuration;
-    ResolverSetResult connectionProviderValues = values.getSecond();
+    ResolverSetResult connectionProviderValues = values.providerResult;
     try {
       if (connectionProviderValues != null) {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         values.configResult,
                                                                          event,
                                                                          connectionProviderResolver,
                                                                          connectionProviderValues);
       } else {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         values.configResult,
                                                                          event,
                                                                          ofNullable(connectionProviderResolver));
       }
@@ -226,23 +341,65 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     super.registerConfiguration(configuration);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Each instance is checked and removed on its own, so obtaining the instances that are not expired is not blocked meanwhile.
+   * The instances evicted because the maximum number of instances was exceeded are returned as well.
+   */
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    List<ConfigurationInstance> expired = new ArrayList<>();
+
+    cache.forEach((key, entry) -> {
+      final long uses = entry.getUses();
+      if (isExpired(entry.configuration) && entry.tryEvict(uses)) {
+        cache.remove(key, entry);
+        unRegisterConfiguration(entry.configuration);
+        expired.add(entry.configuration);
+      }
+    });
+    if (!expired.isEmpty()) {
+      evictionQueue.removeIf(CacheEntry::isEvicted);
+    }
+
+    // Evicted instances still in use by an event that obtained them right before being evicted are kept for the next time
+    List<ConfigurationInstance> stillActive = new ArrayList<>();
+    ConfigurationInstance configuration;
+    while ((configuration = evicted.poll()) != null) {
+      (isIdle(configuration) ? expired : stillActive).add(configuration);
     }
+    evicted.addAll(stillActive);
+
+    return expired;
+  }
+
+  /**
+   * @return the number of configuration instances currently cached by this provider
+   * @since 4.4
+   */
+  public int getCachedInstancesCount() {
+    return cache.size();
+  }
+
+  /**
+   * The ratio between this and the sum of {@link MutableConfigurationStats#getCacheHits()} of the instances is the hit rate of
+   * the cache.
+   *
+   * @return the number of configuration instances created by this provider, that is, the misses of its cache
+   * @since 4.4
+   */
+  public long getCreatedInstancesCount() {
+    return createdInstances.sum();
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
     ConfigurationStats stats = configuration.getStatistics();
-    return stats.getActiveComponents() == 0 && expirationPolicy.isExpired(stats.getLastUsedMillis(), MILLISECONDS);
+    return isIdle(configuration) && expirationPolicy.isExpired(stats.getLastUsedMillis(), MILLISECONDS);
+  }
+
+  private boolean isIdle(ConfigurationInstance configuration) {
+    return configuration.getStatistics().getActiveComponents() == 0;
   }
 
   @Override
@@ -318,6 +475,116 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * Key of the cache, with the hash of both results computed once so looking up an instance only compares the values when the
+   * hashes match.
+   */
+  private static final class CacheKey {
+
+    private final ResolverSetResult configResult;
+    private final ResolverSetResult providerResult;
+    private final int hashCode;
+
+    private CacheKey(ResolverSetResult configResult, ResolverSetResult providerResult) {
+      this.configResult = configResult;
+      this.providerResult = providerResult;
+      this.hashCode = 31 * Objects.hashCode(configResult) + Objects.hashCode(providerResult);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+
+      CacheKey other = (CacheKey) obj;
+      return hashCode == other.hashCode
+          && Objects.equals(configResult, other.configResult)
+          && Objects.equals(providerResult, other.providerResult);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * A cached instance, along with the state that keeps it from being evicted while it is being obtained by an event.
+   */
+  private static final class CacheEntry {
+
+    private static final long EVICTED = -1;
+
+    private final CacheKey key;
+    private final ConfigurationInstance configuration;
+    // The number of times it was obtained, or EVICTED
+    private final AtomicLong uses = new AtomicLong();
+    // Whether it was obtained from the cache since it was last considered for eviction
+    private volatile boolean referenced;
+
+    private CacheEntry(CacheKey key, ConfigurationInstance configuration) {
+      this.key = key;
+      this.configuration = configuration;
+    }
+
+    private void reference() {
+      // Only written when it changes, to not contend on it when the instance is obtained often
+      if (!referenced) {
+        referenced = true;
+      }
+    }
+
+    /**
+     * @return whether it was obtained from the cache since the last call
+     */
+    private boolean clearReference() {
+      if (referenced) {
+        referenced = false;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean isEvicted() {
+      return uses.get() == EVICTED;
+    }
+
+    /**
+     * @return whether the instance may be used, that is, it was not evicted
+     */
+    private boolean tryUse() {
+      long current;
+      do {
+        current = uses.get();
+        if (current == EVICTED) {
+          return false;
+        }
+      } while (!uses.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    /**
+     * @return the value to pass to {@link #tryEvict(long)}, to be obtained before checking whether it has to be evicted
+     */
+    private long getUses() {
+      return uses.get();
+    }
+
+    /**
+     * Evicts the instance, unless it was obtained since {@code observedUses} was obtained.
+     *
+     * @param observedUses the value of {@link #getUses()} before checking whether it has to be evicted
+     * @return whether the instance was evicted by this call
+     */
+    private boolean tryEvict(long observedUses) {
+      return observedUses != EVICTED && uses.compareAndSet(observedUses, EVICTED);
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no longer throw
    * checked exception as it is used inside {@link Map#computeIfAbsent}.
@@ -79,4 +79,18 @@ public interface MutableConfigurationStats extends ConfigurationStats {
    * @since 4.2.3 4.3.1 4.4.0
    */
   int discountActiveComponent();
+
+  /**
+   * Records that the configuration was reused from the cache of a dynamic configuration provider instead of creating a new
+   * instance. It also updates the value of {@link #getLastUsedMillis()}
+   *
+   * @since 4.4
+   */
+  void addCacheHit();
+
+  /**
+   * @return the number of times the configuration was reused from the cache of a dynamic configuration provider
+   * @since 4.4
+   */
+  long getCacheHits();
 }
@@ -7,7 +7,11 @@
 package org.mule.runtime.module.extension.internal.runtime.function;
 
 import static java.lang.String.format;
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isStatic;
 import static java.util.Optional.ofNullable;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.fromObject;
 import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -17,10 +21,10 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils.getType;
 import static org.slf4j.LoggerFactory.getLogger;
-import static org.springframework.util.ReflectionUtils.invokeMethod;
 
 import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.meta.model.function.FunctionModel;
@@ -33,9 +37,11 @@ import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.module.extension.internal.loader.java.property.ImplementingParameterModelProperty;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -46,6 +52,10 @@ import org.slf4j.Logger;
 
 /**
  * Executes a task associated to a {@link ExecutionContext} by invoking a given {@link Method}
+ * <p>
+ * The method is invoked through a {@link MethodHandle} bound to the component instance, which is adapted once to take the
+ * arguments as an array. This avoids the access and argument checks that {@link Method#invoke(Object, Object...)} performs on
+ * every call.
  *
  * @since 4.0
  */
@@ -53,7 +63,7 @@ public class ReflectiveExpressionFunctionExecutor implements Lifecycle, Function
 
   private static final Logger LOGGER = getLogger(ReflectiveExpressionFunctionExecutor.class);
 
-  private final Method method;
+  private final MethodHandle invoker;
   private final FunctionModel model;
   private final DataType returnType;
   private final Object componentInstance;
@@ -71,12 +81,12 @@ public class ReflectiveExpressionFunctionExecutor implements Lifecycle, Function
                                               List<FunctionParameter> functionParameters, Method method,
                                               Object componentInstance) {
     this.model = model;
-    this.method = method;
     this.returnType = returnType;
     this.componentInstance = componentInstance;
     this.functionParameters = functionParameters;
     this.extensionClassLoader = method.getDeclaringClass().getClassLoader();
     this.parametersResolver = getTypedValueArgumentsResolver(method);
+    this.invoker = getInvoker(method, componentInstance);
   }
 
   @Override
@@ -85,7 +95,11 @@ public class ReflectiveExpressionFunctionExecutor implements Lifecycle, Function
     ClassLoader currentClassLoader = thread.getContextClassLoader();
     setContextClassLoader(thread, currentClassLoader, extensionClassLoader);
     try {
-      return invokeMethod(method, componentInstance, parametersResolver.apply(parameters));
+      return (Object) invoker.invokeExact(parametersResolver.apply(parameters));
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
     } finally {
       setContextClassLoader(thread, extensionClassLoader, currentClassLoader);
     }
@@ -121,6 +135,19 @@ public class ReflectiveExpressionFunctionExecutor implements Lifecycle, Function
     disposeIfNeeded(componentInstance, LOGGER);
   }
 
+  private static MethodHandle getInvoker(Method method, Object componentInstance) {
+    try {
+      MethodHandle handle = publicLookup().unreflect(method);
+      if (!isStatic(method.getModifiers())) {
+        handle = handle.bindTo(componentInstance);
+      }
+      return handle.asSpreader(Object[].class, method.getParameterCount())
+          .asType(methodType(Object.class, Object[].class));
+    } catch (IllegalAccessException e) {
+      throw new MuleRuntimeException(createStaticMessage(format("Could not access method '%s' of function", method)), e);
+    }
+  }
+
   private Function<Object[], Object[]> getTypedValueArgumentsResolver(Method method) {
     Parameter[] parameters = method.getParameters();
     final Function<Object, Object>[] resolvers = new Function[parameters.length];
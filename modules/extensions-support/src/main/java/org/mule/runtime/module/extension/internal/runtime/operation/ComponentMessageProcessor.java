@@ -1027,6 +1027,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
       outerFluxCompletionScheduler = muleContext.getSchedulerService().ioScheduler(muleContext.getSchedulerBaseConfig()
           .withMaxConcurrentTasks(1).withName(toString() + ".outer.flux."));
     }
+    startIfNeeded(resultTransformer);
 
     startInnerFlux();
   }
@@ -1047,6 +1048,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
       outerFluxCompletionScheduler.stop();
       outerFluxCompletionScheduler = null;
     }
+    stopIfNeeded(resultTransformer);
   }
 
   private void outerPublisherSubscribedTo() {
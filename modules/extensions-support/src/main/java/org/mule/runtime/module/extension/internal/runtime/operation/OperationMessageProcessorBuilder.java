@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.lang.Integer.getInteger;
+import static org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer.PREFETCH_PAGES_PROPERTY;
 import static org.mule.runtime.module.extension.internal.util.MuleExtensionUtils.supportsOAuth;
 
 import org.mule.runtime.api.artifact.Registry;
@@ -14,19 +16,12 @@ import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.extension.ExtensionManager;
-import org.mule.runtime.core.api.streaming.iterator.ConsumerStreamingIterator;
-import org.mule.runtime.core.api.streaming.iterator.ListConsumer;
-import org.mule.runtime.core.api.streaming.iterator.Producer;
 import org.mule.runtime.core.internal.exception.EnrichedErrorMapping;
 import org.mule.runtime.core.internal.policy.PolicyManager;
-import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
-import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
-import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 import org.mule.runtime.module.extension.internal.runtime.operation.DefaultExecutionMediator.ResultTransformer;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
-import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import java.util.List;
@@ -39,6 +34,8 @@ import java.util.List;
 public final class OperationMessageProcessorBuilder
     extends ComponentMessageProcessorBuilder<OperationModel, OperationMessageProcessor> {
 
+  private static final int PREFETCH_PAGES = getInteger(PREFETCH_PAGES_PROPERTY, 0);
+
   private final List<EnrichedErrorMapping> errorMappings;
 
   public OperationMessageProcessorBuilder(ExtensionModel extension,
@@ -61,7 +58,8 @@ public final class OperationMessageProcessorBuilder
 
     final boolean supportsOAuth = supportsOAuth(extensionModel);
     if (operationModel.getModelProperty(PagedOperationModelProperty.class).isPresent()) {
-      resultTransformer = transformPagingDelegate(extensionConnectionSupplier, supportsOAuth);
+      resultTransformer = new PagingResultTransformer(operationModel.getName(), extensionConnectionSupplier, supportsOAuth,
+                                                      PREFETCH_PAGES, muleContext);
     }
 
     if (supportsOAuth) {
@@ -77,21 +75,4 @@ public final class OperationMessageProcessorBuilder
                                            terminationTimeout);
     }
   }
-
-  private ResultTransformer transformPagingDelegate(ExtensionConnectionSupplier connectionSupplier, boolean supportsOAuth) {
-    return (operationContext, value) -> {
-      if (value == null) {
-        throw new IllegalStateException("Obtained paging delegate cannot be null");
-      }
-      ConfigurationInstance config = (ConfigurationInstance) operationContext.getConfiguration().get();
-      Producer<?> producer = new PagingProviderProducer((PagingProvider) value,
-                                                        config,
-                                                        operationContext,
-                                                        connectionSupplier,
-                                                        supportsOAuth);
-      ListConsumer<?> consumer = new ListConsumer(producer);
-      consumer.loadNextPage();
-      return new ConsumerStreamingIterator<>(consumer);
-    };
-  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.streaming.iterator.ConsumerStreamingIterator;
+import org.mule.runtime.core.api.streaming.iterator.ListConsumer;
+import org.mule.runtime.core.api.streaming.iterator.Producer;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
+import org.mule.runtime.module.extension.internal.runtime.operation.DefaultExecutionMediator.ResultTransformer;
+import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer;
+
+/**
+ * {@link ResultTransformer} that turns the {@link PagingProvider} returned by a paged operation into a
+ * {@link ConsumerStreamingIterator} of its pages.
+ * <p>
+ * When pages are prefetched, the {@link Scheduler} they are obtained in is shared by all the executions of the operation. It is
+ * created when the owning {@link ComponentMessageProcessor} is started and stopped along with it.
+ *
+ * @since 4.4
+ */
+final class PagingResultTransformer implements ResultTransformer, Startable, Stoppable {
+
+  private final String operationName;
+  private final ExtensionConnectionSupplier connectionSupplier;
+  private final boolean supportsOAuth;
+  private final int prefetchPages;
+  private final MuleContext muleContext;
+
+  private volatile Scheduler prefetchScheduler;
+
+  /**
+   * @param operationName      the name of the paged operation
+   * @param connectionSupplier the supplier of the connections to obtain the pages with
+   * @param supportsOAuth      whether the extension supports OAuth
+   * @param prefetchPages      the maximum number of pages to obtain ahead of the one being consumed, or {@code 0} to not
+   *                           prefetch any page
+   * @param muleContext        the context to obtain the prefetch {@link Scheduler} from
+   */
+  PagingResultTransformer(String operationName, ExtensionConnectionSupplier connectionSupplier, boolean supportsOAuth,
+                          int prefetchPages, MuleContext muleContext) {
+    this.operationName = operationName;
+    this.connectionSupplier = connectionSupplier;
+    this.supportsOAuth = supportsOAuth;
+    this.prefetchPages = prefetchPages;
+    this.muleContext = muleContext;
+  }
+
+  @Override
+  public Object applyChecked(ExecutionContextAdapter operationContext, Object value) throws Throwable {
+    if (value == null) {
+      throw new IllegalStateException("Obtained paging delegate cannot be null");
+    }
+    ConfigurationInstance config = (ConfigurationInstance) operationContext.getConfiguration().get();
+    // The connection of a transaction is bound to the thread executing it, so its pages can't be obtained in another one
+    Scheduler scheduler = isTransactionActive() ? null : prefetchScheduler;
+    Producer<?> producer = new PagingProviderProducer((PagingProvider) value,
+                                                      config,
+                                                      operationContext,
+                                                      connectionSupplier,
+                                                      supportsOAuth,
+                                                      prefetchPages,
+                                                      scheduler);
+    ListConsumer<?> consumer = new ListConsumer(producer);
+    consumer.loadNextPage();
+    return new ConsumerStreamingIterator<>(consumer);
+  }
+
+  @Override
+  public void start() {
+    if (prefetchPages > 0 && prefetchScheduler == null) {
+      prefetchScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName(operationName + ".pagePrefetch"));
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (prefetchScheduler != null) {
+      prefetchScheduler.stop();
+      prefetchScheduler = null;
+    }
+  }
+}
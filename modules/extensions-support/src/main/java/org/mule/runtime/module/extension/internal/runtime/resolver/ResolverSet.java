@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
+import static java.util.Arrays.copyOf;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
@@ -17,6 +18,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBuilder;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -31,6 +33,9 @@ import com.google.common.collect.ImmutableMap;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p>
+ * The keys are laid out in fixed slots the first time the set is resolved (or when it is initialised). The values of the
+ * static resolvers are obtained at that point, so resolving the set only evaluates the dynamic ones.
+ * <p>
  * Instances of this class are to be considered thread safe and reusable
  *
  * @since 3.7.0
@@ -40,6 +45,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private final Map<String, ValueResolver<?>> resolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
   private final MuleContext muleContext;
+  private volatile Slots slots;
 
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -65,6 +71,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
     }
+    slots = null;
     return this;
   }
 
@@ -108,13 +115,14 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
    */
   @Override
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
-    ResolverSetResult.Builder builder = getResolverSetBuilder();
+    Slots slots = getSlots();
+    Object[] values = slots.staticValues.clone();
 
-    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
-      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+    for (int slot : slots.dynamicSlots) {
+      values[slot] = resolveRecursively(slots.resolvers[slot], context);
     }
 
-    return builder.build();
+    return new ResolverSetResult(new SlotMap(slots.keys, slots.slotsByKey, values));
   }
 
   /**
@@ -140,9 +148,69 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(resolvers.values(), muleContext);
+    try {
+      slots = new Slots(resolvers);
+    } catch (MuleException e) {
+      throw new InitialisationException(e, this);
+    }
+  }
+
+  private Slots getSlots() throws MuleException {
+    Slots slots = this.slots;
+    if (slots == null) {
+      // Not initialised, or resolvers were added afterwards. Computing it concurrently is harmless, since it's always the same.
+      slots = new Slots(resolvers);
+      this.slots = slots;
+    }
+    return slots;
   }
 
-  ResolverSetResult.Builder getResolverSetBuilder() {
-    return ResolverSetResult.newBuilder();
+  /**
+   * Fixed layout of the keys of the set, with the values of the static resolvers already obtained.
+   */
+  private static final class Slots {
+
+    private final String[] keys;
+    private final Map<String, Integer> slotsByKey;
+    private final ValueResolver<?>[] resolvers;
+    private final Object[] staticValues;
+    private final int[] dynamicSlots;
+
+    private Slots(Map<String, ValueResolver<?>> resolversByKey) throws MuleException {
+      final int size = resolversByKey.size();
+      keys = new String[size];
+      slotsByKey = new HashMap<>(size * 4 / 3 + 1);
+      resolvers = new ValueResolver[size];
+      staticValues = new Object[size];
+
+      int[] dynamicSlots = new int[size];
+      int dynamicCount = 0;
+      int slot = 0;
+      for (Map.Entry<String, ValueResolver<?>> entry : resolversByKey.entrySet()) {
+        final ValueResolver<?> resolver = entry.getValue();
+        keys[slot] = entry.getKey();
+        slotsByKey.put(entry.getKey(), slot);
+        resolvers[slot] = resolver;
+
+        final Object staticValue = isStatic(resolver) ? resolver.resolve(null) : null;
+        if (isStatic(resolver) && !(staticValue instanceof ValueResolver)) {
+          staticValues[slot] = staticValue;
+        } else {
+          dynamicSlots[dynamicCount++] = slot;
+        }
+        ++slot;
+      }
+
+      this.dynamicSlots = copyOf(dynamicSlots, dynamicCount);
+    }
+
+    /**
+     * Only these resolvers are known to always return the same instance regardless of the context, so their value can be
+     * shared by every result. Other non dynamic resolvers may still create a new value each time, such as the ones for
+     * objects built from their parameters.
+     */
+    private static boolean isStatic(ValueResolver<?> resolver) {
+      return resolver instanceof StaticValueResolver || resolver instanceof StaticLiteralValueResolver;
+    }
   }
 }
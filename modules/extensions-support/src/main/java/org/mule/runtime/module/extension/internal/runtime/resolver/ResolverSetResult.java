@@ -21,7 +21,7 @@ import com.google.common.base.Objects;
  * This class represents the outcome of the evaluation of a {@link ResolverSet}. This class maps a set of {@link ParameterModel}
  * to a set of result {@link Object}s.
  * <p>
- * Instances of this class can only be created through a {@link Builder} obtained via {@link #newBuilder()}
+ * Instances of this class are created by a {@link ResolverSet} or through a {@link Builder} obtained via {@link #newBuilder()}
  *
  * @since 3.7.0
  */
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Unmodifiable {@link Map} view over an array of values, one per slot of a {@link ResolverSet}.
+ * <p>
+ * The keys and their slots are shared by all the results of the same {@link ResolverSet}, so each result only holds its values.
+ * Entries are iterated in the order the resolvers were added to the {@link ResolverSet}.
+ *
+ * @since 4.4
+ */
+final class SlotMap extends AbstractMap<String, Object> {
+
+  private final String[] keys;
+  private final Map<String, Integer> slotsByKey;
+  private final Object[] values;
+
+  SlotMap(String[] keys, Map<String, Integer> slotsByKey, Object[] values) {
+    this.keys = keys;
+    this.slotsByKey = slotsByKey;
+    this.values = values;
+  }
+
+  @Override
+  public Object get(Object key) {
+    Integer slot = slotsByKey.get(key);
+    return slot != null ? values[slot] : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return slotsByKey.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+
+          private int slot = 0;
+
+          @Override
+          public boolean hasNext() {
+            return slot < keys.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[slot], values[slot]);
+            ++slot;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return keys.length;
+      }
+    };
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.source.poll;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Optional.ofNullable;
@@ -14,6 +15,7 @@ import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedTransient;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.internal.util.ConcurrencyUtils.safeUnlock;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_HIGH;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_NEW_HIGH;
@@ -58,7 +60,9 @@ import org.mule.sdk.api.runtime.source.SourceCallbackContext;
 
 import java.io.Serializable;
 import java.util.Comparator;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -81,6 +85,18 @@ import org.slf4j.Logger;
  */
 public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements Restartable {
 
+  /**
+   * System property to set the number of accepted items whose watermark bookkeeping is kept in memory before writing it to the
+   * object stores at once. It is also written at the end of each poll, always before updating the watermark.
+   * <p>
+   * Batching reduces the object store operations of each poll, but if the runtime crashes during a poll, up to this number of
+   * the items already dispatched may be processed again after restarting. Defaults to {@code 1}, that is, writing it for each
+   * item.
+   *
+   * @since 4.4
+   */
+  public static final String WATERMARK_BATCH_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "polling.watermarkBatchSize";
+
   private static final Logger LOGGER = getLogger(PollingSourceWrapper.class);
   private static final String ITEM_RELEASER_CTX_VAR = "itemReleaser";
   private static final String UPDATE_PROCESSED_LOCK = "OSClearing";
@@ -92,6 +108,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   private final SchedulingStrategy scheduler;
   private final int maxItemsPerPoll;
   private final SystemExceptionHandler systemExceptionHandler;
+  private final int watermarkBatchSize;
 
   @Inject
   private LockFactory lockFactory;
@@ -117,11 +134,21 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
   public PollingSourceWrapper(PollingSource<T, A> delegate, SchedulingStrategy scheduler, int maxItemsPerPoll,
                               SystemExceptionHandler systemExceptionHandler) {
+    this(delegate, scheduler, maxItemsPerPoll, systemExceptionHandler, getInteger(WATERMARK_BATCH_SIZE_PROPERTY, 1));
+  }
+
+  /**
+   * @param watermarkBatchSize the number of accepted items whose watermark bookkeeping is written to the object stores at once
+   * @since 4.4
+   */
+  public PollingSourceWrapper(PollingSource<T, A> delegate, SchedulingStrategy scheduler, int maxItemsPerPoll,
+                              SystemExceptionHandler systemExceptionHandler, int watermarkBatchSize) {
     super(delegate);
     this.delegate = delegate;
     this.scheduler = scheduler;
     this.maxItemsPerPoll = maxItemsPerPoll;
     this.systemExceptionHandler = systemExceptionHandler;
+    this.watermarkBatchSize = watermarkBatchSize;
   }
 
   @Override
@@ -199,18 +226,21 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     withWatermarkLock(() -> {
       DefaultPollContext pollContext = new DefaultPollContext(sourceCallback, getCurrentWatermark(), getUpdatedWatermark());
 
+      boolean polled = false;
       try {
         delegate.poll(pollContext);
+        polled = true;
       } catch (RuntimeException e) {
         LOGGER.error(format("Found exception trying to process item on source at flow '%s'. %s",
                             flowName, e.getMessage()),
                      e);
         systemExceptionHandler.handleException(e);
-        return;
       }
 
       try {
-        if (!isRequestedToStop()) {
+        // The items dispatched before a failure are still tracked, and the watermark is only updated once they are
+        pollContext.flushWatermarkBookkeeping();
+        if (polled && !isRequestedToStop()) {
           pollContext.getUpdatedWatermark()
               .ifPresent(w -> updateWatermark(w, pollContext.getWatermarkComparator(),
                                               pollContext.getMinimumRejectedByLimitPassingWatermark().orElse(null)));
@@ -263,6 +293,14 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
     private int currentPollItems;
 
+    // Watermark bookkeeping of the accepted items not written to the object stores yet
+    private final Map<String, Serializable> pendingRecentlyProcessedIds = new LinkedHashMap<>();
+    private final Map<String, Serializable> pendingIdsOnUpdatedWatermark = new LinkedHashMap<>();
+    private boolean updatedWatermarkRenewed = false;
+    private int pendingItems = 0;
+    // Only read when batching, so each item doesn't have to look up the object store
+    private Map<String, Serializable> recentlyProcessedIdsSnapshot;
+
     private DefaultPollContext(SourceCallback<T, A> sourceCallback, Serializable currentWatermark,
                                Serializable updatedWatermark) {
       this.sourceCallback = sourceCallback;
@@ -342,50 +380,107 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
         case REJECT:
           break;
       }
+
+      if (++pendingItems >= watermarkBatchSize) {
+        flushWatermarkBookkeeping();
+      }
     }
 
     private void renewUpdatedWatermark(Serializable itemWatermark) {
+      pendingIdsOnUpdatedWatermark.clear();
+      updatedWatermarkRenewed = true;
+      this.updatedWatermark = itemWatermark;
+    }
+
+    private void addToUpdatedWatermark(String itemId, Serializable itemWatermark) {
+      if (itemId != null) {
+        pendingIdsOnUpdatedWatermark.put(itemId, itemWatermark);
+      }
+    }
+
+    private void addToRecentlyProcessedIds(String itemId, Serializable itemWatermark) {
+      if (itemId != null) {
+        pendingRecentlyProcessedIds.put(itemId, itemWatermark);
+      }
+    }
+
+    /**
+     * Writes the pending watermark bookkeeping to the object stores, in the same order it would be written for each item.
+     * <p>
+     * Each entry stops being pending once it is written, so flushing again after a failure only writes the entries that were not
+     * written yet.
+     */
+    private void flushWatermarkBookkeeping() {
       try {
-        idsOnUpdatedWatermark.clear();
-        this.updatedWatermark = itemWatermark;
-        if (watermarkObjectStore.contains(UPDATED_WATERMARK_ITEM_OS_KEY)) {
-          watermarkObjectStore.remove(UPDATED_WATERMARK_ITEM_OS_KEY);
+        if (updatedWatermarkRenewed) {
+          idsOnUpdatedWatermark.clear();
+          if (watermarkObjectStore.contains(UPDATED_WATERMARK_ITEM_OS_KEY)) {
+            watermarkObjectStore.remove(UPDATED_WATERMARK_ITEM_OS_KEY);
+          }
+          watermarkObjectStore.store(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
+          updatedWatermarkRenewed = false;
         }
-        watermarkObjectStore.store(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
       } catch (ObjectStoreException e) {
         throw new MuleRuntimeException(
                                        createStaticMessage("An error occurred while trying to update the updatedWatermark in the the object store"),
                                        e);
       }
-    }
 
-    private void addToUpdatedWatermark(String itemId, Serializable itemWatermark) {
-      if (itemId != null) {
+      for (Iterator<Map.Entry<String, Serializable>> it = pendingIdsOnUpdatedWatermark.entrySet().iterator(); it.hasNext();) {
+        Map.Entry<String, Serializable> entry = it.next();
         try {
-          idsOnUpdatedWatermark.store(itemId, itemWatermark);
+          idsOnUpdatedWatermark.store(entry.getKey(), entry.getValue());
+          it.remove();
         } catch (ObjectStoreException e) {
           throw new MuleRuntimeException(
                                          createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                             itemId),
+                                                             entry.getKey()),
                                          e);
         }
       }
-    }
 
-    private void addToRecentlyProcessedIds(String itemId, Serializable itemWatermark) {
-      try {
-        if (itemId != null) {
-          if (recentlyProcessedIds.contains(itemId)) {
+      for (Iterator<Map.Entry<String, Serializable>> it = pendingRecentlyProcessedIds.entrySet().iterator(); it.hasNext();) {
+        Map.Entry<String, Serializable> entry = it.next();
+        String itemId = entry.getKey();
+        try {
+          if (recentlyProcessedIdsSnapshot != null
+              ? recentlyProcessedIdsSnapshot.containsKey(itemId)
+              : recentlyProcessedIds.contains(itemId)) {
             recentlyProcessedIds.remove(itemId);
           }
-          recentlyProcessedIds.store(itemId, itemWatermark);
+          recentlyProcessedIds.store(itemId, entry.getValue());
+          if (recentlyProcessedIdsSnapshot != null) {
+            recentlyProcessedIdsSnapshot.put(itemId, entry.getValue());
+          }
+          it.remove();
+        } catch (ObjectStoreException e) {
+          throw new MuleRuntimeException(
+                                         createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
+                                                             itemId),
+                                         e);
         }
-      } catch (ObjectStoreException e) {
-        throw new MuleRuntimeException(
-                                       createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                           itemId),
-                                       e);
       }
+
+      pendingItems = 0;
+    }
+
+    /**
+     * @return the watermark of the item with the given id when it was recently processed, or {@code null} if it was not
+     */
+    private Serializable getRecentlyProcessedWatermark(String itemId) throws ObjectStoreException {
+      Serializable itemWatermark = pendingRecentlyProcessedIds.get(itemId);
+      if (itemWatermark != null) {
+        return itemWatermark;
+      }
+
+      if (watermarkBatchSize > 1) {
+        if (recentlyProcessedIdsSnapshot == null) {
+          recentlyProcessedIdsSnapshot = new HashMap<>(recentlyProcessedIds.retrieveAll());
+        }
+        return recentlyProcessedIdsSnapshot.get(itemId);
+      }
+
+      return recentlyProcessedIds.contains(itemId) ? recentlyProcessedIds.retrieve(itemId) : null;
     }
 
     @Override
@@ -436,11 +531,10 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
         compare = currentWatermark != null ? compareWatermarks(currentWatermark, itemWatermark, watermarkComparator) : -1;
         if (compare < 0) {
           try {
-            if (itemId != null && recentlyProcessedIds.contains(itemId)) {
-              Serializable previousItemWatermark = recentlyProcessedIds.retrieve(itemId);
-              if (compareWatermarks(itemWatermark, previousItemWatermark, watermarkComparator) <= 0) {
-                status = REJECT;
-              }
+            Serializable previousItemWatermark = itemId != null ? getRecentlyProcessedWatermark(itemId) : null;
+            if (previousItemWatermark != null
+                && compareWatermarks(itemWatermark, previousItemWatermark, watermarkComparator) <= 0) {
+              status = REJECT;
             }
             if (status != REJECT) {
               int updatedWatermarkCompare =
@@ -460,7 +554,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
           }
         } else if (compare == 0 && pollItem.getItemId().isPresent()) {
           try {
-            status = recentlyProcessedIds.contains(itemId) ? REJECT : PASSED;
+            status = getRecentlyProcessedWatermark(itemId) != null ? REJECT : PASSED;
           } catch (ObjectStoreException e) {
             throw new MuleRuntimeException(
                                            createStaticMessage("An error occurred while checking the existence for Item with ID [%s]",
@@ -619,11 +713,11 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     Lock osClearingLock = lockFactory.createLock(UPDATE_PROCESSED_LOCK);
     try {
       osClearingLock.lock();
-      List<String> strings = idsOnUpdatedWatermark.allKeys();
+      Map<String, Serializable> ids = idsOnUpdatedWatermark.retrieveAll();
       recentlyProcessedIds.clear();
-      strings.forEach(key -> {
+      ids.forEach((key, value) -> {
         try {
-          recentlyProcessedIds.store(key, idsOnUpdatedWatermark.retrieve(key));
+          recentlyProcessedIds.store(key, value);
         } catch (ObjectStoreException e) {
           throw new MuleRuntimeException(createStaticMessage("An error occurred while updating the watermark Ids. Failed to update key '%s' in Watermark-IDs ObjectStore: %s",
                                                              key, e.getMessage()),
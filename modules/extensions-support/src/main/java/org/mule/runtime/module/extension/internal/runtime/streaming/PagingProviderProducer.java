@@ -10,6 +10,7 @@ package org.mule.runtime.module.extension.internal.runtime.streaming;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractConnectionException;
 import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.COMPONENT_CONFIG_NAME;
@@ -26,6 +27,7 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
@@ -37,9 +39,12 @@ import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContext
 import org.mule.runtime.module.extension.internal.runtime.config.MutableConfigurationStats;
 import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
@@ -47,6 +52,10 @@ import org.slf4j.Logger;
 
 /**
  * Implementation of {@link Producer} that uses an instance of {@link PagingProvider} to get its results.
+ * <p>
+ * Optionally, the pages after the first one may be prefetched in a {@link Scheduler} while the current one is consumed, up to a
+ * given number of pages ahead. The pages are still obtained one at a time and in order, so the {@link PagingProvider} and a
+ * sticky connection are never used concurrently.
  *
  * @param <T> the type of the elements returned by the {@link PagingProvider}.
  * @since 3.5.0
@@ -59,6 +68,14 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   public static final String COULD_NOT_CREATE_A_CONNECTION_SUPPLIER =
       "Could not obtain a connection supplier for the configuration";
   public static final String COULD_NOT_EXECUTE = "Could not execute operation with connection";
+
+  /**
+   * System property to set the number of pages to prefetch ahead of the one being consumed. Prefetching is disabled by default.
+   *
+   * @since 4.4
+   */
+  public static final String PREFETCH_PAGES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "paging.prefetchPages";
+
   private PagingProvider<Object, T> delegate;
   private final ConfigurationInstance config;
   private final ExtensionConnectionSupplier extensionConnectionSupplier;
@@ -70,6 +87,16 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   private AtomicBoolean alreadyClosed = new AtomicBoolean(false);
   private final MutableConfigurationStats mutableStats;
 
+  private final int prefetchPages;
+  private final Scheduler prefetchScheduler;
+  // Guards the access to the delegate, so the prefetched pages are not obtained concurrently with its size or with closing it
+  private final Object delegateLock = new Object();
+  private final Deque<CompletableFuture<List<T>>> prefetchedPages = new ArrayDeque<>();
+  private CompletableFuture<List<T>> lastPrefetchedPage = completedFuture(null);
+  private boolean prefetchRejected = false;
+  private volatile boolean consumed = false;
+  private volatile boolean closing = false;
+
   public PagingProviderProducer(PagingProvider<Object, T> delegate,
                                 ConfigurationInstance config,
                                 ExecutionContextAdapter executionContext,
@@ -82,6 +109,25 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
                                 ExecutionContextAdapter executionContext,
                                 ExtensionConnectionSupplier extensionConnectionSupplier,
                                 boolean supportsOAuth) {
+    this(delegate, config, executionContext, extensionConnectionSupplier, supportsOAuth, 0, null);
+  }
+
+  /**
+   * Creates a producer that prefetches the pages after the first one.
+   *
+   * @param prefetchPages     the maximum number of pages to obtain ahead of the one being consumed, or {@code 0} to not prefetch
+   *                          any page
+   * @param prefetchScheduler the scheduler to obtain the prefetched pages in. It is owned by the caller, and may be shared by
+   *                          many producers.
+   * @since 4.4
+   */
+  public PagingProviderProducer(PagingProvider<Object, T> delegate,
+                                ConfigurationInstance config,
+                                ExecutionContextAdapter executionContext,
+                                ExtensionConnectionSupplier extensionConnectionSupplier,
+                                boolean supportsOAuth,
+                                int prefetchPages,
+                                Scheduler prefetchScheduler) {
     this.delegate = new PagingProviderWrapper(delegate, executionContext.getExtensionModel());
     this.config = config;
     this.executionContext = executionContext;
@@ -90,16 +136,37 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     retryPolicy = (RetryPolicyTemplate) executionContext.getRetryPolicyTemplate().orElseGet(NoRetryPolicyTemplate::new);
     connectionSupplierFactory = createConnectionSupplierFactory();
     mutableStats = getMutableConfigurationStats(executionContext);
+    this.prefetchScheduler = prefetchScheduler;
+    this.prefetchPages = prefetchScheduler != null ? prefetchPages : 0;
   }
 
   /**
-   * Asks the delegate for the next page
+   * Asks the delegate for the next page, or takes it from the prefetched ones if prefetching is enabled
    */
   @Override
   public List<T> produce() {
-    List<T> page = performWithConnection(delegate::getPage);
-    isFirstPage = false;
-    return page;
+    if (isFirstPage || prefetchPages <= 0) {
+      List<T> page = getPage();
+      isFirstPage = false;
+      prefetch();
+      return page;
+    }
+
+    // The prefetched pages are only missing once the delegate has no more pages
+    CompletableFuture<List<T>> page = prefetchedPages.poll();
+    if (page == null) {
+      return getPage();
+    }
+
+    prefetch();
+    try {
+      return await(page);
+    } catch (RejectedExecutionException e) {
+      // The scheduler was stopped along with the owning component. The page was not obtained, nor were the ones after it.
+      prefetchRejected = true;
+      cancelPrefetchedPages();
+      return getPage();
+    }
   }
 
   /**
@@ -107,7 +174,34 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
    */
   @Override
   public int getSize() {
-    return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    synchronized (delegateLock) {
+      return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    }
+  }
+
+  private List<T> getPage() {
+    synchronized (delegateLock) {
+      if (closing || consumed) {
+        return null;
+      }
+
+      List<T> page = performWithConnection(delegate::getPage);
+      if (page == null || page.isEmpty()) {
+        consumed = true;
+      }
+      return page;
+    }
+  }
+
+  /**
+   * Requests the pages up to {@link #prefetchPages} ahead. Each one is requested after the previous one is obtained, so the
+   * delegate gives them in order.
+   */
+  private void prefetch() {
+    while (prefetchedPages.size() < prefetchPages && !consumed && !closing && !prefetchRejected) {
+      lastPrefetchedPage = lastPrefetchedPage.thenApplyAsync(previous -> getPage(), prefetchScheduler);
+      prefetchedPages.add(lastPrefetchedPage);
+    }
   }
 
   /**
@@ -127,21 +221,32 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
                                                             NULL_THROWABLE_CONSUMER,
                                                             identity(),
                                                             executionContext.getCurrentScheduler());
-      try {
-        return future.get();
-      } catch (ExecutionException e) {
-        if (e.getCause() instanceof RuntimeException) {
-          throw (RuntimeException) e.getCause();
-        }
-        throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e.getCause());
-      } catch (InterruptedException e) {
-        throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e);
-      }
+      return await(future);
     } else {
       return withConnection(function);
     }
   }
 
+  private void cancelPrefetchedPages() {
+    CompletableFuture<List<T>> page;
+    while ((page = prefetchedPages.poll()) != null) {
+      page.cancel(false);
+    }
+  }
+
+  private <R> R await(CompletableFuture<R> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e.getCause());
+    } catch (InterruptedException e) {
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e);
+    }
+  }
+
   private int getMaxOAuthRefreshAttempts() {
     return supportsOAuth ? MAX_REFRESH_ATTEMPTS : 0;
   }
@@ -190,10 +295,18 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   }
 
   /**
-   * Closes the delegate
+   * Closes the delegate, once the page being prefetched, if any, is obtained. The pages that were not requested yet are not
+   * obtained.
    */
   @Override
   public void close() {
+    closing = true;
+    synchronized (delegateLock) {
+      doClose();
+    }
+  }
+
+  private void doClose() {
     ConnectionSupplier connectionSupplier = null;
     try {
       connectionSupplier = connectionSupplierFactory.getConnectionSupplier();
@@ -63,4 +63,15 @@ public class DefaultMutableConfigurationStatsTestCase extends AbstractMuleTestCa
     assertThat(stats.discountActiveComponent(), is(0));
     assertThat(stats.getActiveComponents(), is(0));
   }
+
+  @Test
+  public void cacheHits() {
+    assertThat(stats.getCacheHits(), is(0L));
+    long now = timeSupplier.move(1, TimeUnit.MINUTES);
+    stats.addCacheHit();
+    stats.addCacheHit();
+
+    assertThat(stats.getCacheHits(), is(2L));
+    assertThat(stats.getLastUsedMillis(), is(now));
+  }
 }
@@ -14,6 +14,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
@@ -278,6 +279,84 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(instance.getDispose(), is(1));
   }
 
+  @Test
+  public void cacheStatistics() throws Exception {
+    ConfigurationInstance configuration = provider.get(event);
+    provider.get(event);
+    provider.get(event);
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(((MutableConfigurationStats) configuration.getStatistics()).getCacheHits(), is(2L));
+    assertThat(provider.getCreatedInstancesCount(), is(1L));
+    assertThat(provider.getCachedInstancesCount(), is(1));
+  }
+
+  @Test
+  public void maxInstancesEvictsLeastRecentlyUsed() throws Exception {
+    createProviderWithMaxInstances(1);
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    timeSupplier.move(1, MINUTES);
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCachedInstancesCount(), is(1));
+    assertThat(provider.getCreatedInstancesCount(), is(2L));
+
+    // Not expired yet, but evicted
+    List<Object> evicted = provider.getExpired().stream().map(ConfigurationInstance::getValue).collect(toImmutableList());
+    assertThat(evicted, contains(instance1));
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance2)));
+  }
+
+  @Test
+  public void maxInstancesDoesNotEvictCreatedInstance() throws Exception {
+    createProviderWithMaxInstances(1);
+
+    // Same last used time for both instances
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCachedInstancesCount(), is(1));
+    List<Object> evicted = provider.getExpired().stream().map(ConfigurationInstance::getValue).collect(toImmutableList());
+    assertThat(evicted, contains(instance1));
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance2)));
+  }
+
+  @Test
+  public void maxInstancesKeepsReusedInstance() throws Exception {
+    createProviderWithMaxInstances(2);
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    // Reuse the first instance
+    when(resolverSet.resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build()))
+        .thenReturn(resolverSetResult);
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance1)));
+
+    makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCachedInstancesCount(), is(2));
+    List<Object> evicted = provider.getExpired().stream().map(ConfigurationInstance::getValue).collect(toImmutableList());
+    assertThat(evicted, contains(instance2));
+  }
+
+  private void createProviderWithMaxInstances(int maxInstances) throws Exception {
+    provider.stop();
+    provider.dispose();
+    provider = new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                                connectionProviderResolver, expirationPolicy, new ReflectionCache(),
+                                                expressionManager, maxInstances, muleContext);
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    provider.start();
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.function;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.rules.ExpectedException.none;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.meta.model.function.FunctionModel;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SmallTest
+public class ReflectiveExpressionFunctionExecutorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public final ExpectedException expected = none();
+
+  private final Functions functions = new Functions();
+
+  @Test
+  public void primitiveArgumentsAndReturnType() {
+    assertThat(executorFor("sum").call(new Object[] {1, 2}, null), is(3));
+  }
+
+  @Test
+  public void noArguments() {
+    assertThat(executorFor("hello").call(new Object[] {}, null), is("hello"));
+    assertThat(executorFor("hello").call(null, null), is("hello"));
+  }
+
+  @Test
+  public void voidReturnType() {
+    assertThat(executorFor("nothing").call(new Object[] {"value"}, null), is(nullValue()));
+    assertThat(functions.received, is("value"));
+  }
+
+  @Test
+  public void runtimeExceptionPropagated() {
+    expected.expect(IllegalStateException.class);
+    executorFor("failRuntime").call(new Object[] {}, null);
+  }
+
+  @Test
+  public void checkedExceptionWrapped() {
+    expected.expect(UndeclaredThrowableException.class);
+    expected.expectCause(instanceOf(IOException.class));
+    executorFor("failChecked").call(new Object[] {}, null);
+  }
+
+  private ReflectiveExpressionFunctionExecutor executorFor(String methodName) {
+    Method method = Stream.of(Functions.class.getMethods()).filter(m -> m.getName().equals(methodName)).findFirst().get();
+    return new ReflectiveExpressionFunctionExecutor(mock(FunctionModel.class), null, emptyList(), method, functions);
+  }
+
+  public static class Functions {
+
+    private String received;
+
+    public int sum(int a, int b) {
+      return a + b;
+    }
+
+    public String hello() {
+      return "hello";
+    }
+
+    public void nothing(String value) {
+      received = value;
+    }
+
+    public String failRuntime() {
+      throw new IllegalStateException();
+    }
+
+    public String failChecked() throws IOException {
+      throw new IOException();
+    }
+  }
+}
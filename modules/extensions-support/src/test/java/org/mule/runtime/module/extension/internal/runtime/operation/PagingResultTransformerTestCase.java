@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PagingResultTransformerTestCase extends AbstractMuleTestCase {
+
+  private final MuleContext muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
+  private final Scheduler prefetchScheduler = mock(Scheduler.class);
+
+  @Before
+  public void before() {
+    when(muleContext.getSchedulerBaseConfig()).thenReturn(config());
+    when(muleContext.getSchedulerService().ioScheduler(any(SchedulerConfig.class))).thenReturn(prefetchScheduler);
+  }
+
+  @Test
+  public void prefetchSchedulerOwnedByLifecycle() {
+    PagingResultTransformer transformer = createTransformer(2);
+
+    transformer.start();
+    transformer.start();
+    verify(muleContext.getSchedulerService(), times(1)).ioScheduler(any(SchedulerConfig.class));
+
+    transformer.stop();
+    verify(prefetchScheduler).stop();
+
+    transformer.start();
+    verify(muleContext.getSchedulerService(), times(2)).ioScheduler(any(SchedulerConfig.class));
+  }
+
+  @Test
+  public void noPrefetchSchedulerWithoutPrefetch() {
+    PagingResultTransformer transformer = createTransformer(0);
+
+    transformer.start();
+    transformer.stop();
+    verify(muleContext.getSchedulerService(), never()).ioScheduler(any(SchedulerConfig.class));
+  }
+
+  private PagingResultTransformer createTransformer(int prefetchPages) {
+    return new PagingResultTransformer("paged", mock(ExtensionConnectionSupplier.class), false, prefetchPages, muleContext);
+  }
+}
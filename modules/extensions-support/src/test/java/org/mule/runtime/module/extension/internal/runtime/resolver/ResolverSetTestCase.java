@@ -7,8 +7,15 @@
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -100,6 +107,66 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void staticValuesResolvedOnce() throws Exception {
+    StaticValueResolver<String> staticResolver = mock(StaticValueResolver.class);
+    when(staticResolver.resolve(any())).thenReturn(NAME);
+    ValueResolver dynamicResolver = getResolver(AGE);
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+
+    ResolverSet set = new ResolverSet(muleContext);
+    set.add("static", staticResolver);
+    set.add("dynamic", dynamicResolver);
+    set.initialise();
+
+    for (int i = 0; i < 3; ++i) {
+      ResolverSetResult result = set.resolve(resolvingContext);
+      assertThat(result.get("static"), is(NAME));
+      assertThat(result.get("dynamic"), is(AGE));
+    }
+
+    verify(staticResolver, times(1)).resolve(any());
+    verify(dynamicResolver, times(3)).resolve(resolvingContext);
+  }
+
+  @Test
+  public void staticValueIsResolver() throws Exception {
+    ValueResolver nested = getResolver(NAME);
+    set.add("nested", new StaticValueResolver<>(nested));
+
+    assertThat(set.resolve(resolvingContext).get("nested"), is(NAME));
+  }
+
+  @Test
+  public void resultsAreIndependent() throws Exception {
+    ResolverSetResult first = set.resolve(resolvingContext);
+    ResolverSetResult second = set.resolve(resolvingContext);
+
+    assertThat(first, is(second));
+    assertThat(first.asMap(), is(second.asMap()));
+    assertThat(first.asMap(), is(not(sameInstance(second.asMap()))));
+  }
+
+  @Test
+  public void keepsOrderOfResolvers() throws Exception {
+    Object value = new Object();
+    set.add("last", new StaticValueResolver<>(value));
+
+    ResolverSetResult result = set.resolve(resolvingContext);
+    assertThat(result.asMap().keySet(), contains("myName", "age", "last"));
+    assertThat(result.get("last"), is(sameInstance(value)));
+    assertThat(result.asMap().containsKey("missing"), is(false));
+    assertThat(result.get("missing"), is((Object) null));
+  }
+
+  @Test
+  public void addAfterResolve() throws Exception {
+    set.resolve(resolvingContext);
+    set.add("late", new StaticValueResolver<>(NAME));
+
+    assertThat(set.resolve(resolvingContext).get("late"), is(NAME));
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
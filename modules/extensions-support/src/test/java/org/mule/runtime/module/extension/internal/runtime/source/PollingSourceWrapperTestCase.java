@@ -9,26 +9,48 @@ package org.mule.runtime.module.extension.internal.runtime.source;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.store.ObjectStoreSettings.DEFAULT_EXPIRATION_INTERVAL;
 import static org.mule.runtime.core.api.util.ClassUtils.setFieldValue;
+import static org.mule.sdk.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.sdk.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
+import static org.mule.sdk.api.runtime.source.PollingSource.WATERMARK_ITEM_OS_KEY;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.scheduler.SchedulingStrategy;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.module.extension.internal.runtime.source.poll.PollingSourceWrapper;
+import org.mule.sdk.api.runtime.operation.Result;
+import org.mule.sdk.api.runtime.source.PollContext;
+import org.mule.sdk.api.runtime.source.PollContext.PollItemStatus;
 import org.mule.sdk.api.runtime.source.PollingSource;
 import org.mule.sdk.api.runtime.source.SourceCallback;
+import org.mule.sdk.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
 import org.mule.tck.size.SmallTest;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -63,6 +85,8 @@ public class PollingSourceWrapperTestCase {
   @Mock
   private SourceCallback callbackMock;
 
+  private final Map<String, ObjectStore<Serializable>> stores = new HashMap<>();
+
   @InjectMocks
   private PollingSourceWrapper<Object, Object> pollingSourceWrapper =
       new PollingSourceWrapper<Object, Object>(mock(PollingSource.class), mock(SchedulingStrategy.class), Integer.MAX_VALUE,
@@ -88,6 +112,141 @@ public class PollingSourceWrapperTestCase {
     assertTransientStoreIsCreated(EXPECTED_INFLIGHT_IDS_OS, DEFAULT_EXPIRATION_INTERVAL);
   }
 
+  @Test
+  public void watermarkBookkeepingPerItem() throws Exception {
+    assertWatermarking(1);
+  }
+
+  @Test
+  public void batchedWatermarkBookkeeping() throws Exception {
+    assertWatermarking(3);
+  }
+
+  @Test
+  public void batchedWatermarkBookkeepingWrittenOnPollFailure() throws Exception {
+    ItemsPollingSource source = new ItemsPollingSource();
+    Runnable poll = startWatermarkingSource(source, 10);
+
+    source.items = 3;
+    source.failAfter = 2;
+    poll.run();
+    assertThat(source.statuses, contains(ACCEPTED, ACCEPTED));
+
+    source.failAfter = -1;
+    source.statuses.clear();
+    processed();
+    poll.run();
+    assertThat(source.statuses, contains(FILTERED_BY_WATERMARK, FILTERED_BY_WATERMARK, ACCEPTED));
+  }
+
+  @Test
+  public void batchedWatermarkBookkeepingFlushedAgainAfterPartialFailure() throws Exception {
+    // The second item fails to be stored when the first batch is flushed, so the poll fails and the bookkeeping is flushed again
+    stores.put(EXPECTED_RECENT_IDS_OS, new InMemoryObjectStore<Serializable>() {
+
+      private boolean failed;
+
+      @Override
+      protected void doStore(String id, Serializable value) throws ObjectStoreException {
+        if (!failed && id.equals("2")) {
+          failed = true;
+          throw new ObjectStoreException(createStaticMessage("Store failed"));
+        }
+        super.doStore(id, value);
+      }
+    });
+    ItemsPollingSource source = new ItemsPollingSource();
+    Runnable poll = startWatermarkingSource(source, 2);
+
+    source.items = 3;
+    poll.run();
+    // The poll fails when accepting the second item
+    assertThat(source.statuses, contains(ACCEPTED));
+
+    ObjectStore<Serializable> recentlyProcessedIds = stores.get(EXPECTED_RECENT_IDS_OS);
+    assertThat(recentlyProcessedIds.allKeys(), containsInAnyOrder("1", "2"));
+    assertThat(recentlyProcessedIds.retrieve("2"), is((Serializable) 2));
+    assertThat(stores.get(EXPECTED_IDS_UPDATED_WATERMARK_OS).allKeys(), contains("2"));
+  }
+
+  private void assertWatermarking(int watermarkBatchSize) throws Exception {
+    ItemsPollingSource source = new ItemsPollingSource();
+    Runnable poll = startWatermarkingSource(source, watermarkBatchSize);
+
+    source.items = 7;
+    poll.run();
+    assertThat(source.statuses, contains(ACCEPTED, ACCEPTED, ACCEPTED, ACCEPTED, ACCEPTED, ACCEPTED, ACCEPTED));
+    assertThat(stores.get(EXPECTED_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is((Serializable) 7));
+
+    source.items = 8;
+    source.statuses.clear();
+    processed();
+    poll.run();
+    assertThat(source.statuses, contains(FILTERED_BY_WATERMARK, FILTERED_BY_WATERMARK, FILTERED_BY_WATERMARK,
+                                         FILTERED_BY_WATERMARK, FILTERED_BY_WATERMARK, FILTERED_BY_WATERMARK,
+                                         FILTERED_BY_WATERMARK, ACCEPTED));
+    assertThat(stores.get(EXPECTED_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is((Serializable) 8));
+  }
+
+  private void processed() throws Exception {
+    // The items of the previous poll are no longer in flight
+    stores.get(EXPECTED_INFLIGHT_IDS_OS).clear();
+  }
+
+  private Runnable startWatermarkingSource(ItemsPollingSource source, int watermarkBatchSize) throws Exception {
+    when(objectStoreManagerMock.getOrCreateObjectStore(anyString(), any(ObjectStoreSettings.class)))
+        .thenAnswer(invocation -> stores.computeIfAbsent(invocation.getArgument(0), name -> new InMemoryObjectStore<>()));
+    when(lockFactoryMock.createLock(anyString())).thenAnswer(invocation -> new ReentrantLock());
+    when(callbackMock.createContext()).thenAnswer(invocation -> mock(SourceCallbackContext.class));
+
+    SchedulingStrategy schedulingStrategy = mock(SchedulingStrategy.class);
+    PollingSourceWrapper<Object, Object> wrapper =
+        new PollingSourceWrapper<>(source, schedulingStrategy, Integer.MAX_VALUE, mock(SystemExceptionHandler.class),
+                                   watermarkBatchSize);
+    setFieldValue(wrapper, "componentLocation", componentLocationMock, false);
+    setFieldValue(wrapper, "lockFactory", lockFactoryMock, false);
+    setFieldValue(wrapper, "objectStoreManager", objectStoreManagerMock, false);
+    setFieldValue(wrapper, "schedulerService", schedulerServiceMock, false);
+    wrapper.onStart(callbackMock);
+
+    ArgumentCaptor<Runnable> poll = forClass(Runnable.class);
+    verify(schedulingStrategy).schedule(any(), poll.capture());
+    return poll.getValue();
+  }
+
+  /**
+   * Polls items with ids and watermarks from 1 to {@link #items}, recording the status of each one.
+   */
+  private static class ItemsPollingSource extends PollingSource<Object, Object> {
+
+    private int items;
+    private int failAfter = -1;
+    private final List<PollItemStatus> statuses = new ArrayList<>();
+
+    @Override
+    protected void doStart() {}
+
+    @Override
+    protected void doStop() {}
+
+    @Override
+    public void poll(PollContext<Object, Object> pollContext) {
+      for (int i = 1; i <= items; ++i) {
+        if (i - 1 == failAfter) {
+          throw new IllegalStateException("Poll failed");
+        }
+
+        final int item = i;
+        statuses.add(pollContext.accept(pollItem -> pollItem.setResult(Result.builder().output(item).build())
+            .setId(String.valueOf(item))
+            .setWatermark(item)));
+      }
+    }
+
+    @Override
+    public void onRejectedItem(Result<Object, Object> result, SourceCallbackContext callbackContext) {}
+  }
+
   private void assertPersistentStoreIsCreated(String expectedName, Long expirationInterval) {
     assertStoreIsCreated(expectedName, true, expirationInterval);
   }
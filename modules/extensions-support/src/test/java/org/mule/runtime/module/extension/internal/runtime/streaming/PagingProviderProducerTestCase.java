@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.lang.Thread.State.BLOCKED;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.Optional.of;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
@@ -14,6 +17,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -21,12 +25,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.mule.tck.probe.PollingProber.probe;
 
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.extension.api.property.ClassLoaderModelProperty;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
@@ -35,7 +41,11 @@ import org.mule.runtime.module.extension.internal.runtime.connectivity.Extension
 import org.mule.tck.size.SmallTest;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -52,10 +62,23 @@ public class PagingProviderProducerTestCase {
 
   private PagingProviderProducer<String> producer;
 
+  private final ExecutorService prefetchExecutor = newSingleThreadExecutor();
+  private final Scheduler prefetchScheduler = mock(Scheduler.class);
+
   private PagingProviderProducer<String> createProducer() {
     return new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier);
   }
 
+  private PagingProviderProducer<String> createPrefetchingProducer(int prefetchPages) {
+    doAnswer(invocation -> {
+      prefetchExecutor.execute(invocation.getArgument(0));
+      return null;
+    }).when(prefetchScheduler).execute(any(Runnable.class));
+
+    return new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier, false, prefetchPages,
+                                        prefetchScheduler);
+  }
+
   @Before
   public void setUp() throws MuleException {
     ExtensionModel extensionModel = mock(ExtensionModel.class);
@@ -71,6 +94,11 @@ public class PagingProviderProducerTestCase {
     when(extensionConnectionSupplier.getConnection(executionContext)).thenReturn(handler);
   }
 
+  @After
+  public void tearDown() {
+    prefetchExecutor.shutdownNow();
+  }
+
   @Test
   public void produce() throws Exception {
     List<String> page = asList("bleh");
@@ -191,4 +219,102 @@ public class PagingProviderProducerTestCase {
     verify(delegate, times(1)).close(any());
     verify(connectionHandler, times(1)).release();
   }
+
+  @Test
+  public void prefetchPagesInOrder() throws Exception {
+    List<String> first = asList("1");
+    List<String> second = asList("2");
+    List<String> third = asList("3");
+    when(delegate.getPage(anyObject())).thenReturn(first, second, third, emptyList());
+    producer = createPrefetchingProducer(2);
+
+    assertThat(producer.produce(), sameInstance(first));
+    probe(() -> {
+      verify(delegate, times(3)).getPage(any());
+      return true;
+    });
+
+    assertThat(producer.produce(), sameInstance(second));
+    assertThat(producer.produce(), sameInstance(third));
+    assertThat(producer.produce().isEmpty(), is(true));
+    assertThat(producer.produce() == null, is(true));
+    verify(delegate, times(4)).getPage(any());
+  }
+
+  @Test
+  public void prefetchWithStickyConnection() throws Exception {
+    when(delegate.useStickyConnections()).thenReturn(true);
+    List<String> page = asList("bleh");
+    when(delegate.getPage(anyObject())).thenReturn(page, page, page, emptyList());
+    producer = createPrefetchingProducer(2);
+
+    ConnectionHandler connectionHandler = mock(ConnectionHandler.class);
+    when(extensionConnectionSupplier.getConnection(any())).thenReturn(connectionHandler);
+
+    while (!producer.produce().isEmpty()) {
+    }
+
+    verify(connectionHandler, times(1)).getConnection();
+    verify(connectionHandler, never()).release();
+
+    producer.close();
+    verify(connectionHandler).release();
+    verify(prefetchScheduler, never()).stop();
+  }
+
+  @Test
+  public void prefetchRejectedObtainsPagesInCallerThread() throws Exception {
+    List<String> first = asList("1");
+    List<String> second = asList("2");
+    List<String> third = asList("3");
+    when(delegate.getPage(anyObject())).thenReturn(first, second, third, emptyList());
+    producer = new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier, false, 2,
+                                            prefetchScheduler);
+    doThrow(new RejectedExecutionException("Scheduler stopped")).when(prefetchScheduler).execute(any(Runnable.class));
+
+    assertThat(producer.produce(), sameInstance(first));
+    assertThat(producer.produce(), sameInstance(second));
+    assertThat(producer.produce(), sameInstance(third));
+    assertThat(producer.produce().isEmpty(), is(true));
+    verify(delegate, times(4)).getPage(any());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void prefetchFailure() throws Exception {
+    when(delegate.getPage(anyObject())).thenReturn(asList("bleh")).thenThrow(new IllegalArgumentException("Invalid page"));
+    producer = createPrefetchingProducer(1);
+
+    producer.produce();
+    producer.produce();
+  }
+
+  @Test
+  public void closeWhilePrefetching() throws Exception {
+    CountDownLatch prefetching = new CountDownLatch(1);
+    CountDownLatch prefetchReleased = new CountDownLatch(1);
+    when(delegate.getPage(anyObject())).thenReturn(asList("bleh")).thenAnswer(invocation -> {
+      prefetching.countDown();
+      prefetchReleased.await();
+      return asList("bleh");
+    });
+    producer = createPrefetchingProducer(3);
+
+    producer.produce();
+    prefetching.await();
+
+    Thread closer = new Thread(producer::close);
+    closer.start();
+    // Waits for the page being obtained
+    probe(() -> closer.getState() == BLOCKED);
+    verify(delegate, never()).close(any());
+
+    prefetchReleased.countDown();
+    closer.join();
+
+    verify(delegate).close(any());
+    // The scheduler is owned by the operation, not by each producer
+    verify(prefetchScheduler, never()).stop();
+    // The pages requested after the one being obtained when closing are not obtained
+    verify(delegate, times(2)).getPage(any());
+  }
 }
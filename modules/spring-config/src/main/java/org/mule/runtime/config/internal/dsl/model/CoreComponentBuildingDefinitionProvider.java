@@ -342,6 +342,7 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("collectionExpression", fromSimpleParameter("collection").build())
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
         .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
         .withSetterParameterDefinition("target", fromSimpleParameter("target").build())
         .withSetterParameterDefinition("targetValue", fromSimpleParameter("targetValue")
             .withDefaultValue("#[payload]")
@@ -374,6 +375,10 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withSetterParameterDefinition("maxRetries", fromSimpleParameter("maxRetries").withDefaultValue("5").build())
             .withSetterParameterDefinition("millisBetweenRetries",
                                            fromSimpleParameter("millisBetweenRetries").withDefaultValue("60000").build())
+            .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+            .withSetterParameterDefinition("maxMillisBetweenRetries", fromSimpleParameter("maxMillisBetweenRetries").build())
+            .withSetterParameterDefinition("jitterFactor", fromSimpleParameter("jitterFactor").build())
+            .withSetterParameterDefinition("maxPendingRetries", fromSimpleParameter("maxPendingRetries").build())
             .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
             .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
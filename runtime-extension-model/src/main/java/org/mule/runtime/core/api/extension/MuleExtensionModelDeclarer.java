@@ -571,6 +571,42 @@ class MuleExtensionModelDeclarer {
         .describedAs("Specifies the minimum time interval between two process retries in milliseconds.\n" +
             " The actual time interval depends on the previous execution but should not exceed twice this number.\n" +
             " Default value is 60000 (one minute)");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("backoffMultiplier")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(1.0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Specifies the factor the time interval between retries is multiplied by after each retry. "
+            + "Default value is 1, that is, a fixed time interval.")
+        .withModelProperty(new SinceMuleVersionModelProperty("4.4.0"));
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("maxMillisBetweenRetries")
+        .ofType(typeLoader.load(Long.class))
+        .defaultingTo(0L)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Specifies the maximum time interval between two process retries in milliseconds when a backoffMultiplier "
+            + "is set. Default value is 0, that is, no maximum.")
+        .withModelProperty(new SinceMuleVersionModelProperty("4.4.0"));
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("jitterFactor")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(0.0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Specifies the maximum fraction of the time interval between retries, between 0 and 1, that is randomly "
+            + "added to or subtracted from it. Default value is 0.")
+        .withModelProperty(new SinceMuleVersionModelProperty("4.4.0"));
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("maxPendingRetries")
+        .ofType(typeLoader.load(Integer.class))
+        .defaultingTo(Integer.MAX_VALUE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Specifies the maximum number of messages waiting for a retry at the same time. Messages that fail when "
+            + "this number is reached fail right away without being retried. By default there is no limit.")
+        .withModelProperty(new SinceMuleVersionModelProperty("4.4.0"));
   }
 
   private void declareChoice(ExtensionDeclarer extensionDeclarer, ClassTypeLoader typeLoader) {
@@ -719,6 +755,14 @@ class MuleExtensionModelDeclarer {
         .defaultingTo(Integer.MAX_VALUE)
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("This value determines the maximum level of parallelism that will be used by this router.");
+    parallelForeach.onDefaultParameterGroup()
+        .withOptionalParameter("batchSize")
+        .ofType(typeLoader.load(Integer.class))
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Partitions the collection in sub-collections of the specified size, each one processed by a single route "
+            + "execution. At most maxConcurrency sub-collections are taken from the collection at any given time.")
+        .withModelProperty(new SinceMuleVersionModelProperty("4.4.0"));
     parallelForeach.onDefaultParameterGroup()
         .withOptionalParameter(TARGET_PARAMETER_NAME)
         .ofType(typeLoader.load(String.class))
@@ -484,7 +484,7 @@ public class CoreExtensionModelTestCase {
     assertThat(processorsChain, instanceOf(NestedChainModel.class));
     assertThat(processorsChain.isRequired(), is(true));
 
-    assertThat(parallelForeach.getAllParameterModels(), hasSize(5));
+    assertThat(parallelForeach.getAllParameterModels(), hasSize(6));
 
     final ParameterModel collection = parallelForeach.getAllParameterModels().get(0);
     assertThat(collection.getName(), is("collection"));
@@ -507,13 +507,20 @@ public class CoreExtensionModelTestCase {
     assertThat(maxConcurrency.getType(), instanceOf(DefaultNumberType.class));
     assertThat(maxConcurrency.isRequired(), is(false));
 
-    final ParameterModel target = parallelForeach.getAllParameterModels().get(3);
+    final ParameterModel batchSize = parallelForeach.getAllParameterModels().get(3);
+    assertThat(batchSize.getName(), is("batchSize"));
+    assertThat(batchSize.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(batchSize.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(batchSize.getDefaultValue(), is(1));
+    assertThat(batchSize.isRequired(), is(false));
+
+    final ParameterModel target = parallelForeach.getAllParameterModels().get(4);
     assertThat(target.getName(), is(TARGET_PARAMETER_NAME));
     assertThat(target.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(target.getType(), instanceOf(DefaultStringType.class));
     assertThat(target.isRequired(), is(false));
 
-    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(4);
+    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(5);
     assertThat(targetValue.getName(), is(TARGET_VALUE_PARAMETER_NAME));
     assertThat(targetValue.getExpressionSupport(), is(REQUIRED));
     assertThat(targetValue.getType(), instanceOf(StringType.class));
@@ -565,7 +572,7 @@ public class CoreExtensionModelTestCase {
     final ConstructModel tryModel = coreExtensionModel.getConstructModel("untilSuccessful").get();
 
     List<ParameterModel> allParameterModels = tryModel.getAllParameterModels();
-    assertThat(allParameterModels, hasSize(2));
+    assertThat(allParameterModels, hasSize(6));
 
     ParameterModel action = allParameterModels.get(0);
     assertThat(action.getName(), is("maxRetries"));
@@ -580,6 +587,34 @@ public class CoreExtensionModelTestCase {
     assertThat(type.getExpressionSupport(), is(SUPPORTED));
     assertThat(type.getDefaultValue(), is(60000));
     assertThat(type.isRequired(), is(false));
+
+    ParameterModel backoffMultiplier = allParameterModels.get(2);
+    assertThat(backoffMultiplier.getName(), is("backoffMultiplier"));
+    assertThat(backoffMultiplier.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(backoffMultiplier.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(backoffMultiplier.getDefaultValue(), is(1.0));
+    assertThat(backoffMultiplier.isRequired(), is(false));
+
+    ParameterModel maxMillisBetweenRetries = allParameterModels.get(3);
+    assertThat(maxMillisBetweenRetries.getName(), is("maxMillisBetweenRetries"));
+    assertThat(maxMillisBetweenRetries.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxMillisBetweenRetries.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(maxMillisBetweenRetries.getDefaultValue(), is(0L));
+    assertThat(maxMillisBetweenRetries.isRequired(), is(false));
+
+    ParameterModel jitterFactor = allParameterModels.get(4);
+    assertThat(jitterFactor.getName(), is("jitterFactor"));
+    assertThat(jitterFactor.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(jitterFactor.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(jitterFactor.getDefaultValue(), is(0.0));
+    assertThat(jitterFactor.isRequired(), is(false));
+
+    ParameterModel maxPendingRetries = allParameterModels.get(5);
+    assertThat(maxPendingRetries.getName(), is("maxPendingRetries"));
+    assertThat(maxPendingRetries.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxPendingRetries.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(maxPendingRetries.getDefaultValue(), is(Integer.MAX_VALUE));
+    assertThat(maxPendingRetries.isRequired(), is(false));
   }
 
   @Test
@@ -36,12 +36,17 @@ public class EventBenchmark extends AbstractBenchmark {
   public static final String KEY = "key";
   public static final String VALUE = "value";
 
+  private static final int MUTATION_CHAIN_LENGTH = 20;
+
   private MuleContext muleContext;
   private Flow flow;
   private CoreEvent event;
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith10Variables;
+  private CoreEvent eventWith50Variables;
+  private CoreEvent eventWith200Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -56,6 +61,9 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith10Variables = createMuleEvent(of(PAYLOAD), 10);
+    eventWith50Variables = createMuleEvent(of(PAYLOAD), 50);
+    eventWith200Variables = createMuleEvent(of(PAYLOAD), 200);
   }
 
   @TearDown
@@ -173,6 +181,37 @@ public class EventBenchmark extends AbstractBenchmark {
     return eventBuilder.message(builder.build()).build();
   }
 
+  @Benchmark
+  public CoreEvent variableMutationChainWith10Variables() {
+    return mutationChain(eventWith10Variables);
+  }
+
+  @Benchmark
+  public CoreEvent variableMutationChainWith50Variables() {
+    return mutationChain(eventWith50Variables);
+  }
+
+  @Benchmark
+  public CoreEvent variableMutationChainWith200Variables() {
+    return mutationChain(eventWith200Variables);
+  }
+
+  /**
+   * Simulates a flow with a sequence of set-variable and remove-variable steps, each of them creating a new event from the
+   * previous one.
+   */
+  private CoreEvent mutationChain(CoreEvent event) {
+    CoreEvent current = event;
+    for (int i = 1; i <= MUTATION_CHAIN_LENGTH; i++) {
+      current = CoreEvent.builder(current).addVariable("flowVariableKey" + i, VALUE).build();
+      current = CoreEvent.builder(current).addVariable(KEY, i).build();
+      if (i % 4 == 0) {
+        current = CoreEvent.builder(current).removeVariable("flowVariableKey" + (i - 1)).build();
+      }
+    }
+    return current;
+  }
+
   @Benchmark
   public CoreEvent quickCopyInternalParameters() {
     return InternalEvent.builder(quickCopy(quickCopy(event, of("k1", "v1")), of("k2", "v2")))
@@ -38,6 +38,7 @@ import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 @Warmup(iterations = 20)
@@ -50,7 +51,7 @@ public class EventContextBenchmark extends AbstractBenchmark {
   private final String id = UUID.getUUID();
   private final String severId = UUID.getUUID();
   private CoreEvent event;
-
+  private BaseEventContext sharedParent;
 
   @Setup
   public void setup() throws Exception {
@@ -62,10 +63,12 @@ public class EventContextBenchmark extends AbstractBenchmark {
     CoreEvent.Builder eventBuilder =
         CoreEvent.builder(create(flow, CONNECTOR_LOCATION)).message(messageBuilder.build());
     event = eventBuilder.build();
+    sharedParent = (BaseEventContext) create(flow, CONNECTOR_LOCATION);
   }
 
   @TearDown
   public void teardown() throws MuleException {
+    sharedParent.success(event);
     stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
     muleContext.dispose();
   }
@@ -161,4 +164,41 @@ public class EventContextBenchmark extends AbstractBenchmark {
     return new Object[] {result, complete};
   }
 
+  @Benchmark
+  @Threads(8)
+  public BaseEventContext concurrentChildCreationAndCompletion() {
+    BaseEventContext child = child(sharedParent, empty());
+    child.success();
+    return child;
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object[] concurrentChildrenWith10ChildrenTerminateAllAtOnce() {
+    return concurrentChildrenTerminateAllAtOnce(10);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object[] concurrentChildrenWith100ChildrenTerminateAllAtOnce() {
+    return concurrentChildrenTerminateAllAtOnce(100);
+  }
+
+  private Object[] concurrentChildrenTerminateAllAtOnce(int childrenCount) {
+    AtomicBoolean complete = new AtomicBoolean();
+
+    List<BaseEventContext> children = new ArrayList<>(childrenCount);
+    for (int i = 0; i < childrenCount; ++i) {
+      BaseEventContext child = child(sharedParent, empty());
+      child.onTerminated((response, throwable) -> complete.set(true));
+      children.add(child);
+    }
+
+    for (BaseEventContext child : children) {
+      child.success(event);
+    }
+
+    return new Object[] {children, complete};
+  }
+
 }
@@ -6,11 +6,14 @@
  */
 package org.mule;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.Optional.empty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder.FUSE_CPU_LITE_PROCESSORS_PROPERTY;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.util.Reference;
@@ -23,6 +26,7 @@ import java.util.concurrent.CountDownLatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -34,8 +38,14 @@ import reactor.core.publisher.FluxSink;
 @Measurement(iterations = 10)
 public class ProcessorChainBenchmark extends AbstractBenchmark {
 
-  private static final int NUM_PROCESSORS = 20;
   private static final int STREAM_SIZE = 1000;
+
+  @Param({"5", "20", "100"})
+  public int numProcessors;
+
+  @Param({"false", "true"})
+  public boolean fuseCpuLiteProcessors;
+
   private MessageProcessorChain chain;
 
   private CoreEvent event;
@@ -43,10 +53,16 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
   @Setup
   public void setup() throws Exception {
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
-    for (int i = 0; i < NUM_PROCESSORS; i++) {
+    for (int i = 0; i < numProcessors; i++) {
       builder.chain(event -> event);
     }
-    chain = builder.build();
+
+    setProperty(FUSE_CPU_LITE_PROCESSORS_PROPERTY, Boolean.toString(fuseCpuLiteProcessors));
+    try {
+      chain = builder.build();
+    } finally {
+      clearProperty(FUSE_CPU_LITE_PROCESSORS_PROPERTY);
+    }
     chain.setMuleContext(createMuleContextWithServices());
     event = builder(create("", "", CONNECTOR_LOCATION, null, empty()))
         .message(of(PAYLOAD)).build();
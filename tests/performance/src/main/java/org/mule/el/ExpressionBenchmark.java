@@ -6,10 +6,14 @@
  */
 package org.mule.el;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.el.CompiledExpressionCache.COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY;
+import static org.mule.runtime.core.internal.el.CompiledExpressionCache.DEFAULT_COMPILED_EXPRESSION_CACHE_SIZE;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
 
 import org.mule.AbstractBenchmark;
@@ -22,6 +26,7 @@ import org.mule.runtime.core.api.event.CoreEvent;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 
@@ -30,6 +35,13 @@ import org.openjdk.jmh.annotations.TearDown;
 // @Threads(MAX)
 public class ExpressionBenchmark extends AbstractBenchmark {
 
+  /**
+   * Whether the compiled expressions are kept in the cache of the expression manager (cached) or DataWeave expressions are
+   * evaluated from their text each time (cold). MEL falls back to a cache of its own when the one of the manager is disabled.
+   */
+  @Param({"true", "false"})
+  public boolean cachedExpressions;
+
   private ExtendedExpressionManager expressionManager;
   private MuleContext muleContext;
   private CoreEvent event;
@@ -37,6 +49,8 @@ public class ExpressionBenchmark extends AbstractBenchmark {
 
   @Setup
   public void setup() throws MuleException {
+    setProperty(COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY,
+                cachedExpressions ? Integer.toString(DEFAULT_COMPILED_EXPRESSION_CACHE_SIZE) : "0");
     muleContext = createMuleContextWithServices();
     expressionManager = muleContext.getExpressionManager();
     context = create(createFlow(muleContext), CONNECTOR_LOCATION);
@@ -47,6 +61,7 @@ public class ExpressionBenchmark extends AbstractBenchmark {
   public void teardown() throws MuleException {
     stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
     muleContext.dispose();
+    clearProperty(COMPILED_EXPRESSION_CACHE_SIZE_PROPERTY);
   }
 
   @Benchmark
@@ -69,6 +84,16 @@ public class ExpressionBenchmark extends AbstractBenchmark {
     return expressionManager.evaluate("vars.foo == 'bar'", event.asBindingContext()).getValue();
   }
 
+  @Benchmark
+  public Object dwFlowVarsWithEvent() {
+    return expressionManager.evaluate("vars.foo == 'bar'", event).getValue();
+  }
+
+  @Benchmark
+  public Object dwConcat() {
+    return expressionManager.evaluate("payload ++ ' ' ++ vars.foo ++ ' ' ++ correlationId", event).getValue();
+  }
+
   @Benchmark
   public Object melGetLocale() {
     return expressionManager.evaluate("mel:java.util.Locale.getDefault().getLanguage()", event).getValue();
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.apache.commons.pool.impl.GenericObjectPool.WHEN_EXHAUSTED_BLOCK;
+
+import org.mule.AbstractBenchmark;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.impl.GenericObjectPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput of the connection pools used by {@link PoolingConnectionManagementStrategy} with 64 threads borrowing
+ * and returning connections.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Threads(64)
+public class ConnectionPoolBenchmark extends AbstractBenchmark {
+
+  @Param({"generic", "concurrentBag"})
+  public String poolType;
+
+  @Param({"8", "64"})
+  public int maxActive;
+
+  private ObjectPool<Object> pool;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    GenericObjectPool.Config config = new GenericObjectPool.Config();
+    config.maxActive = maxActive;
+    config.maxIdle = maxActive;
+    config.whenExhaustedAction = WHEN_EXHAUSTED_BLOCK;
+
+    BasePoolableObjectFactory<Object> factory = new BasePoolableObjectFactory<Object>() {
+
+      @Override
+      public Object makeObject() {
+        return new Object();
+      }
+    };
+
+    pool = "concurrentBag".equals(poolType)
+        ? new ConcurrentBagObjectPool<>(factory, config)
+        : new GenericObjectPool<>(factory, config);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    pool.close();
+  }
+
+  @Benchmark
+  public void borrowAndReturn() throws Exception {
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+  }
+
+  @Benchmark
+  public void borrowUseAndReturn() throws Exception {
+    Object connection = pool.borrowObject();
+    try {
+      Blackhole.consumeCPU(100);
+    } finally {
+      pool.returnObject(connection);
+    }
+  }
+}
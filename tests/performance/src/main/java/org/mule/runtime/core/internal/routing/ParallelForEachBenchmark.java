@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares processing a big collection with {@link ParallelForEach} one element per route execution against doing it in
+ * batches. Run with {@code -prof gc} to compare the heap used by each mode.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ParallelForEachBenchmark extends AbstractBenchmark {
+
+  @Param({"1000000"})
+  public int elements;
+
+  @Param({"1", "100", "1000"})
+  public int batchSize;
+
+  private MuleContext muleContext;
+  private ParallelForEach router;
+  private CoreEvent event;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    ((MuleContextWithRegistry) muleContext).getRegistry().registerObject(REGISTRY_KEY,
+                                                                         mock(ConfigurationComponentLocator.class));
+
+    router = new ParallelForEach();
+    router.setMessageProcessors(singletonList((Processor) e -> e));
+    router.setBatchSize(batchSize);
+    initialiseIfNeeded(router, muleContext);
+
+    event = CoreEvent.builder(createEvent(createFlow(muleContext)))
+        .message(of(range(0, elements).boxed().collect(toList())))
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    router.dispose();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent process() throws MuleException {
+    return router.process(event);
+  }
+}
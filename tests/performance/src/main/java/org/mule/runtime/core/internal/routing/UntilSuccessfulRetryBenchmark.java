@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.HashedWheelTimer;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways {@link UntilSuccessfulRouter} may delay retries when a large number of events are waiting for a retry at
+ * the same time, as happens when a resource is down: a scheduled task per retry in the scheduler, or all the retries in a
+ * {@link HashedWheelTimer} advanced by the scheduler.
+ * <p>
+ * Each invocation schedules the retry of every event with the given delay, randomized by a jitter, and waits for all of them to
+ * be executed. Run with {@code -prof gc} to compare the heap used by each mode.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class UntilSuccessfulRetryBenchmark extends AbstractBenchmark {
+
+  @Param({"scheduler", "timerWheel"})
+  public String mode;
+
+  @Param({"100000"})
+  public int eventsInRetry;
+
+  @Param({"10"})
+  public int millisBetweenRetries;
+
+  private MuleContext muleContext;
+  private Scheduler scheduler;
+  private HashedWheelTimer retryTimer;
+  private final RetryBackoff retryBackoff = new RetryBackoff(1.0, 0, 0.5);
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    scheduler = muleContext.getSchedulerService().cpuLightScheduler();
+
+    if ("timerWheel".equals(mode)) {
+      retryTimer = new HashedWheelTimer(scheduler, scheduler, 10, MILLISECONDS, 512);
+      retryTimer.start();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (retryTimer != null) {
+      retryTimer.stop();
+    }
+    scheduler.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public void retryAll() throws InterruptedException {
+    final CountDownLatch retried = new CountDownLatch(eventsInRetry);
+    final Runnable retry = retried::countDown;
+
+    for (int i = 0; i < eventsInRetry; ++i) {
+      final long delay = retryBackoff.delayFor(millisBetweenRetries, 1);
+      if (retryTimer != null) {
+        retryTimer.newTimeout(retry, delay, MILLISECONDS);
+      } else {
+        scheduler.schedule(retry, delay, MILLISECONDS);
+      }
+    }
+
+    retried.await();
+  }
+}
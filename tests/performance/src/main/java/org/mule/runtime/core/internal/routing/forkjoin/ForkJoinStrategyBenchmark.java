@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the fork-join strategies used by scatter-gather with many routes returning big payloads. Run with {@code -prof gc} to
+ * compare the memory allocated and retained by each strategy.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ForkJoinStrategyBenchmark extends AbstractBenchmark {
+
+  @Param({"collectMap", "streamingCollectMap"})
+  public String strategyType;
+
+  @Param({"50"})
+  public int routes;
+
+  @Param({"5242880"})
+  public int routePayloadSize;
+
+  private MuleContext muleContext;
+  private Scheduler scheduler;
+  private ForkJoinStrategy strategy;
+  private CoreEvent event;
+  private List<RoutingPair> routingPairs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+
+    ProcessingStrategy processingStrategy = new ProcessingStrategy() {
+
+      @Override
+      public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor pipeline) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ReactiveProcessor onPipeline(ReactiveProcessor pipeline) {
+        return publisher -> from(publisher).publishOn(fromExecutorService(scheduler)).transform(pipeline);
+      }
+    };
+
+    AbstractForkJoinStrategyFactory factory = "streamingCollectMap".equals(strategyType)
+        ? new StreamingCollectMapForkJoinStrategyFactory()
+        : new CollectMapForkJoinStrategyFactory();
+    strategy = factory.createForkJoinStrategy(processingStrategy, routes, true, MAX_VALUE, scheduler,
+                                              muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get());
+
+    event = createEvent(createFlow(muleContext));
+    routingPairs = range(0, routes).mapToObj(i -> {
+      try {
+        return RoutingPair.of(event, newRoute());
+      } catch (MuleException e) {
+        throw new RuntimeException(e);
+      }
+    }).collect(toList());
+  }
+
+  private MessageProcessorChain newRoute() throws MuleException {
+    MessageProcessorChain route = newChain(empty(), e -> builder(e).message(of(new byte[routePayloadSize])).build());
+    initialiseIfNeeded(route, muleContext);
+    return route;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    scheduler.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent forkJoin() {
+    return from(strategy.forkJoin(event, fromIterable(routingPairs))).blockLast();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.transformer;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.INPUT_STREAM;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.DataType.builder;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.transformer.DataTypeConversionResolver;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.runtime.core.api.transformer.TransformerException;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.registry.MuleRegistry;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves transformers for the same pairs of types from 32 threads, as implicit transformations of operation parameters do,
+ * once the resolutions are cached.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Threads(32)
+public class TransformerResolutionBenchmark extends AbstractBenchmark {
+
+  private static final DataType JSON_STRING = builder(STRING).mediaType(APPLICATION_JSON).build();
+  private static final DataType NOT_TRANSFORMABLE = DataType.fromType(AbstractBenchmark.class);
+
+  private MuleContext muleContext;
+  private MuleRegistry registry;
+  private DataTypeConversionResolver conversionResolver;
+  private final List<DataType> byteArrayTarget = singletonList(BYTE_ARRAY);
+  private final List<DataType> notTransformableTarget = singletonList(NOT_TRANSFORMABLE);
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    registry = ((MuleContextWithRegistry) muleContext).getRegistry();
+    conversionResolver = muleContext.getDataTypeConverterResolver();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Transformer lookupTransformer() throws TransformerException {
+    return registry.lookupTransformer(JSON_STRING, BYTE_ARRAY);
+  }
+
+  @Benchmark
+  public List<Transformer> lookupTransformers() {
+    return registry.lookupTransformers(INPUT_STREAM, STRING);
+  }
+
+  @Benchmark
+  public Transformer implicitConversion() {
+    return conversionResolver.resolve(JSON_STRING, byteArrayTarget);
+  }
+
+  @Benchmark
+  public Transformer implicitConversionNotFound() {
+    return conversionResolver.resolve(STRING, notTransformableTarget);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.journal;
+
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_PROPERTY;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
+import org.mule.runtime.core.internal.util.journal.TransactionJournal;
+import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
+import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the amount of queue transactions per second that can be committed to the transaction journal, with and without group
+ * commit, for different amounts of concurrent transactions. Each transaction logs one add operation and its commit.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+public class TransactionJournalBenchmark extends AbstractBenchmark {
+
+  private static final byte ADD = 5;
+  private static final byte COMMIT = 1;
+
+  @Param({"false", "true"})
+  public boolean groupCommit;
+
+  private final AtomicInteger txIds = new AtomicInteger();
+
+  private MuleContext muleContext;
+  private File journalDirectory;
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> journal;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    journalDirectory = createTempDirectory("journal").toFile();
+
+    setProperty(GROUP_COMMIT_PROPERTY, Boolean.toString(groupCommit));
+    try {
+      JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> serializer =
+          LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
+      journal = new TransactionJournal<>(journalDirectory.getAbsolutePath(),
+                                         entry -> ((LocalQueueTxJournalEntry) entry).isCommit(), serializer, null);
+    } finally {
+      clearProperty(GROUP_COMMIT_PROPERTY);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    journal.close();
+    deleteDirectory(journalDirectory);
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void commit1() {
+    commit();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void commit8() {
+    commit();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void commit64() {
+    commit();
+  }
+
+  private void commit() {
+    final int txId = txIds.incrementAndGet();
+    journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, "queue", VALUE));
+    journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT, null, null));
+  }
+}
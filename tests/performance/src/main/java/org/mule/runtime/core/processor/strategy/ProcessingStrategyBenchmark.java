@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.processor.strategy;
 
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static reactor.core.publisher.FluxSink.OverflowStrategy.ERROR;
 
 import org.mule.AbstractBenchmark;
@@ -17,15 +21,20 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.AdaptiveProactorStreamEmitterProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.StreamEmitterProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.TransactionAwareStreamEmitterProcessingStrategyFactory;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -59,6 +68,18 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   private Sink directAllSink;
   private Sink emitterAllSink;
 
+  private ProcessingStrategy proactorPs;
+  private ProcessingStrategy adaptivePs;
+
+  private Sink proactorSlowBlockingSink;
+  private Sink adaptiveSlowBlockingSink;
+
+  private ProcessingStrategy roundRobinPs;
+  private ProcessingStrategy workStealingPs;
+
+  private Sink roundRobinSkewedSink;
+  private Sink workStealingSkewedSink;
+
   @Setup(Level.Trial)
   public void setUp() throws MuleException {
     muleContext = createMuleContextWithServices();
@@ -94,6 +115,32 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
         directPs.createSink(flow, publisher -> baseFlux(publisher, directPs.onPipeline(directPs.onProcessor(processor))));
     emitterAllSink =
         emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(processor))));
+
+    proactorPs = new ProactorStreamEmitterProcessingStrategyFactory().create(muleContext, "proactor_mb");
+    startIfNeeded(proactorPs);
+    adaptivePs = new AdaptiveProactorStreamEmitterProcessingStrategyFactory().create(muleContext, "adaptive_mb");
+    startIfNeeded(adaptivePs);
+
+    final ReactiveProcessor proactorSlowProcessor = new SlowBlockingProcessor();
+    final ReactiveProcessor adaptiveSlowProcessor = new SlowBlockingProcessor();
+    proactorSlowBlockingSink = proactorPs
+        .createSink(flow, publisher -> baseFlux(publisher, proactorPs.onPipeline(proactorPs.onProcessor(proactorSlowProcessor))));
+    adaptiveSlowBlockingSink = adaptivePs
+        .createSink(flow, publisher -> baseFlux(publisher, adaptivePs.onPipeline(adaptivePs.onProcessor(adaptiveSlowProcessor))));
+
+    roundRobinPs = new StreamEmitterProcessingStrategyFactory().create(muleContext, "round_robin_mb");
+    startIfNeeded(roundRobinPs);
+    final StreamEmitterProcessingStrategyFactory workStealingPsFactory = new StreamEmitterProcessingStrategyFactory();
+    workStealingPsFactory.setWorkStealingSinks(true);
+    workStealingPs = workStealingPsFactory.create(muleContext, "work_stealing_mb");
+    startIfNeeded(workStealingPs);
+
+    final ReactiveProcessor skewedProcessor = new SkewedCostProcessor();
+    roundRobinSkewedSink = roundRobinPs
+        .createSink(flow, publisher -> baseFlux(publisher, roundRobinPs.onPipeline(roundRobinPs.onProcessor(skewedProcessor))));
+    workStealingSkewedSink = workStealingPs
+        .createSink(flow, publisher -> baseFlux(publisher,
+                                                workStealingPs.onPipeline(workStealingPs.onProcessor(skewedProcessor))));
   }
 
   private Flux<CoreEvent> baseFlux(Publisher<CoreEvent> publisher,
@@ -153,4 +200,86 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   public CoreEvent emitterAllSink() {
     return Mono.<CoreEvent>create(resultSink -> emitterAllSink.accept(createEvent(flow, resultSink))).block();
   }
+
+  @Benchmark
+  @Threads(64)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(MILLISECONDS)
+  public CoreEvent proactorSlowBlockingSink() {
+    return Mono.<CoreEvent>create(resultSink -> proactorSlowBlockingSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(64)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(MILLISECONDS)
+  public CoreEvent adaptiveSlowBlockingSink() {
+    return Mono.<CoreEvent>create(resultSink -> adaptiveSlowBlockingSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(MILLISECONDS)
+  public CoreEvent roundRobinSkewedSink() {
+    return Mono.<CoreEvent>create(resultSink -> roundRobinSkewedSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(MILLISECONDS)
+  public CoreEvent workStealingSkewedSink() {
+    return Mono.<CoreEvent>create(resultSink -> workStealingSkewedSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  /**
+   * Simulates a CPU_LITE processor whose cost is much higher for a small fraction of the events.
+   */
+  private static class SkewedCostProcessor implements ReactiveProcessor {
+
+    private static final int SLOW_EVENT_EVERY = 64;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return Flux.from(publisher).doOnNext(e -> {
+        if (counter.incrementAndGet() % SLOW_EVENT_EVERY == 0) {
+          Blackhole.consumeCPU(1_000_000);
+        } else {
+          Blackhole.consumeCPU(100);
+        }
+      });
+    }
+  }
+
+  /**
+   * Simulates a blocking call to a resource, like a database, that slows down as more concurrent calls are made to it.
+   */
+  private static class SlowBlockingProcessor implements ReactiveProcessor {
+
+    private static final int RESOURCE_CAPACITY = 8;
+
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return Flux.from(publisher).doOnNext(e -> {
+        final int concurrent = concurrentCalls.incrementAndGet();
+        try {
+          sleep(1 + concurrent / RESOURCE_CAPACITY);
+        } catch (InterruptedException ex) {
+          currentThread().interrupt();
+        } finally {
+          concurrentCalls.decrementAndGet();
+        }
+      });
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return BLOCKING;
+    }
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.VirtualThreadProactorStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.util.rx.VirtualThreadScheduler;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs {@value #CONCURRENT_OPERATIONS} concurrent sleeping {@link ReactiveProcessor.ProcessingType#BLOCKING} operations through
+ * the proactor processing strategy, either on the IO scheduler or on virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class VirtualThreadProcessingStrategyBenchmark extends AbstractBenchmark {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadProcessingStrategyBenchmark.class);
+
+  private static final int CONCURRENT_OPERATIONS = 10_000;
+  private static final long OPERATION_SLEEP_MILLIS = 10;
+
+  @Param({"ioScheduler", "virtualThreads"})
+  public String blockingScheduler;
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private ProcessingStrategy processingStrategy;
+  private Sink sink;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    if ("virtualThreads".equals(blockingScheduler) && !VirtualThreadScheduler.isSupported()) {
+      LOGGER.warn("Virtual threads not supported by this JVM. The 'virtualThreads' run will use the IO scheduler.");
+    }
+
+    muleContext = createMuleContextWithServices();
+    flow = createFlow(muleContext);
+
+    final ProcessingStrategyFactory processingStrategyFactory = "virtualThreads".equals(blockingScheduler)
+        ? new VirtualThreadProactorStreamEmitterProcessingStrategyFactory()
+        : new ProactorStreamEmitterProcessingStrategyFactory();
+    processingStrategy = processingStrategyFactory.create(muleContext, blockingScheduler + "_mb");
+    startIfNeeded(processingStrategy);
+
+    final ReactiveProcessor sleepingProcessor = new SleepingProcessor();
+    sink = processingStrategy.createSink(flow, publisher -> Flux.from(publisher)
+        .transform(processingStrategy.onPipeline(processingStrategy.onProcessor(sleepingProcessor)))
+        .doOnNext(event -> ((CountDownLatch) event.getMessage().getPayload().getValue()).countDown()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws MuleException {
+    stopIfNeeded(processingStrategy);
+    disposeIfNeeded(processingStrategy, LOGGER);
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CONCURRENT_OPERATIONS)
+  public void concurrentSleepingOperations() throws InterruptedException {
+    final CountDownLatch completion = new CountDownLatch(CONCURRENT_OPERATIONS);
+    for (int i = 0; i < CONCURRENT_OPERATIONS; ++i) {
+      sink.accept(createEvent(flow, completion));
+    }
+    completion.await();
+  }
+
+  private static class SleepingProcessor implements ReactiveProcessor {
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return Flux.from(publisher).doOnNext(e -> {
+        try {
+          sleep(OPERATION_SLEEP_MILLIS);
+        } catch (InterruptedException ex) {
+          currentThread().interrupt();
+        }
+      });
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return BLOCKING;
+    }
+  }
+}
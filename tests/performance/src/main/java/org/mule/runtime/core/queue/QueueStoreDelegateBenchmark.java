@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.queue;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.queue.DualRandomAccessFileQueueStoreDelegate;
+import org.mule.runtime.core.internal.util.queue.QueueStoreDelegate;
+import org.mule.runtime.core.internal.util.queue.SegmentedFileQueueStoreDelegate;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the persistent queue store delegates with 1, 4 and 16 pairs of producers and consumers working on
+ * the same queue.
+ */
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+public class QueueStoreDelegateBenchmark extends AbstractBenchmark {
+
+  private static final String QUEUE_NAME = "benchmark";
+
+  @Param({"dualRandomAccessFile", "segmentedFile"})
+  public String delegateType;
+
+  private MuleContext muleContext;
+  private File workingDirectory;
+  private QueueStoreDelegate delegate;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    workingDirectory = createTempDirectory("queues").toFile();
+    delegate = "segmentedFile".equals(delegateType)
+        ? new SegmentedFileQueueStoreDelegate(QUEUE_NAME, workingDirectory.getAbsolutePath(), muleContext, 0)
+        : new DualRandomAccessFileQueueStoreDelegate(QUEUE_NAME, workingDirectory.getAbsolutePath(), muleContext, 0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    delegate.dispose();
+    deleteDirectory(workingDirectory);
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Group("pairs1")
+  @GroupThreads(1)
+  public void put1() {
+    delegate.putNow(VALUE);
+  }
+
+  @Benchmark
+  @Group("pairs1")
+  @GroupThreads(1)
+  public Serializable poll1() throws InterruptedException {
+    return delegate.poll(0);
+  }
+
+  @Benchmark
+  @Group("pairs4")
+  @GroupThreads(4)
+  public void put4() {
+    delegate.putNow(VALUE);
+  }
+
+  @Benchmark
+  @Group("pairs4")
+  @GroupThreads(4)
+  public Serializable poll4() throws InterruptedException {
+    return delegate.poll(0);
+  }
+
+  @Benchmark
+  @Group("pairs16")
+  @GroupThreads(16)
+  public void put16() {
+    delegate.putNow(VALUE);
+  }
+
+  @Benchmark
+  @Group("pairs16")
+  @GroupThreads(16)
+  public Serializable poll16() throws InterruptedException {
+    return delegate.poll(0);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.store;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.store.StoreIfAbsentObjectStore;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways the idempotent message validator may check and store message ids on a store with a big history of ids: a
+ * {@code contains} followed by a {@code store}, a single atomic {@code storeIfAbsent}, and a {@code contains} that is skipped
+ * for ids a {@link BloomFilter} reports as never stored.
+ * <p>
+ * One in ten messages is a duplicate of an id in the history. The results are meant to be compared with a target of 50k
+ * messages per second.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Threads(4)
+public class IdempotentStoreBenchmark extends AbstractBenchmark {
+
+  private static final int DUPLICATES_RATIO = 10;
+
+  @Param({"inMemory", "persistent"})
+  public String storeType;
+
+  @Param({"containsAndStore", "storeIfAbsent", "idFilter"})
+  public String mode;
+
+  @Param({"10000000"})
+  public int historySize;
+
+  private MuleContext muleContext;
+  private File partitionDirectory;
+  private StoreIfAbsentObjectStore<String> store;
+  private BloomFilter<CharSequence> idFilter;
+  private final AtomicLong nextId = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    if ("persistent".equals(storeType)) {
+      muleContext = createMuleContextWithServices();
+      partitionDirectory = createTempDirectory("idempotent").toFile();
+      LogStructuredObjectStorePartition<String> partition =
+          new LogStructuredObjectStorePartition<>(muleContext, "benchmark", partitionDirectory);
+      partition.open();
+      store = partition;
+    } else {
+      store = new PartitionedInMemoryObjectStore<>();
+    }
+
+    if ("idFilter".equals(mode)) {
+      idFilter = BloomFilter.create(Funnels.stringFunnel(UTF_8), historySize * 2L, 0.01);
+    }
+
+    for (int i = 0; i < historySize; ++i) {
+      store.store(KEY + i, VALUE);
+      if (idFilter != null) {
+        idFilter.put(KEY + i);
+      }
+    }
+    nextId.set(historySize);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    store.clear();
+    if (partitionDirectory != null) {
+      store.close();
+      try {
+        deleteDirectory(partitionDirectory);
+      } catch (IOException e) {
+        // already deleted by the partition
+      }
+      muleContext.dispose();
+    }
+  }
+
+  @Benchmark
+  public boolean checkAndStore() throws ObjectStoreException {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final String id = random.nextInt(DUPLICATES_RATIO) == 0
+        ? KEY + random.nextInt(historySize)
+        : KEY + nextId.getAndIncrement();
+
+    switch (mode) {
+      case "storeIfAbsent":
+        return store.storeIfAbsent(id, VALUE);
+      case "idFilter":
+        if (idFilter.mightContain(id) && store.contains(id)) {
+          return false;
+        }
+        return storeIfNotPresent(id, true);
+      default:
+        return !store.contains(id) && storeIfNotPresent(id, false);
+    }
+  }
+
+  private boolean storeIfNotPresent(String id, boolean updateFilter) throws ObjectStoreException {
+    try {
+      store.store(id, VALUE);
+    } catch (ObjectAlreadyExistsException e) {
+      return false;
+    }
+    if (updateFilter) {
+      idFilter.put(id);
+    }
+    return true;
+  }
+}
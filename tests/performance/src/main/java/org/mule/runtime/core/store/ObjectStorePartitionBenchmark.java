@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.store;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.openjdk.jmh.annotations.Mode.SingleShotTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the default persistent partition, which uses one file per key, with the log structured one, by storing, retrieving
+ * and expiring a big amount of keys.
+ */
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ObjectStorePartitionBenchmark extends AbstractBenchmark {
+
+  @Param({"default", "logStructured"})
+  public String engine;
+
+  @Param({"1000000"})
+  public int keys;
+
+  private MuleContext muleContext;
+  private File partitionDirectory;
+  private PersistentObjectStorePartition<String> partition;
+
+  @Setup(Level.Trial)
+  public void setUpMuleContext() throws MuleException {
+    muleContext = createMuleContextWithServices();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownMuleContext() {
+    muleContext.dispose();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUp() throws Exception {
+    partitionDirectory = createTempDirectory("partition").toFile();
+    partition = "logStructured".equals(engine)
+        ? new LogStructuredObjectStorePartition<>(muleContext, "benchmark", partitionDirectory)
+        : new PersistentObjectStorePartition<>(muleContext, "benchmark", partitionDirectory);
+    partition.open();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws Exception {
+    partition.close();
+    try {
+      deleteDirectory(partitionDirectory);
+    } catch (IOException e) {
+      // already deleted by the partition
+    }
+  }
+
+  @Benchmark
+  public int storeRetrieveExpire() throws Exception {
+    for (int i = 0; i < keys; ++i) {
+      partition.store(KEY + i, VALUE + i);
+    }
+
+    int retrieved = 0;
+    for (int i = 0; i < keys; i += 3) {
+      retrieved += partition.retrieve(KEY + i).length();
+    }
+
+    partition.expire(UNBOUNDED, keys / 2);
+    return retrieved + partition.allKeys().size();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.store;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Stores and looks up keys in a {@link PartitionedInMemoryObjectStore} from many threads while the partition is being expired in
+ * the background, the way the object store monitor does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+public class PartitionedInMemoryObjectStoreBenchmark extends AbstractBenchmark {
+
+  private static final String PARTITION = "benchmark";
+
+  @Param({"100000"})
+  public int maxEntries;
+
+  @Param({"1000"})
+  public long entryTtl;
+
+  @Param({"10"})
+  public long expirationInterval;
+
+  private PartitionedInMemoryObjectStore<String> store;
+  private ScheduledExecutorService expirer;
+
+  @Setup(Level.Trial)
+  public void setUp() throws ObjectStoreException {
+    store = new PartitionedInMemoryObjectStore<>();
+    store.open(PARTITION);
+
+    expirer = newSingleThreadScheduledExecutor();
+    expirer.scheduleWithFixedDelay(() -> {
+      try {
+        store.expire(entryTtl, maxEntries, PARTITION);
+      } catch (ObjectStoreException e) {
+        throw new RuntimeException(e);
+      }
+    }, expirationInterval, expirationInterval, MILLISECONDS);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws ObjectStoreException {
+    expirer.shutdownNow();
+    store.disposePartition(PARTITION);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public boolean storeIfAbsent() throws ObjectStoreException {
+    // Same pattern as the idempotent message validator: only store the ids not seen before
+    final String key = KEY + ThreadLocalRandom.current().nextInt(maxEntries * 2);
+    if (store.contains(key, PARTITION)) {
+      return true;
+    }
+
+    try {
+      store.store(key, VALUE, PARTITION);
+    } catch (ObjectAlreadyExistsException e) {
+      // stored concurrently by another thread
+    }
+    return false;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.api.util.DataUnit.MB;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the contiguous and the segmented in memory buffers for repeatable streams, by reading big payloads twice through a
+ * cursor.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate of both buffers.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class InMemoryStreamBufferBenchmark extends AbstractBenchmark {
+
+  private static final int READ_SIZE = KB.toBytes(64);
+
+  @Param({"50", "200"})
+  public int payloadSizeMb;
+
+  @Param({"false", "true"})
+  public boolean segmented;
+
+  private byte[] payload;
+  private byte[] readBuffer;
+  private PoolingByteBufferManager bufferManager;
+  private InMemoryCursorStreamConfig config;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    payload = new byte[MB.toBytes(payloadSizeMb)];
+    for (int i = 0; i < payload.length; ++i) {
+      payload[i] = (byte) i;
+    }
+    readBuffer = new byte[READ_SIZE];
+    bufferManager = new PoolingByteBufferManager();
+    config = new InMemoryCursorStreamConfig(new DataSize(256, KB),
+                                            new DataSize(256, KB),
+                                            new DataSize(payloadSizeMb + 1, MB),
+                                            segmented);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    bufferManager.dispose();
+  }
+
+  @Benchmark
+  public long readTwice() throws IOException {
+    final InMemoryCursorStreamProvider provider =
+        new InMemoryCursorStreamProvider(new ByteArrayInputStream(payload), config, bufferManager, null, false);
+    try (CursorStream cursor = provider.openCursor()) {
+      long read = consume(cursor);
+      cursor.seek(0);
+      return read + consume(cursor);
+    } finally {
+      provider.close();
+    }
+  }
+
+  private long consume(CursorStream cursor) throws IOException {
+    long total = 0;
+    int read;
+    while ((read = cursor.read(readBuffer, 0, READ_SIZE)) != -1) {
+      total += read;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.object;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.streaming.object.InMemoryCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+import org.mule.runtime.core.internal.streaming.object.InMemoryCursorIteratorProvider;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the in memory and the file store buffers for repeatable iterators, by iterating a big amount of objects twice through
+ * a cursor.
+ * <p>
+ * Run with {@code -prof gc} to compare the memory footprint of both buffers.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class ObjectStreamBufferBenchmark extends AbstractBenchmark {
+
+  private static final int OBJECTS_COUNT = 1_000_000;
+  private static final int BUCKET_SIZE = 1000;
+
+  @Param({"inMemory", "fileStore"})
+  public String buffer;
+
+  private MuleContext muleContext;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public long iterateTwice() throws IOException {
+    final CursorIteratorProvider provider = createProvider(new RowsIterator());
+    try (CursorIterator cursor = provider.openCursor()) {
+      long count = consume(cursor);
+      cursor.seek(0);
+      return count + consume(cursor);
+    } finally {
+      provider.close();
+    }
+  }
+
+  private CursorIteratorProvider createProvider(Iterator<String> rows) {
+    if ("fileStore".equals(buffer)) {
+      return new FileStoreCursorIteratorProvider(rows, new FileStoreCursorIteratorConfig(BUCKET_SIZE, 16),
+                                                 muleContext.getObjectSerializer(), null, false);
+    }
+
+    return new InMemoryCursorIteratorProvider(rows, new InMemoryCursorIteratorConfig(BUCKET_SIZE, BUCKET_SIZE, OBJECTS_COUNT),
+                                              null, false);
+  }
+
+  private long consume(CursorIterator cursor) {
+    long count = 0;
+    while (cursor.hasNext()) {
+      cursor.next();
+      count++;
+    }
+    return count;
+  }
+
+  private static class RowsIterator implements Iterator<String> {
+
+    private int next = 0;
+
+    @Override
+    public boolean hasNext() {
+      return next < OBJECTS_COUNT;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return "row-" + next++ + "-abcdefghijklmnopqrstuvwxyz0123456789";
+    }
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution;
 
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+
 import org.mule.AbstractBenchmark;
 import org.mule.runtime.api.meta.model.ComponentModel;
 import org.mule.runtime.api.meta.model.ExtensionModel;
@@ -15,6 +18,7 @@ import org.mule.runtime.module.extension.internal.runtime.execution.executor.Met
 import org.mule.runtime.module.extension.internal.runtime.execution.executor.MethodExecutorGenerator;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ArgumentResolver;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -25,10 +29,18 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.Threads;
 
+/**
+ * Compares the ways of invoking the method of a component with 10 {@code int} parameters: through reflection, through a
+ * {@link MethodHandle} that takes the arguments as an array (as done for expression functions) and through a generated
+ * {@link MethodExecutor} (as done for operations and source callbacks).
+ * <p>
+ * {@code generated} includes the generation of the executor, while {@code generatedCall} only invokes an executor generated
+ * beforehand, which is what happens on each execution of an operation.
+ */
 @Threads(3)
 public class ReflectiveMethodBenchmark extends AbstractBenchmark {
 
-  private static class Target {
+  public static class Target {
 
     public int doIt(int arg0, int arg1, int arg2, int arg3, int arg4, int arg5, int arg6, int arg7, int arg8, int arg9) {
       return arg0 + arg1 + arg2 + arg3 + arg4 + arg5 + arg6 + arg7 + arg8 + arg9;
@@ -36,15 +48,59 @@ public class ReflectiveMethodBenchmark extends AbstractBenchmark {
     }
   }
 
+  private static final ExecutionContext EXECUTION_CONTEXT = new ExecutionContext() {
+
+    @Override
+    public boolean hasParameter(String parameterName) {
+      return false;
+    }
+
+    @Override
+    public Object getParameter(String parameterName) {
+      return null;
+    }
+
+    @Override
+    public Object getParameterOrDefault(String parameterName, Object defaultValue) {
+      return null;
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+      return null;
+    }
+
+    @Override
+    public Optional<ConfigurationInstance> getConfiguration() {
+      return Optional.empty();
+    }
+
+    @Override
+    public ExtensionModel getExtensionModel() {
+      return null;
+    }
+
+    @Override
+    public ComponentModel getComponentModel() {
+      return null;
+    }
+  };
+
   private Target target;
   private Method method;
+  private MethodHandle methodHandle;
+  private MethodExecutor methodExecutor;
 
   @Setup
-  public void setUp() throws NoSuchMethodException, SecurityException {
+  public void setUp() throws NoSuchMethodException, SecurityException, IllegalAccessException {
     target = new Target();
     method =
         target.getClass().getDeclaredMethod("doIt", new Class[] {int.class, int.class, int.class, int.class, int.class, int.class,
             int.class, int.class, int.class, int.class});
+    methodHandle = publicLookup().unreflect(method).bindTo(target)
+        .asSpreader(Object[].class, method.getParameterCount())
+        .asType(methodType(Object.class, Object[].class));
+    methodExecutor = new MethodExecutorGenerator().generate(target, method, createResolverDelegate());
   }
 
   @Benchmark
@@ -56,9 +112,24 @@ public class ReflectiveMethodBenchmark extends AbstractBenchmark {
     }
   }
 
+  @Benchmark
+  public Object methodHandleCall() throws Throwable {
+    return (Object) methodHandle.invokeExact(new Object[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 0});
+  }
+
   @Benchmark
   public Object generated() throws Exception {
-    ArgumentResolverDelegate resolverDelegate = new ArgumentResolverDelegate() {
+    MethodExecutor executor = new MethodExecutorGenerator().generate(target, method, createResolverDelegate());
+    return executor.execute(EXECUTION_CONTEXT);
+  }
+
+  @Benchmark
+  public Object generatedCall() throws Exception {
+    return methodExecutor.execute(EXECUTION_CONTEXT);
+  }
+
+  private ArgumentResolverDelegate createResolverDelegate() {
+    return new ArgumentResolverDelegate() {
 
       private static final int COUNT = 10;
 
@@ -94,44 +165,5 @@ public class ReflectiveMethodBenchmark extends AbstractBenchmark {
         return suppliers;
       }
     };
-
-    MethodExecutor executor = new MethodExecutorGenerator().generate(target, method, resolverDelegate);
-    return executor.execute(new ExecutionContext() {
-
-      @Override
-      public boolean hasParameter(String parameterName) {
-        return false;
-      }
-
-      @Override
-      public Object getParameter(String parameterName) {
-        return null;
-      }
-
-      @Override
-      public Object getParameterOrDefault(String parameterName, Object defaultValue) {
-        return null;
-      }
-
-      @Override
-      public Map<String, Object> getParameters() {
-        return null;
-      }
-
-      @Override
-      public Optional<ConfigurationInstance> getConfiguration() {
-        return Optional.empty();
-      }
-
-      @Override
-      public ExtensionModel getExtensionModel() {
-        return null;
-      }
-
-      @Override
-      public ComponentModel getComponentModel() {
-        return null;
-      }
-    });
   }
 }
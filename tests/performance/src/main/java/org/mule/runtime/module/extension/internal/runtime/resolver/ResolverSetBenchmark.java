@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves the parameters of an operation with 30 parameters, of which only some are dynamic, as done for every execution of
+ * the operation.
+ * <p>
+ * {@code resolverSet} evaluates only the dynamic slots of the {@link ResolverSet}, while {@code perKey} evaluates every resolver
+ * into a new {@link ResolverSetResult.Builder}, for comparison.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class ResolverSetBenchmark extends AbstractBenchmark {
+
+  private static final int PARAMETERS = 30;
+
+  @Param({"0", "3", "30"})
+  public int dynamicParameters;
+
+  private ResolverSet resolverSet;
+  private Map<String, ValueResolver<?>> resolvers;
+  private ValueResolvingContext context;
+
+  @Setup
+  public void setUp() throws MuleException {
+    resolverSet = new ResolverSet(null);
+    for (int i = 0; i < PARAMETERS; ++i) {
+      // Spread the dynamic parameters among the static ones
+      if (dynamicParameters > 0 && i % (PARAMETERS / dynamicParameters) == 0) {
+        resolverSet.add("param" + i, new DynamicResolver("value" + i));
+      } else {
+        resolverSet.add("param" + i, new StaticValueResolver<>("value" + i));
+      }
+    }
+    resolverSet.initialise();
+    resolvers = resolverSet.getResolvers();
+
+    context = ValueResolvingContext.builder(null).build();
+  }
+
+  @Benchmark
+  public ResolverSetResult resolverSet() throws MuleException {
+    return resolverSet.resolve(context);
+  }
+
+  @Benchmark
+  public ResolverSetResult perKey() throws MuleException {
+    ResolverSetResult.Builder builder = ResolverSetResult.newBuilder();
+    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
+      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Stands for an expression, with a negligible cost so the benchmark measures the overhead of the {@link ResolverSet}.
+   */
+  private static final class DynamicResolver implements ValueResolver<String> {
+
+    private final String value;
+
+    private DynamicResolver(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String resolve(ValueResolvingContext context) {
+      return value;
+    }
+
+    @Override
+    public boolean isDynamic() {
+      return true;
+    }
+
+    @Override
+    public boolean isContent() {
+      return false;
+    }
+  }
+}
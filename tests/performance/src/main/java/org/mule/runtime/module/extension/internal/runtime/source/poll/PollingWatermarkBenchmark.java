@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source.poll;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.runtime.core.api.util.ClassUtils.setFieldValue;
+import static org.openjdk.jmh.annotations.Mode.SingleShotTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.scheduler.SchedulingStrategy;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.exception.SystemExceptionHandler;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.util.store.ObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+import org.mule.sdk.api.runtime.operation.Result;
+import org.mule.sdk.api.runtime.source.PollContext;
+import org.mule.sdk.api.runtime.source.PollingSource;
+import org.mule.sdk.api.runtime.source.SourceCallback;
+import org.mule.sdk.api.runtime.source.SourceCallbackContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.mockito.ArgumentCaptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs a poll of a {@link PollingSourceWrapper} that accepts 10k items with ids and ascending watermarks, keeping the
+ * watermark in persistent object stores, writing the watermark bookkeeping for each item or in batches.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+public class PollingWatermarkBenchmark extends AbstractBenchmark {
+
+  private static final String INFLIGHT_IDS_OS_NAME_SUFFIX = "inflight-ids";
+
+  @Param({"1", "100", "10000"})
+  public int watermarkBatchSize;
+
+  @Param({"10000"})
+  public int items;
+
+  private MuleContext muleContext;
+  private File storesDirectory;
+  private final Map<String, ObjectStore<Serializable>> stores = new HashMap<>();
+  private PollingSourceWrapper<Object, Object> pollingSource;
+  private Runnable poll;
+
+  @Setup(Level.Trial)
+  public void setUpMuleContext() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownMuleContext() {
+    muleContext.dispose();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUp() throws Exception {
+    storesDirectory = createTempDirectory("polling").toFile();
+
+    ObjectStoreManager objectStoreManager = mock(ObjectStoreManager.class);
+    when(objectStoreManager.getOrCreateObjectStore(anyString(), any(ObjectStoreSettings.class)))
+        .thenAnswer(invocation -> stores.computeIfAbsent(invocation.getArgument(0), this::createStore));
+    LockFactory lockFactory = mock(LockFactory.class);
+    when(lockFactory.createLock(anyString())).thenAnswer(invocation -> new ReentrantLock());
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getRootContainerName()).thenReturn("benchmark");
+
+    SourceCallback<Object, Object> sourceCallback = mock(SourceCallback.class, withSettings().stubOnly());
+    SourceCallbackContext callbackContext = mock(SourceCallbackContext.class, withSettings().stubOnly());
+    when(sourceCallback.createContext()).thenReturn(callbackContext);
+
+    SchedulingStrategy schedulingStrategy = mock(SchedulingStrategy.class);
+    pollingSource = new PollingSourceWrapper<>(new ItemsPollingSource(items), schedulingStrategy, Integer.MAX_VALUE,
+                                               mock(SystemExceptionHandler.class), watermarkBatchSize);
+    setFieldValue(pollingSource, "componentLocation", location, false);
+    setFieldValue(pollingSource, "lockFactory", lockFactory, false);
+    setFieldValue(pollingSource, "objectStoreManager", objectStoreManager, false);
+    setFieldValue(pollingSource, "schedulerService", muleContext.getSchedulerService(), false);
+    pollingSource.onStart(sourceCallback);
+
+    ArgumentCaptor<Runnable> pollCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(schedulingStrategy).schedule(any(), pollCaptor.capture());
+    poll = pollCaptor.getValue();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws Exception {
+    pollingSource.onStop();
+    for (ObjectStore<Serializable> store : stores.values()) {
+      store.close();
+    }
+    stores.clear();
+    try {
+      deleteDirectory(storesDirectory);
+    } catch (IOException e) {
+      // already deleted by the partitions
+    }
+  }
+
+  @Benchmark
+  public Runnable pollItems() {
+    poll.run();
+    return poll;
+  }
+
+  private ObjectStore<Serializable> createStore(String name) {
+    try {
+      ObjectStore<Serializable> partition = name.endsWith(INFLIGHT_IDS_OS_NAME_SUFFIX)
+          ? new ObjectStorePartition<>(name, new PartitionedInMemoryObjectStore<>())
+          : new PersistentObjectStorePartition<>(muleContext, name, new File(storesDirectory, name.replace('/', '_')));
+      partition.open();
+      return partition;
+    } catch (MuleException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class ItemsPollingSource extends PollingSource<Object, Object> {
+
+    private final int items;
+
+    private ItemsPollingSource(int items) {
+      this.items = items;
+    }
+
+    @Override
+    protected void doStart() {}
+
+    @Override
+    protected void doStop() {}
+
+    @Override
+    public void poll(PollContext<Object, Object> pollContext) {
+      for (int i = 0; i < items; ++i) {
+        final int item = i;
+        pollContext.accept(pollItem -> pollItem.setResult(Result.builder().output(item).build())
+            .setId(String.valueOf(item))
+            .setWatermark(item));
+      }
+    }
+
+    @Override
+    public void onRejectedItem(Result<Object, Object> result, SourceCallbackContext callbackContext) {}
+  }
+}
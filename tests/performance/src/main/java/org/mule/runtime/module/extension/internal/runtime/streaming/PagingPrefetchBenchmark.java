@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.streaming;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.extension.api.property.ClassLoaderModelProperty;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consumes all the pages of a {@link PagingProvider} that takes 50 milliseconds to obtain each page, as a remote service would,
+ * while processing each page takes the given time, with and without prefetching the following pages.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class PagingPrefetchBenchmark extends AbstractBenchmark {
+
+  private static final long PAGE_LATENCY_MILLIS = 50;
+
+  @Param({"0", "1", "4"})
+  public int prefetchPages;
+
+  @Param({"20", "50"})
+  public long processMillisPerPage;
+
+  @Param({"10"})
+  public int pages;
+
+  private MuleContext muleContext;
+  private ExecutionContextAdapter executionContext;
+  private ExtensionConnectionSupplier connectionSupplier;
+  private ConfigurationInstance config;
+  private Scheduler prefetchScheduler;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    ExtensionModel extensionModel = mock(ExtensionModel.class);
+    when(extensionModel.getModelProperty(ClassLoaderModelProperty.class))
+        .thenReturn(of(new ClassLoaderModelProperty(getClass().getClassLoader())));
+    executionContext = mock(ExecutionContextAdapter.class);
+    when(executionContext.getExtensionModel()).thenReturn(extensionModel);
+
+    ConnectionHandler connectionHandler = mock(ConnectionHandler.class);
+    when(connectionHandler.getConnection()).thenReturn(new Object());
+    connectionSupplier = mock(ExtensionConnectionSupplier.class);
+    when(connectionSupplier.getConnection(any())).thenReturn(connectionHandler);
+    config = mock(ConfigurationInstance.class);
+    // Shared by all the producers, as the operation that returns them does
+    prefetchScheduler = prefetchPages > 0 ? muleContext.getSchedulerService().ioScheduler() : null;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (prefetchScheduler != null) {
+      prefetchScheduler.stop();
+    }
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public int consumeAllPages() throws InterruptedException {
+    PagingProviderProducer<String> producer =
+        new PagingProviderProducer<>(new RemotePagingProvider(pages), config, executionContext, connectionSupplier, false,
+                                     prefetchPages, prefetchScheduler);
+
+    int items = 0;
+    try {
+      List<String> page;
+      while ((page = producer.produce()) != null && !page.isEmpty()) {
+        items += page.size();
+        Thread.sleep(processMillisPerPage);
+      }
+    } finally {
+      producer.close();
+    }
+    return items;
+  }
+
+  private static final class RemotePagingProvider implements PagingProvider<Object, String> {
+
+    private final List<String> page = nCopies(100, "item");
+    private int remainingPages;
+
+    private RemotePagingProvider(int pages) {
+      this.remainingPages = pages;
+    }
+
+    @Override
+    public List<String> getPage(Object connection) {
+      try {
+        Thread.sleep(PAGE_LATENCY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return remainingPages-- > 0 ? page : emptyList();
+    }
+
+    @Override
+    public Optional<Integer> getTotalResults(Object connection) {
+      return empty();
+    }
+
+    @Override
+    public void close(Object connection) {}
+  }
+}